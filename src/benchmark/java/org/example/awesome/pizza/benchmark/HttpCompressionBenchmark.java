@@ -0,0 +1,97 @@
+package org.example.awesome.pizza.benchmark;
+
+import org.example.awesome.pizza.AwesomePizzaApplication;
+import org.example.awesome.pizza.domain.Pizza;
+import org.example.awesome.pizza.model.OrderInternalReq;
+import org.example.awesome.pizza.repository.PizzaRepository;
+import org.example.awesome.pizza.service.OrderService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Latency of the order list, of 200 Orders, and of the menu on a running server, with and without gzip, over
+ * HTTP/1.1 and HTTP/2 by cleartext upgrade. The compression ratio is checked by HttpCompressionTest
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class HttpCompressionBenchmark {
+  private static final int ORDERS = 200;
+
+  @Param({"/order", "/pizza"})
+  public String path;
+
+  @Param({"identity", "gzip"})
+  public String encoding;
+
+  @Param({"HTTP_1_1", "HTTP_2"})
+  public HttpClient.Version version;
+
+  private ConfigurableApplicationContext context;
+  private HttpClient client;
+  private HttpRequest request;
+
+  @Setup
+  public void setup() throws IOException {
+    // No operation rate limited: the benchmark client would be throttled on the menu
+    final Path noLimits = Files.createTempFile("no-rate-limits", ".yaml");
+    Files.writeString(noLimits, "paths: {}");
+    noLimits.toFile().deleteOnExit();
+
+    context = new SpringApplicationBuilder(AwesomePizzaApplication.class)
+        .run(
+            "--server.port=0",
+            "--awesome-pizza.config.rate-limit.spec=" + noLimits.toUri(),
+            "--spring.main.banner-mode=off",
+            "--spring.datasource.url=jdbc:h2:mem:http-compression-benchmark;MODE=MSSQLServer",
+            "--awesome-pizza.config.archive.enabled=false",
+            "--awesome-pizza.config.http-log=false",
+            "--logging.level.root=WARN");
+
+    final List<Long> pizzaIds = context.getBean(PizzaRepository.class).findAll().stream()
+        .map(Pizza::getId)
+        .toList();
+    final OrderService orderService = context.getBean(OrderService.class);
+    context.getBean(TransactionTemplate.class).executeWithoutResult(status -> IntStream.range(0, ORDERS)
+        .forEach(i -> orderService.save((OrderInternalReq) new OrderInternalReq()
+            .pizzas(List.of(pizzaIds.get(i % pizzaIds.size()), pizzaIds.get((i + 1) % pizzaIds.size()))))));
+
+    client = HttpClient.newBuilder().version(version).build();
+    request = HttpRequest.newBuilder(URI.create("http://localhost:%s%s".formatted(
+            context.getEnvironment().getProperty("local.server.port"), path)))
+        .header(HttpHeaders.ACCEPT_ENCODING, encoding)
+        .build();
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public byte[] get() throws IOException, InterruptedException {
+    return client.send(request, HttpResponse.BodyHandlers.ofByteArray()).body();
+  }
+}
@@ -0,0 +1,81 @@
+package org.example.awesome.pizza.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import org.example.awesome.pizza.exception.GlobalExceptionHandler;
+import org.example.awesome.pizza.exception.NotFoundException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Cost of a 404 on an unknown Order code, thrown from below a stack as deep as a controller call and handled by
+ * the exception handler: the former exception capturing its stack trace, formatted by the ERROR log line, and a
+ * plain text body, against the current stackless exception, the sampled log line and the problem details
+ * template. The log output itself is left out of both, only its formatting is measured
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class NotFoundBenchmark {
+  @Param({"20", "120"})
+  public int stackDepth;
+
+  private GlobalExceptionHandler handler;
+
+  // Former exception: same as NotFoundException, but capturing the stack trace
+  private static final class StackTracedNotFoundException extends RuntimeException {
+    private StackTracedNotFoundException(final String message) {
+      super(message);
+    }
+  }
+
+  @Setup
+  public void setup() {
+    // Sampled INFO level, as configured by the application
+    ((Logger) LoggerFactory.getLogger(GlobalExceptionHandler.class)).setLevel(Level.INFO);
+    handler = new GlobalExceptionHandler(Duration.ofSeconds(1));
+  }
+
+  @Benchmark
+  public ResponseEntity<String> stackTraceAndErrorLog() {
+    try {
+      throwFrom(stackDepth, () -> new StackTracedNotFoundException("No orders found by code %d".formatted(42L)));
+      return null;
+    } catch (StackTracedNotFoundException e) {
+      final StringWriter log = new StringWriter();
+      e.printStackTrace(new PrintWriter(log));
+      return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage() + log.getBuffer().length());
+    }
+  }
+
+  @Benchmark
+  public ResponseEntity<byte[]> stacklessAndSampledLog() {
+    try {
+      throwFrom(stackDepth, () -> new NotFoundException("No orders found by code %d".formatted(42L)));
+      return null;
+    } catch (NotFoundException e) {
+      return handler.httpExceptionHandler(e);
+    }
+  }
+
+  private static void throwFrom(final int depth, final Supplier<RuntimeException> exception) {
+    if (depth == 0)
+      throw exception.get();
+    throwFrom(depth - 1, exception);
+  }
+}
@@ -0,0 +1,85 @@
+package org.example.awesome.pizza.benchmark;
+
+import org.example.awesome.pizza.AwesomePizzaApplication;
+import org.example.awesome.pizza.domain.Pizza;
+import org.example.awesome.pizza.model.OrderDto;
+import org.example.awesome.pizza.model.OrderInternalReq;
+import org.example.awesome.pizza.repository.PizzaRepository;
+import org.example.awesome.pizza.service.OrderService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * CPU and allocation of the Order list read, as polled by kitchen tablets, in the read-only transaction of the
+ * service compared to a default read-write one, where Hibernate snapshots every loaded entity for dirty checking
+ * and flushes on commit. Run with {@code -prof gc} to get the allocation per read
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OrderReadBenchmark {
+  @Param({"read-only", "read-write"})
+  public String transaction;
+  @Param({"200"})
+  public int orders;
+
+  private ConfigurableApplicationContext context;
+  private OrderService orderService;
+  private Supplier<List<OrderDto>> read;
+
+  @Setup
+  public void setup() {
+    context = new SpringApplicationBuilder(AwesomePizzaApplication.class)
+        .web(WebApplicationType.NONE)
+        .run(
+            "--spring.main.banner-mode=off",
+            "--spring.datasource.url=jdbc:h2:mem:order-read-benchmark;MODE=MSSQLServer",
+            "--awesome-pizza.config.archive.enabled=false",
+            "--logging.level.root=WARN",
+            "--logging.level.org.hibernate.SQL=WARN",
+            "--logging.level.org.hibernate.orm.jdbc.bind=WARN",
+            "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+    orderService = context.getBean(OrderService.class);
+
+    final TransactionTemplate readWrite = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    final List<Long> menu = context.getBean(PizzaRepository.class).findAll().stream()
+        .map(Pizza::getId)
+        .toList();
+    readWrite.executeWithoutResult(status -> IntStream.range(0, orders)
+        .forEach(i -> orderService.save((OrderInternalReq) new OrderInternalReq()
+            .pizzas(List.of(menu.get(i % menu.size()), menu.get((i + 1) % menu.size()), menu.get((i + 2) % menu.size()))))));
+
+    // The service read joins an enclosing transaction, hence running it inside a read-write one restores the
+    // default semantics
+    read = "read-write".equals(transaction)
+        ? () -> readWrite.execute(status -> orderService.findAllOrders(null))
+        : () -> orderService.findAllOrders(null);
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public List<OrderDto> findAllOrders() {
+    return read.get();
+  }
+}
@@ -0,0 +1,78 @@
+package org.example.awesome.pizza.benchmark;
+
+import org.example.awesome.pizza.domain.Order;
+import org.example.awesome.pizza.model.OrderStatus;
+import org.example.awesome.pizza.state.OrderTransitions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Transition check of the Order state machine, for every current and target status pair: the precomputed table
+ * over the enum status, against the former String status decoded by valueOf and the allowed list allocated and
+ * scanned on each call. Run with {@code -prof gc} to get the allocation per check
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OrderTransitionBenchmark {
+  private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+  // Allowed lists as returned by the former getAllowed implementations, allocated on each call
+  private static final Function<OrderStatus, List<OrderStatus>> ALLOWED = target -> switch (target) {
+    case CREATED -> Arrays.asList(OrderStatus.COOKING, OrderStatus.CREATED);
+    case COOKING -> List.of(OrderStatus.CREATED);
+    case DONE -> List.of(OrderStatus.COOKING);
+    case CANCELED -> List.of(OrderStatus.CREATED);
+  };
+
+  private String[] stringStatuses;
+  private Order[] orders;
+  private OrderTransitions transitions;
+
+  @Setup
+  public void setup() {
+    stringStatuses = Arrays.stream(STATUSES).map(OrderStatus::name).toArray(String[]::new);
+    orders = Arrays.stream(STATUSES).map(status -> new Order().setStatus(status)).toArray(Order[]::new);
+    transitions = new OrderTransitions(Map.of(
+        OrderStatus.CREATED, ALLOWED.apply(OrderStatus.CREATED),
+        OrderStatus.COOKING, ALLOWED.apply(OrderStatus.COOKING),
+        OrderStatus.DONE, ALLOWED.apply(OrderStatus.DONE),
+        OrderStatus.CANCELED, ALLOWED.apply(OrderStatus.CANCELED)));
+  }
+
+  @Benchmark
+  public int stringStatusAndAllowedList() {
+    int allowed = 0;
+    for (final String status : stringStatuses)
+      for (final OrderStatus target : STATUSES) {
+        final OrderStatus current = Optional.ofNullable(status)
+            .map(OrderStatus::valueOf)
+            .orElse(null);
+        if (ALLOWED.apply(target).contains(current))
+          allowed++;
+      }
+    return allowed;
+  }
+
+  @Benchmark
+  public int enumStatusAndTable() {
+    int allowed = 0;
+    for (final Order order : orders)
+      for (final OrderStatus target : STATUSES)
+        if (transitions.isAllowed(order.getStatus(), target))
+          allowed++;
+    return allowed;
+  }
+}
@@ -0,0 +1,90 @@
+package org.example.awesome.pizza.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.example.awesome.pizza.model.OrderDto;
+import org.example.awesome.pizza.model.OrderPriority;
+import org.example.awesome.pizza.model.OrderStatus;
+import org.example.awesome.pizza.model.PizzaDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Serialization CPU of an Order list, as polled by kitchen tablets, in JSON and in the binary encodings.
+ * Payload sizes are logged once per trial
+ */
+@Slf4j
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OrderWireFormatBenchmark {
+  private static final TypeReference<List<OrderDto>> ORDER_LIST = new TypeReference<>() {
+  };
+
+  @Param({"json", "cbor", "smile"})
+  public String format;
+  @Param({"50"})
+  public int orders;
+
+  private ObjectMapper objectMapper;
+  private List<OrderDto> payload;
+  private byte[] encoded;
+
+  @Setup
+  public void setup() throws Exception {
+    objectMapper = switch (format) {
+      case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+      case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+      default -> Jackson2ObjectMapperBuilder.json().build();
+    };
+    final OffsetDateTime now = OffsetDateTime.of(2024, 12, 1, 19, 30, 0, 0, ZoneOffset.UTC);
+    final List<PizzaDto> menu = IntStream.range(0, 8)
+        .mapToObj(i -> new PizzaDto()
+            .id((long) i)
+            .name("Pizza " + i)
+            .description("Pomodoro, mozzarella fior di latte, basilico fresco, olio extravergine di oliva " + i)
+            .price(BigDecimal.valueOf(5 + i))
+            .createdDate(now.minusDays(30))
+            .lastModifiedDate(now.minusDays(2)))
+        .toList();
+    payload = IntStream.range(0, orders)
+        .mapToObj(i -> new OrderDto()
+            .id((long) i)
+            .code(1000L + i)
+            .status(OrderStatus.values()[i % OrderStatus.values().length])
+            .priority(OrderPriority.NORMAL)
+            .pizzas(List.of(menu.get(i % menu.size()), menu.get((i + 3) % menu.size()), menu.get((i + 5) % menu.size())))
+            .totalAmount(BigDecimal.valueOf(21))
+            .createdDate(now.minusMinutes(i))
+            .lastModifiedDate(now)
+            .estimatedReadyDate(now.plusMinutes(i)))
+        .toList();
+    encoded = objectMapper.writeValueAsBytes(payload);
+    log.info("{} payload of {} orders: {} bytes", format, orders, encoded.length);
+  }
+
+  @Benchmark
+  public byte[] serialize() throws Exception {
+    return objectMapper.writeValueAsBytes(payload);
+  }
+
+  @Benchmark
+  public List<OrderDto> deserialize() throws Exception {
+    return objectMapper.readValue(encoded, ORDER_LIST);
+  }
+}
@@ -0,0 +1,88 @@
+package org.example.awesome.pizza.benchmark;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.awesome.pizza.AwesomePizzaApplication;
+import org.example.awesome.pizza.repository.PizzaRepository;
+import org.hibernate.cfg.AvailableSettings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Startup time of the default and of the fast-start profile, on a file backed H2 DB whose schema is applied by a
+ * first default boot. Each iteration checks that the fast-start profile did skip the schema update and defer the
+ * controllers, failing the run otherwise. Run a single iteration per fork, {@code -f 3 -wi 0 -i 1}, to include
+ * the class loading of the first boot of the JVM, which the fast-start profile saves with AOT and CDS
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StartupBenchmark {
+  @Param({"default", "fast-start"})
+  public String profile;
+
+  private Path dbDir;
+  private ConfigurableApplicationContext context;
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    dbDir = Files.createTempDirectory("startup-benchmark");
+    boot("default").close();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    FileSystemUtils.deleteRecursively(dbDir);
+  }
+
+  @Benchmark
+  public ConfigurableApplicationContext boot() {
+    context = boot(profile);
+    return context;
+  }
+
+  @TearDown(Level.Iteration)
+  public void close() {
+    try {
+      final String ddl = (String) context.getBean(EntityManagerFactory.class).getProperties().get(AvailableSettings.HBM2DDL_AUTO);
+      if (context.getBean(PizzaRepository.class).count() == 0)
+        throw new IllegalStateException("Menu not found on DB");
+      if ("fast-start".equals(profile) && (!"none".equals(ddl) || context.getBeanFactory().containsSingleton("orderController")))
+        throw new IllegalStateException("Fast-start profile applied the schema or created the controllers eagerly");
+    } finally {
+      context.close();
+    }
+  }
+
+  private ConfigurableApplicationContext boot(final String profile) {
+    final List<String> args = new ArrayList<>(List.of(
+        "--server.port=0",
+        "--spring.main.banner-mode=off",
+        "--spring.datasource.url=jdbc:h2:file:%s;MODE=MSSQLServer".formatted(dbDir.resolve("startup").toAbsolutePath()),
+        "--spring.sql.init.mode=always",
+        "--awesome-pizza.config.archive.enabled=false",
+        "--logging.level.root=WARN"));
+    if (!"default".equals(profile))
+      args.add("--spring.profiles.active=" + profile);
+
+    return new SpringApplicationBuilder(AwesomePizzaApplication.class)
+        .run(args.toArray(String[]::new));
+  }
+}
@@ -0,0 +1,92 @@
+package org.example.awesome.pizza.loadtest;
+
+import org.example.awesome.pizza.AwesomePizzaApplication;
+import org.example.awesome.pizza.model.OrderDto;
+import org.example.awesome.pizza.model.OrderInternalReq;
+import org.example.awesome.pizza.repository.PizzaRepository;
+import org.example.awesome.pizza.service.OrderService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Opens many more concurrent connections against the async read endpoints than the request threads of Tomcat, all
+ * at once, then checks that every one is served: exits with status 1 otherwise, failing the build.
+ * Usage: {@code ConnectionBurstRunner [<connections> [<tomcat threads>]]}, connections within the open files limit
+ */
+public final class ConnectionBurstRunner {
+  private ConnectionBurstRunner() {
+  }
+
+  public static void main(final String[] args) {
+    final int connections = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+    final int tomcatThreads = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+
+    final Map<Integer, Long> statuses;
+    final Duration elapsed;
+    try (ConfigurableApplicationContext context = startApplication(connections, tomcatThreads)) {
+      final String baseUrl = "http://localhost:%d/async".formatted(((WebServerApplicationContext) context).getWebServer().getPort());
+      final Long pizzaId = context.getBean(PizzaRepository.class).findAll().get(0).getId();
+      final OrderDto order = context.getBean(TransactionTemplate.class).execute(status -> context.getBean(OrderService.class)
+          .save((OrderInternalReq) new OrderInternalReq().pizzas(List.of(pizzaId))));
+      final List<URI> uris = List.of(
+          URI.create("%s/order/code/%d".formatted(baseUrl, order.getCode())),
+          URI.create("%s/order/%d".formatted(baseUrl, order.getId())),
+          URI.create("%s/pizza?searchString=a".formatted(baseUrl)));
+
+      final HttpClient client = HttpClient.newBuilder()
+          .version(HttpClient.Version.HTTP_1_1)
+          .connectTimeout(Duration.ofSeconds(30))
+          .build();
+      final long start = System.nanoTime();
+      // All requests are sent at once: the client opens a connection for each one
+      final List<CompletableFuture<Integer>> responses = IntStream.range(0, connections)
+          .mapToObj(i -> HttpRequest.newBuilder(uris.get(i % uris.size())).timeout(Duration.ofSeconds(60)).build())
+          .map(request -> client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+              .thenApply(HttpResponse::statusCode)
+              .exceptionally(e -> -1))
+          .toList();
+      statuses = responses.stream()
+          .map(CompletableFuture::join)
+          .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+      elapsed = Duration.ofNanos(System.nanoTime() - start);
+    }
+
+    System.out.printf("%d concurrent connections on %d Tomcat threads served in %d ms: %s%n",
+        connections, tomcatThreads, elapsed.toMillis(), statuses);
+    final boolean served = statuses.equals(Map.of(200, (long) connections));
+    if (!served)
+      System.out.println("FAILED not every connection answered 200");
+    System.exit(served ? 0 : 1);
+  }
+
+  private static ConfigurableApplicationContext startApplication(final int connections, final int tomcatThreads) {
+    return new SpringApplicationBuilder(AwesomePizzaApplication.class)
+        .run(
+            "--server.port=0",
+            "--spring.main.banner-mode=off",
+            "--spring.datasource.url=jdbc:h2:mem:connection-burst;MODE=MSSQLServer",
+            "--server.tomcat.threads.max=" + tomcatThreads,
+            "--server.tomcat.max-connections=" + (connections + 100),
+            "--server.tomcat.accept-count=" + connections,
+            "--awesome-pizza.config.async-read.threads=8",
+            "--awesome-pizza.config.async-read.queue-capacity=" + connections,
+            "--awesome-pizza.config.archive.enabled=false",
+            "--awesome-pizza.config.http-log=false",
+            "--awesome-pizza.config.rate-limit.enabled=false",
+            "--logging.level.root=WARN");
+  }
+}
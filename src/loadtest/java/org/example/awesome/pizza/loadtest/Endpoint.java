@@ -0,0 +1,30 @@
+package org.example.awesome.pizza.loadtest;
+
+import java.util.Set;
+
+/**
+ * Endpoints driven by the load test, with the statuses that count as a success for each of them
+ */
+enum Endpoint {
+  CREATE_ORDER("create-order", Set.of(201)),
+  POLL_ORDER("poll-order", Set.of(200)),
+  // No CREATED Order left, or the Chef still holding the lease of its previous request
+  TAKE_NEXT("take-next", Set.of(200, 204, 409)),
+  MENU("menu", Set.of(200));
+
+  private final String key;
+  private final Set<Integer> expected;
+
+  Endpoint(final String key, final Set<Integer> expected) {
+    this.key = key;
+    this.expected = expected;
+  }
+
+  String key() {
+    return key;
+  }
+
+  boolean isExpected(final int status) {
+    return expected.contains(status);
+  }
+}
@@ -0,0 +1,58 @@
+package org.example.awesome.pizza.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and outcomes of the measured requests of an endpoint, in microseconds. Corrected latencies run from
+ * the time each request was meant to be sent by the schedule, so that a stalled server also counts the requests
+ * it delayed (coordinated omission); uncorrected ones run from the time it was actually sent
+ */
+final class EndpointStats {
+  private final Histogram corrected = new ConcurrentHistogram(3);
+  private final Histogram uncorrected = new ConcurrentHistogram(3);
+  private final LongAdder requests = new LongAdder();
+  private final LongAdder errors = new LongAdder();
+  private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+
+  /**
+   * @param intendedNanos: time the request was meant to be sent
+   * @param sentNanos: time the request was actually sent
+   * @param doneNanos: time the response, or the failure, was received
+   * @param outcome: HTTP status, or the failure name
+   * @param success: whether the outcome is expected
+   */
+  void record(final long intendedNanos, final long sentNanos, final long doneNanos, final String outcome, final boolean success) {
+    corrected.recordValue(TimeUnit.NANOSECONDS.toMicros(doneNanos - intendedNanos));
+    uncorrected.recordValue(TimeUnit.NANOSECONDS.toMicros(doneNanos - sentNanos));
+    requests.increment();
+    if (!success)
+      errors.increment();
+    outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+  }
+
+  Histogram corrected() {
+    return corrected;
+  }
+
+  Histogram uncorrected() {
+    return uncorrected;
+  }
+
+  long requests() {
+    return requests.sum();
+  }
+
+  long errors() {
+    return errors.sum();
+  }
+
+  Map<String, LongAdder> outcomes() {
+    return outcomes;
+  }
+}
@@ -0,0 +1,147 @@
+package org.example.awesome.pizza.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput, error rate and corrected latency percentiles of each endpoint, checked against the profile SLOs and
+ * against a baseline report of a previous run
+ */
+final class LoadReport {
+  private static final double MICROS_PER_MILLI = TimeUnit.MILLISECONDS.toMicros(1);
+
+  private final TrafficProfile profile;
+  private final Map<Endpoint, EndpointStats> stats;
+
+  LoadReport(final TrafficProfile profile, final Map<Endpoint, EndpointStats> stats) {
+    this.profile = profile;
+    this.stats = stats;
+  }
+
+  void print(final PrintStream out) {
+    out.printf("%nTraffic profile [%s]: %s measured after %s of warmup%n",
+        profile.name(), profile.duration(), profile.warmup());
+    out.printf("%-13s %9s %9s %9s %8s %9s %9s %9s %9s %12s  %s%n",
+        "endpoint", "target/s", "actual/s", "requests", "errors", "p50 ms", "p99 ms", "p999 ms", "max ms", "raw p99 ms", "outcomes");
+    stats.forEach((endpoint, endpointStats) -> {
+      final Histogram latency = endpointStats.corrected();
+      out.printf("%-13s %9.1f %9.1f %9d %7.2f%% %9.2f %9.2f %9.2f %9.2f %12.2f  %s%n",
+          endpoint.key(),
+          profile.rates().get(endpoint),
+          throughput(endpointStats),
+          endpointStats.requests(),
+          errorRate(endpointStats) * 100,
+          millis(latency.getValueAtPercentile(50)),
+          millis(latency.getValueAtPercentile(99)),
+          millis(latency.getValueAtPercentile(99.9)),
+          millis(latency.getMaxValue()),
+          millis(endpointStats.uncorrected().getValueAtPercentile(99)),
+          new TreeMap<>(endpointStats.outcomes()));
+    });
+    out.println("Latencies are corrected for coordinated omission; raw p99 runs from the actual send time");
+  }
+
+  /**
+   * Writes the report as properties, with the full percentile distribution of each endpoint next to it
+   * @param path: report file
+   */
+  void write(final Path path) throws IOException {
+    Files.createDirectories(path.toAbsolutePath().getParent());
+
+    final Properties properties = toProperties();
+    try (OutputStream out = Files.newOutputStream(path)) {
+      properties.store(out, "Load test report of the [%s] traffic profile".formatted(profile.name()));
+    }
+
+    for (final Map.Entry<Endpoint, EndpointStats> entry : stats.entrySet()) {
+      final Path distribution = path.resolveSibling("%s-%s.hgrm".formatted(profile.name(), entry.getKey().key()));
+      try (PrintStream out = new PrintStream(Files.newOutputStream(distribution))) {
+        entry.getValue().corrected().outputPercentileDistribution(out, MICROS_PER_MILLI);
+      }
+    }
+  }
+
+  /**
+   * Checks the report: every endpoint must reach its target rate and stay within the error rate and p99 SLO of
+   * the profile; when a baseline is given, its p99 must not grow beyond the allowed regression
+   * @param baseline: report of a previous run, if any
+   * @return violations found, empty when the report passes
+   */
+  List<String> violations(final Optional<Properties> baseline) {
+    final List<String> violations = new ArrayList<>();
+
+    stats.forEach((endpoint, endpointStats) -> {
+      final double errorRate = errorRate(endpointStats);
+      if (errorRate > profile.maxErrorRate())
+        violations.add("[%s] error rate %.2f%% above %.2f%%".formatted(endpoint.key(), errorRate * 100, profile.maxErrorRate() * 100));
+
+      // The scheduler sends at the target rate whatever the responses: falling short means the driver could not
+      final double target = profile.rates().get(endpoint);
+      if (Endpoint.POLL_ORDER != endpoint && throughput(endpointStats) < target * 0.9)
+        violations.add("[%s] throughput %.1f/s below the %.1f/s target".formatted(endpoint.key(), throughput(endpointStats), target));
+
+      final double p99 = millis(endpointStats.corrected().getValueAtPercentile(99));
+      Optional.ofNullable(profile.p99Slo().get(endpoint))
+          .filter(slo -> p99 > slo.toNanos() / 1e6)
+          .ifPresent(slo -> violations.add("[%s] p99 %.2f ms above the %s SLO".formatted(endpoint.key(), p99, slo)));
+
+      baseline.map(properties -> properties.getProperty(endpoint.key() + ".p99"))
+          .map(Double::parseDouble)
+          .filter(previous -> p99 > previous * (1 + profile.maxRegression()))
+          .ifPresent(previous -> violations.add("[%s] p99 %.2f ms regressed more than %.0f%% from the %.2f ms baseline"
+              .formatted(endpoint.key(), p99, profile.maxRegression() * 100, previous)));
+    });
+
+    return violations;
+  }
+
+  static Optional<Properties> readBaseline(final Path path) throws IOException {
+    if (!Files.isRegularFile(path))
+      return Optional.empty();
+
+    final Properties properties = new Properties();
+    try (Reader in = Files.newBufferedReader(path)) {
+      properties.load(in);
+    }
+    return Optional.of(properties);
+  }
+
+  private Properties toProperties() {
+    final Properties properties = new Properties();
+    stats.forEach((endpoint, endpointStats) -> {
+      final Histogram latency = endpointStats.corrected();
+      properties.setProperty(endpoint.key() + ".throughput", "%.1f".formatted(throughput(endpointStats)));
+      properties.setProperty(endpoint.key() + ".error-rate", "%.4f".formatted(errorRate(endpointStats)));
+      properties.setProperty(endpoint.key() + ".p50", "%.2f".formatted(millis(latency.getValueAtPercentile(50))));
+      properties.setProperty(endpoint.key() + ".p99", "%.2f".formatted(millis(latency.getValueAtPercentile(99))));
+      properties.setProperty(endpoint.key() + ".p999", "%.2f".formatted(millis(latency.getValueAtPercentile(99.9))));
+    });
+    return properties;
+  }
+
+  private double throughput(final EndpointStats endpointStats) {
+    return endpointStats.requests() / (profile.duration().toNanos() / 1e9);
+  }
+
+  private static double errorRate(final EndpointStats endpointStats) {
+    return endpointStats.requests() == 0 ? 0 : endpointStats.errors() / (double) endpointStats.requests();
+  }
+
+  private static double millis(final long micros) {
+    return micros / MICROS_PER_MILLI;
+  }
+}
@@ -0,0 +1,95 @@
+package org.example.awesome.pizza.loadtest;
+
+import org.example.awesome.pizza.AwesomePizzaApplication;
+import org.example.awesome.pizza.domain.Chef;
+import org.example.awesome.pizza.domain.Pizza;
+import org.example.awesome.pizza.repository.ChefRepository;
+import org.example.awesome.pizza.repository.PizzaRepository;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Starts the application on the embedded DB and drives it with a traffic profile, then checks the report: exits
+ * with status 1 when any gate fails, failing the build.
+ * Usage: {@code LoadTestRunner [<profile> [key=value...]]}, see {@link TrafficProfile} for the keys
+ */
+public final class LoadTestRunner {
+  private static final Path REPORT_DIR = Path.of("target", "loadtest");
+
+  private LoadTestRunner() {
+  }
+
+  public static void main(final String[] args) throws Exception {
+    final String name = args.length > 0 ? args[0] : "rush-hour";
+    final Map<String, String> overrides = Arrays.stream(args)
+        .skip(1)
+        .map(arg -> arg.split("=", 2))
+        .collect(Collectors.toMap(pair -> pair[0], pair -> pair.length > 1 ? pair[1] : ""));
+    final TrafficProfile profile = TrafficProfile.load(name, overrides);
+
+    final LoadReport report;
+    try (ConfigurableApplicationContext context = startApplication()) {
+      final int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+      final List<Long> menu = context.getBean(PizzaRepository.class).findAll().stream()
+          .map(Pizza::getId)
+          .toList();
+      final ChefRepository chefRepository = context.getBean(ChefRepository.class);
+      final List<Long> chefs = IntStream.range(0, profile.chefs())
+          .mapToObj(i -> chefRepository.save(new Chef().setFirstName("Chef").setLastName("Load" + i)).getId())
+          .toList();
+
+      final HttpClient client = HttpClient.newBuilder()
+          .version(HttpClient.Version.HTTP_1_1)
+          .connectTimeout(Duration.ofSeconds(5))
+          .build();
+      final TrafficSource source = new TrafficSource("http://localhost:" + port, menu, chefs);
+      report = new LoadReport(profile, new OpenLoopDriver(profile, client, source).run());
+    }
+
+    report.print(System.out);
+    final Path path = REPORT_DIR.resolve(profile.name() + ".properties");
+    report.write(path);
+
+    final Optional<Properties> baseline = LoadReport.readBaseline(profile.baseline());
+    final List<String> violations = report.violations(baseline);
+    if (baseline.isEmpty())
+      System.out.printf("No baseline found at [%s]: regression gate skipped%n", profile.baseline());
+    if (profile.updateBaseline()) {
+      Files.createDirectories(profile.baseline().toAbsolutePath().getParent());
+      Files.copy(path, profile.baseline(), StandardCopyOption.REPLACE_EXISTING);
+      System.out.printf("Baseline updated at [%s]%n", profile.baseline());
+    }
+
+    violations.forEach(violation -> System.out.println("FAILED " + violation));
+    System.exit(violations.isEmpty() ? 0 : 1);
+  }
+
+  private static ConfigurableApplicationContext startApplication() {
+    return new SpringApplicationBuilder(AwesomePizzaApplication.class)
+        .run(
+            "--server.port=0",
+            "--spring.main.banner-mode=off",
+            "--spring.datasource.url=jdbc:h2:mem:load-test;MODE=MSSQLServer",
+            "--awesome-pizza.config.archive.enabled=false",
+            "--awesome-pizza.config.http-log=false",
+            "--awesome-pizza.config.rate-limit.enabled=false",
+            "--logging.level.root=WARN",
+            "--logging.level.org.hibernate.SQL=WARN",
+            "--logging.level.org.hibernate.orm.jdbc.bind=WARN",
+            "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+  }
+}
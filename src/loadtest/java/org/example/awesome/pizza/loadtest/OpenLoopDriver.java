@@ -0,0 +1,107 @@
+package org.example.awesome.pizza.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends requests at the rates of the traffic profile, whatever the server response times: each endpoint has its
+ * own schedule of intended send times, and requests are sent asynchronously, so that a slow response never
+ * delays the next request. When the scheduler itself falls behind, late requests are sent at once, keeping their
+ * intended time for the latency
+ */
+final class OpenLoopDriver {
+  private static final Duration PENDING_TIMEOUT = Duration.ofSeconds(15);
+
+  private final TrafficProfile profile;
+  private final HttpClient client;
+  private final TrafficSource source;
+  private final AtomicLong inFlight = new AtomicLong();
+
+  OpenLoopDriver(final TrafficProfile profile, final HttpClient client, final TrafficSource source) {
+    this.profile = profile;
+    this.client = client;
+    this.source = source;
+  }
+
+  /**
+   * Runs the warmup and the measured duration of the profile, then waits for the pending responses
+   * @return stats of the measured requests of each driven endpoint
+   */
+  Map<Endpoint, EndpointStats> run() throws InterruptedException {
+    final Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+    final List<Thread> schedulers = new ArrayList<>();
+    final long start = System.nanoTime();
+
+    for (final Endpoint endpoint : Endpoint.values()) {
+      if (profile.rates().getOrDefault(endpoint, 0d) <= 0)
+        continue;
+
+      final EndpointStats endpointStats = new EndpointStats();
+      stats.put(endpoint, endpointStats);
+      final Thread scheduler = new Thread(() -> schedule(endpoint, endpointStats, start), "load-" + endpoint.key());
+      scheduler.start();
+      schedulers.add(scheduler);
+    }
+
+    for (final Thread scheduler : schedulers)
+      scheduler.join();
+
+    // Responses still pending afterwards are dropped: they time out on the client side anyway
+    final long deadline = System.nanoTime() + PENDING_TIMEOUT.toNanos();
+    while (inFlight.get() > 0 && System.nanoTime() < deadline)
+      Thread.sleep(10);
+
+    return stats;
+  }
+
+  private void schedule(final Endpoint endpoint, final EndpointStats stats, final long start) {
+    final long warmup = profile.warmup().toNanos();
+    final long end = warmup + profile.duration().toNanos();
+    long intended = start;
+
+    while (intended - start < end) {
+      final long elapsed = intended - start;
+      sleepUntil(intended);
+
+      final Optional<HttpRequest> request = source.next(endpoint);
+      if (request.isPresent())
+        send(endpoint, request.get(), intended, elapsed >= warmup ? stats : null);
+
+      intended += (long) (TimeUnit.SECONDS.toNanos(1) / profile.rate(endpoint, Duration.ofNanos(elapsed)));
+    }
+  }
+
+  private void send(final Endpoint endpoint, final HttpRequest request, final long intended, final EndpointStats stats) {
+    final long sent = System.nanoTime();
+    inFlight.incrementAndGet();
+    client.sendAsync(request, source.bodyHandler(endpoint))
+        .whenComplete((result, failure) -> {
+          final long done = System.nanoTime();
+          inFlight.decrementAndGet();
+          if (result != null && endpoint.isExpected(result.statusCode()))
+            source.onResponse(endpoint, result);
+          if (stats == null)
+            return;
+
+          if (failure != null)
+            stats.record(intended, sent, done, failure.getClass().getSimpleName(), false);
+          else
+            stats.record(intended, sent, done, Integer.toString(result.statusCode()), endpoint.isExpected(result.statusCode()));
+        });
+  }
+
+  private static void sleepUntil(final long deadline) {
+    long remaining;
+    while ((remaining = deadline - System.nanoTime()) > 0)
+      LockSupport.parkNanos(remaining);
+  }
+}
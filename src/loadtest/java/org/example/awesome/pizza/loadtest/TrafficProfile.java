@@ -0,0 +1,91 @@
+package org.example.awesome.pizza.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Traffic of a load test run, read from {@code loadtest/<name>.properties} on the classpath, where any key can be
+ * overridden from the command line as {@code key=value}:
+ * <ul>
+ *   <li>{@code warmup}, {@code duration}: unmeasured and measured time of the run</li>
+ *   <li>{@code ramp}, {@code ramp-from}: time to reach the peak rates, starting from the given fraction of them</li>
+ *   <li>{@code chefs}: Chefs taking the next Order in turn</li>
+ *   <li>{@code rate.<endpoint>}: peak requests per second</li>
+ *   <li>{@code slo.p99.<endpoint>}: highest p99 latency allowed</li>
+ *   <li>{@code max-error-rate}: highest fraction of failed requests allowed on each endpoint</li>
+ *   <li>{@code max-regression}: highest p99 increase allowed against the baseline, as a fraction of it</li>
+ *   <li>{@code baseline}, {@code update-baseline}: baseline report to compare with, and whether to replace it</li>
+ * </ul>
+ */
+record TrafficProfile(
+    String name,
+    Duration warmup,
+    Duration duration,
+    Duration ramp,
+    double rampFrom,
+    int chefs,
+    Map<Endpoint, Double> rates,
+    Map<Endpoint, Duration> p99Slo,
+    double maxErrorRate,
+    double maxRegression,
+    Path baseline,
+    boolean updateBaseline
+) {
+
+  static TrafficProfile load(final String name, final Map<String, String> overrides) {
+    final Properties properties = new Properties();
+    try (InputStream in = TrafficProfile.class.getResourceAsStream("/loadtest/%s.properties".formatted(name))) {
+      if (in == null)
+        throw new IllegalArgumentException("No traffic profile found by name [%s]".formatted(name));
+      properties.load(in);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    properties.putAll(overrides);
+
+    final Map<Endpoint, Double> rates = new EnumMap<>(Endpoint.class);
+    final Map<Endpoint, Duration> p99Slo = new EnumMap<>(Endpoint.class);
+    for (final Endpoint endpoint : Endpoint.values()) {
+      rates.put(endpoint, Double.parseDouble(properties.getProperty("rate." + endpoint.key(), "0")));
+      final String slo = properties.getProperty("slo.p99." + endpoint.key());
+      if (slo != null)
+        p99Slo.put(endpoint, Duration.parse(slo));
+    }
+
+    return new TrafficProfile(
+        name,
+        Duration.parse(properties.getProperty("warmup", "PT10S")),
+        Duration.parse(properties.getProperty("duration", "PT60S")),
+        Duration.parse(properties.getProperty("ramp", "PT0S")),
+        Double.parseDouble(properties.getProperty("ramp-from", "1")),
+        Integer.parseInt(properties.getProperty("chefs", "4")),
+        rates,
+        p99Slo,
+        Double.parseDouble(properties.getProperty("max-error-rate", "0.01")),
+        Double.parseDouble(properties.getProperty("max-regression", "0.25")),
+        Path.of(properties.getProperty("baseline", "src/loadtest/baseline/%s.properties".formatted(name))),
+        Boolean.parseBoolean(properties.getProperty("update-baseline", "false")));
+  }
+
+  /**
+   * Requests per second of an endpoint at a given time of the run: rates grow linearly during the ramp, from
+   * its starting fraction up to the peak
+   * @param endpoint: the endpoint
+   * @param elapsed: time since the start of the run, warmup included
+   * @return requests per second, 0 when the endpoint is not driven
+   */
+  double rate(final Endpoint endpoint, final Duration elapsed) {
+    final double peak = rates.getOrDefault(endpoint, 0d);
+    if (ramp.isZero() || elapsed.compareTo(ramp) >= 0)
+      return peak;
+
+    final double progress = elapsed.toNanos() / (double) ramp.toNanos();
+    return peak * (rampFrom + (1 - rampFrom) * progress);
+  }
+}
@@ -0,0 +1,108 @@
+package org.example.awesome.pizza.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Collectors;
+
+/**
+ * Builds the requests of each endpoint as customers and Chefs would send them: customers order a few random
+ * pizzas from the menu and poll their recent Orders by code, Chefs take the next Order in turn
+ */
+final class TrafficSource {
+  private static final Duration TIMEOUT = Duration.ofSeconds(10);
+  private static final int RECENT_CODES = 1024;
+
+  private final String baseUrl;
+  private final List<Long> menu;
+  private final List<Long> chefs;
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final AtomicLong nextChef = new AtomicLong();
+  // Ring of the codes of the last created Orders: 0 when not filled yet
+  private final AtomicLongArray recentCodes = new AtomicLongArray(RECENT_CODES);
+  private final AtomicLong createdCount = new AtomicLong();
+
+  TrafficSource(final String baseUrl, final List<Long> menu, final List<Long> chefs) {
+    this.baseUrl = baseUrl;
+    this.menu = menu;
+    this.chefs = chefs;
+  }
+
+  /**
+   * Builds the next request of an endpoint
+   * @param endpoint: the endpoint
+   * @return the request, empty when it cannot be sent yet, e.g. polling before any Order was created
+   */
+  Optional<HttpRequest> next(final Endpoint endpoint) {
+    return switch (endpoint) {
+      case CREATE_ORDER -> Optional.of(request("/order")
+          .header("Content-Type", "application/json")
+          .POST(HttpRequest.BodyPublishers.ofString(orderBody()))
+          .build());
+      case POLL_ORDER -> recentCode()
+          .map(code -> request("/order/code/%d".formatted(code)).GET().build());
+      case TAKE_NEXT -> Optional.of(request("/order/next")
+          .header("X-Chef-ID", chefs.get((int) (nextChef.getAndIncrement() % chefs.size())).toString())
+          .method("PATCH", HttpRequest.BodyPublishers.noBody())
+          .build());
+      case MENU -> Optional.of(request("/pizza").GET().build());
+    };
+  }
+
+  HttpResponse.BodyHandler<String> bodyHandler(final Endpoint endpoint) {
+    return Endpoint.CREATE_ORDER.equals(endpoint)
+        ? HttpResponse.BodyHandlers.ofString()
+        : HttpResponse.BodyHandlers.replacing(null);
+  }
+
+  /**
+   * Keeps the code of the created Orders, so that they are polled afterwards
+   * @param endpoint: the endpoint
+   * @param response: its successful response
+   */
+  void onResponse(final Endpoint endpoint, final HttpResponse<String> response) {
+    if (!Endpoint.CREATE_ORDER.equals(endpoint) || response.body() == null)
+      return;
+
+    try {
+      final JsonNode code = objectMapper.readTree(response.body()).get("code");
+      if (code != null)
+        recentCodes.set((int) (createdCount.getAndIncrement() % RECENT_CODES), code.asLong());
+    } catch (Exception e) {
+      // Not a JSON Order: nothing to poll
+    }
+  }
+
+  private Optional<Long> recentCode() {
+    final long created = Math.min(createdCount.get(), RECENT_CODES);
+    if (created == 0)
+      return Optional.empty();
+
+    final long code = recentCodes.get(ThreadLocalRandom.current().nextInt((int) created));
+    return code == 0 ? Optional.empty() : Optional.of(code);
+  }
+
+  private String orderBody() {
+    final ThreadLocalRandom random = ThreadLocalRandom.current();
+    // Mostly small Orders, now and then a bulk one
+    final int pizzas = random.nextInt(10) == 0 ? 6 + random.nextInt(6) : 1 + random.nextInt(3);
+    return random.ints(pizzas, 0, menu.size())
+        .mapToObj(i -> menu.get(i).toString())
+        .collect(Collectors.joining(",", "{\"pizzas\":[", "]}"));
+  }
+
+  private HttpRequest.Builder request(final String path) {
+    return HttpRequest.newBuilder(URI.create(baseUrl + path))
+        .timeout(TIMEOUT)
+        .header("Accept", "application/json");
+  }
+}
@@ -1,13 +1,16 @@
 package org.example.awesome.pizza;
 
+import org.example.awesome.pizza.config.NativeRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @Configuration
 @ComponentScan
 @EnableAutoConfiguration
+@ImportRuntimeHints(NativeRuntimeHints.class)
 public class AwesomePizzaApplication {
 
 	public static void main(String[] args) {
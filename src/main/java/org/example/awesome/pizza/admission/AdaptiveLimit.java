@@ -0,0 +1,108 @@
+package org.example.awesome.pizza.admission;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Concurrency limit adapting to the measured latency (AIMD): it grows by one on each request completed within the
+ * latency target while at least half of the limit is in use, and shrinks by the backoff ratio when a request
+ * misses the target, at most once per target interval so that a burst of slow requests counts as one signal
+ */
+public class AdaptiveLimit {
+  private final int minLimit;
+  private final int maxLimit;
+  private final long targetNanos;
+  private final double backoff;
+  private final LongSupplier nanoClock;
+  private final AtomicInteger inFlight = new AtomicInteger();
+
+  // Written under the monitor of this, read lock-free by tryAcquire
+  private volatile double limit;
+  private long lastBackOff;
+
+  /**
+   * @param minLimit: lowest limit, always admitted whatever the latency
+   * @param maxLimit: highest limit
+   * @param target: latency target of the requests
+   * @param backoff: ratio the limit is multiplied by when the target is missed
+   */
+  public AdaptiveLimit(final int minLimit, final int maxLimit, final Duration target, final double backoff) {
+    this(minLimit, maxLimit, target, backoff, System::nanoTime);
+  }
+
+  AdaptiveLimit(final int minLimit, final int maxLimit, final Duration target, final double backoff,
+                final LongSupplier nanoClock) {
+    if (minLimit < 1 || maxLimit < minLimit)
+      throw new IllegalArgumentException("Invalid limits [%d, %d]".formatted(minLimit, maxLimit));
+
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.targetNanos = target.toNanos();
+    this.backoff = backoff;
+    this.nanoClock = nanoClock;
+    this.limit = maxLimit;
+    this.lastBackOff = nanoClock.getAsLong() - targetNanos;
+  }
+
+  /**
+   * Admits a request if the limit allows it, without waiting
+   * @return true when admitted: the request must then be released once completed
+   */
+  public boolean tryAcquire() {
+    int current;
+    do {
+      current = inFlight.get();
+      if (current >= (int) limit)
+        return false;
+    } while (!inFlight.compareAndSet(current, current + 1));
+    return true;
+  }
+
+  /**
+   * Releases an admitted request, adapting the limit to its latency
+   * @param latencyNanos: time the request took
+   * @return true when the request missed the latency target
+   */
+  public boolean release(final long latencyNanos) {
+    final int current = inFlight.getAndDecrement();
+    if (latencyNanos > targetNanos) {
+      backOff();
+      return true;
+    }
+
+    if (current * 2 >= limit)
+      grow();
+    return false;
+  }
+
+  /**
+   * Shrinks the limit, unless it already did within the last target interval
+   */
+  public synchronized void backOff() {
+    final long now = nanoClock.getAsLong();
+    if (now - lastBackOff < targetNanos)
+      return;
+
+    lastBackOff = now;
+    limit = Math.max(minLimit, limit * backoff);
+  }
+
+  private synchronized void grow() {
+    limit = Math.min(maxLimit, limit + 1);
+  }
+
+  /**
+   * @return highest number of requests currently admitted at once
+   */
+  public int getLimit() {
+    return (int) limit;
+  }
+
+  /**
+   * @return requests admitted and not released yet
+   */
+  public int getInFlight() {
+    return inFlight.get();
+  }
+}
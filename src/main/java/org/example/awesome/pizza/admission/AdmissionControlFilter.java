@@ -0,0 +1,122 @@
+package org.example.awesome.pizza.admission;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.awesome.pizza.exception.ProblemTemplates;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Sheds the requests exceeding the limit of their endpoint class with a fast 503 and a Retry-After header, before
+ * they take a request thread for longer than writing the response.
+ * <p>
+ * Actuator endpoints are always admitted, and the /async reads are left to the bounded queue of their executor,
+ * since they release the request thread right away
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class AdmissionControlFilter extends OncePerRequestFilter {
+  private static final String[] EXCLUDED_PATHS = {"/actuator", "/async/"};
+
+  private final AdmissionController admissionController;
+  private final boolean enabled;
+  private final String retryAfter;
+  private final Map<EndpointClass, byte[]> shedBodies = new EnumMap<>(EndpointClass.class);
+
+  public AdmissionControlFilter(
+      final AdmissionController admissionController,
+      @Value("${awesome-pizza.config.admission.enabled:true}") final boolean enabled,
+      @Value("${awesome-pizza.config.admission.retry-after:PT1S}") final Duration retryAfter) {
+    this.admissionController = admissionController;
+    this.enabled = enabled;
+    this.retryAfter = Long.toString(Math.max(1, retryAfter.plusMillis(999).toSeconds()));
+    for (final EndpointClass endpointClass : EndpointClass.values())
+      shedBodies.put(endpointClass, ProblemTemplates.body(HttpStatus.SERVICE_UNAVAILABLE,
+          "Too many %s requests, retry later".formatted(endpointClass.name().toLowerCase())));
+  }
+
+  @Override
+  protected boolean shouldNotFilter(final HttpServletRequest request) {
+    if (!enabled)
+      return true;
+
+    final String path = path(request);
+    for (final String excluded : EXCLUDED_PATHS)
+      if (path.startsWith(excluded))
+        return true;
+    return false;
+  }
+
+  @Override
+  protected void doFilterInternal(final HttpServletRequest request,
+                                  final HttpServletResponse response,
+                                  final FilterChain filterChain) throws ServletException, IOException {
+    final EndpointClass endpointClass = EndpointClass.of(request.getMethod(), path(request));
+    if (!admissionController.tryAcquire(endpointClass)) {
+      response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+      response.setHeader(HttpHeaders.RETRY_AFTER, retryAfter);
+      response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+      response.getOutputStream().write(shedBodies.get(endpointClass));
+      return;
+    }
+
+    final long start = System.nanoTime();
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      if (request.isAsyncStarted())
+        request.getAsyncContext().addListener(new ReleaseOnComplete(endpointClass, start));
+      else
+        admissionController.release(endpointClass, System.nanoTime() - start);
+    }
+  }
+
+  private static String path(final HttpServletRequest request) {
+    return request.getRequestURI().substring(request.getContextPath().length());
+  }
+
+  private final class ReleaseOnComplete implements AsyncListener {
+    private final EndpointClass endpointClass;
+    private final long start;
+
+    private ReleaseOnComplete(final EndpointClass endpointClass, final long start) {
+      this.endpointClass = endpointClass;
+      this.start = start;
+    }
+
+    @Override
+    public void onComplete(final AsyncEvent event) {
+      admissionController.release(endpointClass, System.nanoTime() - start);
+    }
+
+    @Override
+    public void onTimeout(final AsyncEvent event) {
+      // Always followed by onComplete
+    }
+
+    @Override
+    public void onError(final AsyncEvent event) {
+      // Always followed by onComplete
+    }
+
+    @Override
+    public void onStartAsync(final AsyncEvent event) {
+      // Not restarted
+    }
+  }
+}
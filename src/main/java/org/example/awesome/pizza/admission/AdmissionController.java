@@ -0,0 +1,53 @@
+package org.example.awesome.pizza.admission;
+
+import java.util.Map;
+
+/**
+ * Admits requests against the adaptive limit of their endpoint class. A class missing its latency target also
+ * backs off all the lower priority classes: under overload customer reads are shed first, so that the request
+ * threads they free keep the kitchen within its target
+ */
+public class AdmissionController {
+  private final Map<EndpointClass, AdaptiveLimit> limits;
+
+  /**
+   * @param limits: limit of each endpoint class: classes without one are always admitted
+   */
+  public AdmissionController(final Map<EndpointClass, AdaptiveLimit> limits) {
+    this.limits = limits;
+  }
+
+  /**
+   * Admits a request without waiting
+   * @param endpointClass: class of the requested endpoint
+   * @return true when admitted: the request must then be released once completed
+   */
+  public boolean tryAcquire(final EndpointClass endpointClass) {
+    final AdaptiveLimit limit = limits.get(endpointClass);
+    return limit == null || limit.tryAcquire();
+  }
+
+  /**
+   * Releases an admitted request
+   * @param endpointClass: class of the requested endpoint
+   * @param latencyNanos: time the request took
+   */
+  public void release(final EndpointClass endpointClass, final long latencyNanos) {
+    final AdaptiveLimit limit = limits.get(endpointClass);
+    if (limit == null || !limit.release(latencyNanos))
+      return;
+
+    limits.forEach((other, otherLimit) -> {
+      if (other.compareTo(endpointClass) > 0)
+        otherLimit.backOff();
+    });
+  }
+
+  /**
+   * @param endpointClass: class of the requested endpoint
+   * @return the limit of the class, if any
+   */
+  public AdaptiveLimit getLimit(final EndpointClass endpointClass) {
+    return limits.get(endpointClass);
+  }
+}
@@ -0,0 +1,42 @@
+package org.example.awesome.pizza.admission;
+
+import org.springframework.http.HttpMethod;
+
+/**
+ * Classes of endpoints sharing a concurrency limit, by decreasing priority: when a class misses its latency
+ * target, every class after it backs off
+ */
+public enum EndpointClass {
+  /**
+   * Chef operations: listing the queue, taking and completing Orders and lines
+   */
+  KITCHEN,
+  /**
+   * Customer and menu writes: Order creation, update and cancellation, pizzas
+   */
+  ORDER,
+  /**
+   * Customer reads, mostly polling
+   */
+  READ;
+
+  // Kitchen queue listing: a GET, yet polled by the Chefs rather than the customers
+  private static final String KITCHEN_QUEUE = "/order";
+
+  /**
+   * Classifies a request by its method and path
+   * @param method: HTTP method
+   * @param path: request path, without the context path
+   * @return the class of the endpoint
+   */
+  public static EndpointClass of(final String method, final String path) {
+    if (HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method))
+      return KITCHEN_QUEUE.equals(path) ? KITCHEN : READ;
+    if (HttpMethod.OPTIONS.matches(method))
+      return READ;
+    // Taking and completing Orders and lines are the only PATCH endpoints
+    if (HttpMethod.PATCH.matches(method))
+      return KITCHEN;
+    return ORDER;
+  }
+}
@@ -0,0 +1,61 @@
+package org.example.awesome.pizza.cluster;
+
+import org.example.awesome.pizza.exception.ChefBusyException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Lease of a Chef, held by whoever changes the Orders or lines the Chef cooks: pulls of the Chef, at Order and
+ * line level, and pushes of the dispatcher. Concurrent changes for the same Chef, even on different nodes, cannot
+ * exceed the cooking thresholds
+ */
+@Component
+public class ChefLease {
+  private final ClaimCoordinator claimCoordinator;
+  private final Duration ttl;
+
+  public ChefLease(
+      final ClaimCoordinator claimCoordinator,
+      @Value("${awesome-pizza.config.cluster.chef-lease-ttl:PT30S}") final Duration ttl
+  ) {
+    this.claimCoordinator = claimCoordinator;
+    this.ttl = ttl;
+  }
+
+  /**
+   * Runs an action holding the lease of the input Chef: when invoked inside a transaction, the lease is released
+   * only after its completion, so that other nodes see the committed changes
+   * @param chefId: Chef the action is performed for: if null, no lease is needed
+   * @param action: the action to run
+   * @return action result
+   * @throws ChefBusyException when the lease is held by someone else
+   */
+  public <T> T hold(final Long chefId, final Supplier<T> action) {
+    if (chefId == null)
+      return action.get();
+
+    final Claim claim = claimCoordinator.tryClaim("chef:%d".formatted(chefId), ttl)
+        .orElseThrow(() -> new ChefBusyException("Chef [%d] is already handling another Order".formatted(chefId)));
+
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      try {
+        return action.get();
+      } finally {
+        claimCoordinator.release(claim);
+      }
+    }
+
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCompletion(final int status) {
+        claimCoordinator.release(claim);
+      }
+    });
+    return action.get();
+  }
+}
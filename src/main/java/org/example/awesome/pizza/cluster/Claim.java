@@ -0,0 +1,9 @@
+package org.example.awesome.pizza.cluster;
+
+/**
+ * Exclusive claim on a named resource
+ * @param name Name of the claimed resource
+ * @param owner Unique token of the claim holder
+ */
+public record Claim(String name, String owner) {
+}
@@ -0,0 +1,23 @@
+package org.example.awesome.pizza.cluster;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Coordinates exclusive claims on named resources (Chefs, Orders, background jobs) among application nodes
+ */
+public interface ClaimCoordinator {
+  /**
+   * Tries to claim a resource, failing fast when someone else holds it
+   * @param name: Name of the resource
+   * @param ttl: Time after which the claim expires, if not released
+   * @return the claim, empty when held by someone else
+   */
+  Optional<Claim> tryClaim(final String name, final Duration ttl);
+
+  /**
+   * Releases a claim, if still held
+   * @param claim: Claim to release
+   */
+  void release(final Claim claim);
+}
@@ -0,0 +1,145 @@
+package org.example.awesome.pizza.cluster;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.example.awesome.pizza.domain.ClusterEvent;
+import org.example.awesome.pizza.repository.ClusterEventRepository;
+import org.example.awesome.pizza.repository.ClusterLeaseRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Replicates {@link ReplicatedEvent}s among the nodes of a cluster through the shared DB: committed local events
+ * are stored in the notification table, which every node polls to replay the events published elsewhere.
+ * <p>
+ * Event IDs are assigned at insert time, while rows become visible at commit time: only events older than the
+ * settle delay are polled, so that an event is not skipped because a lower ID was still being committed
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "awesome-pizza.config.cluster.enabled", havingValue = "true")
+public class ClusterEventRelay {
+  private final ClusterEventRepository eventRepository;
+  private final ClusterLeaseRepository leaseRepository;
+  private final ApplicationEventPublisher eventPublisher;
+  private final ObjectMapper objectMapper;
+  private final TransactionTemplate requiresNew;
+  private final ClusterNode node;
+  private final Duration settleDelay;
+  private final Duration retention;
+  private final int batchSize;
+
+  // Events published by replay must not be stored again
+  private final ThreadLocal<Boolean> replaying = ThreadLocal.withInitial(() -> false);
+  private Long lastSeenId;
+
+  public ClusterEventRelay(
+      final ClusterEventRepository eventRepository,
+      final ClusterLeaseRepository leaseRepository,
+      final ApplicationEventPublisher eventPublisher,
+      final ObjectMapper objectMapper,
+      final PlatformTransactionManager transactionManager,
+      final ClusterNode node,
+      @Value("${awesome-pizza.config.cluster.settle-delay:PT0.5S}") final Duration settleDelay,
+      @Value("${awesome-pizza.config.cluster.event-retention:PT1H}") final Duration retention,
+      @Value("${awesome-pizza.config.cluster.poll-batch-size:500}") final int batchSize
+  ) {
+    this.eventRepository = eventRepository;
+    this.leaseRepository = leaseRepository;
+    this.eventPublisher = eventPublisher;
+    this.objectMapper = objectMapper;
+    this.requiresNew = new TransactionTemplate(transactionManager);
+    this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.node = node;
+    this.settleDelay = settleDelay;
+    this.retention = retention;
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * Stores a committed local event for the other nodes
+   * @param event: the event to replicate
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onReplicatedEvent(final ReplicatedEvent event) {
+    if (replaying.get())
+      return;
+
+    try {
+      final ClusterEvent row = new ClusterEvent()
+          .setOrigin(node.getId())
+          .setType(event.getClass().getName())
+          .setPayload(objectMapper.writeValueAsString(event));
+      requiresNew.executeWithoutResult(status -> eventRepository.save(row));
+    } catch (JsonProcessingException | RuntimeException e) {
+      log.warn("Could not replicate event [{}]", event, e);
+    }
+  }
+
+  /**
+   * Replays the events published by other nodes since the last poll; history before startup is skipped, as
+   * in-memory state is loaded from DB at startup
+   * @return number of replayed events
+   */
+  @Scheduled(fixedDelayString = "${awesome-pizza.config.cluster.poll-interval:PT1S}")
+  public synchronized int poll() {
+    if (lastSeenId == null) {
+      lastSeenId = eventRepository.findLastId();
+      return 0;
+    }
+
+    final List<ClusterEvent> events = eventRepository.findNext(lastSeenId, node.getId(), Instant.now().minus(settleDelay),
+        PageRequest.of(0, batchSize));
+
+    for (final ClusterEvent event : events) {
+      lastSeenId = event.getId();
+      replay(event);
+    }
+
+    return events.size();
+  }
+
+  /**
+   * Deletes expired leases and events older than retention
+   */
+  @Scheduled(
+      initialDelayString = "${awesome-pizza.config.cluster.cleanup-interval:PT10M}",
+      fixedDelayString = "${awesome-pizza.config.cluster.cleanup-interval:PT10M}"
+  )
+  public void cleanup() {
+    final Instant now = Instant.now();
+    requiresNew.executeWithoutResult(status -> {
+      final int leases = leaseRepository.deleteExpired(now);
+      final int events = eventRepository.deleteOlderThan(now.minus(retention));
+      log.debug("Deleted [{}] expired leases and [{}] old cluster events", leases, events);
+    });
+  }
+
+  private void replay(final ClusterEvent event) {
+    replaying.set(true);
+    try {
+      final Class<?> type = Class.forName(event.getType());
+      if (!ReplicatedEvent.class.isAssignableFrom(type))
+        throw new IllegalArgumentException("Not a replicated event type");
+
+      eventPublisher.publishEvent(objectMapper.readValue(event.getPayload(), type));
+    } catch (ClassNotFoundException | JsonProcessingException | RuntimeException e) {
+      log.warn("Could not replay cluster event [{}] of type [{}] from node [{}]", event.getId(), event.getType(), event.getOrigin(), e);
+    } finally {
+      replaying.remove();
+    }
+  }
+}
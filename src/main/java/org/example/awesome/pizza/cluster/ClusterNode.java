@@ -0,0 +1,23 @@
+package org.example.awesome.pizza.cluster;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Identity of this application node in the cluster: configured, or random when not set
+ */
+@Component
+public class ClusterNode {
+  private final String id;
+
+  public ClusterNode(@Value("${awesome-pizza.config.cluster.node-id:}") final String id) {
+    this.id = StringUtils.isBlank(id) ? UUID.randomUUID().toString() : id;
+  }
+
+  public String getId() {
+    return id;
+  }
+}
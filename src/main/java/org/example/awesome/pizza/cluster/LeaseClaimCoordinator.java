@@ -0,0 +1,69 @@
+package org.example.awesome.pizza.cluster;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.awesome.pizza.repository.ClusterLeaseRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Cluster deployment: claims are lease rows on the shared DB, each one taken, renewed and released in its own
+ * short transaction, so that they are visible to other nodes right away and independent of business transactions
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "awesome-pizza.config.cluster.enabled", havingValue = "true")
+public class LeaseClaimCoordinator implements ClaimCoordinator {
+  private final ClusterLeaseRepository repository;
+  private final TransactionTemplate requiresNew;
+  private final ClusterNode node;
+
+  public LeaseClaimCoordinator(
+      final ClusterLeaseRepository repository,
+      final PlatformTransactionManager transactionManager,
+      final ClusterNode node
+  ) {
+    this.repository = repository;
+    this.requiresNew = new TransactionTemplate(transactionManager);
+    this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.node = node;
+  }
+
+  @Override
+  public Optional<Claim> tryClaim(final String name, final Duration ttl) {
+    final Claim claim = new Claim(name, "%s/%s".formatted(node.getId(), UUID.randomUUID()));
+
+    try {
+      final Boolean acquired = requiresNew.execute(status -> {
+        final Instant now = Instant.now();
+
+        // Take over an expired lease, if any
+        if (repository.renew(name, claim.owner(), now, now.plus(ttl)) > 0)
+          return true;
+        if (repository.existsById(name))
+          return false;
+
+        // No lease yet: concurrent inserts by other nodes fail on primary key
+        return repository.insert(name, claim.owner(), now.plus(ttl)) > 0;
+      });
+
+      return Boolean.TRUE.equals(acquired) ? Optional.of(claim) : Optional.empty();
+    } catch (DataIntegrityViolationException e) {
+      log.debug("Lease [{}] taken concurrently by another node", name);
+      return Optional.empty();
+    }
+  }
+
+  @Override
+  public void release(final Claim claim) {
+    requiresNew.executeWithoutResult(status -> repository.release(claim.name(), claim.owner()));
+  }
+}
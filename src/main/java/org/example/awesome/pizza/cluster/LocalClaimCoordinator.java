@@ -0,0 +1,26 @@
+package org.example.awesome.pizza.cluster;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Single node deployment: every claim is granted, consistency relies on DB checks as before
+ */
+@Component
+@ConditionalOnProperty(name = "awesome-pizza.config.cluster.enabled", havingValue = "false", matchIfMissing = true)
+public class LocalClaimCoordinator implements ClaimCoordinator {
+  private static final String OWNER = "local";
+
+  @Override
+  public Optional<Claim> tryClaim(final String name, final Duration ttl) {
+    return Optional.of(new Claim(name, OWNER));
+  }
+
+  @Override
+  public void release(final Claim claim) {
+    // Nothing to release
+  }
+}
@@ -0,0 +1,8 @@
+package org.example.awesome.pizza.cluster;
+
+/**
+ * Marker for application events that, in cluster mode, are replayed on all the other nodes, so that their
+ * in-memory state (ETA model, dispatcher, caches) stays in sync: implementations must be JSON serializable
+ */
+public interface ReplicatedEvent {
+}
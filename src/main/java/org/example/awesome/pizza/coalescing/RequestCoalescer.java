@@ -0,0 +1,55 @@
+package org.example.awesome.pizza.coalescing;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.function.UnaryOperator;
+
+/**
+ * Creates named {@link SingleFlight} groups, exposing how many calls each group executed and collapsed as the
+ * <code>awesome.pizza.coalescing.calls</code> metric, when metrics are available
+ */
+@Component
+public class RequestCoalescer {
+  static final String METRIC = "awesome.pizza.coalescing.calls";
+
+  private final MeterRegistry meterRegistry;
+
+  public RequestCoalescer(@Nullable final MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  /**
+   * Creates a new group of coalesced calls returning immutable results
+   * @param name: name of the group, used as metric tag
+   * @return the group
+   */
+  public <K, V> SingleFlight<K, V> group(final String name) {
+    return group(name, UnaryOperator.identity());
+  }
+
+  /**
+   * Creates a new group of coalesced calls returning mutable results
+   * @param name: name of the group, used as metric tag
+   * @param copier: copies the result for each caller
+   * @return the group
+   */
+  public <K, V> SingleFlight<K, V> group(final String name, final UnaryOperator<V> copier) {
+    final SingleFlight<K, V> group = new SingleFlight<>(copier);
+
+    if (meterRegistry != null) {
+      FunctionCounter.builder(METRIC, group, SingleFlight::executed)
+          .description("Calls running their own lookup")
+          .tags("group", name, "outcome", "executed")
+          .register(meterRegistry);
+      FunctionCounter.builder(METRIC, group, SingleFlight::collapsed)
+          .description("Calls sharing the result of an identical in flight lookup")
+          .tags("group", name, "outcome", "collapsed")
+          .register(meterRegistry);
+    }
+
+    return group;
+  }
+}
@@ -0,0 +1,112 @@
+package org.example.awesome.pizza.coalescing;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Coalesces concurrent identical calls: the first caller of a key runs the loader, callers of the same key
+ * arriving while it is in flight wait for its result, or share its exception; each caller gets its own copy of
+ * the result. Nothing is cached once the call completes, yet a caller joining an in flight call gets what the loader read
+ * when it started: a write committed meanwhile is missed, unless the writer {@link #forget(Object) forgets} the
+ * key, so that later callers run their own loader
+ * @param <K> type of the call key
+ * @param <V> type of the call result
+ */
+public class SingleFlight<K, V> {
+  private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+  private final LongAdder executed = new LongAdder();
+  private final LongAdder collapsed = new LongAdder();
+  private final UnaryOperator<V> copier;
+
+  /**
+   * Coalesces calls returning immutable results, shared as they are
+   */
+  public SingleFlight() {
+    this(UnaryOperator.identity());
+  }
+
+  /**
+   * Coalesces calls returning mutable results
+   * @param copier: copies the result for each caller
+   */
+  public SingleFlight(final UnaryOperator<V> copier) {
+    this.copier = copier;
+  }
+
+  /**
+   * Runs the loader for the input key, unless an identical call is already in flight
+   * @param key: key identifying identical calls
+   * @param loader: the actual call
+   * @return the call result
+   */
+  public V execute(final K key, final Supplier<V> loader) {
+    final CompletableFuture<V> call = new CompletableFuture<>();
+    final CompletableFuture<V> leader = inFlight.putIfAbsent(key, call);
+
+    if (leader != null) {
+      collapsed.increment();
+      return copier.apply(await(leader));
+    }
+
+    executed.increment();
+    try {
+      final V result = loader.get();
+      call.complete(result);
+      // The shared result is copied by the callers joining meanwhile, hence never handed out itself
+      return copier.apply(result);
+    } catch (RuntimeException | Error e) {
+      call.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(key, call);
+    }
+  }
+
+  /**
+   * Detaches the in flight call of the input key, if any: callers already waiting for it still get its result,
+   * later ones run their own loader. To be called once a write of the key is committed
+   * @param key: key identifying identical calls
+   */
+  public void forget(final K key) {
+    inFlight.remove(key);
+  }
+
+  /**
+   * Detaches every in flight call, see {@link #forget(Object)}
+   */
+  public void forgetAll() {
+    inFlight.clear();
+  }
+
+  /**
+   * @return number of calls that actually ran their loader
+   */
+  public long executed() {
+    return executed.sum();
+  }
+
+  /**
+   * @return number of calls that shared the result of an in flight identical call
+   */
+  public long collapsed() {
+    return collapsed.sum();
+  }
+
+  private V await(final CompletableFuture<V> leader) {
+    try {
+      return leader.join();
+    } catch (CompletionException e) {
+      // Rethrow the leader exception as is, so that all callers get the same error response
+      if (e.getCause() instanceof RuntimeException runtime)
+        throw runtime;
+      if (e.getCause() instanceof Error error)
+        throw error;
+      throw e;
+    }
+  }
+}
@@ -0,0 +1,210 @@
+package org.example.awesome.pizza.collection;
+
+import java.util.Arrays;
+
+/**
+ * Hash map from long to long without boxing: keys and values are interleaved in a single array, so that a lookup
+ * reads one cache line, with linear probing over a power of two table. Removal shifts the following entries back
+ * instead of leaving tombstones, so lookups never slow down with churn.
+ * <p>
+ * Absent keys are reported with the missing value chosen at construction. Not thread safe
+ */
+public class LongLongHashMap {
+  private static final long FREE_KEY = 0;
+  private static final long PHI = 0x9E3779B97F4A7C15L;
+  private static final int MIN_SLOTS = 8;
+  private static final double LOAD_FACTOR = 0.75;
+
+  private final long missingValue;
+  // Key and value pairs: key of slot i at 2i, its value at 2i + 1
+  private long[] table;
+  private int mask;
+  private int shift;
+  private int size;
+  private int resizeAt;
+  // Key 0 marks free slots, hence it is kept apart
+  private boolean hasFreeKey;
+  private long freeKeyValue;
+
+  /**
+   * @param expectedSize: number of entries held without resizing
+   * @param missingValue: value returned for absent keys
+   */
+  public LongLongHashMap(final int expectedSize, final long missingValue) {
+    this.missingValue = missingValue;
+    allocate(slotsFor(expectedSize));
+  }
+
+  /**
+   * @param key: the key
+   * @return value of the key, the missing value when absent
+   */
+  public long get(final long key) {
+    if (key == FREE_KEY)
+      return hasFreeKey ? freeKeyValue : missingValue;
+
+    final long[] table = this.table;
+    for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+      final long current = table[slot << 1];
+      if (current == key)
+        return table[(slot << 1) + 1];
+      if (current == FREE_KEY)
+        return missingValue;
+    }
+  }
+
+  public boolean containsKey(final long key) {
+    if (key == FREE_KEY)
+      return hasFreeKey;
+
+    for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+      final long current = table[slot << 1];
+      if (current == key)
+        return true;
+      if (current == FREE_KEY)
+        return false;
+    }
+  }
+
+  /**
+   * @param key: the key
+   * @param value: the value
+   * @return previous value of the key, the missing value when absent
+   */
+  public long put(final long key, final long value) {
+    if (key == FREE_KEY) {
+      final long previous = hasFreeKey ? freeKeyValue : missingValue;
+      if (!hasFreeKey)
+        size++;
+      hasFreeKey = true;
+      freeKeyValue = value;
+      return previous;
+    }
+
+    int slot = slot(key);
+    for (; ; slot = (slot + 1) & mask) {
+      final long current = table[slot << 1];
+      if (current == key) {
+        final long previous = table[(slot << 1) + 1];
+        table[(slot << 1) + 1] = value;
+        return previous;
+      }
+      if (current == FREE_KEY)
+        break;
+    }
+
+    table[slot << 1] = key;
+    table[(slot << 1) + 1] = value;
+    if (++size > resizeAt)
+      allocate((mask + 1) << 1);
+    return missingValue;
+  }
+
+  /**
+   * @param key: the key
+   * @return value the key had, the missing value when absent
+   */
+  public long remove(final long key) {
+    if (key == FREE_KEY) {
+      if (!hasFreeKey)
+        return missingValue;
+      hasFreeKey = false;
+      size--;
+      return freeKeyValue;
+    }
+
+    int gap = slot(key);
+    for (; ; gap = (gap + 1) & mask) {
+      final long current = table[gap << 1];
+      if (current == key)
+        break;
+      if (current == FREE_KEY)
+        return missingValue;
+    }
+    final long previous = table[(gap << 1) + 1];
+
+    // Moves back each following entry of the run that can be reached from its ideal slot through the gap
+    for (int next = (gap + 1) & mask; table[next << 1] != FREE_KEY; next = (next + 1) & mask) {
+      final int ideal = slot(table[next << 1]);
+      if (((next - ideal) & mask) >= ((next - gap) & mask)) {
+        table[gap << 1] = table[next << 1];
+        table[(gap << 1) + 1] = table[(next << 1) + 1];
+        gap = next;
+      }
+    }
+    table[gap << 1] = FREE_KEY;
+    table[(gap << 1) + 1] = 0;
+    size--;
+    return previous;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public void clear() {
+    Arrays.fill(table, 0);
+    hasFreeKey = false;
+    size = 0;
+  }
+
+  /**
+   * Visits every entry, in no particular order, without allocating
+   * @param consumer: receives each key and value
+   */
+  public void forEach(final EntryConsumer consumer) {
+    if (hasFreeKey)
+      consumer.accept(FREE_KEY, freeKeyValue);
+    for (int slot = 0; slot <= mask; slot++)
+      if (table[slot << 1] != FREE_KEY)
+        consumer.accept(table[slot << 1], table[(slot << 1) + 1]);
+  }
+
+  /**
+   * @return bytes held by the table
+   */
+  public long footprint() {
+    return 8L * table.length;
+  }
+
+  @FunctionalInterface
+  public interface EntryConsumer {
+    void accept(long key, long value);
+  }
+
+  private int slot(final long key) {
+    return (int) ((key * PHI) >>> shift);
+  }
+
+  private static int slotsFor(final int expectedSize) {
+    int slots = MIN_SLOTS;
+    while (slots * LOAD_FACTOR < expectedSize)
+      slots <<= 1;
+    return slots;
+  }
+
+  private void allocate(final int slots) {
+    final long[] previous = table;
+    table = new long[slots << 1];
+    mask = slots - 1;
+    shift = Long.numberOfLeadingZeros(slots) + 1;
+    resizeAt = (int) (slots * LOAD_FACTOR);
+
+    if (previous != null)
+      for (int i = 0; i < previous.length; i += 2)
+        if (previous[i] != FREE_KEY)
+          reinsert(previous[i], previous[i + 1]);
+  }
+
+  private void reinsert(final long key, final long value) {
+    int slot = slot(key);
+    while (table[slot << 1] != FREE_KEY)
+      slot = (slot + 1) & mask;
+    table[slot << 1] = key;
+    table[(slot << 1) + 1] = value;
+  }
+}
@@ -0,0 +1,167 @@
+package org.example.awesome.pizza.compression;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.example.awesome.pizza.event.PizzaMenuChangedEvent;
+import org.example.awesome.pizza.interceptor.RateLimitInterceptor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serves the Pizza menu gzip compressed once, instead of compressing it again on every request: responses of
+ * GET /pizza are cached per search text and Accept header, until a Pizza changes. Cached menus are answered before
+ * the dispatcher, hence the rate limit of the menu, when enabled, is charged here.
+ * <p>
+ * Other responses are compressed by the connector, which leaves alone the ones already carrying a Content-Encoding
+ */
+@Slf4j
+@Component
+public class PrecompressedMenuFilter extends OncePerRequestFilter {
+  private static final String MENU_PATH = "/pizza";
+  private static final String GZIP = "gzip";
+  private static final String MENU_OPERATION = "findPizzas";
+
+  private final Map<String, CachedMenu> cache = new ConcurrentHashMap<>();
+  // Bumped on every invalidation, so that menus read before a change are not cached after it
+  private final AtomicLong generation = new AtomicLong();
+  private final RateLimitInterceptor rateLimit;
+  private final boolean enabled;
+  private final int maxEntries;
+
+  public PrecompressedMenuFilter(
+      @Nullable final RateLimitInterceptor rateLimit,
+      @Value("${awesome-pizza.config.rate-limit.enabled:true}") final boolean rateLimited,
+      @Value("${awesome-pizza.config.compression.menu-cache.enabled:true}") final boolean enabled,
+      @Value("${awesome-pizza.config.compression.menu-cache.max-entries:256}") final int maxEntries) {
+    // Same switch as the interceptor registration, see WebConfig
+    this.rateLimit = rateLimited ? rateLimit : null;
+    this.enabled = enabled;
+    this.maxEntries = maxEntries;
+  }
+
+  record CachedMenu(String contentType, byte[] gzipped) {
+  }
+
+  @Override
+  protected boolean shouldNotFilter(final HttpServletRequest request) {
+    return !enabled
+        || !HttpMethod.GET.matches(request.getMethod())
+        || !MENU_PATH.equals(request.getRequestURI().substring(request.getContextPath().length()))
+        || !acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+  }
+
+  /**
+   * Checks whether gzip is acceptable, as listed with a non-zero quality value or, when not listed, as matched by
+   * the * wildcard
+   * @param acceptEncoding: Accept-Encoding header: optional
+   * @return false when gzip is refused, e.g. gzip;q=0, or not listed at all
+   */
+  static boolean acceptsGzip(@Nullable final String acceptEncoding) {
+    if (StringUtils.isBlank(acceptEncoding))
+      return false;
+
+    Boolean wildcard = null;
+    for (final String coding : acceptEncoding.split(",")) {
+      final String[] parameters = coding.split(";");
+      final String name = parameters[0].trim();
+      if (GZIP.equalsIgnoreCase(name))
+        return quality(parameters) > 0;
+      if ("*".equals(name))
+        wildcard = quality(parameters) > 0;
+    }
+    return Boolean.TRUE.equals(wildcard);
+  }
+
+  private static double quality(final String[] parameters) {
+    for (int i = 1; i < parameters.length; i++) {
+      final String parameter = parameters[i].trim();
+      if (StringUtils.startsWithIgnoreCase(parameter, "q="))
+        try {
+          return Double.parseDouble(parameter.substring(2).trim());
+        } catch (final NumberFormatException e) {
+          return 0;
+        }
+    }
+    return 1;
+  }
+
+  @Override
+  protected void doFilterInternal(final HttpServletRequest request,
+                                  final HttpServletResponse response,
+                                  final FilterChain filterChain) throws ServletException, IOException {
+    if (rateLimit != null && !rateLimit.admit(MENU_OPERATION, request, response))
+      return;
+
+    final String key = "%s|%s".formatted(
+        Objects.toString(request.getHeader(HttpHeaders.ACCEPT), ""),
+        StringUtils.defaultString(request.getParameter("searchString")).toLowerCase());
+
+    final CachedMenu cached = cache.get(key);
+    if (cached != null) {
+      write(response, cached);
+      return;
+    }
+
+    final long observed = generation.get();
+    final ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+    filterChain.doFilter(request, wrapper);
+
+    if (wrapper.getStatus() != HttpStatus.OK.value() || wrapper.getContentSize() == 0) {
+      wrapper.copyBodyToResponse();
+      return;
+    }
+
+    final CachedMenu menu = new CachedMenu(wrapper.getContentType(), gzip(wrapper.getContentAsByteArray()));
+    if (cache.size() < maxEntries && cache.putIfAbsent(key, menu) == null && generation.get() != observed)
+      cache.remove(key, menu);
+    write(response, menu);
+  }
+
+  /**
+   * Drops all cached menus once a Pizza change is committed
+   * @param event: the Pizza change
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onMenuChanged(final PizzaMenuChangedEvent event) {
+    generation.incrementAndGet();
+    cache.clear();
+    log.debug("Menu cache invalidated by Pizza {}", event.pizzaId());
+  }
+
+  private static void write(final HttpServletResponse response, final CachedMenu menu) throws IOException {
+    response.setStatus(HttpStatus.OK.value());
+    response.setContentType(menu.contentType());
+    response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+    response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+    response.setContentLength(menu.gzipped().length);
+    response.getOutputStream().write(menu.gzipped());
+  }
+
+  private static byte[] gzip(final byte[] content) throws IOException {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream(content.length / 4 + 64);
+    try (final GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+      gzip.write(content);
+    }
+    return out.toByteArray();
+  }
+}
@@ -0,0 +1,41 @@
+package org.example.awesome.pizza.config;
+
+import org.example.awesome.pizza.admission.AdaptiveLimit;
+import org.example.awesome.pizza.admission.AdmissionController;
+import org.example.awesome.pizza.admission.EndpointClass;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Configuration
+public class AdmissionConfig {
+
+  /**
+   * Adaptive concurrency limits of the endpoint classes. The highest limits of orders and reads together should
+   * stay below the Tomcat threads minus the lowest kitchen limit, so that Chefs always find a free thread
+   * @param backoff: ratio a limit is multiplied by when its class, or a higher priority one, misses the target
+   * @return the admission controller
+   */
+  @Bean
+  public AdmissionController admissionController(
+      @Value("${awesome-pizza.config.admission.backoff:0.9}") final double backoff,
+      @Value("${awesome-pizza.config.admission.kitchen.min-limit:4}") final int kitchenMin,
+      @Value("${awesome-pizza.config.admission.kitchen.max-limit:20}") final int kitchenMax,
+      @Value("${awesome-pizza.config.admission.kitchen.latency-target:PT0.25S}") final Duration kitchenTarget,
+      @Value("${awesome-pizza.config.admission.order.min-limit:2}") final int orderMin,
+      @Value("${awesome-pizza.config.admission.order.max-limit:15}") final int orderMax,
+      @Value("${awesome-pizza.config.admission.order.latency-target:PT0.5S}") final Duration orderTarget,
+      @Value("${awesome-pizza.config.admission.read.min-limit:2}") final int readMin,
+      @Value("${awesome-pizza.config.admission.read.max-limit:30}") final int readMax,
+      @Value("${awesome-pizza.config.admission.read.latency-target:PT0.25S}") final Duration readTarget) {
+    final Map<EndpointClass, AdaptiveLimit> limits = new EnumMap<>(EndpointClass.class);
+    limits.put(EndpointClass.KITCHEN, new AdaptiveLimit(kitchenMin, kitchenMax, kitchenTarget, backoff));
+    limits.put(EndpointClass.ORDER, new AdaptiveLimit(orderMin, orderMax, orderTarget, backoff));
+    limits.put(EndpointClass.READ, new AdaptiveLimit(readMin, readMax, readTarget, backoff));
+    return new AdmissionController(limits);
+  }
+}
@@ -0,0 +1,32 @@
+package org.example.awesome.pizza.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class AsyncReadConfig {
+  public static final String EXECUTOR = "asyncReadExecutor";
+
+  /**
+   * Bounded executor serving the async read endpoints: the Tomcat request thread is released as soon as the
+   * read is queued, so open connections are limited by the connector and not by its thread pool.
+   * Reads exceeding the queue capacity are rejected instead of piling up
+   * @param threads: number of threads running DB reads
+   * @param queueCapacity: maximum number of reads waiting for a thread
+   * @return the executor for async reads
+   */
+  @Bean(name = EXECUTOR)
+  public ThreadPoolTaskExecutor asyncReadExecutor(
+      @Value("${awesome-pizza.config.async-read.threads:16}") final int threads,
+      @Value("${awesome-pizza.config.async-read.queue-capacity:10000}") final int queueCapacity) {
+    final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(threads);
+    executor.setMaxPoolSize(threads);
+    executor.setQueueCapacity(queueCapacity);
+    executor.setThreadNamePrefix("async-read-");
+    executor.setWaitForTasksToCompleteOnShutdown(true);
+    return executor;
+  }
+}
@@ -0,0 +1,107 @@
+package org.example.awesome.pizza.config;
+
+import net.ttddyy.dsproxy.proxy.ProxyJdbcObject;
+import org.example.awesome.pizza.domain.ArchivedOrder;
+import org.example.awesome.pizza.domain.BaseEntity;
+import org.example.awesome.pizza.domain.Chef;
+import org.example.awesome.pizza.domain.ClusterEvent;
+import org.example.awesome.pizza.domain.ClusterLease;
+import org.example.awesome.pizza.domain.Order;
+import org.example.awesome.pizza.domain.OrderLine;
+import org.example.awesome.pizza.domain.Pizza;
+import org.example.awesome.pizza.domain.SalesBucket;
+import org.example.awesome.pizza.domain.utils.CodeSequenceGenerator;
+import org.example.awesome.pizza.event.OrderStatusChangedEvent;
+import org.example.awesome.pizza.event.OrdersArchivedEvent;
+import org.example.awesome.pizza.event.PizzaMenuChangedEvent;
+import org.example.awesome.pizza.mapper.OrderLineMapper;
+import org.example.awesome.pizza.mapper.OrderLineMapperImpl;
+import org.example.awesome.pizza.mapper.OrderMapper;
+import org.example.awesome.pizza.mapper.OrderMapperImpl;
+import org.example.awesome.pizza.mapper.PizzaMapper;
+import org.example.awesome.pizza.mapper.PizzaMapperImpl;
+import org.example.awesome.pizza.model.BaseDto;
+import org.example.awesome.pizza.repository.projection.LiveOrderRow;
+import org.example.awesome.pizza.repository.projection.OrderCodeRow;
+import org.example.awesome.pizza.repository.projection.OrderSummaryRow;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.util.ClassUtils;
+
+import javax.sql.DataSource;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Reflection hints for the native image, on top of the ones Spring AOT infers from the bean definitions: anything
+ * instantiated or bound by Hibernate, MapStruct and Jackson outside of the Spring container
+ */
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+  static final List<Class<?>> ENTITIES = List.of(BaseEntity.class, Order.class, OrderLine.class, Pizza.class,
+      Chef.class, ArchivedOrder.class, SalesBucket.class, ClusterEvent.class, ClusterLease.class);
+  static final List<Class<?>> MAPPERS = List.of(OrderMapper.class, OrderMapperImpl.class, OrderLineMapper.class,
+      OrderLineMapperImpl.class, PizzaMapper.class, PizzaMapperImpl.class);
+  // Instantiated by Hibernate from JPQL constructor expressions
+  static final List<Class<?>> PROJECTIONS = List.of(OrderSummaryRow.class, OrderCodeRow.class,
+      LiveOrderRow.class);
+  // Serialized as JSON by the cluster event relay
+  static final List<Class<?>> EVENTS = List.of(OrderStatusChangedEvent.class, PizzaMenuChangedEvent.class,
+      OrdersArchivedEvent.class);
+
+  // Proxied by the SQL diagnostics, each along with the ProxyJdbcObject interface
+  static final List<Class<?>> PROXIED_JDBC = List.of(DataSource.class, Connection.class, Statement.class,
+      PreparedStatement.class, CallableStatement.class, ResultSet.class);
+
+  private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+  @Override
+  public void registerHints(final RuntimeHints hints, final ClassLoader classLoader) {
+    ENTITIES.forEach(type -> hints.reflection().registerType(type,
+        MemberCategory.DECLARED_FIELDS,
+        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+        MemberCategory.INVOKE_DECLARED_METHODS));
+
+    // Instantiated by Hibernate from the @ValueGenerationType of @FromSequence
+    hints.reflection().registerType(CodeSequenceGenerator.class,
+        MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+        MemberCategory.INVOKE_PUBLIC_METHODS);
+
+    PROJECTIONS.forEach(type -> hints.reflection().registerType(type,
+        MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS));
+
+    MAPPERS.forEach(type -> hints.reflection().registerType(type,
+        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+        MemberCategory.INVOKE_PUBLIC_METHODS));
+
+    PROXIED_JDBC.forEach(type -> hints.proxies().registerJdkProxy(ProxyJdbcObject.class, type));
+
+    // Read at startup for the x-rate-limit of the operations
+    hints.resources().registerPattern("openapi.yaml");
+
+    bindingRegistrar.registerReflectionHints(hints.reflection(),
+        Stream.concat(models(classLoader), EVENTS.stream()).toArray(Class<?>[]::new));
+  }
+
+  // OpenAPI generated models change with the spec: they are scanned at build time, not listed
+  private static Stream<Class<?>> models(final ClassLoader classLoader) {
+    final ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false) {
+      @Override
+      protected boolean isCandidateComponent(final AnnotatedBeanDefinition definition) {
+        return true;
+      }
+    };
+    scanner.addIncludeFilter((reader, factory) -> true);
+
+    return scanner.findCandidateComponents(BaseDto.class.getPackageName()).stream()
+        .map(definition -> ClassUtils.resolveClassName(definition.getBeanClassName(), classLoader));
+  }
+}
@@ -0,0 +1,91 @@
+package org.example.awesome.pizza.config;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Skips the Hibernate schema update at startup when the tables of all the entities already exist, saving the
+ * metadata round trips on every boot. Only missing tables are detected: new columns on existing tables still
+ * need a boot without this customizer
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "awesome-pizza.config.schema.skip-when-applied", havingValue = "true")
+public class SchemaSetupCustomizer implements HibernatePropertiesCustomizer {
+  private final DataSource dataSource;
+  private final PersistenceManagedTypes managedTypes;
+  private final String schema;
+
+  public SchemaSetupCustomizer(
+      final DataSource dataSource,
+      final PersistenceManagedTypes managedTypes,
+      @Value("${spring.jpa.properties.hibernate.default_schema:}") final String schema) {
+    this.dataSource = dataSource;
+    this.managedTypes = managedTypes;
+    this.schema = StringUtils.trimToNull(schema);
+  }
+
+  @Override
+  public void customize(final Map<String, Object> hibernateProperties) {
+    if (isApplied()) {
+      log.info("Schema already applied: skipping Hibernate schema update");
+      hibernateProperties.put(AvailableSettings.HBM2DDL_AUTO, "none");
+    }
+  }
+
+  private boolean isApplied() {
+    final List<String> tables = managedTypes.getManagedClassNames().stream()
+        .map(name -> ClassUtils.resolveClassName(name, ClassUtils.getDefaultClassLoader()))
+        .filter(type -> type.isAnnotationPresent(Entity.class))
+        .map(SchemaSetupCustomizer::tableName)
+        .toList();
+
+    try (final Connection connection = dataSource.getConnection()) {
+      final DatabaseMetaData metaData = connection.getMetaData();
+      for (final String table : tables)
+        if (!exists(metaData, table))
+          return false;
+      return !tables.isEmpty();
+    } catch (SQLException e) {
+      log.warn("Could not inspect schema, it will be updated", e);
+      return false;
+    }
+  }
+
+  private boolean exists(final DatabaseMetaData metaData, final String table) throws SQLException {
+    final boolean upperCase = metaData.storesUpperCaseIdentifiers();
+    try (final ResultSet result = metaData.getTables(
+        null,
+        upperCase ? StringUtils.upperCase(schema) : schema,
+        upperCase ? table.toUpperCase() : table,
+        new String[] {"TABLE"})) {
+      return result.next();
+    }
+  }
+
+  // Same as the default physical naming strategy: table name if declared, otherwise snake case of the class name
+  private static String tableName(final Class<?> entity) {
+    final Table table = entity.getAnnotation(Table.class);
+    if (table != null && StringUtils.isNotBlank(table.name()))
+      return table.name();
+
+    return String.join("_", StringUtils.splitByCharacterTypeCamelCase(entity.getSimpleName())).toLowerCase();
+  }
+}
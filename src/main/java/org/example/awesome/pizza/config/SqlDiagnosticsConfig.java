@@ -0,0 +1,73 @@
+package org.example.awesome.pizza.config;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.example.awesome.pizza.diagnostics.SqlDiagnosticsEndpoint;
+import org.example.awesome.pizza.diagnostics.SqlDiagnosticsListener;
+import org.example.awesome.pizza.diagnostics.SqlSampleBuffer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * SQL diagnostics, replacing the Hibernate SQL logs: the DataSource is proxied to record a sample of the
+ * statements, with their duration and rows, in a bounded buffer exposed by the sql actuator endpoint. When
+ * disabled, the DataSource is left alone
+ */
+@Configuration
+@ConditionalOnProperty(name = "awesome-pizza.config.sql-diagnostics.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlDiagnosticsConfig {
+
+  @Bean
+  public SqlSampleBuffer sqlSampleBuffer(@Value("${awesome-pizza.config.sql-diagnostics.capacity:1000}") final int capacity) {
+    return new SqlSampleBuffer(capacity);
+  }
+
+  @Bean
+  public SqlDiagnosticsListener sqlDiagnosticsListener(
+      final SqlSampleBuffer buffer,
+      @Value("${awesome-pizza.config.sql-diagnostics.sample-rate:0.01}") final double sampleRate,
+      @Value("${awesome-pizza.config.sql-diagnostics.slow-threshold:PT0.2S}") final Duration slowThreshold,
+      @Value("${awesome-pizza.config.sql-diagnostics.count-rows:false}") final boolean countRows) {
+    return new SqlDiagnosticsListener(buffer, sampleRate, slowThreshold, countRows);
+  }
+
+  @Bean
+  public SqlDiagnosticsEndpoint sqlDiagnosticsEndpoint(
+      final SqlSampleBuffer buffer,
+      @Value("${awesome-pizza.config.sql-diagnostics.sample-rate:0.01}") final double sampleRate) {
+    return new SqlDiagnosticsEndpoint(buffer, sampleRate);
+  }
+
+  /**
+   * Wraps the DataSource once created: static, so that it does not initialize this configuration early, and
+   * the listener is looked up lazily for the same reason. ResultSets are proxied only to count rows, every call
+   * on them being intercepted otherwise
+   * @param listener: the diagnostics listener
+   * @return the post processor proxying the DataSource
+   */
+  @Bean
+  public static BeanPostProcessor sqlDiagnosticsDataSourceProxy(final ObjectProvider<SqlDiagnosticsListener> listener) {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+        if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource)
+          return bean;
+
+        final SqlDiagnosticsListener diagnostics = listener.getObject();
+        final ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(beanName, dataSource)
+            .listener(diagnostics);
+        if (diagnostics.countsRows())
+          builder.methodListener(diagnostics)
+              .proxyResultSet();
+        return builder.build();
+      }
+    };
+  }
+}
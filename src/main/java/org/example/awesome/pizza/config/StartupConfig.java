@@ -0,0 +1,20 @@
+package org.example.awesome.pizza.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.sql.init.AbstractScriptDatabaseInitializer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class StartupConfig {
+
+  /**
+   * Beans created at startup even with lazy initialization, as in the fast-start profile: the SQL scripts seeding
+   * the DB only run when their initializer is created. Scheduled beans are already kept eager by Spring Boot
+   * @return filter excluding script DB initializers from lazy initialization
+   */
+  @Bean
+  static LazyInitializationExcludeFilter eagerDatabaseInitializers() {
+    return LazyInitializationExcludeFilter.forBeanTypes(AbstractScriptDatabaseInitializer.class);
+  }
+}
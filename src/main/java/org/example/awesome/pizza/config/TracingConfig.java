@@ -0,0 +1,92 @@
+package org.example.awesome.pizza.config;
+
+import org.example.awesome.pizza.tracing.TraceBuffer;
+import org.example.awesome.pizza.tracing.TraceEndpoint;
+import org.example.awesome.pizza.tracing.TraceExporter;
+import org.example.awesome.pizza.tracing.TracingAspect;
+import org.example.awesome.pizza.tracing.TracingFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Slow request tracing: every request records its controller, service, state, repository, sequence and
+ * serialization spans, and only the ones slower than the threshold are kept, in a bounded buffer exposed in
+ * OTLP/JSON by the traces actuator endpoint, and optionally exported to a file or an OTLP/HTTP endpoint
+ */
+@Configuration
+@ConditionalOnProperty(name = "awesome-pizza.config.tracing.enabled", havingValue = "true", matchIfMissing = true)
+public class TracingConfig {
+
+  @Bean
+  public TraceBuffer traceBuffer(@Value("${awesome-pizza.config.tracing.capacity:100}") final int capacity) {
+    return new TraceBuffer(capacity);
+  }
+
+  /**
+   * @param queueCapacity: slow traces waiting for export, beyond which they are dropped
+   * @return single thread executor of the trace exports
+   */
+  @Bean
+  public ThreadPoolTaskExecutor traceExportExecutor(
+      @Value("${awesome-pizza.config.tracing.export-queue-capacity:100}") final int queueCapacity) {
+    final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(1);
+    executor.setMaxPoolSize(1);
+    executor.setQueueCapacity(queueCapacity);
+    executor.setThreadNamePrefix("trace-export-");
+    return executor;
+  }
+
+  /**
+   * @param file: file the slow traces are appended to, blank for none
+   * @param endpoint: OTLP/HTTP endpoint the slow traces are posted to, blank for none
+   * @return the trace exporter
+   */
+  @Bean
+  public TraceExporter traceExporter(
+      final ThreadPoolTaskExecutor traceExportExecutor,
+      @Value("${awesome-pizza.config.tracing.service-name:awesome-pizza}") final String serviceName,
+      @Value("${awesome-pizza.config.tracing.export-file:}") final String file,
+      @Value("${awesome-pizza.config.tracing.export-endpoint:}") final String endpoint) {
+    return new TraceExporter(traceExportExecutor, serviceName,
+        file.isBlank() ? null : Path.of(file),
+        endpoint.isBlank() ? null : URI.create(endpoint));
+  }
+
+  /**
+   * Traces the requests admitted by the admission control, right after it
+   * @return registration of the tracing filter
+   */
+  @Bean
+  public FilterRegistrationBean<TracingFilter> tracingFilter(
+      final TraceBuffer traceBuffer,
+      final TraceExporter traceExporter,
+      @Value("${awesome-pizza.config.tracing.slow-threshold:PT0.5S}") final Duration slowThreshold,
+      @Value("${awesome-pizza.config.tracing.max-spans:256}") final int maxSpans) {
+    final FilterRegistrationBean<TracingFilter> registration =
+        new FilterRegistrationBean<>(new TracingFilter(traceBuffer, traceExporter, slowThreshold, maxSpans));
+    registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+    return registration;
+  }
+
+  @Bean
+  public TracingAspect tracingAspect() {
+    return new TracingAspect();
+  }
+
+  @Bean
+  public TraceEndpoint traceEndpoint(
+      final TraceBuffer traceBuffer,
+      @Value("${awesome-pizza.config.tracing.service-name:awesome-pizza}") final String serviceName) {
+    return new TraceEndpoint(traceBuffer, serviceName);
+  }
+}
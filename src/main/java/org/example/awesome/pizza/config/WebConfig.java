@@ -2,6 +2,7 @@ package org.example.awesome.pizza.config;
 
 import lombok.RequiredArgsConstructor;
 import org.example.awesome.pizza.interceptor.LogInterceptor;
+import org.example.awesome.pizza.interceptor.RateLimitInterceptor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
@@ -11,16 +12,21 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 @RequiredArgsConstructor
 public class WebConfig implements WebMvcConfigurer {
   private final LogInterceptor logInterceptor;
+  private final RateLimitInterceptor rateLimitInterceptor;
   @Value("${awesome-pizza.config.http-log:false}")
   private final boolean shouldLog;
+  @Value("${awesome-pizza.config.rate-limit.enabled:true}")
+  private final boolean shouldRateLimit;
 
   /**
-   * Add logging interceptor to HTTP interceptors, if configured
+   * Add logging and rate limiting interceptors to HTTP interceptors, if configured
    * @param registry interceptor registry
    */
   @Override
   public void addInterceptors(InterceptorRegistry registry) {
     if (shouldLog)
       registry.addInterceptor(logInterceptor);
+    if (shouldRateLimit)
+      registry.addInterceptor(rateLimitInterceptor);
   }
 }
@@ -0,0 +1,32 @@
+package org.example.awesome.pizza.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.example.awesome.pizza.model.SalesGranularity;
+import org.example.awesome.pizza.model.SalesGroupBy;
+import org.example.awesome.pizza.model.SalesPointDto;
+import org.example.awesome.pizza.service.SalesAnalyticsService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+public class AnalyticsController implements AnalyticsApi {
+  private final SalesAnalyticsService service;
+
+  /**
+   * REST Endpoint for retrieving sales series in a time range: for Pizza restaurant management use
+   * @param from Start of the range (inclusive) (required)
+   * @param to End of the range (exclusive) (required)
+   * @param granularity Size of the time buckets (optional, default to HOUR)
+   * @param groupBy Dimension used to split each time bucket (optional, default to NONE)
+   * @return a list of SalesPointDto sorted by bucket start
+   */
+  @Override
+  public ResponseEntity<List<SalesPointDto>> findSales(OffsetDateTime from, OffsetDateTime to, SalesGranularity granularity, SalesGroupBy groupBy) {
+    final List<SalesPointDto> results = service.findSales(from, to, granularity, groupBy);
+    return ResponseEntity.ok(results);
+  }
+}
@@ -0,0 +1,87 @@
+package org.example.awesome.pizza.controller;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.awesome.pizza.config.AsyncReadConfig;
+import org.example.awesome.pizza.exception.ServiceUnavailableException;
+import org.example.awesome.pizza.model.OrderDto;
+import org.example.awesome.pizza.model.PizzaDto;
+import org.example.awesome.pizza.service.OrderService;
+import org.example.awesome.pizza.service.PizzaService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Non-blocking variant of the customer polling reads of {@link OrderApi} and {@link PizzaApi}: the request thread is
+ * released right away and the read runs on the bounded {@link AsyncReadConfig#EXECUTOR}. Open session in view does
+ * not reach the executor threads: the services open their own read-only transaction, only around the DB query,
+ * so that reads answered in memory or waiting for a coalesced call hold no connection
+ */
+@Slf4j
+@RestController
+@RequestMapping("/async")
+public class AsyncReadController {
+  private final OrderService orderService;
+  private final PizzaService pizzaService;
+  private final Executor executor;
+
+  AsyncReadController(final OrderService orderService,
+                      final PizzaService pizzaService,
+                      @Qualifier(AsyncReadConfig.EXECUTOR) final Executor executor) {
+    this.orderService = orderService;
+    this.pizzaService = pizzaService;
+    this.executor = executor;
+  }
+
+  /**
+   * Async REST Endpoint for finding single Order by its code: same as {@link OrderApi#findOrderByCode(Long)}
+   * @param code: code of the Order
+   * @return the retrieved OrderDto instance, once read
+   */
+  @GetMapping("/order/code/{code}")
+  public CompletableFuture<ResponseEntity<OrderDto>> findOrderByCode(@PathVariable("code") final Long code) {
+    return read(() -> orderService.findByCode(code));
+  }
+
+  /**
+   * Async REST Endpoint for finding single Order by its ID: same as {@link OrderApi#findOrderById(Long)}
+   * @param id: ID of the entity
+   * @return the retrieved OrderDto instance, once read
+   */
+  @GetMapping("/order/{id}")
+  public CompletableFuture<ResponseEntity<OrderDto>> findOrderById(@PathVariable("id") final Long id) {
+    return read(() -> orderService.findById(id));
+  }
+
+  /**
+   * Async REST Endpoint for searching Pizza entities: same as {@link PizzaApi#findPizzas(String)}
+   * @param searchString: String to filter on both name or description
+   * @return a list of PizzaDto entity, once read
+   */
+  @GetMapping("/pizza")
+  public CompletableFuture<ResponseEntity<List<PizzaDto>>> findPizzas(
+      @RequestParam(value = "searchString", required = false) final String searchString) {
+    return read(() -> pizzaService.findByFilter(searchString));
+  }
+
+  private <T> CompletableFuture<ResponseEntity<T>> read(final Supplier<T> query) {
+    try {
+      return CompletableFuture
+          .supplyAsync(query, executor)
+          .thenApply(ResponseEntity::ok);
+    } catch (RejectedExecutionException e) {
+      log.warn("Async read rejected: executor queue is full");
+      return CompletableFuture.failedFuture(new ServiceUnavailableException("Too many pending reads, retry later"));
+    }
+  }
+}
@@ -6,6 +6,7 @@ import org.example.awesome.pizza.model.OrderDto;
 import org.example.awesome.pizza.model.OrderInternalReq;
 import org.example.awesome.pizza.model.OrderRequest;
 import org.example.awesome.pizza.model.OrderStatus;
+import org.example.awesome.pizza.model.OrderView;
 import org.example.awesome.pizza.service.OrderService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
@@ -59,11 +60,14 @@ public class OrderController implements OrderApi {
   /**
    * REST Endpoint for finding a list of Order, potentially filtered by statuses: for Pizza restaurant staff use
    * @param statuses Statuses of the order (optional)
+   * @param view Fields of the returned Orders (optional, default to FULL)
    * @return a list of OrderDto instance
    */
   @Override
-  public ResponseEntity<List<OrderDto>> findOrders(List<OrderStatus> statuses) {
-    final List<OrderDto> results = service.findAllOrders(statuses);
+  public ResponseEntity<List<OrderDto>> findOrders(List<OrderStatus> statuses, OrderView view) {
+    final List<OrderDto> results = view == OrderView.SUMMARY
+        ? service.findOrderSummaries(statuses)
+        : service.findAllOrders(statuses);
 
     return ResponseEntity.ok(results);
   }
@@ -0,0 +1,49 @@
+package org.example.awesome.pizza.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.example.awesome.pizza.model.OrderLineDto;
+import org.example.awesome.pizza.service.OrderLineService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+public class OrderLineController implements OrderLineApi {
+  private final OrderLineService service;
+
+  /**
+   * REST Endpoint for finding the lines of an Order: for Pizza restaurant staff use
+   * @param id ID of the entity (required)
+   * @return a list of OrderLineDto instance
+   */
+  @Override
+  public ResponseEntity<List<OrderLineDto>> findOrderLines(Long id) {
+    return ResponseEntity.ok(service.findByOrderId(id));
+  }
+
+  /**
+   * REST Endpoint for start COOKING the next pizza, opening the next Order when needed: for Chef use
+   * @param xChefId ID of the Pizza Chef (required)
+   * @return the next line that is now COOKING, when found any
+   */
+  @Override
+  public ResponseEntity<OrderLineDto> takeChargeNextLine(Long xChefId) {
+
+    return service.takeNext(xChefId)
+        .map(ResponseEntity::ok)
+        .orElseGet(ResponseEntity.noContent()::build);
+  }
+
+  /**
+   * REST Endpoint for completing a COOKING pizza: for Chef use
+   * @param id ID of the entity (required)
+   * @param xChefId ID of the Pizza Chef (required)
+   * @return the DONE line
+   */
+  @Override
+  public ResponseEntity<OrderLineDto> completeOrderLine(Long id, Long xChefId) {
+    return ResponseEntity.ok(service.complete(id, xChefId));
+  }
+}
@@ -0,0 +1,37 @@
+package org.example.awesome.pizza.diagnostics;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Actuator endpoint exposing the recorded statements, as /actuator/sql: the latest first, or the slowest first
+ * with {@code ?sort=duration}, at most {@code limit} of them
+ */
+@Endpoint(id = "sql")
+public class SqlDiagnosticsEndpoint {
+  private static final int DEFAULT_LIMIT = 100;
+
+  private final SqlSampleBuffer buffer;
+  private final double sampleRate;
+
+  public record SqlDiagnostics(double sampleRate, int capacity, long recorded, List<SqlSample> samples) {
+  }
+
+  public SqlDiagnosticsEndpoint(final SqlSampleBuffer buffer, final double sampleRate) {
+    this.buffer = buffer;
+    this.sampleRate = sampleRate;
+  }
+
+  @ReadOperation
+  public SqlDiagnostics samples(@Nullable final String sort, @Nullable final Integer limit) {
+    final Comparator<SqlSample> order = "duration".equals(sort)
+        ? Comparator.comparingLong(SqlSample::durationMicros).reversed()
+        : Comparator.comparing(SqlSample::at).reversed();
+    return new SqlDiagnostics(sampleRate, buffer.capacity(), buffer.recorded(),
+        buffer.snapshot(order, limit == null ? DEFAULT_LIMIT : limit));
+  }
+}
@@ -0,0 +1,145 @@
+package org.example.awesome.pizza.diagnostics;
+
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Records a sample of the statements executed through the proxied DataSource, and every statement slower than
+ * the threshold, which is also logged. Statements left out cost a clock read and a random draw.
+ * <p>
+ * Rows of a query are reported as -1, unless row counting is enabled: then every ResultSet is proxied too, each
+ * of its calls being intercepted, and the rows of a recorded query are counted while the caller reads them, on
+ * the same thread, the sample being completed once the ResultSet is closed or the next statement runs
+ */
+@Slf4j
+public class SqlDiagnosticsListener implements QueryExecutionListener, MethodExecutionListener {
+  private static final String START = "diagnostics.start";
+
+  private final SqlSampleBuffer buffer;
+  private final double sampleRate;
+  private final long slowNanos;
+  private final boolean countRows;
+  // Recorded query whose rows are being read on this thread
+  private final ThreadLocal<PendingQuery> pending = new ThreadLocal<>();
+
+  private static final class PendingQuery {
+    private final String sql;
+    private final long durationNanos;
+    private long rows;
+
+    private PendingQuery(final String sql, final long durationNanos) {
+      this.sql = sql;
+      this.durationNanos = durationNanos;
+    }
+  }
+
+  /**
+   * @param buffer: where samples are recorded
+   * @param sampleRate: fraction of the statements recorded, from 0 to 1
+   * @param slowThreshold: statements at least this slow are always recorded and logged
+   * @param countRows: whether the rows of the queries are counted, see {@link #countsRows()}
+   */
+  public SqlDiagnosticsListener(final SqlSampleBuffer buffer, final double sampleRate, final Duration slowThreshold,
+                                final boolean countRows) {
+    this.buffer = buffer;
+    this.sampleRate = sampleRate;
+    this.slowNanos = slowThreshold.toNanos();
+    this.countRows = countRows;
+  }
+
+  /**
+   * @return whether the rows of the queries are counted, requiring the ResultSets to be proxied
+   */
+  public boolean countsRows() {
+    return countRows;
+  }
+
+  @Override
+  public void beforeQuery(final ExecutionInfo execInfo, final List<QueryInfo> queryInfoList) {
+    completePending();
+    execInfo.addCustomValue(START, System.nanoTime());
+  }
+
+  @Override
+  public void afterQuery(final ExecutionInfo execInfo, final List<QueryInfo> queryInfoList) {
+    final long durationNanos = System.nanoTime() - execInfo.getCustomValue(START, Long.class);
+    final boolean slow = durationNanos >= slowNanos;
+    if (!slow && (sampleRate <= 0 || ThreadLocalRandom.current().nextDouble() >= sampleRate))
+      return;
+
+    final String sql = queryInfoList.size() == 1
+        ? queryInfoList.get(0).getQuery()
+        : queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; "));
+    if (slow)
+      log.warn("Slow SQL ({} ms{}): {}", TimeUnit.NANOSECONDS.toMillis(durationNanos),
+          execInfo.isBatch() ? ", batch of %d".formatted(execInfo.getBatchSize()) : "", sql);
+
+    if (countRows && execInfo.isSuccess() && execInfo.getResult() instanceof ResultSet) {
+      pending.set(new PendingQuery(sql, durationNanos));
+      return;
+    }
+    record(sql, durationNanos, rows(execInfo.getResult()), execInfo.isBatch() ? execInfo.getBatchSize() : 0,
+        execInfo.isSuccess());
+  }
+
+  @Override
+  public void beforeMethod(final MethodExecutionContext executionContext) {
+    // Only results matter
+  }
+
+  @Override
+  public void afterMethod(final MethodExecutionContext executionContext) {
+    if (!(executionContext.getTarget() instanceof ResultSet))
+      return;
+
+    final PendingQuery query = pending.get();
+    if (query == null)
+      return;
+
+    final String method = executionContext.getMethod().getName();
+    if ("next".equals(method) && Boolean.TRUE.equals(executionContext.getResult()))
+      query.rows++;
+    else if ("close".equals(method))
+      completePending();
+  }
+
+  private void completePending() {
+    final PendingQuery query = pending.get();
+    if (query == null)
+      return;
+
+    pending.remove();
+    record(query.sql, query.durationNanos, query.rows, 0, true);
+  }
+
+  private void record(final String sql, final long durationNanos, final long rows, final int batchSize,
+                      final boolean success) {
+    buffer.add(new SqlSample(Instant.now(), sql, TimeUnit.NANOSECONDS.toMicros(durationNanos), rows, batchSize, success));
+  }
+
+  private static long rows(final Object result) {
+    if (result instanceof Integer count)
+      return count;
+    if (result instanceof Long count)
+      return count;
+    if (result instanceof int[] counts) {
+      long rows = 0;
+      for (final int count : counts)
+        rows += Math.max(count, 0);
+      return rows;
+    }
+    return -1;
+  }
+}
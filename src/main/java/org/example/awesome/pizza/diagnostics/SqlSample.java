@@ -0,0 +1,15 @@
+package org.example.awesome.pizza.diagnostics;
+
+import java.time.Instant;
+
+/**
+ * A statement executed on the DB
+ * @param at: when the execution ended
+ * @param sql: statement shape, with its bind parameters left as placeholders
+ * @param durationMicros: execution time, reading the rows excluded
+ * @param rows: rows read or updated, -1 when unknown
+ * @param batchSize: statements of the batch, 0 when not batched
+ * @param success: false when the execution failed
+ */
+public record SqlSample(Instant at, String sql, long durationMicros, long rows, int batchSize, boolean success) {
+}
@@ -0,0 +1,54 @@
+package org.example.awesome.pizza.diagnostics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Ring of the last recorded statements: once full, each new sample overwrites the oldest one. Recording is a
+ * counter increment and an array write, without lock
+ */
+public class SqlSampleBuffer {
+  private final AtomicReferenceArray<SqlSample> samples;
+  private final AtomicLong recorded = new AtomicLong();
+
+  /**
+   * @param capacity: samples kept
+   */
+  public SqlSampleBuffer(final int capacity) {
+    this.samples = new AtomicReferenceArray<>(capacity);
+  }
+
+  public void add(final SqlSample sample) {
+    samples.set((int) (recorded.getAndIncrement() % samples.length()), sample);
+  }
+
+  /**
+   * @param order: sorting of the samples
+   * @param limit: highest number of samples returned
+   * @return samples kept, sorted
+   */
+  public List<SqlSample> snapshot(final Comparator<SqlSample> order, final int limit) {
+    final List<SqlSample> snapshot = new ArrayList<>(samples.length());
+    for (int i = 0; i < samples.length(); i++) {
+      final SqlSample sample = samples.get(i);
+      if (sample != null)
+        snapshot.add(sample);
+    }
+    snapshot.sort(order);
+    return snapshot.size() > limit ? snapshot.subList(0, limit) : snapshot;
+  }
+
+  /**
+   * @return samples recorded since the start, overwritten ones included
+   */
+  public long recorded() {
+    return recorded.get();
+  }
+
+  public int capacity() {
+    return samples.length();
+  }
+}
@@ -0,0 +1,111 @@
+package org.example.awesome.pizza.dispatch;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Keeps Chefs sorted by estimated cooking load, so that the least loaded Chef with free capacity is found and
+ * updated in O(log chefs). Not thread safe: it must be confined to a single dispatching thread
+ */
+public class ChefLoadBalancer {
+  private static final Comparator<ChefLoad> LEAST_LOADED = Comparator
+      .comparingLong(ChefLoad::loadMillis)
+      .thenComparingInt(ChefLoad::active)
+      .thenComparing(ChefLoad::chefId);
+
+  private final long maxActive;
+  private final Map<Long, ChefLoad> loads = new HashMap<>();
+  // Only Chefs that can still take an Order, i.e. under the cooking threshold
+  private final NavigableSet<ChefLoad> available = new TreeSet<>(LEAST_LOADED);
+
+  public ChefLoadBalancer(final long maxActive) {
+    this.maxActive = maxActive;
+  }
+
+  /**
+   * Registers a Chef with no load, if not already known
+   * @param chefId: ID of the Chef
+   */
+  public void register(final Long chefId) {
+    if (!loads.containsKey(chefId))
+      update(new ChefLoad(chefId, 0, 0L));
+  }
+
+  /**
+   * Adds an Order to the Chef load
+   * @param chefId: ID of the Chef
+   * @param estimatedMillis: estimated cooking time of the Order
+   */
+  public void assign(final Long chefId, final long estimatedMillis) {
+    register(chefId);
+    final ChefLoad current = loads.get(chefId);
+    update(new ChefLoad(chefId, current.active() + 1, current.loadMillis() + estimatedMillis));
+  }
+
+  /**
+   * Removes an Order from the Chef load
+   * @param chefId: ID of the Chef
+   * @param estimatedMillis: estimated cooking time of the Order
+   */
+  public void release(final Long chefId, final long estimatedMillis) {
+    register(chefId);
+    final ChefLoad current = loads.get(chefId);
+    update(new ChefLoad(chefId, Math.max(0, current.active() - 1), Math.max(0L, current.loadMillis() - estimatedMillis)));
+  }
+
+  /**
+   * Marks a Chef as full, e.g. when DB state is ahead of the balancer: the Chef is available again on next release
+   * @param chefId: ID of the Chef
+   */
+  public void saturate(final Long chefId) {
+    register(chefId);
+    final ChefLoad current = loads.get(chefId);
+    update(new ChefLoad(chefId, (int) Math.max(current.active(), maxActive), current.loadMillis()));
+  }
+
+  /**
+   * @return the least loaded Chef that can still take an Order, if any
+   */
+  public Optional<Long> leastLoaded() {
+    return available.isEmpty() ? Optional.empty() : Optional.of(available.first().chefId());
+  }
+
+  /**
+   * @param excluded: IDs of the Chefs to skip
+   * @return the least loaded Chef that can still take an Order, among the not excluded ones, if any
+   */
+  public Optional<Long> leastLoaded(final Set<Long> excluded) {
+    if (excluded.isEmpty())
+      return leastLoaded();
+
+    return available.stream()
+        .map(ChefLoad::chefId)
+        .filter(chefId -> !excluded.contains(chefId))
+        .findFirst();
+  }
+
+  public long loadMillis(final Long chefId) {
+    return Optional.ofNullable(loads.get(chefId)).map(ChefLoad::loadMillis).orElse(0L);
+  }
+
+  public int active(final Long chefId) {
+    return Optional.ofNullable(loads.get(chefId)).map(ChefLoad::active).orElse(0);
+  }
+
+  private void update(final ChefLoad next) {
+    final ChefLoad previous = loads.put(next.chefId(), next);
+    if (previous != null)
+      available.remove(previous);
+
+    if (next.active() < maxActive)
+      available.add(next);
+  }
+
+  private record ChefLoad(Long chefId, int active, long loadMillis) {
+  }
+}
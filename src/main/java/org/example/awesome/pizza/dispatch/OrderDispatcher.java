@@ -0,0 +1,259 @@
+package org.example.awesome.pizza.dispatch;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.awesome.pizza.cluster.ChefLease;
+import org.example.awesome.pizza.domain.Chef;
+import org.example.awesome.pizza.domain.Order;
+import org.example.awesome.pizza.event.OrderStatusChangedEvent;
+import org.example.awesome.pizza.exception.BaseHttpException;
+import org.example.awesome.pizza.exception.ChefBusyException;
+import org.example.awesome.pizza.exception.ConflictException;
+import org.example.awesome.pizza.exception.ThresholdReachedException;
+import org.example.awesome.pizza.model.OrderDto;
+import org.example.awesome.pizza.model.OrderInternalReq;
+import org.example.awesome.pizza.model.OrderStatus;
+import org.example.awesome.pizza.repository.ChefRepository;
+import org.example.awesome.pizza.repository.OrderRepository;
+import org.example.awesome.pizza.state.OrderState;
+import org.example.awesome.pizza.state.model.OrderStateModel;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Push dispatcher assigning CREATED Orders to the least loaded Chef, as an alternative to Chefs pulling the next
+ * Order. All the dispatching state is confined to a single background thread, fed by Order status change events
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "awesome-pizza.config.dispatch.enabled", havingValue = "true")
+public class OrderDispatcher {
+  private final OrderState orderState;
+  private final OrderRepository orderRepository;
+  private final ChefRepository chefRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final ChefLease chefLease;
+  private final long cookTimePerPizzaMillis;
+  private final Duration releaseGrace;
+  private final Duration busyRetry;
+  private final ScheduledExecutorService executor;
+  private final ChefLoadBalancer balancer;
+  // Dispatch scheduled again once the Chefs busy with their own requests are done
+  private boolean retryScheduled;
+
+  // CREATED Orders waiting for a Chef, oldest first, with their pizza count
+  private final Map<Long, Integer> waiting = new LinkedHashMap<>();
+  // COOKING Orders counted in Chefs load
+  private final Map<Long, Assignment> cooking = new HashMap<>();
+
+  @Autowired
+  public OrderDispatcher(
+      final OrderState orderState,
+      final OrderRepository orderRepository,
+      final ChefRepository chefRepository,
+      final TransactionTemplate transactionTemplate,
+      final ChefLease chefLease,
+      @Value("${awesome-pizza.config.cooking-threshold:1}") final Long cookingThreshold,
+      @Value("${awesome-pizza.config.dispatch.cook-time-per-pizza:PT3M}") final Duration cookTimePerPizza,
+      @Value("${awesome-pizza.config.dispatch.release-grace:PT2S}") final Duration releaseGrace,
+      @Value("${awesome-pizza.config.dispatch.busy-retry:PT0.5S}") final Duration busyRetry
+  ) {
+    this(orderState, orderRepository, chefRepository, transactionTemplate, chefLease, cookingThreshold, cookTimePerPizza,
+        releaseGrace, busyRetry, Executors.newSingleThreadScheduledExecutor(runnable -> {
+          final Thread thread = new Thread(runnable, "order-dispatcher");
+          thread.setDaemon(true);
+          return thread;
+        }));
+  }
+
+  OrderDispatcher(
+      final OrderState orderState,
+      final OrderRepository orderRepository,
+      final ChefRepository chefRepository,
+      final TransactionTemplate transactionTemplate,
+      final ChefLease chefLease,
+      final Long cookingThreshold,
+      final Duration cookTimePerPizza,
+      final Duration releaseGrace,
+      final Duration busyRetry,
+      final ScheduledExecutorService executor
+  ) {
+    this.orderState = orderState;
+    this.orderRepository = orderRepository;
+    this.chefRepository = chefRepository;
+    this.transactionTemplate = transactionTemplate;
+    this.chefLease = chefLease;
+    this.cookTimePerPizzaMillis = cookTimePerPizza.toMillis();
+    this.releaseGrace = releaseGrace;
+    this.busyRetry = busyRetry;
+    this.executor = executor;
+    this.balancer = new ChefLoadBalancer(cookingThreshold);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    executor.execute(this::bootstrap);
+  }
+
+  @PreDestroy
+  public void stop() {
+    executor.shutdownNow();
+  }
+
+  /**
+   * Hands status changes over to the dispatching thread, after commit when a transaction is active
+   * @param event: Order status change
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onStatusChanged(final OrderStatusChangedEvent event) {
+    executor.execute(() -> handle(event));
+  }
+
+  /**
+   * Loads Chefs, COOKING and CREATED Orders from DB, then dispatches any waiting Order
+   */
+  void bootstrap() {
+    transactionTemplate.executeWithoutResult(status -> {
+      chefRepository.findAll()
+          .forEach(chef -> balancer.register(chef.getId()));
+
+      for (final Order order : orderRepository.findAllSortedByCreatedDate(OrderStatus.COOKING, OrderStatus.CREATED)) {
+        if (OrderStatus.CREATED.equals(order.getStatus()))
+          waiting.put(order.getId(), order.getPizzas().size());
+        else
+          Optional.ofNullable(order.getChef())
+              .map(Chef::getId)
+              .ifPresent(chefId -> track(order.getId(), chefId, order.getPizzas().size()));
+      }
+    });
+
+    dispatch();
+  }
+
+  void handle(final OrderStatusChangedEvent event) {
+    // Order left COOKING status: its Chef load is released after a grace period, so that the Chef
+    // pulling the next Order is not raced by the dispatcher
+    if (OrderStatus.COOKING.equals(event.previous()) && !OrderStatus.COOKING.equals(event.current()))
+      Optional.ofNullable(cooking.remove(event.orderId()))
+          .ifPresent(this::release);
+
+    switch (event.current()) {
+      case CREATED -> waiting.put(event.orderId(), event.pizzaCount());
+      case COOKING -> {
+        waiting.remove(event.orderId());
+        if (event.chefId() != null && !cooking.containsKey(event.orderId()))
+          track(event.orderId(), event.chefId(), event.pizzaCount());
+      }
+      case DONE, CANCELED -> waiting.remove(event.orderId());
+    }
+
+    dispatch();
+  }
+
+  /**
+   * Assigns waiting Orders, oldest first, to the least loaded Chefs until either runs out. Each assignment holds
+   * the lease of the Chef, as the Chef pulling an Order does: Chefs busy with their own requests are skipped, and
+   * the dispatch is retried later when only they are left
+   */
+  void dispatch() {
+    final Set<Long> busy = new HashSet<>();
+    while (!waiting.isEmpty()) {
+      final Optional<Long> optChef = balancer.leastLoaded(busy);
+      if (optChef.isEmpty()) {
+        if (!busy.isEmpty())
+          retryLater();
+        return;
+      }
+
+      final Long chefId = optChef.get();
+      final Map.Entry<Long, Integer> next = waiting.entrySet().iterator().next();
+      final OrderStateModel model = new OrderStateModel()
+          .id(next.getKey())
+          .request(new OrderInternalReq().setChefId(chefId));
+
+      try {
+        final Optional<OrderDto> taken = transactionTemplate.execute(status ->
+            chefLease.hold(chefId, () -> orderState.handleState(OrderStatus.COOKING, model)));
+        waiting.remove(next.getKey());
+        taken.ifPresent(order -> track(order.getId(), chefId, next.getValue()));
+      } catch (ChefBusyException e) {
+        // Chef is pulling or completing an Order meanwhile: its load is known once committed
+        log.debug("Chef [{}] is busy with another request", chefId);
+        busy.add(chefId);
+      } catch (ThresholdReachedException e) {
+        // Chef is already full on DB: try with another one
+        log.debug("Chef [{}] can not take any Order", chefId);
+        balancer.saturate(chefId);
+      } catch (ConflictException e) {
+        // Order is being taken by another Chef: its COOKING event drops it from waiting, otherwise the next event
+        // dispatches it again
+        log.debug("Order [{}] is being taken by another Chef", next.getKey());
+        return;
+      } catch (BaseHttpException e) {
+        // Order can not be cooked anymore, e.g. canceled or taken in the meantime
+        log.debug("Order [{}] can not be dispatched: {}", next.getKey(), e.getMessage());
+        waiting.remove(next.getKey());
+      } catch (RuntimeException e) {
+        log.error("Error while dispatching Order [{}] to Chef [{}]", next.getKey(), chefId, e);
+        return;
+      }
+    }
+  }
+
+  long estimate(final int pizzaCount) {
+    return Math.max(1, pizzaCount) * cookTimePerPizzaMillis;
+  }
+
+  ChefLoadBalancer balancer() {
+    return balancer;
+  }
+
+  private void track(final Long orderId, final Long chefId, final int pizzaCount) {
+    final Assignment assignment = new Assignment(chefId, estimate(pizzaCount));
+    cooking.put(orderId, assignment);
+    balancer.assign(chefId, assignment.estimateMillis());
+  }
+
+  private void retryLater() {
+    if (retryScheduled)
+      return;
+
+    retryScheduled = true;
+    executor.schedule(() -> {
+      retryScheduled = false;
+      dispatch();
+    }, busyRetry.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  private void release(final Assignment assignment) {
+    if (releaseGrace.isZero()) {
+      balancer.release(assignment.chefId(), assignment.estimateMillis());
+      return;
+    }
+
+    executor.schedule(() -> {
+      balancer.release(assignment.chefId(), assignment.estimateMillis());
+      dispatch();
+    }, releaseGrace.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  private record Assignment(Long chefId, long estimateMillis) {
+  }
+}
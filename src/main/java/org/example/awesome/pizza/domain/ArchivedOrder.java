@@ -0,0 +1,56 @@
+package org.example.awesome.pizza.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.JoinTable;
+import jakarta.persistence.ManyToMany;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Completed Order moved out of the live orders table by the archival job: it keeps the original ID, code and
+ * audit dates, so it can still be returned as a regular Order
+ */
+@Data
+@Accessors(chain = true)
+@Entity
+@Table(name = "orders_archive")
+public class ArchivedOrder implements Serializable {
+  @Id
+  @Column(nullable = false)
+  private Long id;
+  @Column(nullable = false, unique = true, updatable = false)
+  private Long code;
+  @ManyToMany(targetEntity = Pizza.class)
+  @JoinTable(name = "orders_archive_pizzas")
+  private List<Pizza> pizzas = new ArrayList<>();
+  @Column(nullable = false)
+  private String status;
+  @Column
+  private String priority;
+  @JoinColumn(name = "chef_id", referencedColumnName = "id")
+  @ManyToOne(targetEntity = Chef.class, fetch = FetchType.LAZY)
+  private Chef chef;
+  @Column(nullable = false, updatable = false)
+  private Instant createdDate;
+  @Column(nullable = false, updatable = false)
+  private Instant lastModifiedDate;
+  @Column(nullable = false, updatable = false)
+  private Instant archivedDate;
+
+  @PrePersist
+  void preInsert() {
+    this.archivedDate = Instant.now();
+  }
+}
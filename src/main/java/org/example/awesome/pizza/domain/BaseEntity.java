@@ -1,6 +1,9 @@
 package org.example.awesome.pizza.domain;
 
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.experimental.Accessors;
 
 import jakarta.persistence.Column;
@@ -29,6 +32,22 @@ public class BaseEntity implements Serializable {
   @Column(nullable = false)
   private Instant lastModifiedDate;
 
+  // Set when the modification date is stamped ahead of the flush, so that the flush keeps it
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  private transient boolean touched;
+
+  /**
+   * Stamps the modification date now instead of at flush, so that it can be read before the update is sent,
+   * as when notifying listeners within the transaction
+   * @return this entity
+   */
+  public BaseEntity touch() {
+    this.lastModifiedDate = Instant.now();
+    this.touched = true;
+    return this;
+  }
+
   @PrePersist
   void preInsert() {
     this.createdDate = Instant.now();
@@ -37,6 +56,8 @@ public class BaseEntity implements Serializable {
 
   @PreUpdate
   void preUpdate() {
-    this.lastModifiedDate = Instant.now();
+    if (!touched)
+      this.lastModifiedDate = Instant.now();
+    touched = false;
   }
 }
@@ -0,0 +1,34 @@
+package org.example.awesome.pizza.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+
+import java.io.Serializable;
+
+/**
+ * Application event published on a node and stored for the other nodes of the cluster, that poll and replay it
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+@Accessors(chain = true)
+@Entity
+@Table(name = "cluster_event", indexes = {
+    @Index(name = "idx_cluster_event_created", columnList = "created_date")
+})
+public class ClusterEvent extends BaseEntity implements Serializable {
+  @Column(nullable = false, updatable = false)
+  private String origin;
+  @Column(nullable = false, updatable = false)
+  private String type;
+  @Lob
+  @Column(nullable = false, updatable = false)
+  private String payload;
+}
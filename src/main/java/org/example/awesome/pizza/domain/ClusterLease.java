@@ -0,0 +1,32 @@
+package org.example.awesome.pizza.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * Time bounded exclusive claim on a named resource, shared by all the nodes of a cluster: a lease is held by its
+ * owner until released or expired, then any node can take it over
+ */
+@Data
+@Accessors(chain = true)
+@Entity
+@Table(name = "cluster_lease", indexes = {
+    @Index(name = "idx_cluster_lease_expires", columnList = "expires_at")
+})
+public class ClusterLease implements Serializable {
+  @Id
+  @Column(nullable = false)
+  private String name;
+  @Column(nullable = false)
+  private String owner;
+  @Column(nullable = false)
+  private Instant expiresAt;
+}
@@ -3,7 +3,10 @@ package org.example.awesome.pizza.domain;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
@@ -13,6 +16,10 @@ import lombok.EqualsAndHashCode;
 import lombok.ToString;
 import lombok.experimental.Accessors;
 import org.example.awesome.pizza.domain.utils.FromSequence;
+import org.example.awesome.pizza.model.OrderPriority;
+import org.example.awesome.pizza.model.OrderStatus;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.io.Serializable;
 import java.util.ArrayList;
@@ -23,7 +30,10 @@ import java.util.List;
 @ToString(callSuper = true)
 @Accessors(chain = true)
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+    @Index(name = "idx_orders_status_modified", columnList = "status, last_modified_date"),
+    @Index(name = "idx_orders_status_priority_created", columnList = "status, priority, created_date")
+})
 public class Order extends BaseEntity implements Serializable {
   @Column(nullable = false, unique = true, updatable = false)
   @FromSequence
@@ -31,8 +41,15 @@ public class Order extends BaseEntity implements Serializable {
   @Column(nullable = false)
   @ManyToMany(targetEntity = Pizza.class)
   private List<Pizza> pizzas = new ArrayList<>();
+  // Stored by name in a plain character column, as before the enum mapping
   @Column(nullable = false)
-  private String status;
+  @Enumerated(EnumType.STRING)
+  @JdbcTypeCode(SqlTypes.VARCHAR)
+  private OrderStatus status;
+  @Column(nullable = false)
+  @Enumerated(EnumType.STRING)
+  @JdbcTypeCode(SqlTypes.VARCHAR)
+  private OrderPriority priority = OrderPriority.NORMAL;
   @JoinColumn(name = "chef_id", referencedColumnName = "id")
   @ManyToOne(targetEntity = Chef.class, fetch = FetchType.LAZY)
   private Chef chef;
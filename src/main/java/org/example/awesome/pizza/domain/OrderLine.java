@@ -0,0 +1,59 @@
+package org.example.awesome.pizza.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+import org.example.awesome.pizza.model.OrderPriority;
+import org.example.awesome.pizza.model.OrderStatus;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import org.hibernate.type.SqlTypes;
+
+import java.io.Serializable;
+
+/**
+ * Single pizza of an Order opened for line-level cooking: lines are created all together when the Order leaves
+ * the CREATED queue, and are cooked one by one, possibly by different Chefs
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true, exclude = "order")
+@Accessors(chain = true)
+@Entity
+@Table(name = "order_line", indexes = {
+    @Index(name = "idx_order_line_status_priority", columnList = "status, priority, id"),
+    @Index(name = "idx_order_line_order", columnList = "order_id")
+})
+public class OrderLine extends BaseEntity implements Serializable {
+  // Lines go away together with their Order, e.g. when archived
+  @JoinColumn(name = "order_id", referencedColumnName = "id", nullable = false, updatable = false)
+  @ManyToOne(targetEntity = Order.class, fetch = FetchType.LAZY, optional = false)
+  @OnDelete(action = OnDeleteAction.CASCADE)
+  private Order order;
+  @JoinColumn(name = "pizza_id", referencedColumnName = "id", nullable = false, updatable = false)
+  @ManyToOne(targetEntity = Pizza.class, fetch = FetchType.LAZY, optional = false)
+  private Pizza pizza;
+  @Column(nullable = false)
+  @Enumerated(EnumType.STRING)
+  @JdbcTypeCode(SqlTypes.VARCHAR)
+  private OrderStatus status;
+  // Copied from the Order, so that lane heads are found on the line table only
+  @Column(nullable = false, updatable = false)
+  @Enumerated(EnumType.STRING)
+  @JdbcTypeCode(SqlTypes.VARCHAR)
+  private OrderPriority priority;
+  @JoinColumn(name = "chef_id", referencedColumnName = "id")
+  @ManyToOne(targetEntity = Chef.class, fetch = FetchType.LAZY)
+  private Chef chef;
+}
@@ -0,0 +1,44 @@
+package org.example.awesome.pizza.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Rollup of the pizzas sold by a Chef in a time bucket: MINUTE buckets are incrementally updated as Orders are
+ * DONE, coarser ones are compacted from the finer ones
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+@Accessors(chain = true)
+@Entity
+@Table(name = "sales_bucket", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_sales_bucket_key", columnNames = {"granularity", "bucket_start", "pizza_id", "chef_id"})
+}, indexes = {
+    @Index(name = "idx_sales_bucket_start", columnList = "bucket_start")
+})
+public class SalesBucket extends BaseEntity implements Serializable {
+  @Column(nullable = false)
+  private String granularity;
+  @Column(nullable = false)
+  private Instant bucketStart;
+  @Column(nullable = false)
+  private Long pizzaId;
+  @Column
+  private Long chefId;
+  @Column(nullable = false)
+  private Long pizzaCount;
+  @Column(nullable = false)
+  private BigDecimal revenue;
+}
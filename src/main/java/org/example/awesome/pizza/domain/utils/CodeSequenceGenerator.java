@@ -1,6 +1,9 @@
 package org.example.awesome.pizza.domain.utils;
 
 import lombok.extern.slf4j.Slf4j;
+import org.example.awesome.pizza.tracing.Phase;
+import org.example.awesome.pizza.tracing.Span;
+import org.example.awesome.pizza.tracing.Tracer;
 import org.hibernate.FlushMode;
 import org.hibernate.dialect.Dialect;
 import org.hibernate.engine.jdbc.spi.JdbcServices;
@@ -25,7 +28,8 @@ public class CodeSequenceGenerator implements BeforeExecutionGenerator {
     final String nextValStatement = dialect.getSequenceSupport().getSequenceNextValString("AWESOMESCHEMA.order_code");
 
     final Object result;
-    try (final SessionImplementor session = sessionFactory.openSession()) {
+    try (final Span ignored = Tracer.span(Phase.SEQUENCE, "order_code");
+         final SessionImplementor session = sessionFactory.openSession()) {
       final NativeQuery<Object> query = session.createNativeQuery(nextValStatement, Object.class);
       query.setHibernateFlushMode(FlushMode.COMMIT);
 
@@ -0,0 +1,195 @@
+package org.example.awesome.pizza.eta;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.awesome.pizza.domain.Chef;
+import org.example.awesome.pizza.domain.Order;
+import org.example.awesome.pizza.event.OrderStatusChangedEvent;
+import org.example.awesome.pizza.model.OrderDto;
+import org.example.awesome.pizza.model.OrderStatus;
+import org.example.awesome.pizza.repository.OrderRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Estimates when Orders will be ready, from their position in the CREATED queue, the number of active Chefs and a
+ * per-pizza cook time learned from COOKING to DONE transitions. The model is updated in O(1) on each status
+ * change, so estimating an Order costs a few map lookups.
+ * <p>
+ * Queue position is tracked with pizza tickets: each CREATED Order remembers how many pizzas were ever queued
+ * before it, and the pizzas still ahead are that ticket minus the pizzas that ever left the queue. With priority
+ * lanes the queue is not strictly FIFO, so this is an approximation, clamped to zero.
+ */
+@Slf4j
+@Component
+public class OrderEtaEstimator {
+  private final OrderRepository orderRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final long cookingThreshold;
+  private final double smoothing;
+
+  // CREATED Orders with their pizza ticket
+  private final Map<Long, Ticket> tickets = new ConcurrentHashMap<>();
+  // COOKING Orders with their Chef, and Chefs with their number of COOKING Orders
+  private final Map<Long, Long> cooking = new HashMap<>();
+  private final Map<Long, Integer> chefLoad = new HashMap<>();
+
+  private long queuedPizzas;
+  private volatile long dequeuedPizzas;
+  private volatile int activeChefs;
+  private volatile double cookMillisPerPizza;
+
+  public OrderEtaEstimator(
+      final OrderRepository orderRepository,
+      final TransactionTemplate transactionTemplate,
+      @Value("${awesome-pizza.config.cooking-threshold:1}") final Long cookingThreshold,
+      @Value("${awesome-pizza.config.eta.initial-cook-time-per-pizza:PT3M}") final Duration initialCookTimePerPizza,
+      @Value("${awesome-pizza.config.eta.smoothing:0.2}") final double smoothing
+  ) {
+    this.orderRepository = orderRepository;
+    this.transactionTemplate = transactionTemplate;
+    this.cookingThreshold = Math.max(1, cookingThreshold);
+    this.cookMillisPerPizza = initialCookTimePerPizza.toMillis();
+    this.smoothing = smoothing;
+  }
+
+  /**
+   * Loads CREATED and COOKING Orders from DB, oldest first
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void bootstrap() {
+    transactionTemplate.executeWithoutResult(status -> {
+      synchronized (this) {
+        for (final Order order : orderRepository.findAllSortedByCreatedDate(OrderStatus.CREATED, OrderStatus.COOKING)) {
+          if (OrderStatus.CREATED.equals(order.getStatus()))
+            enqueue(order.getId(), order.getPizzas().size());
+          else
+            Optional.ofNullable(order.getChef())
+                .map(Chef::getId)
+                .ifPresent(chefId -> startCooking(order.getId(), chefId));
+        }
+      }
+    });
+
+    log.info("ETA model loaded with {} CREATED and {} COOKING Orders", tickets.size(), cooking.size());
+  }
+
+  /**
+   * Updates the model with a committed status change
+   * @param event: Order status change
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public synchronized void onStatusChanged(final OrderStatusChangedEvent event) {
+    // Left CREATED status: its pizzas are no longer ahead of anyone
+    if (!OrderStatus.CREATED.equals(event.current()))
+      Optional.ofNullable(tickets.remove(event.orderId()))
+          .ifPresent(ticket -> dequeuedPizzas += ticket.pizzas());
+
+    // Left COOKING status: its Chef gets a slot back
+    if (OrderStatus.COOKING.equals(event.previous()) && !OrderStatus.COOKING.equals(event.current()))
+      stopCooking(event.orderId());
+
+    if (OrderStatus.CREATED.equals(event.current()))
+      tickets.compute(event.orderId(), (id, ticket) -> ticket == null
+          ? newTicket(event.pizzaCount())
+          : new Ticket(ticket.position(), event.pizzaCount()));
+    else if (OrderStatus.COOKING.equals(event.current()) && event.chefId() != null)
+      startCooking(event.orderId(), event.chefId());
+    else if (OrderStatus.COOKING.equals(event.previous()) && OrderStatus.DONE.equals(event.current()))
+      learn(event);
+  }
+
+  /**
+   * Estimates when the input Order will be ready
+   * @param order: Order to estimate
+   * @return estimated ready date, null when not predictable
+   */
+  public OffsetDateTime estimate(final OrderDto order) {
+    return estimate(order, Instant.now());
+  }
+
+  OffsetDateTime estimate(final OrderDto order, final Instant now) {
+    if (order == null || order.getStatus() == null)
+      return null;
+
+    final int pizzas = order.getPizzas() == null ? 0 : order.getPizzas().size();
+    final double perPizza = cookMillisPerPizza;
+
+    return switch (order.getStatus()) {
+      case CREATED -> Optional.ofNullable(tickets.get(order.getId()))
+          .map(ticket -> {
+            final long ahead = Math.max(0, ticket.position() - dequeuedPizzas);
+            final long slots = Math.max(1, activeChefs) * cookingThreshold;
+            return toOffsetDateTime(now.plusMillis(Math.round((ahead / (double) slots + pizzas) * perPizza)));
+          })
+          .orElse(null);
+      case COOKING -> Optional.ofNullable(order.getLastModifiedDate())
+          .map(OffsetDateTime::toInstant)
+          .map(started -> started.plusMillis(Math.round(pizzas * perPizza)))
+          .map(ready -> toOffsetDateTime(ready.isBefore(now) ? now : ready))
+          .orElse(null);
+      case DONE -> order.getLastModifiedDate();
+      default -> null;
+    };
+  }
+
+  Duration cookTimePerPizza() {
+    return Duration.ofMillis(Math.round(cookMillisPerPizza));
+  }
+
+  private void learn(final OrderStatusChangedEvent event) {
+    if (event.pizzaCount() <= 0 || event.previousModifiedDate() == null || event.modifiedDate() == null)
+      return;
+
+    final long elapsed = Duration.between(event.previousModifiedDate(), event.modifiedDate()).toMillis();
+    if (elapsed <= 0)
+      return;
+
+    // Exponentially weighted moving average: recent Orders count more, old ones fade away
+    cookMillisPerPizza += smoothing * (elapsed / (double) event.pizzaCount() - cookMillisPerPizza);
+  }
+
+  private void enqueue(final Long orderId, final int pizzas) {
+    tickets.putIfAbsent(orderId, newTicket(pizzas));
+  }
+
+  private Ticket newTicket(final int pizzas) {
+    final Ticket ticket = new Ticket(queuedPizzas, pizzas);
+    queuedPizzas += pizzas;
+    return ticket;
+  }
+
+  private void startCooking(final Long orderId, final Long chefId) {
+    if (cooking.putIfAbsent(orderId, chefId) == null) {
+      chefLoad.merge(chefId, 1, Integer::sum);
+      activeChefs = chefLoad.size();
+    }
+  }
+
+  private void stopCooking(final Long orderId) {
+    Optional.ofNullable(cooking.remove(orderId))
+        .ifPresent(chefId -> {
+          chefLoad.computeIfPresent(chefId, (id, load) -> load > 1 ? load - 1 : null);
+          activeChefs = chefLoad.size();
+        });
+  }
+
+  private static OffsetDateTime toOffsetDateTime(final Instant instant) {
+    return OffsetDateTime.ofInstant(instant, ZoneId.systemDefault());
+  }
+
+  private record Ticket(long position, int pizzas) {
+  }
+}
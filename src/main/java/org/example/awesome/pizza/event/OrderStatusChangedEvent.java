@@ -0,0 +1,50 @@
+package org.example.awesome.pizza.event;
+
+import org.example.awesome.pizza.cluster.ReplicatedEvent;
+import org.example.awesome.pizza.model.OrderPriority;
+import org.example.awesome.pizza.model.OrderStatus;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Published every time an Order is saved with a new status: previous status is null for new Orders. In cluster
+ * mode, it is replayed on all the other nodes
+ * @param orderId ID of the Order
+ * @param code Code of the Order
+ * @param chefId ID of the Chef owning the Order after the change, if any
+ * @param previousChefId ID of the Chef owning the Order before the change, if any
+ * @param previous Status before the change
+ * @param current Status after the change
+ * @param pizzaCount Number of pizzas in the Order
+ * @param previousModifiedDate Last modification date before the change
+ * @param modifiedDate Last modification date after the change
+ * @param priority Priority lane of the Order after the change, if known
+ * @param createdDate Creation date of the Order, if known
+ * @param pizzaIds IDs of the ordered pizzas after the change, if known
+ */
+public record OrderStatusChangedEvent(
+    Long orderId,
+    Long code,
+    Long chefId,
+    Long previousChefId,
+    OrderStatus previous,
+    OrderStatus current,
+    int pizzaCount,
+    Instant previousModifiedDate,
+    Instant modifiedDate,
+    OrderPriority priority,
+    Instant createdDate,
+    List<Long> pizzaIds
+) implements ReplicatedEvent {
+
+  /**
+   * Change that does not carry the lane, creation date and pizzas of the Order: those are left as they were
+   */
+  public OrderStatusChangedEvent(final Long orderId, final Long code, final Long chefId, final Long previousChefId,
+      final OrderStatus previous, final OrderStatus current, final int pizzaCount, final Instant previousModifiedDate,
+      final Instant modifiedDate) {
+    this(orderId, code, chefId, previousChefId, previous, current, pizzaCount, previousModifiedDate, modifiedDate,
+        null, null, null);
+  }
+}
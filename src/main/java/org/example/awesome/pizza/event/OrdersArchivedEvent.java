@@ -0,0 +1,13 @@
+package org.example.awesome.pizza.event;
+
+import org.example.awesome.pizza.cluster.ReplicatedEvent;
+
+import java.util.List;
+
+/**
+ * Published for each batch of Orders moved to the archive tables, so that in-memory indexes of the live Orders
+ * drop them. In cluster mode, it is replayed on all the other nodes
+ * @param codes Codes of the archived Orders
+ */
+public record OrdersArchivedEvent(List<Long> codes) implements ReplicatedEvent {
+}
@@ -0,0 +1,11 @@
+package org.example.awesome.pizza.event;
+
+import org.example.awesome.pizza.cluster.ReplicatedEvent;
+
+/**
+ * Published every time a Pizza is created, updated or deleted, so that menu caches are invalidated. In cluster
+ * mode, it is replayed on all the other nodes
+ * @param pizzaId ID of the changed Pizza
+ */
+public record PizzaMenuChangedEvent(Long pizzaId) implements ReplicatedEvent {
+}
@@ -3,12 +3,24 @@ package org.example.awesome.pizza.exception;
 import lombok.Getter;
 import org.springframework.http.HttpStatus;
 
+/**
+ * Error mapped to an HTTP status. Expected errors, the client ones and 503, are business outcomes rather than
+ * failures: they are created without capturing the stack trace, which would cost far more than the request
+ */
 @Getter
 public abstract class BaseHttpException extends RuntimeException {
   private final HttpStatus httpStatus;
 
   protected BaseHttpException(final HttpStatus httpStatus, final String message) {
-    super(message);
+    super(message, null, !isExpected(httpStatus), !isExpected(httpStatus));
     this.httpStatus = httpStatus;
   }
+
+  /**
+   * @param httpStatus: status of an error
+   * @return true when the status is an expected outcome rather than a failure
+   */
+  public static boolean isExpected(final HttpStatus httpStatus) {
+    return httpStatus.is4xxClientError() || HttpStatus.SERVICE_UNAVAILABLE == httpStatus;
+  }
 }
@@ -0,0 +1,11 @@
+package org.example.awesome.pizza.exception;
+
+/**
+ * Conflict of a Chef whose lease is held by another request of the same Chef, as opposed to an Order taken by
+ * another Chef
+ */
+public class ChefBusyException extends ConflictException {
+  public ChefBusyException(final String message) {
+    super(message);
+  }
+}
@@ -1,7 +1,9 @@
 package org.example.awesome.pizza.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.ErrorResponse;
@@ -9,32 +11,43 @@ import org.springframework.web.bind.MissingRequestHeaderException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.time.Duration;
 import java.util.Optional;
 
+/**
+ * Maps errors to problem details responses. Expected errors, see {@link BaseHttpException#isExpected(HttpStatus)},
+ * are logged without stack trace: all of them at DEBUG, otherwise one per status and interval at INFO, reporting
+ * how many were skipped. Failures are logged at ERROR with their stack trace
+ */
 @Slf4j
 @RestControllerAdvice
 public class GlobalExceptionHandler {
+  private final LogSampler sampler;
+
+  public GlobalExceptionHandler(@Value("${awesome-pizza.config.errors.log-interval:PT1S}") final Duration logInterval) {
+    this.sampler = new LogSampler(logInterval);
+  }
 
   @ExceptionHandler(exception = BaseHttpException.class)
-  public <E extends BaseHttpException> ResponseEntity<String> httpExceptionHandler(final E exception) {
-    log.error("Application managed exception: {} ", exception.getHttpStatus(), exception);
-    return ResponseEntity.status(exception.getHttpStatus()).body(exception.getMessage());
+  public <E extends BaseHttpException> ResponseEntity<byte[]> httpExceptionHandler(final E exception) {
+    log(exception.getHttpStatus(), "Application managed exception", exception);
+    return problem(exception.getHttpStatus(), exception.getMessage());
   }
 
   @ExceptionHandler(exception = MissingRequestHeaderException.class)
-  public ResponseEntity<String> missingHeaderExceptionHandler(final MissingRequestHeaderException exception) {
-    log.error("Missing header [{}] ", exception.getHeaderName(), exception);
-    return ResponseEntity.badRequest().body(exception.getMessage());
+  public ResponseEntity<byte[]> missingHeaderExceptionHandler(final MissingRequestHeaderException exception) {
+    log(HttpStatus.BAD_REQUEST, "Missing header [%s]".formatted(exception.getHeaderName()), exception);
+    return problem(HttpStatus.BAD_REQUEST, exception.getMessage());
   }
 
   @ExceptionHandler(exception = HttpMessageNotReadableException.class)
-  public ResponseEntity<String> msgNotReadableException(final HttpMessageNotReadableException exception) {
-    log.error("Could not read request body exception", exception);
-    return ResponseEntity.badRequest().body(exception.getMessage());
+  public ResponseEntity<byte[]> msgNotReadableException(final HttpMessageNotReadableException exception) {
+    log(HttpStatus.BAD_REQUEST, "Could not read request body exception", exception);
+    return problem(HttpStatus.BAD_REQUEST, exception.getMessage());
   }
 
   @ExceptionHandler(exception = Exception.class)
-  public ResponseEntity<String> genericExceptionHandler(final Exception exception) {
+  public ResponseEntity<byte[]> genericExceptionHandler(final Exception exception) {
     final HttpStatus status = Optional.of(exception)
         .filter(ErrorResponse.class::isInstance)
         .map(ErrorResponse.class::cast)
@@ -42,8 +55,29 @@ public class GlobalExceptionHandler {
         .map(code -> HttpStatus.resolve(code.value()))
         .orElse(HttpStatus.INTERNAL_SERVER_ERROR);
 
-    log.error("GENERIC exception: {} ", status, exception);
-    return ResponseEntity.status(status).body(exception.getMessage());
+    log(status, "GENERIC exception", exception);
+    return problem(status, exception.getMessage());
   }
 
+  private void log(final HttpStatus status, final String message, final Exception exception) {
+    if (!BaseHttpException.isExpected(status)) {
+      log.error("{}: {} ", message, status, exception);
+      return;
+    }
+
+    if (log.isDebugEnabled()) {
+      log.debug("{}: {} - {}", message, status, exception.getMessage());
+      return;
+    }
+
+    final long skipped = sampler.sample(status);
+    if (skipped >= 0 && log.isInfoEnabled())
+      log.info("{}: {} - {} ({} more since the last one)", message, status, exception.getMessage(), skipped);
+  }
+
+  private static ResponseEntity<byte[]> problem(final HttpStatus status, final String detail) {
+    return ResponseEntity.status(status)
+        .contentType(MediaType.APPLICATION_PROBLEM_JSON)
+        .body(ProblemTemplates.body(status, detail));
+  }
 }
@@ -0,0 +1,58 @@
+package org.example.awesome.pizza.exception;
+
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Lets through at most one log line per interval for each status, counting the ones skipped in between so that
+ * the next line can report them
+ */
+class LogSampler {
+  private final long intervalNanos;
+  private final LongSupplier nanoClock;
+  private final Map<HttpStatus, Window> windows = new EnumMap<>(HttpStatus.class);
+
+  private static final class Window {
+    private final AtomicLong nextAt;
+    private final LongAdder skipped = new LongAdder();
+
+    private Window(final long nextAt) {
+      this.nextAt = new AtomicLong(nextAt);
+    }
+  }
+
+  LogSampler(final Duration interval) {
+    this(interval, System::nanoTime);
+  }
+
+  LogSampler(final Duration interval, final LongSupplier nanoClock) {
+    this.intervalNanos = interval.toNanos();
+    this.nanoClock = nanoClock;
+    // Filled once: the map is only read afterwards
+    final long now = nanoClock.getAsLong();
+    for (final HttpStatus status : HttpStatus.values())
+      windows.put(status, new Window(now));
+  }
+
+  /**
+   * Checks whether a log line of the status is due
+   * @param status: status of the error to log
+   * @return lines skipped since the last one when due, otherwise -1
+   */
+  long sample(final HttpStatus status) {
+    final Window window = windows.get(status);
+    final long now = nanoClock.getAsLong();
+    final long nextAt = window.nextAt.get();
+    if (now - nextAt < 0 || !window.nextAt.compareAndSet(nextAt, now + intervalNanos)) {
+      window.skipped.increment();
+      return -1;
+    }
+    return window.skipped.sumThenReset();
+  }
+}
@@ -0,0 +1,49 @@
+package org.example.awesome.pizza.exception;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Problem details (RFC 9457) bodies of the error responses, rendered from templates encoded once for each status:
+ * only the detail is escaped and copied in, with no object mapping on the error path
+ */
+public final class ProblemTemplates {
+  private static final Map<HttpStatus, byte[]> PREFIXES = new EnumMap<>(HttpStatus.class);
+  private static final Map<HttpStatus, byte[]> BODIES_WITHOUT_DETAIL = new EnumMap<>(HttpStatus.class);
+  private static final byte[] SUFFIX = "\"}".getBytes(StandardCharsets.UTF_8);
+
+  static {
+    for (final HttpStatus status : HttpStatus.values()) {
+      final String head = "{\"type\":\"about:blank\",\"title\":\"%s\",\"status\":%d"
+          .formatted(status.getReasonPhrase(), status.value());
+      PREFIXES.put(status, (head + ",\"detail\":\"").getBytes(StandardCharsets.UTF_8));
+      BODIES_WITHOUT_DETAIL.put(status, (head + "}").getBytes(StandardCharsets.UTF_8));
+    }
+  }
+
+  private ProblemTemplates() {
+  }
+
+  /**
+   * Renders the problem details of an error
+   * @param status: HTTP status of the error
+   * @param detail: explanation of the error, if any
+   * @return the JSON body, to be served as application/problem+json
+   */
+  public static byte[] body(final HttpStatus status, final String detail) {
+    if (detail == null)
+      return BODIES_WITHOUT_DETAIL.get(status);
+
+    final byte[] prefix = PREFIXES.get(status);
+    final byte[] escaped = JsonStringEncoder.getInstance().quoteAsUTF8(detail);
+    final byte[] body = new byte[prefix.length + escaped.length + SUFFIX.length];
+    System.arraycopy(prefix, 0, body, 0, prefix.length);
+    System.arraycopy(escaped, 0, body, prefix.length, escaped.length);
+    System.arraycopy(SUFFIX, 0, body, prefix.length + escaped.length, SUFFIX.length);
+    return body;
+  }
+}
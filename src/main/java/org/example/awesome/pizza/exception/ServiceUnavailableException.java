@@ -0,0 +1,9 @@
+package org.example.awesome.pizza.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class ServiceUnavailableException extends BaseHttpException {
+  public ServiceUnavailableException(final String message) {
+    super(HttpStatus.SERVICE_UNAVAILABLE, message);
+  }
+}
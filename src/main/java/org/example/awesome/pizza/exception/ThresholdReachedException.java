@@ -0,0 +1,10 @@
+package org.example.awesome.pizza.exception;
+
+/**
+ * Conflict of a Chef already cooking as much as allowed, as opposed to an Order taken by another Chef
+ */
+public class ThresholdReachedException extends ConflictException {
+  public ThresholdReachedException(final String message) {
+    super(message);
+  }
+}
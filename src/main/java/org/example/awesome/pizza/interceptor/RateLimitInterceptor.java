@@ -0,0 +1,111 @@
+package org.example.awesome.pizza.interceptor;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.commons.lang3.StringUtils;
+import org.example.awesome.pizza.exception.ProblemTemplates;
+import org.example.awesome.pizza.ratelimit.ClientRateLimiter;
+import org.example.awesome.pizza.ratelimit.RateLimit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits the requests of each client to the operations declaring an {@code x-rate-limit} in the OpenAPI spec,
+ * answering 429 with a Retry-After header beyond it. Clients are told apart by their API key header, or else by
+ * their remote address: behind a proxy, configure Tomcat to resolve it from the forwarded headers.
+ * <p>
+ * Operations are matched by the name of the handler method, which implements the generated API interface method
+ * named after the operationId. Rejections are counted by the <code>awesome.pizza.rate-limit.rejected</code>
+ * metric, when metrics are available.
+ * <p>
+ * Filters answering before the dispatcher, as the menu cache does, charge the limit through {@link #admit}: the
+ * request is then marked, so that it is not charged again here
+ */
+@Component
+public class RateLimitInterceptor implements HandlerInterceptor {
+  static final String METRIC = "awesome.pizza.rate-limit.rejected";
+  static final String ADMITTED = RateLimitInterceptor.class.getName() + ".ADMITTED";
+  private static final byte[] REJECTED_BODY = ProblemTemplates.body(HttpStatus.TOO_MANY_REQUESTS,
+      "Rate limit exceeded, retry later");
+
+  private final Map<String, Limited> operations = new HashMap<>();
+  private final String apiKeyHeader;
+
+  private record Limited(ClientRateLimiter limiter, Counter rejected) {
+  }
+
+  public RateLimitInterceptor(
+      @Value("${awesome-pizza.config.rate-limit.spec:classpath:openapi.yaml}") final Resource spec,
+      @Value("${awesome-pizza.config.rate-limit.api-key-header:X-API-Key}") final String apiKeyHeader,
+      @Value("${awesome-pizza.config.rate-limit.max-clients:10000}") final long maxClients,
+      @Value("${awesome-pizza.config.rate-limit.idle-expiry:PT10M}") final Duration idleExpiry,
+      @Nullable final MeterRegistry meterRegistry) {
+    this.apiKeyHeader = apiKeyHeader;
+    RateLimit.fromSpec(spec).forEach((operation, limit) -> operations.put(operation, new Limited(
+        new ClientRateLimiter(limit, maxClients, idleExpiry),
+        meterRegistry == null ? null : Counter.builder(METRIC)
+            .description("Requests rejected by the per client rate limit")
+            .tag("operation", operation)
+            .register(meterRegistry))));
+  }
+
+  @Override
+  public boolean preHandle(final HttpServletRequest request, final HttpServletResponse response, final Object handler)
+      throws IOException {
+    if (!(handler instanceof HandlerMethod handlerMethod) || request.getAttribute(ADMITTED) != null)
+      return true;
+
+    return check(operations.get(handlerMethod.getMethod().getName()), request, response);
+  }
+
+  /**
+   * Charges a request to the limit of an operation, out of the dispatcher
+   * @param operation: operationId in the OpenAPI spec
+   * @param request: the client request
+   * @param response: the response, answered with 429 when rejected
+   * @return false when the request has been rejected
+   */
+  public boolean admit(final String operation, final HttpServletRequest request, final HttpServletResponse response)
+      throws IOException {
+    request.setAttribute(ADMITTED, operation);
+    return check(operations.get(operation), request, response);
+  }
+
+  private boolean check(final Limited limited, final HttpServletRequest request, final HttpServletResponse response)
+      throws IOException {
+    if (limited == null)
+      return true;
+
+    final long wait = limited.limiter().tryAcquire(client(request));
+    if (wait == 0)
+      return true;
+
+    if (limited.rejected() != null)
+      limited.rejected().increment();
+    response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+    response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + 999_999_999))));
+    response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+    response.getOutputStream().write(REJECTED_BODY);
+    return false;
+  }
+
+  private String client(final HttpServletRequest request) {
+    final String apiKey = request.getHeader(apiKeyHeader);
+    return StringUtils.isNotEmpty(apiKey) ? "key:" + apiKey : request.getRemoteAddr();
+  }
+}
@@ -0,0 +1,147 @@
+package org.example.awesome.pizza.job;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.awesome.pizza.cluster.Claim;
+import org.example.awesome.pizza.cluster.ClaimCoordinator;
+import org.example.awesome.pizza.domain.ArchivedOrder;
+import org.example.awesome.pizza.domain.Order;
+import org.example.awesome.pizza.event.OrdersArchivedEvent;
+import org.example.awesome.pizza.mapper.OrderMapper;
+import org.example.awesome.pizza.model.OrderStatus;
+import org.example.awesome.pizza.repository.ArchivedOrderRepository;
+import org.example.awesome.pizza.repository.OrderRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "awesome-pizza.config.archive.enabled", havingValue = "true")
+public class OrderArchiveJob {
+  static final List<OrderStatus> ARCHIVABLE_STATUSES = List.of(OrderStatus.DONE, OrderStatus.CANCELED);
+  static final String LEASE = "job:order-archive";
+
+  private final OrderRepository repository;
+  private final ArchivedOrderRepository archiveRepository;
+  private final OrderMapper mapper;
+  private final TransactionTemplate transactionTemplate;
+  private final ClaimCoordinator claimCoordinator;
+  private final ApplicationEventPublisher eventPublisher;
+  private final Duration leaseTtl;
+  private final Duration maxAge;
+  private final int batchSize;
+  private final int maxBatches;
+  private final Duration throttle;
+
+  public OrderArchiveJob(
+      final OrderRepository repository,
+      final ArchivedOrderRepository archiveRepository,
+      final OrderMapper mapper,
+      final TransactionTemplate transactionTemplate,
+      final ClaimCoordinator claimCoordinator,
+      final ApplicationEventPublisher eventPublisher,
+      @Value("${awesome-pizza.config.cluster.job-lease-ttl:PT10M}") final Duration leaseTtl,
+      @Value("${awesome-pizza.config.archive.max-age:P1D}") final Duration maxAge,
+      @Value("${awesome-pizza.config.archive.batch-size:500}") final int batchSize,
+      @Value("${awesome-pizza.config.archive.max-batches:20}") final int maxBatches,
+      @Value("${awesome-pizza.config.archive.throttle:PT0.2S}") final Duration throttle
+  ) {
+    this.repository = repository;
+    this.archiveRepository = archiveRepository;
+    this.mapper = mapper;
+    this.transactionTemplate = transactionTemplate;
+    this.claimCoordinator = claimCoordinator;
+    this.eventPublisher = eventPublisher;
+    this.leaseTtl = leaseTtl;
+    this.maxAge = maxAge;
+    this.batchSize = batchSize;
+    this.maxBatches = maxBatches;
+    this.throttle = throttle;
+  }
+
+  /**
+   * Moves DONE and CANCELED Orders not modified since the configured max age into the archive tables, in
+   * bounded batches with a pause between each of them, so that live traffic is never locked out for long. In
+   * cluster mode, only one node at a time runs the job
+   * @return number of archived Orders
+   */
+  @Scheduled(
+      initialDelayString = "${awesome-pizza.config.archive.initial-delay:PT1M}",
+      fixedDelayString = "${awesome-pizza.config.archive.fixed-delay:PT10M}"
+  )
+  public int archive() {
+    final Optional<Claim> claim = claimCoordinator.tryClaim(LEASE, leaseTtl);
+    if (claim.isEmpty())
+      return 0;
+
+    try {
+      return archive(Instant.now().minus(maxAge));
+    } finally {
+      claimCoordinator.release(claim.get());
+    }
+  }
+
+  private int archive(final Instant before) {
+    int total = 0;
+
+    for (int batch = 0; batch < maxBatches; batch++) {
+      final int archived = archiveBatch(before);
+      total += archived;
+
+      // Last batch was not full: nothing left to archive in this run
+      if (archived < batchSize || !pause())
+        break;
+    }
+
+    if (total > 0)
+      log.info("Archived [{}] Orders last modified before [{}]", total, before);
+
+    return total;
+  }
+
+  /**
+   * Archives a single batch in its own transaction, notifying listeners about it on commit
+   * @param before: only Orders last modified before this instant are archived
+   * @return number of archived Orders
+   */
+  int archiveBatch(final Instant before) {
+    final Integer archived = transactionTemplate.execute(status -> {
+      final List<Order> orders = repository.findArchivable(ARCHIVABLE_STATUSES, before, PageRequest.of(0, batchSize));
+      if (orders.isEmpty())
+        return 0;
+
+      final List<ArchivedOrder> archives = orders.stream()
+          .map(mapper::toArchive)
+          .toList();
+      archiveRepository.saveAll(archives);
+      repository.deleteAll(orders);
+      eventPublisher.publishEvent(new OrdersArchivedEvent(orders.stream().map(Order::getCode).toList()));
+
+      return orders.size();
+    });
+
+    return archived == null ? 0 : archived;
+  }
+
+  private boolean pause() {
+    if (throttle.isZero())
+      return true;
+
+    try {
+      Thread.sleep(throttle.toMillis());
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+}
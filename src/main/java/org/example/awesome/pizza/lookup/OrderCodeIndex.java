@@ -0,0 +1,258 @@
+package org.example.awesome.pizza.lookup;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.example.awesome.pizza.collection.LongLongHashMap;
+import org.example.awesome.pizza.event.OrderStatusChangedEvent;
+import org.example.awesome.pizza.event.OrdersArchivedEvent;
+import org.example.awesome.pizza.repository.ArchivedOrderRepository;
+import org.example.awesome.pizza.repository.OrderRepository;
+import org.example.awesome.pizza.repository.projection.OrderCodeRow;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.BitSet;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * In-memory index of the Order codes, so that lookups by code skip the DB when they cannot succeed:
+ * <ul>
+ *   <li>a bitset over the code sequence holds every code ever created, live or archived: a code within the
+ *   trusted range and missing from it is definitely unknown</li>
+ *   <li>a primitive map holds the ID of each live Order by code, so that known codes are read by primary key</li>
+ * </ul>
+ * Both are loaded from DB at startup and kept up to date by the committed Order creations and archivals. Until
+ * loaded, and for codes above the trusted range, every code may exist.
+ * <p>
+ * In cluster mode, codes created by other nodes arrive with the replicated events, after a delay: a code is only
+ * trusted once a higher one has been seen for a whole settle interval
+ */
+@Slf4j
+@Component
+public class OrderCodeIndex {
+  public static final long NO_ID = 0;
+  static final String METRIC = "awesome.pizza.code-filter.rejected";
+
+  private final OrderRepository orderRepository;
+  private final ArchivedOrderRepository archiveRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final boolean enabled;
+  private final boolean clustered;
+  private final Counter rejected;
+
+  private final StampedLock lock = new StampedLock();
+  private final BitSet codes = new BitSet();
+  private final LongLongHashMap liveIds = new LongLongHashMap(1024, NO_ID);
+  private final LongUnaryOperator liveIdOf = liveIds::get;
+  private final LongUnaryOperator codeBit = code -> codes.get((int) code) ? 1 : 0;
+  private long highestCode;
+  // Highest code seen one settle interval ago, in cluster mode
+  private long settlingCode;
+  private volatile long trustedCode;
+  private volatile boolean loaded;
+
+  public OrderCodeIndex(
+      final OrderRepository orderRepository,
+      final ArchivedOrderRepository archiveRepository,
+      final TransactionTemplate transactionTemplate,
+      @Value("${awesome-pizza.config.code-filter.enabled:true}") final boolean enabled,
+      @Value("${awesome-pizza.config.cluster.enabled:false}") final boolean clustered,
+      @Nullable final MeterRegistry meterRegistry
+  ) {
+    this.orderRepository = orderRepository;
+    this.archiveRepository = archiveRepository;
+    this.transactionTemplate = transactionTemplate;
+    this.enabled = enabled;
+    this.clustered = clustered;
+    this.rejected = meterRegistry == null ? null : Counter.builder(METRIC)
+        .description("Order code lookups rejected without querying the DB")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Loads the codes of the live and archived Orders from DB
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void bootstrap() {
+    if (!enabled)
+      return;
+
+    transactionTemplate.executeWithoutResult(status -> {
+      for (final OrderCodeRow row : orderRepository.findAllCodes())
+        add(row.code(), row.id());
+      for (final Long code : archiveRepository.findAllCodes())
+        add(code, NO_ID);
+    });
+    loaded = true;
+    if (!clustered)
+      trustedCode = highestCode();
+
+    log.info("Order code index loaded with {} codes, {} of live Orders", codes(), liveOrders());
+  }
+
+  /**
+   * Adds the code of a committed new Order
+   * @param event: Order status change
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onStatusChanged(final OrderStatusChangedEvent event) {
+    if (enabled && event.previous() == null && event.code() != null)
+      add(event.code(), event.orderId() == null ? NO_ID : event.orderId());
+  }
+
+  /**
+   * Drops the archived Orders from the live ones: their codes stay known
+   * @param event: archived Orders
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onArchived(final OrdersArchivedEvent event) {
+    if (!enabled || event.codes() == null)
+      return;
+
+    final long stamp = lock.writeLock();
+    try {
+      for (final Long code : event.codes())
+        if (code != null)
+          liveIds.remove(code);
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  /**
+   * Advances the trusted range in cluster mode, to the highest code seen one settle interval ago: the interval
+   * must exceed the cluster event replication delay
+   */
+  @Scheduled(fixedDelayString = "${awesome-pizza.config.code-filter.settle-interval:PT2S}")
+  public void settle() {
+    if (!clustered || !loaded)
+      return;
+
+    final long highest = highestCode();
+    trustedCode = settlingCode;
+    settlingCode = highest;
+  }
+
+  /**
+   * Checks whether a code is definitely unknown, without querying the DB
+   * @param code: code of an Order
+   * @return true when no Order was ever created with the code, false when it may exist
+   */
+  public boolean isUnknown(final long code) {
+    if (!loaded)
+      return false;
+
+    final boolean unknown = code <= 0 || (code <= trustedCode && !contains(code));
+    if (unknown && rejected != null)
+      rejected.increment();
+    return unknown;
+  }
+
+  /**
+   * @param code: code of an Order
+   * @return ID of the live Order with the code, {@link #NO_ID} when not known as live
+   */
+  public long liveId(final long code) {
+    return read(liveIdOf, code);
+  }
+
+  /**
+   * Drops a code from the live Orders, once its Order is found archived or deleted
+   * @param code: code of an Order
+   */
+  public void evict(final long code) {
+    final long stamp = lock.writeLock();
+    try {
+      liveIds.remove(code);
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  /**
+   * Adds a code, with the ID of its Order when live
+   * @param code: code of an Order
+   * @param id: ID of the live Order, {@link #NO_ID} for an archived one
+   */
+  void add(final long code, final long id) {
+    if (code <= 0 || code > Integer.MAX_VALUE)
+      return;
+
+    final long stamp = lock.writeLock();
+    try {
+      codes.set((int) code);
+      if (id != NO_ID)
+        liveIds.put(code, id);
+      if (code > highestCode) {
+        highestCode = code;
+        if (loaded && !clustered)
+          trustedCode = code;
+      }
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  int codes() {
+    final long stamp = lock.readLock();
+    try {
+      return codes.cardinality();
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  int liveOrders() {
+    final long stamp = lock.readLock();
+    try {
+      return liveIds.size();
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  private boolean contains(final long code) {
+    return read(codeBit, code) != 0;
+  }
+
+  /**
+   * Reads without locking when no write is in progress, which is the common case: writes never publish a
+   * partially updated structure without holding the write lock, so a stale or torn read, even one failing, is
+   * discarded by validation and retried under the read lock
+   */
+  private long read(final LongUnaryOperator operation, final long code) {
+    long stamp = lock.tryOptimisticRead();
+    if (stamp != 0)
+      try {
+        final long result = operation.applyAsLong(code);
+        if (lock.validate(stamp))
+          return result;
+      } catch (final RuntimeException e) {
+        // Torn read of a concurrent write
+      }
+
+    stamp = lock.readLock();
+    try {
+      return operation.applyAsLong(code);
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  private long highestCode() {
+    final long stamp = lock.readLock();
+    try {
+      return highestCode;
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+}
@@ -0,0 +1,16 @@
+package org.example.awesome.pizza.mapper;
+
+import org.example.awesome.pizza.domain.OrderLine;
+import org.example.awesome.pizza.model.OrderLineDto;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.NullValueCheckStrategy;
+
+@Mapper(componentModel = "spring", nullValueCheckStrategy = NullValueCheckStrategy.ALWAYS, uses = {MapperUtils.class, PizzaMapper.class})
+public interface OrderLineMapper {
+
+  @Mapping(target = "orderId", source = "order.id")
+  @Mapping(target = "orderCode", source = "order.code")
+  @Mapping(target = "chefId", source = "chef.id")
+  OrderLineDto toDto(final OrderLine line);
+}
@@ -1,17 +1,22 @@
 package org.example.awesome.pizza.mapper;
 
+import org.example.awesome.pizza.domain.ArchivedOrder;
 import org.example.awesome.pizza.domain.Chef;
 import org.example.awesome.pizza.domain.Order;
 import org.example.awesome.pizza.domain.Pizza;
 import org.example.awesome.pizza.model.OrderDto;
 import org.example.awesome.pizza.model.OrderInternalReq;
 import org.example.awesome.pizza.model.OrderRequest;
+import org.example.awesome.pizza.model.PizzaDto;
+import org.example.awesome.pizza.repository.projection.OrderSummaryRow;
+import org.mapstruct.BeanMapping;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 import org.mapstruct.Named;
 import org.mapstruct.NullValueCheckStrategy;
 import org.mapstruct.NullValuePropertyMappingStrategy;
+import org.mapstruct.control.DeepClone;
 import org.springframework.util.CollectionUtils;
 
 import java.math.BigDecimal;
@@ -21,18 +26,38 @@ import java.util.List;
 public interface OrderMapper extends BaseMapper<OrderDto, OrderInternalReq, Order> {
 
   @Mapping(target = "status", defaultValue = "CREATED")
+  @Mapping(target = "priority", defaultValue = "NORMAL")
   @Mapping(target = "chef", ignore = true)
   Order toEntity(final OrderInternalReq orderRequest);
 
   @Mapping(target = "totalAmount", source = "pizzas", qualifiedByName = "calcTotalAmount")
+  @Mapping(target = "estimatedReadyDate", ignore = true)
   OrderDto toDto(final Order order);
 
+  @BeanMapping(mappingControl = DeepClone.class)
+  OrderDto copy(final OrderDto dto);
+
+  PizzaDto copy(final PizzaDto dto);
+
   @Mapping(target = "pizzas", ignore = true)
+  @Mapping(target = "priority", nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
   @Mapping(target = "target.chef", source = "source", qualifiedByName = "patchChef")
   void patch(final OrderInternalReq source, @MappingTarget final Order target);
 
   OrderInternalReq toInternalReq(final OrderRequest source);
 
+  @Mapping(target = "pizzas", ignore = true)
+  @Mapping(target = "lastModifiedDate", ignore = true)
+  @Mapping(target = "totalAmount", ignore = true)
+  @Mapping(target = "priority", ignore = true)
+  @Mapping(target = "estimatedReadyDate", ignore = true)
+  OrderDto toSummaryDto(final OrderSummaryRow row);
+
+  @Mapping(target = "archivedDate", ignore = true)
+  ArchivedOrder toArchive(final Order order);
+
+  Order fromArchive(final ArchivedOrder archived);
+
   @Named("calcTotalAmount")
   default BigDecimal totalAmount(final List<Pizza> pizzas) {
     if (CollectionUtils.isEmpty(pizzas))
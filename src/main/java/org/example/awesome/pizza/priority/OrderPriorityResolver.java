@@ -0,0 +1,40 @@
+package org.example.awesome.pizza.priority;
+
+import org.example.awesome.pizza.model.OrderPriority;
+import org.example.awesome.pizza.model.OrderRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Picks the priority lane of an Order: the one explicitly requested, when present, otherwise the one matching
+ * the number of ordered pizzas
+ */
+@Component
+public class OrderPriorityResolver {
+  private final int expressMaxPizzas;
+  private final int bulkMinPizzas;
+
+  public OrderPriorityResolver(
+      @Value("${awesome-pizza.config.priority.express-max-pizzas:1}") final int expressMaxPizzas,
+      @Value("${awesome-pizza.config.priority.bulk-min-pizzas:6}") final int bulkMinPizzas
+  ) {
+    this.expressMaxPizzas = expressMaxPizzas;
+    this.bulkMinPizzas = bulkMinPizzas;
+  }
+
+  public OrderPriority resolve(final OrderRequest request) {
+    if (request == null)
+      return OrderPriority.NORMAL;
+
+    if (request.getPriority() != null)
+      return request.getPriority();
+
+    final int pizzas = request.getPizzas() == null ? 0 : request.getPizzas().size();
+    if (pizzas >= bulkMinPizzas)
+      return OrderPriority.BULK;
+    if (pizzas > 0 && pizzas <= expressMaxPizzas)
+      return OrderPriority.EXPRESS;
+
+    return OrderPriority.NORMAL;
+  }
+}
@@ -0,0 +1,56 @@
+package org.example.awesome.pizza.priority;
+
+import org.example.awesome.pizza.model.OrderPriority;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Smooth weighted round-robin among non-empty priority lanes: each lane is served proportionally to its weight,
+ * so lower priority lanes are never starved, and picks of the same lane are spread out rather than bursty
+ */
+@Component
+public class WeightedLaneSelector {
+  private static final OrderPriority[] LANES = OrderPriority.values();
+
+  private final int[] weights = new int[LANES.length];
+  private final long[] credits = new long[LANES.length];
+
+  public WeightedLaneSelector(
+      @Value("${awesome-pizza.config.priority.weights.express:6}") final int expressWeight,
+      @Value("${awesome-pizza.config.priority.weights.normal:3}") final int normalWeight,
+      @Value("${awesome-pizza.config.priority.weights.bulk:1}") final int bulkWeight
+  ) {
+    weights[OrderPriority.EXPRESS.ordinal()] = Math.max(1, expressWeight);
+    weights[OrderPriority.NORMAL.ordinal()] = Math.max(1, normalWeight);
+    weights[OrderPriority.BULK.ordinal()] = Math.max(1, bulkWeight);
+  }
+
+  /**
+   * Selects the next lane to serve among the non-empty ones
+   * @param nonEmpty: lanes having at least one CREATED Order
+   * @return selected lane, empty when all lanes are empty
+   */
+  public synchronized Optional<OrderPriority> select(final Set<OrderPriority> nonEmpty) {
+    OrderPriority selected = null;
+    long total = 0;
+
+    for (final OrderPriority lane : LANES) {
+      if (!nonEmpty.contains(lane))
+        continue;
+
+      final int index = lane.ordinal();
+      credits[index] += weights[index];
+      total += weights[index];
+      if (selected == null || credits[index] > credits[selected.ordinal()])
+        selected = lane;
+    }
+
+    if (selected != null)
+      credits[selected.ordinal()] -= total;
+
+    return Optional.ofNullable(selected);
+  }
+}
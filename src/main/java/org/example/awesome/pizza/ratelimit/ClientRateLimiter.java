@@ -0,0 +1,40 @@
+package org.example.awesome.pizza.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Token buckets of an operation, one for each client, held in a bounded map: buckets idle for longer than the
+ * expiry are dropped, and so are the least recently used ones beyond the maximum number of clients. A dropped
+ * bucket comes back full, which is what an idle client would have anyway
+ */
+public class ClientRateLimiter {
+  private final Cache<String, TokenBucket> buckets;
+  private final Function<String, TokenBucket> newBucket;
+
+  /**
+   * @param limit: rate limit of each client
+   * @param maxClients: highest number of clients tracked at once
+   * @param idleExpiry: time after which the bucket of an idle client is dropped
+   */
+  public ClientRateLimiter(final RateLimit limit, final long maxClients, final Duration idleExpiry) {
+    final long refillNanos = limit.refill().toNanos();
+    this.buckets = Caffeine.newBuilder()
+        .maximumSize(maxClients)
+        .expireAfterAccess(idleExpiry)
+        .build();
+    this.newBucket = client -> new TokenBucket(limit.capacity(), refillNanos, System.nanoTime());
+  }
+
+  /**
+   * Takes a token from the bucket of a client
+   * @param client: key of the client
+   * @return 0 when allowed, otherwise the time to wait for the next token
+   */
+  public long tryAcquire(final String client) {
+    return buckets.get(client, newBucket).tryConsume(System.nanoTime());
+  }
+}
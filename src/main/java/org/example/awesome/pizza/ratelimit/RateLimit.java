@@ -0,0 +1,63 @@
+package org.example.awesome.pizza.ratelimit;
+
+import org.springframework.beans.factory.config.YamlMapFactoryBean;
+import org.springframework.core.io.Resource;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Rate limit of an operation for each client, as declared in the OpenAPI spec by the {@code x-rate-limit}
+ * extension of the operation:
+ * <pre>
+ *   x-rate-limit:
+ *     capacity: 10
+ *     per-second: 2
+ * </pre>
+ * @param capacity: highest burst of requests
+ * @param perSecond: sustained requests per second
+ */
+public record RateLimit(int capacity, double perSecond) {
+  static final String EXTENSION = "x-rate-limit";
+
+  public RateLimit {
+    if (capacity < 1 || perSecond <= 0)
+      throw new IllegalArgumentException("Invalid rate limit: capacity [%d], per second [%s]".formatted(capacity, perSecond));
+  }
+
+  /**
+   * @return time for a client to get a request back
+   */
+  public Duration refill() {
+    return Duration.ofNanos((long) (Duration.ofSeconds(1).toNanos() / perSecond));
+  }
+
+  /**
+   * Reads the rate limits of the operations from the OpenAPI spec
+   * @param spec: OpenAPI spec in YAML
+   * @return rate limits by operationId, for the operations declaring one
+   */
+  public static Map<String, RateLimit> fromSpec(final Resource spec) {
+    final YamlMapFactoryBean yaml = new YamlMapFactoryBean();
+    yaml.setResources(spec);
+
+    final Map<String, RateLimit> limits = new HashMap<>();
+    final Map<String, Object> paths = map(yaml.getObject().get("paths"));
+    paths.values().forEach(path -> map(path).values().forEach(candidate -> {
+      final Map<String, Object> operation = map(candidate);
+      final Map<String, Object> limit = map(operation.get(EXTENSION));
+      if (!limit.isEmpty())
+        limits.put((String) operation.get("operationId"), new RateLimit(
+            ((Number) limit.get("capacity")).intValue(),
+            ((Number) limit.get("per-second")).doubleValue()));
+    }));
+    return limits;
+  }
+
+  // Path items also hold parameters lists, skipped as any other non-map value
+  @SuppressWarnings("unchecked")
+  private static Map<String, Object> map(final Object value) {
+    return value instanceof Map<?, ?> map ? (Map<String, Object>) map : Map.of();
+  }
+}
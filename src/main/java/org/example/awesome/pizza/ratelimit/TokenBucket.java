@@ -0,0 +1,44 @@
+package org.example.awesome.pizza.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket, kept as a single timestamp (generic cell rate algorithm): the theoretical time at which
+ * the bucket would be full again. Taking a token pushes it one refill interval ahead, and is refused when that
+ * would go beyond the capacity of the bucket from now. A decision is a read and a compare-and-set, and the
+ * bucket refills without any timer
+ */
+public final class TokenBucket {
+  private final long refillNanos;
+  private final long capacityNanos;
+  private final AtomicLong fullAt;
+
+  /**
+   * @param capacity: tokens of a full bucket, that is the highest burst
+   * @param refillNanos: time to get a token back
+   * @param now: current time from {@link System#nanoTime()}: the bucket starts full
+   */
+  public TokenBucket(final int capacity, final long refillNanos, final long now) {
+    this.refillNanos = refillNanos;
+    this.capacityNanos = capacity * refillNanos;
+    this.fullAt = new AtomicLong(now);
+  }
+
+  /**
+   * Takes a token, if any
+   * @param now: current time from {@link System#nanoTime()}
+   * @return 0 when a token was taken, otherwise the time to wait for the next one
+   */
+  public long tryConsume(final long now) {
+    long current;
+    long next;
+    do {
+      current = fullAt.get();
+      next = Math.max(current, now) + refillNanos;
+      final long wait = next - now - capacityNanos;
+      if (wait > 0)
+        return wait;
+    } while (!fullAt.compareAndSet(current, next));
+    return 0;
+  }
+}
@@ -0,0 +1,19 @@
+package org.example.awesome.pizza.repository;
+
+import org.example.awesome.pizza.domain.ArchivedOrder;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ArchivedOrderRepository extends JpaRepository<ArchivedOrder, Long> {
+  Optional<ArchivedOrder> findOneByCode(final Long code);
+
+  @Query(value = """
+      SELECT a.code FROM ArchivedOrder a
+      """)
+  List<Long> findAllCodes();
+}
@@ -0,0 +1,32 @@
+package org.example.awesome.pizza.repository;
+
+import org.example.awesome.pizza.domain.ClusterEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface ClusterEventRepository extends JpaRepository<ClusterEvent, Long> {
+  @Query(value = """
+      SELECT COALESCE(MAX(e.id), 0) FROM ClusterEvent e
+      """)
+  long findLastId();
+
+  @Query(value = """
+      SELECT e FROM ClusterEvent e
+      WHERE e.id > ?1 AND e.origin <> ?2 AND e.createdDate <= ?3
+      ORDER BY e.id ASC
+      """)
+  List<ClusterEvent> findNext(final Long afterId, final String origin, final Instant settledBefore, final Pageable page);
+
+  @Modifying
+  @Query(value = """
+      DELETE FROM ClusterEvent e WHERE e.createdDate < ?1
+      """)
+  int deleteOlderThan(final Instant before);
+}
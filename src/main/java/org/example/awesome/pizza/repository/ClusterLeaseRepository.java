@@ -0,0 +1,37 @@
+package org.example.awesome.pizza.repository;
+
+import org.example.awesome.pizza.domain.ClusterLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+
+@Repository
+public interface ClusterLeaseRepository extends JpaRepository<ClusterLease, String> {
+  @Modifying
+  @Query(value = """
+      UPDATE ClusterLease l SET l.owner = ?2, l.expiresAt = ?4
+      WHERE l.name = ?1 AND (l.owner = ?2 OR l.expiresAt < ?3)
+      """)
+  int renew(final String name, final String owner, final Instant now, final Instant expiresAt);
+
+  @Modifying
+  @Query(nativeQuery = true, value = """
+      INSERT INTO {h-schema}cluster_lease (name, owner, expires_at) VALUES (?1, ?2, ?3)
+      """)
+  int insert(final String name, final String owner, final Instant expiresAt);
+
+  @Modifying
+  @Query(value = """
+      DELETE FROM ClusterLease l WHERE l.name = ?1 AND l.owner = ?2
+      """)
+  int release(final String name, final String owner);
+
+  @Modifying
+  @Query(value = """
+      DELETE FROM ClusterLease l WHERE l.expiresAt < ?1
+      """)
+  int deleteExpired(final Instant now);
+}
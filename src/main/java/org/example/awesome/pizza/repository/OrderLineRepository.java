@@ -0,0 +1,56 @@
+package org.example.awesome.pizza.repository;
+
+import org.example.awesome.pizza.domain.OrderLine;
+import org.example.awesome.pizza.model.OrderStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OrderLineRepository extends JpaRepository<OrderLine, Long> {
+  @Query(value = """
+      SELECT l FROM OrderLine l JOIN FETCH l.order JOIN FETCH l.pizza WHERE l.order.id = ?1 ORDER BY l.id ASC
+      """)
+  List<OrderLine> findAllByOrderId(final Long orderId);
+
+  /**
+   * Finds, in a single query, the lines of the same Order of the input line, the latter included
+   * @param id: ID of the line
+   * @return lines of the Order, sorted by ID: empty when the input line does not exist
+   */
+  @Query(value = """
+      SELECT l FROM OrderLine l JOIN FETCH l.order JOIN FETCH l.pizza
+      WHERE l.order.id = (SELECT s.order.id FROM OrderLine s WHERE s.id = ?1)
+      ORDER BY l.id ASC
+      """)
+  List<OrderLine> findAllOfSameOrder(final Long id);
+
+  /**
+   * Finds, in a single query, the COOKING lines of a Chef and the head of every CREATED priority lane, that is
+   * its oldest line: lines of the same Order are inserted together, hence the lowest ID is the oldest
+   * @param chefId: ID of the Chef
+   * @return Chef COOKING lines and CREATED lane heads, sorted by ID
+   */
+  @Query(value = """
+      SELECT l FROM OrderLine l JOIN FETCH l.order JOIN FETCH l.pizza
+      WHERE (l.status = org.example.awesome.pizza.model.OrderStatus.COOKING AND l.chef.id = ?1)
+         OR (l.status = org.example.awesome.pizza.model.OrderStatus.CREATED AND l.id = (
+             SELECT MIN(h.id) FROM OrderLine h
+             WHERE h.status = org.example.awesome.pizza.model.OrderStatus.CREATED AND h.priority = l.priority))
+      ORDER BY l.id ASC
+      """)
+  List<OrderLine> findChefCookingAndLaneHeads(final Long chefId);
+
+  /**
+   * Reads the status of a line as committed, even when the line is already in the persistence context
+   * @param id: ID of the line
+   * @return status of the line
+   */
+  @Query(value = """
+      SELECT l.status FROM OrderLine l WHERE l.id = ?1
+      """)
+  Optional<OrderStatus> findStatusById(final Long id);
+}
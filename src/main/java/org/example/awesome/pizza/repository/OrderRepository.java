@@ -1,11 +1,24 @@
 package org.example.awesome.pizza.repository;
 
 import jakarta.annotation.Nonnull;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.example.awesome.pizza.domain.Order;
+import org.example.awesome.pizza.model.OrderPriority;
+import org.example.awesome.pizza.model.OrderStatus;
+import org.example.awesome.pizza.repository.projection.LiveOrderRow;
+import org.example.awesome.pizza.repository.projection.OrderCodeRow;
+import org.example.awesome.pizza.repository.projection.OrderSummaryRow;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,15 +29,129 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
   @Query(value = """
       SELECT o FROM Order o WHERE o.status IN ?1 ORDER BY o.createdDate ASC
       """)
-  List<Order> findAllSortedByCreatedDate(@Nonnull final String... statuses);
+  List<Order> findAllSortedByCreatedDate(@Nonnull final OrderStatus... statuses);
 
   @Query(value = """
-      SELECT o FROM Order o WHERE o.chef.id = ?1 AND o.status = 'COOKING'
+      SELECT new org.example.awesome.pizza.repository.projection.OrderSummaryRow(o.id, o.code, o.status, o.createdDate, p.name)
+      FROM Order o LEFT JOIN o.pizzas p WHERE o.status IN ?1 ORDER BY o.createdDate ASC, o.id ASC
+      """)
+  List<OrderSummaryRow> findSummariesSortedByCreatedDate(@Nonnull final OrderStatus... statuses);
+
+  /**
+   * Locks an Order until the end of the transaction, so that changes to its lines are serialized
+   * @param id: ID of the Order
+   * @return locked Order
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query(value = """
+      SELECT o FROM Order o WHERE o.id = ?1
+      """)
+  Optional<Order> findLockedById(final Long id);
+
+  /**
+   * Locks the Order of a line until the end of the transaction, so that changes to its lines are serialized
+   * @param lineId: ID of the line
+   * @return locked Order
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query(value = """
+      SELECT o FROM Order o WHERE o.id = (SELECT l.order.id FROM OrderLine l WHERE l.id = ?1)
+      """)
+  Optional<Order> findLockedByLineId(final Long lineId);
+
+  /**
+   * Reads the status of an Order as committed, even when the Order is already in the persistence context
+   * @param id: ID of the Order
+   * @return status of the Order
+   */
+  @Query(value = """
+      SELECT o.status FROM Order o WHERE o.id = ?1
+      """)
+  Optional<OrderStatus> findStatusById(final Long id);
+
+  /**
+   * Locks an Order until the end of the transaction and reads its status as committed, in a single statement:
+   * pending changes of other Orders are not flushed by this query, so that they are still batched at commit
+   * @param id: ID of the Order
+   * @return status of the locked Order
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT"))
+  @Query(value = """
+      SELECT o.status FROM Order o WHERE o.id = ?1
+      """)
+  Optional<OrderStatus> findLockedStatusById(final Long id);
+
+  Optional<Order> findFirstByStatusAndPriorityOrderByCreatedDateAsc(final OrderStatus status, final OrderPriority priority);
+
+  @Query(value = """
+      SELECT o FROM Order o WHERE o.chef.id = ?1 AND o.status = org.example.awesome.pizza.model.OrderStatus.COOKING
       """)
   Optional<Order> findCookingOrder(final Long chefId);
 
+  /**
+   * Finds, in a single query, the COOKING Orders of a Chef and the head of every CREATED priority lane, that is
+   * its oldest Order, with their pizzas
+   * @param chefId: ID of the Chef
+   * @return Chef COOKING Orders and CREATED lane heads, sorted by created date
+   */
+  @Query(value = """
+      SELECT o FROM Order o LEFT JOIN FETCH o.pizzas
+      WHERE (o.status = org.example.awesome.pizza.model.OrderStatus.COOKING AND o.chef.id = ?1)
+         OR (o.status = org.example.awesome.pizza.model.OrderStatus.CREATED AND o.createdDate = (
+             SELECT MIN(h.createdDate) FROM Order h
+             WHERE h.status = org.example.awesome.pizza.model.OrderStatus.CREATED AND h.priority = o.priority))
+      ORDER BY o.createdDate ASC, o.id ASC
+      """)
+  List<Order> findChefCookingAndLaneHeads(final Long chefId);
+
+  /**
+   * Finds Orders by ID with their pizzas, as the candidates of the next Order to cook picked by the live Order store
+   * @param ids: IDs of the Orders
+   * @return Orders found, sorted by created date
+   */
+  @Query(value = """
+      SELECT o FROM Order o LEFT JOIN FETCH o.pizzas WHERE o.id IN ?1 ORDER BY o.createdDate ASC, o.id ASC
+      """)
+  List<Order> findAllWithPizzasById(@Nonnull final Collection<Long> ids);
+
+  /**
+   * Finds the head of every CREATED priority lane, that is its oldest Order, with its pizzas
+   * @return CREATED lane heads, sorted by created date
+   */
   @Query(value = """
-      SELECT COUNT(1) < ?2 as boolean FROM Order o WHERE o.chef.id = ?1 AND  o.status = 'COOKING'
+      SELECT o FROM Order o LEFT JOIN FETCH o.pizzas
+      WHERE o.status = org.example.awesome.pizza.model.OrderStatus.CREATED AND o.createdDate = (
+            SELECT MIN(h.createdDate) FROM Order h
+            WHERE h.status = org.example.awesome.pizza.model.OrderStatus.CREATED AND h.priority = o.priority)
+      ORDER BY o.createdDate ASC, o.id ASC
+      """)
+  List<Order> findLaneHeads();
+
+  @Query(value = """
+      SELECT COUNT(1) < ?2 as boolean FROM Order o WHERE o.chef.id = ?1 AND o.status = org.example.awesome.pizza.model.OrderStatus.COOKING
       """)
   boolean canTakeAnyOrder(final Long chefId, final Long threshold);
+
+  @Query(value = """
+      SELECT o FROM Order o WHERE o.status IN ?1 AND o.lastModifiedDate < ?2 ORDER BY o.lastModifiedDate ASC
+      """)
+  List<Order> findArchivable(@Nonnull final Collection<OrderStatus> statuses, @Nonnull final Instant before, final Pageable page);
+
+  @Query(value = """
+      SELECT new org.example.awesome.pizza.repository.projection.OrderCodeRow(o.code, o.id) FROM Order o
+      """)
+  List<OrderCodeRow> findAllCodes();
+
+  /**
+   * Finds the CREATED and COOKING Orders with their pizza IDs, to load the live Order store
+   * @return one row per pizza of each live Order, sorted by created date
+   */
+  @Query(value = """
+      SELECT new org.example.awesome.pizza.repository.projection.LiveOrderRow(o.id, o.code, o.status, o.priority, c.id, o.createdDate, p.id)
+      FROM Order o LEFT JOIN o.chef c LEFT JOIN o.pizzas p
+      WHERE o.status IN (org.example.awesome.pizza.model.OrderStatus.CREATED, org.example.awesome.pizza.model.OrderStatus.COOKING)
+      ORDER BY o.createdDate ASC, o.id ASC
+      """)
+  List<LiveOrderRow> findAllLive();
 }
@@ -0,0 +1,34 @@
+package org.example.awesome.pizza.repository;
+
+import jakarta.persistence.LockModeType;
+import org.example.awesome.pizza.domain.SalesBucket;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SalesBucketRepository extends JpaRepository<SalesBucket, Long> {
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query(value = """
+      SELECT b FROM SalesBucket b
+      WHERE b.granularity = ?1 AND b.bucketStart = ?2 AND b.pizzaId = ?3
+        AND (b.chefId = ?4 OR (b.chefId IS NULL AND ?4 IS NULL))
+      """)
+  Optional<SalesBucket> findOneByKey(final String granularity, final Instant bucketStart, final Long pizzaId, final Long chefId);
+
+  @Query(value = """
+      SELECT b FROM SalesBucket b WHERE b.bucketStart >= ?1 AND b.bucketStart < ?2 ORDER BY b.bucketStart ASC
+      """)
+  List<SalesBucket> findAllInRange(final Instant from, final Instant to);
+
+  @Query(value = """
+      SELECT b FROM SalesBucket b WHERE b.granularity = ?1 AND b.bucketStart < ?2 ORDER BY b.bucketStart ASC
+      """)
+  List<SalesBucket> findCompactable(final String granularity, final Instant before, final Pageable page);
+}
@@ -0,0 +1,29 @@
+package org.example.awesome.pizza.repository.projection;
+
+import org.example.awesome.pizza.model.OrderPriority;
+import org.example.awesome.pizza.model.OrderStatus;
+
+import java.time.Instant;
+
+/**
+ * Read-only row of a live Order, as loaded by the live Order store: one per pizza of the Order, or a single one
+ * with no pizza ID when the Order has none. Built by constructor expression, so it is never tracked by the
+ * persistence context
+ * @param id ID of the Order
+ * @param code Code of the Order
+ * @param status Status of the Order
+ * @param priority Priority lane of the Order
+ * @param chefId ID of the Chef owning the Order, if any
+ * @param createdDate Creation date of the Order
+ * @param pizzaId ID of one pizza of the Order
+ */
+public record LiveOrderRow(
+    Long id,
+    Long code,
+    OrderStatus status,
+    OrderPriority priority,
+    Long chefId,
+    Instant createdDate,
+    Long pizzaId
+) {
+}
@@ -0,0 +1,13 @@
+package org.example.awesome.pizza.repository.projection;
+
+/**
+ * Code and ID of a live Order, as loaded by the code index. Built by constructor expression, so it is never
+ * tracked by the persistence context
+ * @param code Code of the Order
+ * @param id ID of the Order
+ */
+public record OrderCodeRow(
+    Long code,
+    Long id
+) {
+}
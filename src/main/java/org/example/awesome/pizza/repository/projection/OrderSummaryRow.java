@@ -0,0 +1,23 @@
+package org.example.awesome.pizza.repository.projection;
+
+import org.example.awesome.pizza.model.OrderStatus;
+
+import java.time.Instant;
+
+/**
+ * Read-only row of the Order summary: one per pizza of the Order, or a single one with no pizza name when the
+ * Order has none. Built by constructor expression, so it is never tracked by the persistence context
+ * @param id ID of the Order
+ * @param code Code of the Order
+ * @param status Status of the Order
+ * @param createdDate Creation date of the Order
+ * @param pizzaName Name of one pizza of the Order
+ */
+public record OrderSummaryRow(
+    Long id,
+    Long code,
+    OrderStatus status,
+    Instant createdDate,
+    String pizzaName
+) {
+}
@@ -0,0 +1,12 @@
+package org.example.awesome.pizza.service;
+
+import org.example.awesome.pizza.model.OrderLineDto;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface OrderLineService {
+  List<OrderLineDto> findByOrderId(final Long orderId);
+  Optional<OrderLineDto> takeNext(final Long chefId);
+  OrderLineDto complete(final Long id, final Long chefId);
+}
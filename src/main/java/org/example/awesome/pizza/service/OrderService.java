@@ -10,6 +10,7 @@ import java.util.Optional;
 public interface OrderService extends BaseReadService<OrderDto>, BaseCreateService<OrderDto, OrderInternalReq> {
   OrderDto findByCode(final Long code);
   List<OrderDto> findAllOrders(final List<OrderStatus> status);
+  List<OrderDto> findOrderSummaries(final List<OrderStatus> status);
   OrderDto updateOrder(final Long id, final OrderInternalReq request, final Long chefId);
   Optional<OrderDto> takeNext(final Long chefId, final Long id);
 }
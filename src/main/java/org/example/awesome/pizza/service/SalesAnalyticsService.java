@@ -0,0 +1,16 @@
+package org.example.awesome.pizza.service;
+
+import org.example.awesome.pizza.domain.Order;
+import org.example.awesome.pizza.domain.OrderLine;
+import org.example.awesome.pizza.model.SalesGranularity;
+import org.example.awesome.pizza.model.SalesGroupBy;
+import org.example.awesome.pizza.model.SalesPointDto;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+public interface SalesAnalyticsService {
+  void record(final Order order);
+  void recordLine(final OrderLine line);
+  List<SalesPointDto> findSales(final OffsetDateTime from, final OffsetDateTime to, final SalesGranularity granularity, final SalesGroupBy groupBy);
+}
@@ -1,6 +1,5 @@
 package org.example.awesome.pizza.service.impl;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.ObjectUtils;
 import org.example.awesome.pizza.domain.BaseEntity;
@@ -12,24 +11,43 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.Optional;
+import java.util.function.Supplier;
 
+/**
+ * Base CRUD operations: reads run as read-only transactions, so that Hibernate neither keeps dirty-checking
+ * snapshots of the loaded entities nor flushes before queries, and the connection is flagged as read-only;
+ * writes run as a single transaction each
+ */
 @Slf4j
-@RequiredArgsConstructor
 abstract class BaseService<TModel, TRequest, TEntity extends BaseEntity> {
   protected final JpaRepository<TEntity, Long> repository;
   protected final BaseMapper<TModel, TRequest, TEntity> mapper;
+  private final TransactionTemplate readOnlyTx;
+
+  BaseService(final JpaRepository<TEntity, Long> repository,
+              final BaseMapper<TModel, TRequest, TEntity> mapper,
+              final PlatformTransactionManager transactionManager) {
+    this.repository = repository;
+    this.mapper = mapper;
+    this.readOnlyTx = new TransactionTemplate(transactionManager);
+    this.readOnlyTx.setReadOnly(true);
+  }
 
   public TModel findById(final Long id) {
     if (id == null)
       throw new BadRequestException("Invalid input ID");
 
-    return repository.findById(id)
+    return readOnly(() -> repository.findById(id)
         .map(mapper::toDto)
-        .orElseThrow(() -> new NotFoundException("No entity found by ID %d".formatted(id)));
+        .orElseThrow(() -> new NotFoundException("No entity found by ID %d".formatted(id))));
   }
 
+  @Transactional(readOnly = true)
   public Page<TModel> findAll(final Pageable page) {
     final Pageable actualPage = ObjectUtils.defaultIfNull(page, Pageable.unpaged(Sort.by("createdDate")));
 
@@ -38,6 +56,7 @@ abstract class BaseService<TModel, TRequest, TEntity extends BaseEntity> {
         .orElseGet(() -> Page.empty(page));
   }
 
+  @Transactional
   public void delete(final Long id) {
     if (id == null)
       throw new BadRequestException("Invalid input ID");
@@ -45,6 +64,7 @@ abstract class BaseService<TModel, TRequest, TEntity extends BaseEntity> {
     repository.deleteById(id);
   }
 
+  @Transactional
   public TModel save(final TRequest request) {
     if (request == null)
       throw new BadRequestException("No valid input entity to save");
@@ -55,6 +75,7 @@ abstract class BaseService<TModel, TRequest, TEntity extends BaseEntity> {
         .orElseThrow(() -> new InternalServerErrorException("Error while inserting entity: %s".formatted(request.toString())));
   }
 
+  @Transactional
   public TModel update(final Long id, final TRequest request) {
     if (ObjectUtils.anyNull(id, request))
       throw new BadRequestException("No valid input parameters");
@@ -68,4 +89,15 @@ abstract class BaseService<TModel, TRequest, TEntity extends BaseEntity> {
         .map(mapper::toDto)
         .orElseThrow(() -> new InternalServerErrorException("Error while updating entity id %d: %s".formatted(id, request.toString())));
   }
+
+  /**
+   * Runs a read inside a read-only transaction, opened only once the input is validated: coalesced reads call it
+   * inside the shared lookup, so that only the leader opens a transaction and waiting followers do not hold a
+   * pooled connection
+   * @param read: the read to run
+   * @return read result
+   */
+  protected <T> T readOnly(final Supplier<T> read) {
+    return readOnlyTx.execute(status -> read.get());
+  }
 }
@@ -0,0 +1,83 @@
+package org.example.awesome.pizza.service.impl;
+
+import org.example.awesome.pizza.cluster.ChefLease;
+import org.example.awesome.pizza.exception.BadRequestException;
+import org.example.awesome.pizza.exception.NotFoundException;
+import org.example.awesome.pizza.mapper.OrderLineMapper;
+import org.example.awesome.pizza.model.OrderLineDto;
+import org.example.awesome.pizza.model.OrderStatus;
+import org.example.awesome.pizza.repository.OrderLineRepository;
+import org.example.awesome.pizza.service.OrderLineService;
+import org.example.awesome.pizza.state.OrderLineState;
+import org.example.awesome.pizza.state.model.OrderLineStateModel;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+@Service
+public class OrderLineServiceImpl implements OrderLineService {
+  private final OrderLineRepository repository;
+  private final OrderLineMapper mapper;
+  private final OrderLineState lineState;
+  private final ChefLease chefLease;
+
+  OrderLineServiceImpl(
+      final OrderLineRepository repository,
+      final OrderLineMapper mapper,
+      final OrderLineState lineState,
+      final ChefLease chefLease
+  ) {
+    this.repository = repository;
+    this.mapper = mapper;
+    this.lineState = lineState;
+    this.chefLease = chefLease;
+  }
+
+  /**
+   * Finds the lines of an Order, sorted by ID
+   * @param orderId: ID of the Order: required
+   * @return list of OrderLineDto instance, empty when the Order has not been opened for line-level cooking
+   */
+  @Transactional(readOnly = true)
+  public List<OrderLineDto> findByOrderId(final Long orderId) {
+    if (orderId == null)
+      throw new BadRequestException("Invalid input ID");
+
+    return repository.findAllByOrderId(orderId).stream()
+        .map(mapper::toDto)
+        .toList();
+  }
+
+  /**
+   * Updates to COOKING the next CREATED line, opening the next CREATED Order when no line is left. The Chef
+   * COOKING lines and the line lane heads are read in a single query; CREATED Orders are read only when some
+   * lane has no line left
+   * @param chefId: Chef that requested next line to cook: required
+   * @return next COOKING line, if found
+   */
+  @Transactional
+  public Optional<OrderLineDto> takeNext(final Long chefId) {
+    final OrderLineStateModel stateModel = new OrderLineStateModel()
+        .chefId(chefId);
+
+    return chefLease.hold(chefId, () -> lineState.handleState(OrderStatus.COOKING, stateModel));
+  }
+
+  /**
+   * Updates to DONE a COOKING line of the input Chef, and its Order too when it was the last one left
+   * @param id: ID of the line: required
+   * @param chefId: Chef that cooked the line: required
+   * @return DONE line
+   */
+  @Transactional
+  public OrderLineDto complete(final Long id, final Long chefId) {
+    final OrderLineStateModel stateModel = new OrderLineStateModel()
+        .id(id)
+        .chefId(chefId);
+
+    return chefLease.hold(chefId, () -> lineState.handleState(OrderStatus.DONE, stateModel))
+        .orElseThrow(() -> new NotFoundException("No order line found by ID %d".formatted(id)));
+  }
+}
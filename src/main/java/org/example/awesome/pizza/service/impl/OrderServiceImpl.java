@@ -1,53 +1,188 @@
 package org.example.awesome.pizza.service.impl;
 
 import lombok.extern.slf4j.Slf4j;
+import org.example.awesome.pizza.cluster.ChefLease;
+import org.example.awesome.pizza.coalescing.RequestCoalescer;
+import org.example.awesome.pizza.coalescing.SingleFlight;
 import org.example.awesome.pizza.domain.Order;
+import org.example.awesome.pizza.eta.OrderEtaEstimator;
+import org.example.awesome.pizza.event.OrderStatusChangedEvent;
 import org.example.awesome.pizza.exception.BadRequestException;
 import org.example.awesome.pizza.exception.InternalServerErrorException;
 import org.example.awesome.pizza.exception.NotFoundException;
+import org.example.awesome.pizza.lookup.OrderCodeIndex;
 import org.example.awesome.pizza.mapper.OrderMapper;
 import org.example.awesome.pizza.model.OrderDto;
 import org.example.awesome.pizza.model.OrderInternalReq;
+import org.example.awesome.pizza.model.OrderPriority;
 import org.example.awesome.pizza.model.OrderStatus;
+import org.example.awesome.pizza.model.PizzaDto;
+import org.example.awesome.pizza.priority.OrderPriorityResolver;
+import org.example.awesome.pizza.repository.ArchivedOrderRepository;
 import org.example.awesome.pizza.repository.OrderRepository;
+import org.example.awesome.pizza.repository.projection.OrderSummaryRow;
 import org.example.awesome.pizza.service.OrderService;
+import org.example.awesome.pizza.store.LiveOrderStore;
 import org.example.awesome.pizza.state.OrderState;
 import org.example.awesome.pizza.state.model.OrderStateModel;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 import org.springframework.util.CollectionUtils;
 
+import java.time.OffsetDateTime;
 import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 public class OrderServiceImpl extends BaseService<OrderDto, OrderInternalReq, Order> implements OrderService {
   private final OrderRepository repo;
+  private final ArchivedOrderRepository archiveRepo;
+  private final OrderMapper orderMapper;
   private final OrderState orderState;
+  private final OrderPriorityResolver priorityResolver;
+  private final OrderEtaEstimator etaEstimator;
+  private final ChefLease chefLease;
+  private final OrderCodeIndex codeIndex;
+  private final LiveOrderStore liveOrders;
+  private final ApplicationEventPublisher eventPublisher;
+  private final SingleFlight<Long, OrderDto> byId;
+  private final SingleFlight<Long, OrderDto> byCode;
 
   OrderServiceImpl(
       final OrderRepository repository,
+      final ArchivedOrderRepository archiveRepo,
       final OrderState orderState,
-      final OrderMapper mapper
+      final OrderMapper mapper,
+      final OrderPriorityResolver priorityResolver,
+      final OrderEtaEstimator etaEstimator,
+      final ChefLease chefLease,
+      final OrderCodeIndex codeIndex,
+      final LiveOrderStore liveOrders,
+      final ApplicationEventPublisher eventPublisher,
+      final RequestCoalescer coalescer,
+      final PlatformTransactionManager transactionManager
   ) {
-    super(repository, mapper);
+    super(repository, mapper, transactionManager);
     this.repo = repository;
+    this.archiveRepo = archiveRepo;
+    this.orderMapper = mapper;
     this.orderState = orderState;
+    this.priorityResolver = priorityResolver;
+    this.etaEstimator = etaEstimator;
+    this.chefLease = chefLease;
+    this.codeIndex = codeIndex;
+    this.liveOrders = liveOrders;
+    this.eventPublisher = eventPublisher;
+    this.byId = coalescer.group("order.by-id", mapper::copy);
+    this.byCode = coalescer.group("order.by-code", mapper::copy);
   }
 
   /**
-   * Finds one Order by its code; For customer use
+   * Inserts a new CREATED Order in its priority lane, notifying listeners about it
+   * @param request: Request with the ordered pizzas: required
+   * @return saved Order
+   */
+  @Override
+  @Transactional
+  public OrderDto save(final OrderInternalReq request) {
+    if (request != null)
+      request.setPriority(priorityResolver.resolve(request));
+
+    final OrderDto saved = super.save(request);
+
+    eventPublisher.publishEvent(new OrderStatusChangedEvent(
+        saved.getId(),
+        saved.getCode(),
+        null,
+        null,
+        null,
+        saved.getStatus(),
+        CollectionUtils.isEmpty(saved.getPizzas()) ? 0 : saved.getPizzas().size(),
+        null,
+        Optional.ofNullable(saved.getLastModifiedDate()).map(OffsetDateTime::toInstant).orElse(null),
+        saved.getPriority(),
+        Optional.ofNullable(saved.getCreatedDate()).map(OffsetDateTime::toInstant).orElse(null),
+        CollectionUtils.isEmpty(saved.getPizzas()) ? List.of() : saved.getPizzas().stream().map(PizzaDto::getId).toList()
+    ));
+
+    return withEta(saved);
+  }
+
+  /**
+   * Finds one Order by its ID, falling back on archived Orders when not found among live ones; concurrent lookups
+   * of the same ID share a single DB query
+   * @param id: ID of the Order
+   * @return OrderDto instance
+   */
+  @Override
+  public OrderDto findById(final Long id) {
+    if (id == null)
+      throw new BadRequestException("Invalid input ID");
+
+    return byId.execute(id, () -> readOnly(() -> repo.findById(id)
+        .or(() -> archiveRepo.findById(id).map(orderMapper::fromArchive))
+        .map(mapper::toDto)
+        .map(this::withEta)
+        .orElseThrow(() -> new NotFoundException("No entity found by ID %d".formatted(id)))));
+  }
+
+  /**
+   * Finds one Order by its code, falling back on archived Orders when not found among live ones; concurrent
+   * lookups of the same code share a single DB query. Codes that were never created are rejected by the code
+   * index without querying the DB, and live Orders known to the index are read by primary key. For customer use
    * @param code: Code of the Order
    * @return OrderDto instance
    */
   public OrderDto findByCode(final Long code) {
     if (code == null)
       throw new BadRequestException("Invalid order code");
+    if (codeIndex.isUnknown(code))
+      throw notFoundByCode(code);
 
-    return repo.findOneByCode(code)
+    return byCode.execute(code, () -> readOnly(() -> findLiveByCode(code)
+        .or(() -> archiveRepo.findOneByCode(code).map(orderMapper::fromArchive))
         .map(mapper::toDto)
-        .orElseThrow(() -> new NotFoundException("No orders found by code %d".formatted(code)));
+        .map(this::withEta)
+        .orElseThrow(() -> notFoundByCode(code))));
+  }
+
+  /**
+   * Detaches the in flight lookups of a changed Order, so that lookups arriving after the commit read it again
+   * @param event: Order status change
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onStatusChanged(final OrderStatusChangedEvent event) {
+    if (event.orderId() != null)
+      byId.forget(event.orderId());
+    if (event.code() != null)
+      byCode.forget(event.code());
+  }
+
+  private Optional<Order> findLiveByCode(final Long code) {
+    final long id = codeIndex.liveId(code);
+    if (id == OrderCodeIndex.NO_ID)
+      return repo.findOneByCode(code);
+
+    // Archived or deleted since indexed
+    final Optional<Order> order = repo.findById(id);
+    if (order.isEmpty())
+      codeIndex.evict(code);
+    return order;
+  }
+
+  private static NotFoundException notFoundByCode(final Long code) {
+    return new NotFoundException("No orders found by code %d".formatted(code));
   }
 
   /**
@@ -55,19 +190,45 @@ public class OrderServiceImpl extends BaseService<OrderDto, OrderInternalReq, Or
    * @param status: optional input list of status
    * @return List of OrderDto instance
    */
+  @Transactional(readOnly = true)
   public List<OrderDto> findAllOrders(final List<OrderStatus> status) {
-    final String[] stringStatus = Optional.ofNullable(status)
-        .filter(list -> !CollectionUtils.isEmpty(list))
-        .orElseGet(() -> List.of(OrderStatus.values())).stream()
-        .map(OrderStatus::name)
-        .toArray(String[]::new);
-
-    return Optional.of(repo.findAllSortedByCreatedDate(stringStatus)).stream()
+    return Optional.of(repo.findAllSortedByCreatedDate(toStatuses(status))).stream()
         .flatMap(Collection::stream)
         .map(mapper::toDto)
+        .map(this::withEta)
         .toList();
   }
 
+  /**
+   * Find Order summaries filtered by statuses, sorted by created date: only id, code, status, created date and
+   * pizza names are read, as projections that the persistence context does not track. Live statuses only are
+   * served by the live Order store, without querying the DB
+   * @param status: list of statuses to filter; all statuses when empty
+   * @return list of Order summaries, with pizzas carrying the name only
+   */
+  @Transactional(readOnly = true)
+  public List<OrderDto> findOrderSummaries(final List<OrderStatus> status) {
+    final OrderStatus[] statuses = toStatuses(status);
+    final List<OrderSummaryRow> rows = liveOrders.summaries(statuses)
+        .orElseGet(() -> repo.findSummariesSortedByCreatedDate(statuses));
+
+    final Map<Long, OrderDto> summaries = new LinkedHashMap<>();
+    for (final OrderSummaryRow row : rows) {
+      final OrderDto summary = summaries.computeIfAbsent(row.id(), id -> orderMapper.toSummaryDto(row));
+      if (row.pizzaName() != null)
+        summary.addPizzasItem(new PizzaDto().name(row.pizzaName()));
+    }
+
+    return List.copyOf(summaries.values());
+  }
+
+  private static OrderStatus[] toStatuses(final List<OrderStatus> status) {
+    return Optional.ofNullable(status)
+        .filter(list -> !CollectionUtils.isEmpty(list))
+        .map(list -> list.toArray(OrderStatus[]::new))
+        .orElseGet(OrderStatus::values);
+  }
+
   /**
    * Updates an existing Order based on input ID and request
    * @param id: ID of the Order to update: required for CANCELED and CREATED target status
@@ -75,36 +236,106 @@ public class OrderServiceImpl extends BaseService<OrderDto, OrderInternalReq, Or
    * @param chefId: ID of the chef: required for COOKING and DONE target status
    * @return updated Order
    */
+  @Transactional
   public OrderDto updateOrder(final Long id, final OrderInternalReq request, final Long chefId) {
     final OrderStateModel stateModel = new OrderStateModel()
         .id(id)
         .request(request.setChefId(chefId));
 
-    return this.orderState.handleState(request.getStatus(), stateModel)
+    return chefLease.hold(chefId, () -> this.orderState.handleState(request.getStatus(), stateModel))
+        .map(this::withEta)
         .orElseThrow(() -> new InternalServerErrorException("Impossible to update Order %d".formatted(id)));
   }
 
 
   /**
    * Updates to DONE the current COOKING Order, if present; then updates to COOKING the next Order, returning
-   * it to the invoker
+   * it to the invoker. Both transitions run in a single transaction: the Chef COOKING Orders and the heads of
+   * the CREATED lanes are read together up front, and both updates are flushed at commit
    * @param chefId: Chef that requested next Order to cook: required
    * @param id: ID of the next Order to cook: optional, if null, finds next CREATED Order based on createdDate
    * @return next COOKING Order, if found
    */
+  @Transactional
   public Optional<OrderDto> takeNext(final Long chefId, final Long id) {
     final OrderInternalReq internalRequest = new OrderInternalReq()
         .setChefId(chefId);
 
-    // Complete current COOKING Order, if present
-    final OrderStateModel doneModel = new OrderStateModel()
-        .request(internalRequest);
-    this.orderState.handleState(OrderStatus.DONE, doneModel);
+    return chefLease.hold(chefId, () -> {
+      final OrderStateModel doneModel = new OrderStateModel()
+          .request(internalRequest);
+      final OrderStateModel nextCooking = new OrderStateModel()
+          .id(id)
+          .request(internalRequest);
+      if (chefId != null)
+        prefetchCandidates(chefId, doneModel, nextCooking);
 
-    // Start cooking request Order, when specified, otherwise next CREATED Order based on createdDate
-    final OrderStateModel nextCooking = new OrderStateModel()
-        .id(id)
-        .request(internalRequest);
-    return this.orderState.handleState(OrderStatus.COOKING, nextCooking);
+      // Complete current COOKING Order, if present
+      this.orderState.handleState(OrderStatus.DONE, doneModel);
+
+      // Start cooking request Order, when specified, otherwise next CREATED Order based on createdDate
+      return this.orderState.handleState(OrderStatus.COOKING, nextCooking);
+    }).map(this::withEta);
+  }
+
+  /**
+   * Reads in a single query the COOKING Orders of the Chef and the head of every CREATED lane, sharing them with
+   * the input state models: the same managed instances are seen by both transitions
+   * @param chefId: Chef taking the next Order
+   * @param models: state models of the transitions
+   */
+  private void prefetchCandidates(final Long chefId, final OrderStateModel... models) {
+    final List<Order> candidates = findCandidates(chefId);
+    final List<Order> chefCooking = candidates.stream()
+        .filter(order -> isCookedBy(order, chefId))
+        .toList();
+    final Map<OrderPriority, Order> laneHeads = candidates.stream()
+        .filter(order -> OrderStatus.CREATED.equals(order.getStatus()))
+        .collect(Collectors.toMap(
+            Order::getPriority,
+            Function.identity(),
+            (oldest, sameCreatedDate) -> oldest,
+            () -> new EnumMap<>(OrderPriority.class)));
+
+    for (final OrderStateModel model : models)
+      model.chefCooking(chefCooking)
+          .laneHeads(laneHeads);
+  }
+
+  /**
+   * Picks the candidates from the live Order store, when it can answer, reading them by primary key: none is read
+   * when the Chef cooks nothing and the lanes are empty. Those found missing or no longer live are dropped from
+   * the store; otherwise candidates are found by the DB.
+   * <p>
+   * The store follows committed changes, hence a lane head may have been taken, by another Chef, before the store
+   * is told: the lane is not empty though, so the candidates are found by the DB as well
+   */
+  private List<Order> findCandidates(final Long chefId) {
+    final Optional<List<Long>> ids = liveOrders.kitchenCandidates(chefId);
+    if (ids.isEmpty())
+      return repo.findChefCookingAndLaneHeads(chefId);
+    if (ids.get().isEmpty())
+      return List.of();
+
+    final List<Order> candidates = repo.findAllWithPizzasById(ids.get());
+    final Set<Long> live = candidates.stream()
+        .filter(order -> OrderStatus.CREATED.equals(order.getStatus()) || OrderStatus.COOKING.equals(order.getStatus()))
+        .map(Order::getId)
+        .collect(Collectors.toSet());
+    ids.get().stream()
+        .filter(id -> !live.contains(id))
+        .forEach(liveOrders::evict);
+
+    final boolean stale = candidates.size() < ids.get().size() || candidates.stream()
+        .anyMatch(order -> !OrderStatus.CREATED.equals(order.getStatus()) && !isCookedBy(order, chefId));
+    return stale ? repo.findChefCookingAndLaneHeads(chefId) : candidates;
+  }
+
+  private static boolean isCookedBy(final Order order, final Long chefId) {
+    return OrderStatus.COOKING.equals(order.getStatus()) && order.getChef() != null && chefId.equals(order.getChef().getId());
+  }
+
+  private OrderDto withEta(final OrderDto order) {
+    return order.estimatedReadyDate(etaEstimator.estimate(order));
   }
 }
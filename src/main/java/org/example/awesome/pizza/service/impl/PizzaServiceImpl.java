@@ -1,13 +1,20 @@
 package org.example.awesome.pizza.service.impl;
 
 import org.apache.commons.lang3.StringUtils;
+import org.example.awesome.pizza.coalescing.RequestCoalescer;
+import org.example.awesome.pizza.coalescing.SingleFlight;
 import org.example.awesome.pizza.domain.Pizza;
+import org.example.awesome.pizza.event.PizzaMenuChangedEvent;
 import org.example.awesome.pizza.mapper.PizzaMapper;
 import org.example.awesome.pizza.model.PizzaDto;
 import org.example.awesome.pizza.model.PizzaRequest;
 import org.example.awesome.pizza.repository.PizzaRepository;
 import org.example.awesome.pizza.service.PizzaService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.util.Collection;
 import java.util.List;
@@ -16,14 +23,23 @@ import java.util.Optional;
 @Service
 public class PizzaServiceImpl extends BaseService<PizzaDto, PizzaRequest, Pizza> implements PizzaService {
   private final PizzaRepository repo;
+  private final SingleFlight<String, List<PizzaDto>> byFilter;
+  private final ApplicationEventPublisher eventPublisher;
 
-  PizzaServiceImpl(final PizzaRepository repository, final PizzaMapper mapper) {
-    super(repository, mapper);
+  PizzaServiceImpl(final PizzaRepository repository,
+                   final PizzaMapper mapper,
+                   final RequestCoalescer coalescer,
+                   final ApplicationEventPublisher eventPublisher,
+                   final PlatformTransactionManager transactionManager) {
+    super(repository, mapper, transactionManager);
     this.repo = repository;
+    this.byFilter = coalescer.group("pizza.by-filter", pizzas -> pizzas.stream().map(mapper::copy).toList());
+    this.eventPublisher = eventPublisher;
   }
 
   /**
-   * Find list of Pizza filtered by input text on name or description Pizza fields, when passed
+   * Find list of Pizza filtered by input text on name or description Pizza fields, when passed; concurrent
+   * searches of the same text share a single DB query
    * @param searchText: string to search: optional, if empty, finds all pizzas
    * @return a list of Pizza model
    */
@@ -31,10 +47,41 @@ public class PizzaServiceImpl extends BaseService<PizzaDto, PizzaRequest, Pizza>
     final String actualFilter = StringUtils.defaultString(searchText)
         .toLowerCase();
 
-    return Optional.of(repo.findByText(actualFilter)).stream()
+    return byFilter.execute(actualFilter, () -> readOnly(() -> Optional.of(repo.findByText(actualFilter)).stream()
         .flatMap(Collection::stream)
         .map(mapper::toDto)
-        .toList();
+        .toList()));
   }
 
+  @Override
+  @Transactional
+  public PizzaDto save(final PizzaRequest request) {
+    final PizzaDto saved = super.save(request);
+    eventPublisher.publishEvent(new PizzaMenuChangedEvent(saved.getId()));
+    return saved;
+  }
+
+  @Override
+  @Transactional
+  public PizzaDto update(final Long id, final PizzaRequest request) {
+    final PizzaDto updated = super.update(id, request);
+    eventPublisher.publishEvent(new PizzaMenuChangedEvent(id));
+    return updated;
+  }
+
+  @Override
+  @Transactional
+  public void delete(final Long id) {
+    super.delete(id);
+    eventPublisher.publishEvent(new PizzaMenuChangedEvent(id));
+  }
+
+  /**
+   * Detaches the in flight searches once the menu changed: any of them may match the changed pizza
+   * @param event: menu change
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onMenuChanged(final PizzaMenuChangedEvent event) {
+    byFilter.forgetAll();
+  }
 }
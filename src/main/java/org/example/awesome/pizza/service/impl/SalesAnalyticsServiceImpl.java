@@ -0,0 +1,318 @@
+package org.example.awesome.pizza.service.impl;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.ObjectUtils;
+import org.example.awesome.pizza.cluster.Claim;
+import org.example.awesome.pizza.cluster.ClaimCoordinator;
+import org.example.awesome.pizza.domain.Chef;
+import org.example.awesome.pizza.domain.Order;
+import org.example.awesome.pizza.domain.OrderLine;
+import org.example.awesome.pizza.domain.Pizza;
+import org.example.awesome.pizza.domain.SalesBucket;
+import org.example.awesome.pizza.exception.BadRequestException;
+import org.example.awesome.pizza.model.SalesGranularity;
+import org.example.awesome.pizza.model.SalesGroupBy;
+import org.example.awesome.pizza.model.SalesPointDto;
+import org.example.awesome.pizza.repository.SalesBucketRepository;
+import org.example.awesome.pizza.service.SalesAnalyticsService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.CollectionUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class SalesAnalyticsServiceImpl implements SalesAnalyticsService {
+  private static final String COMPACT_LEASE = "job:sales-compact";
+  private static final Comparator<BucketKey> POINT_ORDER = Comparator
+      .comparing(BucketKey::bucketStart)
+      .thenComparing(BucketKey::pizzaId, Comparator.nullsFirst(Comparator.naturalOrder()))
+      .thenComparing(BucketKey::chefId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+  private final SalesBucketRepository repository;
+  private final TransactionTemplate transactionTemplate;
+  private final ClaimCoordinator claimCoordinator;
+  private final Duration leaseTtl;
+  private final Duration minuteRetention;
+  private final Duration hourRetention;
+  private final int compactBatchSize;
+
+  // MINUTE increments of DONE Orders not yet flushed on DB
+  private final Map<BucketKey, Rollup> pending = new ConcurrentHashMap<>();
+
+  SalesAnalyticsServiceImpl(
+      final SalesBucketRepository repository,
+      final TransactionTemplate transactionTemplate,
+      final ClaimCoordinator claimCoordinator,
+      @Value("${awesome-pizza.config.cluster.job-lease-ttl:PT10M}") final Duration leaseTtl,
+      @Value("${awesome-pizza.config.analytics.minute-retention:PT2H}") final Duration minuteRetention,
+      @Value("${awesome-pizza.config.analytics.hour-retention:P2D}") final Duration hourRetention,
+      @Value("${awesome-pizza.config.analytics.compact-batch-size:5000}") final int compactBatchSize
+  ) {
+    this.repository = repository;
+    this.transactionTemplate = transactionTemplate;
+    this.claimCoordinator = claimCoordinator;
+    this.leaseTtl = leaseTtl;
+    this.minuteRetention = minuteRetention;
+    this.hourRetention = hourRetention;
+    this.compactBatchSize = compactBatchSize;
+  }
+
+  /**
+   * Adds the pizzas of a DONE Order to the current MINUTE bucket: when invoked inside a transaction, the
+   * increment is applied only after commit
+   * @param order: the DONE Order
+   */
+  public void record(final Order order) {
+    if (order == null || CollectionUtils.isEmpty(order.getPizzas()))
+      return;
+
+    record(order.getPizzas(), order.getChef());
+  }
+
+  /**
+   * Adds the pizza of a DONE Order line to the current MINUTE bucket, on behalf of the Chef that cooked it: when
+   * invoked inside a transaction, the increment is applied only after commit
+   * @param line: the DONE Order line
+   */
+  public void recordLine(final OrderLine line) {
+    if (line == null || line.getPizza() == null)
+      return;
+
+    record(List.of(line.getPizza()), line.getChef());
+  }
+
+  private void record(final List<Pizza> pizzas, final Chef chef) {
+    final Instant minute = Instant.now().truncatedTo(ChronoUnit.MINUTES);
+    final Long chefId = Optional.ofNullable(chef)
+        .map(Chef::getId)
+        .orElse(null);
+    final Map<BucketKey, Rollup> increments = pizzas.stream()
+        .collect(Collectors.toMap(
+            pizza -> new BucketKey(minute, pizza.getId(), chefId),
+            pizza -> new Rollup(1, ObjectUtils.defaultIfNull(pizza.getPrice(), BigDecimal.ZERO)),
+            Rollup::plus));
+
+    if (TransactionSynchronizationManager.isSynchronizationActive())
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          accumulate(increments);
+        }
+      });
+    else
+      accumulate(increments);
+  }
+
+  /**
+   * Finds sales series in the input range, folding stored buckets into the requested granularity: buckets
+   * already compacted to a coarser granularity are returned as they are, when they overlap the range. Such
+   * buckets cannot be split, so those starting before the range or ending after it are counted in full and their
+   * points flagged as partial. Increments not yet flushed on DB by this node are included, except those being
+   * flushed at that very moment, missing until their transaction commits; in cluster mode, increments of other
+   * nodes show up once they flush, within the flush interval
+   * @param from: start of the range (inclusive): required
+   * @param to: end of the range (exclusive): required
+   * @param granularity: size of the returned buckets: optional, HOUR by default
+   * @param groupBy: dimension splitting each bucket: optional, NONE by default
+   * @return list of sales points sorted by bucket start
+   */
+  public List<SalesPointDto> findSales(final OffsetDateTime from, final OffsetDateTime to, final SalesGranularity granularity, final SalesGroupBy groupBy) {
+    if (ObjectUtils.anyNull(from, to) || !from.isBefore(to))
+      throw new BadRequestException("Invalid sales range");
+
+    final SalesGranularity actualGranularity = ObjectUtils.defaultIfNull(granularity, SalesGranularity.HOUR);
+    final SalesGroupBy actualGroupBy = ObjectUtils.defaultIfNull(groupBy, SalesGroupBy.NONE);
+
+    final Map<BucketKey, Rollup> points = new HashMap<>();
+    final Map<BucketKey, SalesGranularity> pointGranularity = new HashMap<>();
+    final Set<BucketKey> partialPoints = new HashSet<>();
+    final Instant start = from.toInstant();
+    final Instant end = to.toInstant();
+    // Buckets starting up to a DAY before the range may still overlap it
+    for (final SalesBucket bucket : repository.findAllInRange(start.minus(1, ChronoUnit.DAYS), end)) {
+      final SalesGranularity stored = SalesGranularity.valueOf(bucket.getGranularity());
+      final Instant bucketEnd = end(bucket.getBucketStart(), stored);
+      if (!bucketEnd.isAfter(start))
+        continue;
+
+      final BucketKey point = fold(points, pointGranularity, actualGranularity, actualGroupBy, stored,
+          new BucketKey(bucket.getBucketStart(), bucket.getPizzaId(), bucket.getChefId()),
+          new Rollup(bucket.getPizzaCount(), bucket.getRevenue()));
+      if (bucket.getBucketStart().isBefore(start) || bucketEnd.isAfter(end))
+        partialPoints.add(point);
+    }
+    pending.forEach((key, rollup) -> {
+      if (!key.bucketStart().isBefore(start) && key.bucketStart().isBefore(end))
+        fold(points, pointGranularity, actualGranularity, actualGroupBy, SalesGranularity.MINUTE, key, rollup);
+    });
+
+    return points.entrySet().stream()
+        .sorted(Map.Entry.comparingByKey(POINT_ORDER))
+        .map(entry -> new SalesPointDto()
+            .bucketStart(OffsetDateTime.ofInstant(entry.getKey().bucketStart(), ZoneId.systemDefault()))
+            .granularity(pointGranularity.get(entry.getKey()))
+            .pizzaId(entry.getKey().pizzaId())
+            .chefId(entry.getKey().chefId())
+            .pizzaCount(entry.getValue().count())
+            .revenue(entry.getValue().revenue())
+            .partial(partialPoints.contains(entry.getKey())))
+        .toList();
+  }
+
+  /**
+   * Writes the pending increments on shutdown, before the DB is closed, so that the last flush interval is not lost
+   */
+  @PreDestroy
+  public void flushOnShutdown() {
+    flush();
+  }
+
+  /**
+   * Writes pending MINUTE increments on DB; on failure, increments are kept for the next flush
+   */
+  @Scheduled(fixedDelayString = "${awesome-pizza.config.analytics.flush-interval:PT10S}")
+  public void flush() {
+    if (pending.isEmpty())
+      return;
+
+    final Map<BucketKey, Rollup> drained = new HashMap<>();
+    pending.keySet().forEach(key -> Optional.ofNullable(pending.remove(key))
+        .ifPresent(rollup -> drained.merge(key, rollup, Rollup::plus)));
+
+    try {
+      transactionTemplate.executeWithoutResult(status ->
+          drained.forEach((key, rollup) -> upsert(SalesGranularity.MINUTE, key, rollup)));
+    } catch (RuntimeException e) {
+      log.warn("Could not flush [{}] sales buckets, retrying on next flush", drained.size(), e);
+      accumulate(drained);
+    }
+  }
+
+  /**
+   * Compacts MINUTE buckets older than minute retention into HOUR buckets, and HOUR buckets older than hour
+   * retention into DAY buckets. In cluster mode, only one node at a time compacts
+   */
+  @Scheduled(
+      initialDelayString = "${awesome-pizza.config.analytics.compact-initial-delay:PT1M}",
+      fixedDelayString = "${awesome-pizza.config.analytics.compact-interval:PT15M}"
+  )
+  public void compact() {
+    final Optional<Claim> claim = claimCoordinator.tryClaim(COMPACT_LEASE, leaseTtl);
+    if (claim.isEmpty())
+      return;
+
+    try {
+      compact(SalesGranularity.MINUTE, SalesGranularity.HOUR, minuteRetention);
+      compact(SalesGranularity.HOUR, SalesGranularity.DAY, hourRetention);
+    } finally {
+      claimCoordinator.release(claim.get());
+    }
+  }
+
+  /**
+   * Compacts a bounded batch of source buckets into target buckets: only whole target buckets are compacted
+   * @return number of compacted source buckets
+   */
+  int compact(final SalesGranularity source, final SalesGranularity target, final Duration retention) {
+    final Instant before = truncate(Instant.now().minus(retention), target);
+
+    final Integer compacted = transactionTemplate.execute(status -> {
+      final List<SalesBucket> buckets = repository.findCompactable(source.name(), before, PageRequest.of(0, compactBatchSize));
+      if (buckets.isEmpty())
+        return 0;
+
+      buckets.stream()
+          .collect(Collectors.toMap(
+              bucket -> new BucketKey(truncate(bucket.getBucketStart(), target), bucket.getPizzaId(), bucket.getChefId()),
+              bucket -> new Rollup(bucket.getPizzaCount(), bucket.getRevenue()),
+              Rollup::plus))
+          .forEach((key, rollup) -> upsert(target, key, rollup));
+      repository.deleteAllInBatch(buckets);
+
+      return buckets.size();
+    });
+
+    return compacted == null ? 0 : compacted;
+  }
+
+  // Folds a bucket into the point of the requested granularity, or of its own when coarser, and dimension
+  private static BucketKey fold(final Map<BucketKey, Rollup> points, final Map<BucketKey, SalesGranularity> pointGranularity,
+                           final SalesGranularity granularity, final SalesGroupBy groupBy, final SalesGranularity stored,
+                           final BucketKey bucket, final Rollup rollup) {
+    final SalesGranularity target = stored.compareTo(granularity) > 0 ? stored : granularity;
+    final BucketKey key = new BucketKey(
+        truncate(bucket.bucketStart(), target),
+        SalesGroupBy.PIZZA.equals(groupBy) ? bucket.pizzaId() : null,
+        SalesGroupBy.CHEF.equals(groupBy) ? bucket.chefId() : null);
+
+    points.merge(key, rollup, Rollup::plus);
+    pointGranularity.merge(key, target, (a, b) -> a.compareTo(b) >= 0 ? a : b);
+    return key;
+  }
+
+  private void accumulate(final Map<BucketKey, Rollup> increments) {
+    increments.forEach((key, rollup) -> pending.merge(key, rollup, Rollup::plus));
+  }
+
+  private void upsert(final SalesGranularity granularity, final BucketKey key, final Rollup rollup) {
+    final SalesBucket bucket = repository.findOneByKey(granularity.name(), key.bucketStart(), key.pizzaId(), key.chefId())
+        .orElseGet(() -> new SalesBucket()
+            .setGranularity(granularity.name())
+            .setBucketStart(key.bucketStart())
+            .setPizzaId(key.pizzaId())
+            .setChefId(key.chefId())
+            .setPizzaCount(0L)
+            .setRevenue(BigDecimal.ZERO));
+
+    bucket.setPizzaCount(bucket.getPizzaCount() + rollup.count())
+        .setRevenue(bucket.getRevenue().add(rollup.revenue()));
+    repository.save(bucket);
+  }
+
+  private static Instant truncate(final Instant instant, final SalesGranularity granularity) {
+    return switch (granularity) {
+      case MINUTE -> instant.truncatedTo(ChronoUnit.MINUTES);
+      case HOUR -> instant.truncatedTo(ChronoUnit.HOURS);
+      case DAY -> instant.truncatedTo(ChronoUnit.DAYS);
+    };
+  }
+
+  private static Instant end(final Instant bucketStart, final SalesGranularity granularity) {
+    return switch (granularity) {
+      case MINUTE -> bucketStart.plus(1, ChronoUnit.MINUTES);
+      case HOUR -> bucketStart.plus(1, ChronoUnit.HOURS);
+      case DAY -> bucketStart.plus(1, ChronoUnit.DAYS);
+    };
+  }
+
+  private record BucketKey(Instant bucketStart, Long pizzaId, Long chefId) {
+  }
+
+  private record Rollup(long count, BigDecimal revenue) {
+    Rollup plus(final Rollup other) {
+      return new Rollup(count + other.count, revenue.add(other.revenue));
+    }
+  }
+}
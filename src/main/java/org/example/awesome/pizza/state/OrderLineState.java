@@ -0,0 +1,11 @@
+package org.example.awesome.pizza.state;
+
+import org.example.awesome.pizza.model.OrderLineDto;
+import org.example.awesome.pizza.model.OrderStatus;
+import org.example.awesome.pizza.state.model.OrderLineStateModel;
+
+import java.util.Optional;
+
+public interface OrderLineState {
+  Optional<OrderLineDto> handleState(final OrderStatus targetStatus, final OrderLineStateModel stateModel);
+}
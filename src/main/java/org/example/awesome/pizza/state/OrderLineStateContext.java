@@ -0,0 +1,137 @@
+package org.example.awesome.pizza.state;
+
+import org.apache.commons.lang3.ObjectUtils;
+import org.example.awesome.pizza.domain.Order;
+import org.example.awesome.pizza.domain.OrderLine;
+import org.example.awesome.pizza.event.OrderStatusChangedEvent;
+import org.example.awesome.pizza.exception.BadRequestException;
+import org.example.awesome.pizza.exception.InternalServerErrorException;
+import org.example.awesome.pizza.mapper.OrderLineMapper;
+import org.example.awesome.pizza.model.OrderLineDto;
+import org.example.awesome.pizza.model.OrderStatus;
+import org.example.awesome.pizza.repository.OrderLineRepository;
+import org.example.awesome.pizza.repository.OrderRepository;
+import org.example.awesome.pizza.state.impl.BaseOrderLineState;
+import org.example.awesome.pizza.state.model.OrderLineStateModel;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * State machine of the Order lines, following the same lifecycle of the Orders: the Order of a line is moved to
+ * COOKING when its first line is taken, with no Chef since several of them may cook it, and to DONE when its
+ * last line is completed
+ */
+@Component
+public class OrderLineStateContext implements OrderLineState {
+  private final OrderLineRepository repository;
+  private final OrderRepository orderRepository;
+  private final OrderLineMapper mapper;
+  private final ApplicationEventPublisher eventPublisher;
+  private final Map<OrderStatus, BaseOrderLineState> instances;
+  private final OrderTransitions transitions;
+
+  public OrderLineStateContext(
+      final OrderLineRepository repository,
+      final OrderRepository orderRepository,
+      final OrderLineMapper mapper,
+      final ApplicationEventPublisher eventPublisher,
+      final List<BaseOrderLineState> instances
+  ) {
+    this.repository = repository;
+    this.orderRepository = orderRepository;
+    this.mapper = mapper;
+    this.eventPublisher = eventPublisher;
+    this.instances = instances.stream()
+        .collect(Collectors.toMap(BaseOrderLineState::getStatus, Function.identity(), (first, second) -> first,
+            () -> new EnumMap<>(OrderStatus.class)));
+    this.transitions = new OrderTransitions(instances.stream()
+        .collect(Collectors.toMap(BaseOrderLineState::getStatus, BaseOrderLineState::getAllowed)));
+  }
+
+  public Optional<OrderLineDto> handleState(final OrderStatus targetStatus, final OrderLineStateModel stateModel) {
+    // Check input consistency
+    if (ObjectUtils.anyNull(targetStatus, stateModel))
+      throw new BadRequestException("Invalid input for handling state");
+
+    // Retrieve handler based on target state
+    final BaseOrderLineState instance = instances.get(targetStatus);
+    if (instance == null)
+      throw new InternalServerErrorException("No instance state found for [%s]".formatted(targetStatus.name()));
+
+    // Retrieve current DB line, or the first line of the Order just opened
+    instance.retrieveCurrent(stateModel);
+
+    // Preliminary checks, as for Orders
+    if (!instance.validate(stateModel))
+      return Optional.empty();
+
+    final OrderStatus currentStatus = stateModel.current().getStatus();
+
+    // Check if target status is compatible with current status
+    if (!transitions.isAllowed(currentStatus, targetStatus))
+      throw new BadRequestException("Target status [%s] not compatible with current Order line status [%s]".formatted(targetStatus, currentStatus));
+
+    // Handle and set new target line state
+    final OrderLine handled = instance.handleState(stateModel);
+    handled.setStatus(instance.getStatus());
+
+    // Lines of an Order just opened are all inserted, the handled one included
+    final OrderLine saved;
+    if (handled.getId() == null) {
+      repository.saveAll(stateModel.lines());
+      saved = handled;
+    } else
+      saved = repository.save(handled);
+
+    rollUp(saved.getOrder(), targetStatus, stateModel.lines());
+
+    return Optional.of(saved)
+        .map(mapper::toDto);
+  }
+
+  /**
+   * Moves the Order of a handled line to COOKING, when still CREATED, or to DONE, when all its lines are DONE,
+   * notifying listeners about the transition
+   * @param order: Order of the handled line
+   * @param targetStatus: target status of the handled line
+   * @param lines: all the lines of the Order, when read
+   */
+  private void rollUp(final Order order, final OrderStatus targetStatus, final List<OrderLine> lines) {
+    final OrderStatus currentStatus = order.getStatus();
+    final OrderStatus orderStatus = switch (targetStatus) {
+      case COOKING -> OrderStatus.CREATED.equals(currentStatus) ? OrderStatus.COOKING : null;
+      case DONE -> OrderStatus.COOKING.equals(currentStatus) && lines != null && lines.stream().allMatch(line -> OrderStatus.DONE.equals(line.getStatus()))
+          ? OrderStatus.DONE
+          : null;
+      default -> null;
+    };
+    if (orderStatus == null)
+      return;
+
+    final Instant currentModifiedDate = order.getLastModifiedDate();
+    order.setStatus(orderStatus);
+    order.touch();
+    final Order saved = orderRepository.save(order);
+
+    // Pizzas are counted on the lines, so that the Order pizzas are not loaded
+    eventPublisher.publishEvent(new OrderStatusChangedEvent(
+        saved.getId(),
+        saved.getCode(),
+        null,
+        null,
+        currentStatus,
+        orderStatus,
+        lines == null ? 0 : lines.size(),
+        currentModifiedDate,
+        saved.getLastModifiedDate()
+    ));
+  }
+}
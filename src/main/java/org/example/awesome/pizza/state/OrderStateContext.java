@@ -1,7 +1,10 @@
 package org.example.awesome.pizza.state;
 
 import org.apache.commons.lang3.ObjectUtils;
+import org.example.awesome.pizza.domain.Chef;
 import org.example.awesome.pizza.domain.Order;
+import org.example.awesome.pizza.domain.Pizza;
+import org.example.awesome.pizza.event.OrderStatusChangedEvent;
 import org.example.awesome.pizza.exception.BadRequestException;
 import org.example.awesome.pizza.exception.InternalServerErrorException;
 import org.example.awesome.pizza.mapper.OrderMapper;
@@ -10,8 +13,11 @@ import org.example.awesome.pizza.model.OrderStatus;
 import org.example.awesome.pizza.repository.OrderRepository;
 import org.example.awesome.pizza.state.impl.BaseOrderState;
 import org.example.awesome.pizza.state.model.OrderStateModel;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
+import java.time.Instant;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -22,13 +28,24 @@ import java.util.stream.Collectors;
 public class OrderStateContext implements OrderState {
   private final OrderRepository repository;
   private final OrderMapper mapper;
+  private final ApplicationEventPublisher eventPublisher;
   private final Map<OrderStatus, BaseOrderState> instances;
+  private final OrderTransitions transitions;
 
-  public OrderStateContext(final OrderRepository repository, final OrderMapper mapper, final List<BaseOrderState> instances) {
+  public OrderStateContext(
+      final OrderRepository repository,
+      final OrderMapper mapper,
+      final ApplicationEventPublisher eventPublisher,
+      final List<BaseOrderState> instances
+  ) {
     this.repository = repository;
     this.mapper = mapper;
+    this.eventPublisher = eventPublisher;
     this.instances = instances.stream()
-        .collect(Collectors.toMap(BaseOrderState::getStatus, Function.identity()));
+        .collect(Collectors.toMap(BaseOrderState::getStatus, Function.identity(), (first, second) -> first,
+            () -> new EnumMap<>(OrderStatus.class)));
+    this.transitions = new OrderTransitions(instances.stream()
+        .collect(Collectors.toMap(BaseOrderState::getStatus, BaseOrderState::getAllowed)));
   }
 
   public Optional<OrderDto> handleState(final OrderStatus targetStatus, final OrderStateModel stateModel) {
@@ -55,24 +72,54 @@ public class OrderStateContext implements OrderState {
     if (!instance.validate(stateModel))
       return Optional.empty();
 
-    // Decode current DB Order status
-    final OrderStatus currentStatus = Optional.ofNullable(stateModel.current())
-        .map(Order::getStatus)
-        .map(OrderStatus::valueOf)
-        .orElse(null);
+    final OrderStatus currentStatus = stateModel.current() == null ? null : stateModel.current().getStatus();
 
     // Check if target status is compatible with current status
-    if (!instance.getAllowed().contains(currentStatus))
+    if (!transitions.isAllowed(currentStatus, targetStatus))
       throw new BadRequestException("Target status [%s] not compatible with current Order status [%s]".formatted(targetStatus, currentStatus));
 
+    // Keep track of current DB Order owner and modification date, before handling
+    final Long currentChefId = chefId(stateModel.current());
+    final Instant currentModifiedDate = Optional.ofNullable(stateModel.current())
+        .map(Order::getLastModifiedDate)
+        .orElse(null);
+
     // Handle new target Order state
     final Order handled = instance.handleState(stateModel);
 
     // Setting new target Order state
-    handled.setStatus(instance.getStatus().name());
+    handled.setStatus(instance.getStatus());
+
+    // Save new Order on DB: the update is flushed at commit, hence its modification date is stamped now, as
+    // published to listeners
+    if (handled.getId() != null)
+      handled.touch();
+    final Order saved = repository.save(handled);
 
-    // Save new Order on DB
-    return Optional.of(repository.save(handled))
+    // Notify listeners about the transition
+    eventPublisher.publishEvent(new OrderStatusChangedEvent(
+        saved.getId(),
+        saved.getCode(),
+        chefId(saved),
+        currentChefId,
+        currentStatus,
+        instance.getStatus(),
+        saved.getPizzas() == null ? 0 : saved.getPizzas().size(),
+        currentModifiedDate,
+        saved.getLastModifiedDate(),
+        saved.getPriority(),
+        saved.getCreatedDate(),
+        saved.getPizzas() == null ? null : saved.getPizzas().stream().map(Pizza::getId).toList()
+    ));
+
+    return Optional.of(saved)
         .map(mapper::toDto);
   }
+
+  private static Long chefId(final Order order) {
+    return Optional.ofNullable(order)
+        .map(Order::getChef)
+        .map(Chef::getId)
+        .orElse(null);
+  }
 }
@@ -0,0 +1,41 @@
+package org.example.awesome.pizza.state;
+
+import org.example.awesome.pizza.model.OrderStatus;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+
+/**
+ * Immutable table of the allowed Order transitions, built once: for each target status, the bitset of the current
+ * statuses it can be reached from, so that checking a transition allocates nothing
+ */
+public final class OrderTransitions {
+  private final Map<OrderStatus, EnumSet<OrderStatus>> allowedFrom = new EnumMap<>(OrderStatus.class);
+
+  /**
+   * @param allowed: for each target status, the current statuses it can be reached from
+   */
+  public OrderTransitions(final Map<OrderStatus, ? extends Collection<OrderStatus>> allowed) {
+    allowed.forEach((target, from) -> {
+      final EnumSet<OrderStatus> set = EnumSet.noneOf(OrderStatus.class);
+      set.addAll(from);
+      allowedFrom.put(target, set);
+    });
+  }
+
+  /**
+   * Checks whether an Order can move from the current status to the target one
+   * @param current: current status of the Order: null when unknown, never allowed
+   * @param target: target status
+   * @return true when the transition is allowed
+   */
+  public boolean isAllowed(final OrderStatus current, final OrderStatus target) {
+    if (current == null || target == null)
+      return false;
+
+    final EnumSet<OrderStatus> from = allowedFrom.get(target);
+    return from != null && from.contains(current);
+  }
+}
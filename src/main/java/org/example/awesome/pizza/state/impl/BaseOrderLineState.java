@@ -0,0 +1,27 @@
+package org.example.awesome.pizza.state.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.example.awesome.pizza.domain.OrderLine;
+import org.example.awesome.pizza.model.OrderStatus;
+import org.example.awesome.pizza.repository.OrderLineRepository;
+import org.example.awesome.pizza.state.model.OrderLineStateModel;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+public abstract class BaseOrderLineState {
+  protected final OrderLineRepository repository;
+
+  public abstract List<OrderStatus> getAllowed();
+  public abstract OrderStatus getStatus();
+
+  /**
+   * Finds the line to handle, with the other lines of its Order when needed
+   * @param stateModel Main model for Order line state pattern handling
+   */
+  public abstract void retrieveCurrent(final OrderLineStateModel stateModel);
+
+  public abstract boolean validate(final OrderLineStateModel stateModel);
+
+  public abstract OrderLine handleState(final OrderLineStateModel stateModel);
+}
@@ -0,0 +1,159 @@
+package org.example.awesome.pizza.state.impl;
+
+import org.example.awesome.pizza.cluster.ClaimCoordinator;
+import org.example.awesome.pizza.domain.Chef;
+import org.example.awesome.pizza.domain.Order;
+import org.example.awesome.pizza.domain.OrderLine;
+import org.example.awesome.pizza.exception.BadRequestException;
+import org.example.awesome.pizza.exception.ConflictException;
+import org.example.awesome.pizza.exception.ThresholdReachedException;
+import org.example.awesome.pizza.model.OrderPriority;
+import org.example.awesome.pizza.model.OrderStatus;
+import org.example.awesome.pizza.priority.WeightedLaneSelector;
+import org.example.awesome.pizza.repository.OrderLineRepository;
+import org.example.awesome.pizza.repository.OrderRepository;
+import org.example.awesome.pizza.state.model.OrderLineStateModel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.CollectionUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+@Component
+public class CookingOrderLineState extends BaseOrderLineState {
+  private static final int LANES = OrderPriority.values().length;
+
+  private final OrderRepository orderRepository;
+  private final WeightedLaneSelector laneSelector;
+  private final ClaimCoordinator claimCoordinator;
+  private final Duration orderClaimTtl;
+  private final int cookingThreshold;
+
+  public CookingOrderLineState(
+      final OrderLineRepository repository,
+      final OrderRepository orderRepository,
+      final WeightedLaneSelector laneSelector,
+      final ClaimCoordinator claimCoordinator,
+      @Value("${awesome-pizza.config.cluster.order-claim-ttl:PT5S}") final Duration orderClaimTtl,
+      @Value("${awesome-pizza.config.lines.cooking-threshold:4}") final int cookingThreshold
+  ) {
+    super(repository);
+    this.orderRepository = orderRepository;
+    this.laneSelector = laneSelector;
+    this.claimCoordinator = claimCoordinator;
+    this.orderClaimTtl = orderClaimTtl;
+    this.cookingThreshold = cookingThreshold;
+  }
+
+  @Override
+  public List<OrderStatus> getAllowed() {
+    return List.of(OrderStatus.CREATED);
+  }
+
+  @Override
+  public OrderStatus getStatus() {
+    return OrderStatus.COOKING;
+  }
+
+  /**
+   * Finds the oldest CREATED line of the next priority lane to serve: lanes are shared with the Order level
+   * picks, so that the kitchen as a whole honours their weights. When a lane has no line left, its oldest
+   * CREATED Order is opened, creating in memory one line for each of its pizzas
+   * @param stateModel Main model for Order line state pattern handling
+   */
+  @Override
+  public void retrieveCurrent(final OrderLineStateModel stateModel) {
+    // Input request must have a Chef
+    if (stateModel.chefId() == null)
+      throw new BadRequestException("Invalid Chef ID");
+
+    final List<OrderLine> chefCooking = new ArrayList<>();
+    final Map<OrderPriority, OrderLine> lineHeads = new EnumMap<>(OrderPriority.class);
+    for (final OrderLine line : repository.findChefCookingAndLaneHeads(stateModel.chefId()))
+      if (OrderStatus.COOKING.equals(line.getStatus()))
+        chefCooking.add(line);
+      else
+        lineHeads.putIfAbsent(line.getPriority(), line);
+    stateModel.chefCooking(chefCooking);
+
+    // Lines of a lane always come before its CREATED Orders, since they were opened from the lane head: Orders
+    // are read only when some lane has no line left
+    final Map<OrderPriority, Order> orderHeads = new EnumMap<>(OrderPriority.class);
+    if (lineHeads.size() < LANES)
+      for (final Order order : orderRepository.findLaneHeads())
+        orderHeads.putIfAbsent(order.getPriority(), order);
+
+    final Set<OrderPriority> nonEmpty = EnumSet.noneOf(OrderPriority.class);
+    nonEmpty.addAll(lineHeads.keySet());
+    nonEmpty.addAll(orderHeads.keySet());
+
+    laneSelector.select(nonEmpty)
+        .ifPresent(lane -> {
+          if (lineHeads.containsKey(lane))
+            stateModel.current(lineHeads.get(lane));
+          else
+            open(orderHeads.get(lane), stateModel);
+        });
+  }
+
+  @Override
+  public boolean validate(final OrderLineStateModel stateModel) {
+    // If no CREATED line nor Order found, should not continue with no exceptions
+    if (stateModel.current() == null)
+      return false;
+
+    // Must not exceed maximum lines that a Chef can manage
+    final long cooking = stateModel.chefCooking() == null ? 0 : stateModel.chefCooking().size();
+    if (cooking >= cookingThreshold)
+      throw new ThresholdReachedException("Maximum COOKING order lines reached [%d]".formatted(stateModel.chefId()));
+
+    // Must not be taken concurrently by another Chef: an Order being opened is claimed as an Order level take
+    // would, so that it cannot be taken as a whole meanwhile
+    final String claim = stateModel.current().getId() == null
+        ? "order:%d".formatted(stateModel.current().getOrder().getId())
+        : "line:%d".formatted(stateModel.current().getId());
+    if (claimCoordinator.tryClaim(claim, orderClaimTtl).isEmpty())
+      throw new ConflictException("Order line [%s] is being taken by another Chef".formatted(claim));
+
+    // Claims are always granted on a single node: takes of the same Order are serialized by locking it, then
+    // the line, or the Order being opened, must still be CREATED as committed
+    final Long orderId = stateModel.current().getOrder().getId();
+    orderRepository.findLockedById(orderId);
+    final Optional<OrderStatus> committed = stateModel.current().getId() == null
+        ? orderRepository.findStatusById(orderId)
+        : repository.findStatusById(stateModel.current().getId());
+    if (!committed.map(OrderStatus.CREATED::equals).orElse(false))
+      throw new ConflictException("Order line [%s] has been taken by another Chef".formatted(claim));
+
+    return true;
+  }
+
+  @Override
+  public OrderLine handleState(final OrderLineStateModel stateModel) {
+    return stateModel.current()
+        .setChef((Chef) new Chef().setId(stateModel.chefId()));
+  }
+
+  private static void open(final Order order, final OrderLineStateModel stateModel) {
+    if (order == null || CollectionUtils.isEmpty(order.getPizzas()))
+      return;
+
+    final List<OrderLine> lines = order.getPizzas().stream()
+        .map(pizza -> new OrderLine()
+            .setOrder(order)
+            .setPizza(pizza)
+            .setStatus(OrderStatus.CREATED)
+            .setPriority(order.getPriority()))
+        .toList();
+
+    stateModel.lines(lines)
+        .current(lines.get(0));
+  }
+}
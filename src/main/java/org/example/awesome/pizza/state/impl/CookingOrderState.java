@@ -1,28 +1,44 @@
 package org.example.awesome.pizza.state.impl;
 
+import org.example.awesome.pizza.cluster.ClaimCoordinator;
 import org.example.awesome.pizza.domain.Order;
 import org.example.awesome.pizza.exception.BadRequestException;
 import org.example.awesome.pizza.exception.ConflictException;
+import org.example.awesome.pizza.exception.ThresholdReachedException;
 import org.example.awesome.pizza.mapper.OrderMapper;
+import org.example.awesome.pizza.model.OrderPriority;
 import org.example.awesome.pizza.model.OrderStatus;
+import org.example.awesome.pizza.priority.WeightedLaneSelector;
 import org.example.awesome.pizza.repository.OrderRepository;
 import org.example.awesome.pizza.state.model.OrderStateModel;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Component
 public class CookingOrderState extends BaseOrderState {
+  private final WeightedLaneSelector laneSelector;
+  private final ClaimCoordinator claimCoordinator;
+  private final Duration orderClaimTtl;
   private final Long cookingThreshold;
 
   public CookingOrderState(
       final OrderMapper mapper,
       final OrderRepository repository,
+      final WeightedLaneSelector laneSelector,
+      final ClaimCoordinator claimCoordinator,
+      @Value("${awesome-pizza.config.cluster.order-claim-ttl:PT5S}") final Duration orderClaimTtl,
       @Value("${awesome-pizza.config.cooking-threshold:1}") final Long cookingThreshold
   ) {
     super(mapper, repository);
+    this.laneSelector = laneSelector;
+    this.claimCoordinator = claimCoordinator;
+    this.orderClaimTtl = orderClaimTtl;
     this.cookingThreshold = cookingThreshold;
   }
 
@@ -43,9 +59,13 @@ public class CookingOrderState extends BaseOrderState {
     // If a specific Order is requested, find that specific CREATED Order
     if (stateModel.id() != null)
       optCurrent = repository.findById(stateModel.id());
-    else // Otherwise, find nearly next CREATED Order
-      optCurrent = repository.findAllSortedByCreatedDate(OrderStatus.CREATED.name()).stream()
-          .findFirst();
+    else { // Otherwise, find oldest CREATED Order of the next priority lane to serve
+      final Map<OrderPriority, Order> heads = Optional.ofNullable(stateModel.laneHeads())
+          .orElseGet(this::findLaneHeads);
+
+      optCurrent = laneSelector.select(heads.keySet())
+          .map(heads::get);
+    }
 
     optCurrent.ifPresent(stateModel::current);
   }
@@ -61,8 +81,20 @@ public class CookingOrderState extends BaseOrderState {
       throw new BadRequestException("Invalid Chef ID");
 
     // Must not exceed maximum Order that a Chef can manage
-    if (!repository.canTakeAnyOrder(stateModel.request().getChefId(), this.cookingThreshold))
-      throw new ConflictException("Maximum COOKING order reached [%d]".formatted(stateModel.request().getChefId()));
+    if (!canTakeAnyOrder(stateModel))
+      throw new ThresholdReachedException("Maximum COOKING order reached [%d]".formatted(stateModel.request().getChefId()));
+
+    // Must not be taken concurrently by another Chef: the claim is left to expire, by then the Order is COOKING
+    if (claimCoordinator.tryClaim("order:%d".formatted(stateModel.current().getId()), orderClaimTtl).isEmpty())
+      throw new ConflictException("Order [%d] is being taken by another Chef".formatted(stateModel.current().getId()));
+
+    // Claims are always granted on a single node: takes of the same Order, as a whole or opened for lines, are
+    // serialized by locking it, then an Order read as CREATED must still be CREATED as committed. Orders read
+    // in another status are rejected as incompatible by the invoker
+    final Long id = stateModel.current().getId();
+    if (OrderStatus.CREATED.equals(stateModel.current().getStatus())
+        && !repository.findLockedStatusById(id).map(OrderStatus.CREATED::equals).orElse(false))
+      throw new ConflictException("Order [%d] has been taken by another Chef".formatted(id));
 
     return true;
   }
@@ -74,4 +106,22 @@ public class CookingOrderState extends BaseOrderState {
 
     return stateModel.current();
   }
+
+  private Map<OrderPriority, Order> findLaneHeads() {
+    final Map<OrderPriority, Order> heads = new EnumMap<>(OrderPriority.class);
+    for (final OrderPriority lane : OrderPriority.values())
+      repository.findFirstByStatusAndPriorityOrderByCreatedDateAsc(OrderStatus.CREATED, lane)
+          .ifPresent(head -> heads.put(lane, head));
+    return heads;
+  }
+
+  private boolean canTakeAnyOrder(final OrderStateModel stateModel) {
+    if (stateModel.chefCooking() == null)
+      return repository.canTakeAnyOrder(stateModel.request().getChefId(), this.cookingThreshold);
+
+    // Chef COOKING Orders already read by the invoker: those completed meanwhile are DONE in memory too
+    return stateModel.chefCooking().stream()
+        .filter(order -> OrderStatus.COOKING.equals(order.getStatus()))
+        .count() < this.cookingThreshold;
+  }
 }
@@ -5,6 +5,7 @@ import org.example.awesome.pizza.exception.BadRequestException;
 import org.example.awesome.pizza.exception.ForbiddenException;
 import org.example.awesome.pizza.mapper.OrderMapper;
 import org.example.awesome.pizza.model.OrderStatus;
+import org.example.awesome.pizza.priority.OrderPriorityResolver;
 import org.example.awesome.pizza.repository.OrderRepository;
 import org.example.awesome.pizza.state.model.OrderStateModel;
 import org.springframework.stereotype.Component;
@@ -17,8 +18,11 @@ import java.util.stream.Collectors;
 
 @Component
 public class CreatedOrderState extends BaseOrderState {
-  CreatedOrderState(OrderMapper mapper, OrderRepository repository) {
+  private final OrderPriorityResolver priorityResolver;
+
+  CreatedOrderState(OrderMapper mapper, OrderRepository repository, OrderPriorityResolver priorityResolver) {
     super(mapper, repository);
+    this.priorityResolver = priorityResolver;
   }
 
   @Override
@@ -37,15 +41,17 @@ public class CreatedOrderState extends BaseOrderState {
     if (CollectionUtils.isEmpty(stateModel.request().getPizzas()) && stateModel.current() == null)
       throw new BadRequestException("No valid request");
 
-    // Only Chef that owns the Order can restore its status COOKING->CREATED
+    // Only Chef that owns the Order can restore its status COOKING->CREATED: Orders cooked line by line have no
+    // owner, hence cannot be restored
     if (stateModel.current() != null &&
-        OrderStatus.COOKING.name().equals(stateModel.current().getStatus()) &&
-        !Objects.equals(stateModel.current().getChef().getId(), stateModel.request().getChefId()))
+        OrderStatus.COOKING.equals(stateModel.current().getStatus()) &&
+        (stateModel.current().getChef() == null ||
+            !Objects.equals(stateModel.current().getChef().getId(), stateModel.request().getChefId())))
       throw new BadRequestException("Not allowed to restore CREATED Order status");
 
     // Chef can not modify Pizzas in the Order
     if (stateModel.current() != null &&
-        OrderStatus.CREATED.name().equals(stateModel.current().getStatus()) &&
+        OrderStatus.CREATED.equals(stateModel.current().getStatus()) &&
         OrderStatus.CREATED.equals(stateModel.request().getStatus()) &&
         stateModel.request().getChefId() != null)
       throw new ForbiddenException("Chef is not allowed to modify order");
@@ -58,20 +64,24 @@ public class CreatedOrderState extends BaseOrderState {
     stateModel.request().setChefId(null);
 
     // If no DB entity, must create new
-    if (stateModel.current() == null)
+    if (stateModel.current() == null) {
+      stateModel.request().setPriority(priorityResolver.resolve(stateModel.request()));
       stateModel.current(mapper.toEntity(stateModel.request()));
-    else { // Otherwise, must update
+    } else { // Otherwise, must update
       stateModel.current().setChef(null);
       mapper.patch(stateModel.request(), stateModel.current());
 
-      // If existing DB entity is CREATED, can modify Pizzas too
-      if (OrderStatus.CREATED.name().equals(stateModel.current().getStatus()) && !CollectionUtils.isEmpty(stateModel.request().getPizzas()))
+      // If existing DB entity is CREATED, can modify Pizzas too, moving it to the matching priority lane
+      // when no explicit one is requested
+      if (OrderStatus.CREATED.equals(stateModel.current().getStatus()) && !CollectionUtils.isEmpty(stateModel.request().getPizzas())) {
         stateModel.current().setPizzas(
             stateModel.request()
                 .getPizzas().stream()
                 .map(mapper::toPizza)
                 .collect(Collectors.toList())
         );
+        stateModel.current().setPriority(priorityResolver.resolve(stateModel.request()));
+      }
     }
 
     return stateModel.current();
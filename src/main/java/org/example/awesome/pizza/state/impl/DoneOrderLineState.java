@@ -0,0 +1,87 @@
+package org.example.awesome.pizza.state.impl;
+
+import org.example.awesome.pizza.domain.OrderLine;
+import org.example.awesome.pizza.exception.BadRequestException;
+import org.example.awesome.pizza.exception.InternalServerErrorException;
+import org.example.awesome.pizza.model.OrderStatus;
+import org.example.awesome.pizza.repository.OrderLineRepository;
+import org.example.awesome.pizza.repository.OrderRepository;
+import org.example.awesome.pizza.service.SalesAnalyticsService;
+import org.example.awesome.pizza.state.model.OrderLineStateModel;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+public class DoneOrderLineState extends BaseOrderLineState {
+  private final OrderRepository orderRepository;
+  private final SalesAnalyticsService salesAnalytics;
+
+  public DoneOrderLineState(
+      final OrderLineRepository repository,
+      final OrderRepository orderRepository,
+      final SalesAnalyticsService salesAnalytics
+  ) {
+    super(repository);
+    this.orderRepository = orderRepository;
+    this.salesAnalytics = salesAnalytics;
+  }
+
+  @Override
+  public List<OrderStatus> getAllowed() {
+    return List.of(OrderStatus.COOKING);
+  }
+
+  @Override
+  public OrderStatus getStatus() {
+    return OrderStatus.DONE;
+  }
+
+  /**
+   * Finds the input line together with the other lines of its Order, so that the Order completion is checked
+   * in memory: the Order is locked first, so that lines completed concurrently are read as committed and the
+   * last one completes the Order
+   * @param stateModel Main model for Order line state pattern handling
+   */
+  @Override
+  public void retrieveCurrent(final OrderLineStateModel stateModel) {
+    // Input request must have a Chef and a line
+    if (stateModel.chefId() == null)
+      throw new BadRequestException("Invalid Chef ID");
+    if (stateModel.id() == null)
+      throw new BadRequestException("Invalid input ID");
+
+    orderRepository.findLockedByLineId(stateModel.id());
+    final List<OrderLine> lines = repository.findAllOfSameOrder(stateModel.id());
+    stateModel.lines(lines);
+    lines.stream()
+        .filter(line -> stateModel.id().equals(line.getId()))
+        .findFirst()
+        .ifPresent(stateModel::current);
+  }
+
+  @Override
+  public boolean validate(final OrderLineStateModel stateModel) {
+    // If no line found on DB, should not continue with no exceptions
+    if (stateModel.current() == null)
+      return false;
+
+    // DB line must belong to a Chef
+    if (stateModel.current().getChef() == null || stateModel.current().getChef().getId() == null)
+      throw new InternalServerErrorException("Current order line has not been taken by any Chef.");
+
+    // The Chef that sent the request be the same that owns DB line
+    if (!stateModel.chefId().equals(stateModel.current().getChef().getId()))
+      throw new BadRequestException("Chef not allowed to complete Order line");
+
+    return true;
+  }
+
+  @Override
+  public OrderLine handleState(final OrderLineStateModel stateModel) {
+    // Completed pizza is added to sales rollups, on behalf of the Chef that cooked it
+    salesAnalytics.recordLine(stateModel.current());
+
+    return stateModel.current();
+  }
+}
@@ -2,10 +2,12 @@ package org.example.awesome.pizza.state.impl;
 
 import org.example.awesome.pizza.domain.Order;
 import org.example.awesome.pizza.exception.BadRequestException;
+import org.example.awesome.pizza.exception.ConflictException;
 import org.example.awesome.pizza.exception.InternalServerErrorException;
 import org.example.awesome.pizza.mapper.OrderMapper;
 import org.example.awesome.pizza.model.OrderStatus;
 import org.example.awesome.pizza.repository.OrderRepository;
+import org.example.awesome.pizza.service.SalesAnalyticsService;
 import org.example.awesome.pizza.state.model.OrderStateModel;
 import org.springframework.stereotype.Component;
 
@@ -13,8 +15,11 @@ import java.util.List;
 
 @Component
 public class DoneOrderState extends BaseOrderState {
-  public DoneOrderState(OrderMapper mapper, OrderRepository repository) {
+  private final SalesAnalyticsService salesAnalytics;
+
+  public DoneOrderState(OrderMapper mapper, OrderRepository repository, SalesAnalyticsService salesAnalytics) {
     super(mapper, repository);
+    this.salesAnalytics = salesAnalytics;
   }
 
   @Override
@@ -37,6 +42,12 @@ public class DoneOrderState extends BaseOrderState {
     if (stateModel.id() != null)
       repository.findById(stateModel.id())
           .ifPresent(stateModel::current);
+    else if (stateModel.chefCooking() != null)
+      // Chef COOKING Orders already read by the invoker
+      stateModel.chefCooking().stream()
+          .filter(order -> OrderStatus.COOKING.equals(order.getStatus()))
+          .findFirst()
+          .ifPresent(stateModel::current);
     else
       // Only Chefs can complete an Order and only COOKING Orders can be completed.
       // However, is possible that no COOKING Order exists for input Chef
@@ -50,6 +61,10 @@ public class DoneOrderState extends BaseOrderState {
     if (stateModel.current() == null)
       return false;
 
+    // Orders opened for lines are COOKING with no Chef: they are completed by their last line
+    if (stateModel.current().getChef() == null && OrderStatus.COOKING.equals(stateModel.current().getStatus()))
+      throw new ConflictException("Order [%d] is cooked line by line".formatted(stateModel.current().getId()));
+
     // DB Order must belong to a Chef
     if (stateModel.current().getChef() == null || stateModel.current().getChef().getId() == null)
       throw new InternalServerErrorException("Current order has not been taken by any Chef.");
@@ -67,6 +82,9 @@ public class DoneOrderState extends BaseOrderState {
 
   @Override
   public Order handleState(OrderStateModel stateModel) {
+    // Completed Order pizzas are added to sales rollups
+    salesAnalytics.record(stateModel.current());
+
     return stateModel.current();
   }
 }
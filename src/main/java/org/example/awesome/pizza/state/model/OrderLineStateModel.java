@@ -0,0 +1,21 @@
+package org.example.awesome.pizza.state.model;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+import org.example.awesome.pizza.domain.OrderLine;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Accessors(chain = true, fluent = true)
+public class OrderLineStateModel {
+  private Long id;
+  private Long chefId;
+  private OrderLine current;
+  // All the lines of the current Order, when read or just created by the states: null when not read
+  private List<OrderLine> lines;
+  // COOKING lines of the Chef: null when not read
+  private List<OrderLine> chefCooking;
+}
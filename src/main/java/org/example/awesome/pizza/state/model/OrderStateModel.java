@@ -5,6 +5,10 @@ import lombok.Setter;
 import lombok.experimental.Accessors;
 import org.example.awesome.pizza.domain.Order;
 import org.example.awesome.pizza.model.OrderInternalReq;
+import org.example.awesome.pizza.model.OrderPriority;
+
+import java.util.List;
+import java.util.Map;
 
 @Getter
 @Setter
@@ -13,4 +17,7 @@ public class OrderStateModel {
   private Long id;
   private Order current;
   private OrderInternalReq request;
+  // Orders already read by the invoker, so that states do not look them up again: null when not read
+  private List<Order> chefCooking;
+  private Map<OrderPriority, Order> laneHeads;
 }
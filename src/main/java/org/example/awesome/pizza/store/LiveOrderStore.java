@@ -0,0 +1,306 @@
+package org.example.awesome.pizza.store;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.awesome.pizza.domain.Pizza;
+import org.example.awesome.pizza.event.OrderStatusChangedEvent;
+import org.example.awesome.pizza.event.PizzaMenuChangedEvent;
+import org.example.awesome.pizza.model.OrderPriority;
+import org.example.awesome.pizza.model.OrderStatus;
+import org.example.awesome.pizza.repository.OrderRepository;
+import org.example.awesome.pizza.repository.PizzaRepository;
+import org.example.awesome.pizza.repository.projection.LiveOrderRow;
+import org.example.awesome.pizza.repository.projection.OrderSummaryRow;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * In-memory store of the live Orders, CREATED and COOKING, so that the kitchen queue and the live Order summaries
+ * are served without querying the DB: Orders are held as primitive columns, see {@link LiveOrderTable}, loaded
+ * from DB at startup and kept up to date by the committed Order status changes.
+ * <p>
+ * Single node only: in cluster mode, other nodes change Orders and the replicated events arrive late, hence the
+ * store is disabled and every read goes to the DB. Until loaded, or after a failed update, reads go to the DB too
+ */
+@Slf4j
+@Component
+public class LiveOrderStore {
+  private static final OrderPriority[] LANES = OrderPriority.values();
+  private static final long MICROS_PER_SECOND = 1_000_000;
+
+  private final OrderRepository orderRepository;
+  private final PizzaRepository pizzaRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final boolean enabled;
+  private final int initialCapacity;
+
+  private final StampedLock lock = new StampedLock();
+  // Guarded by the lock, swapped once loaded
+  private LiveOrderTable table;
+  // Changes committed while loading, applied once the loaded table is swapped in: null when not loading
+  private List<OrderStatusChangedEvent> pending;
+  // Pizza names by ID, for the summaries: the menu is small, unlike the Orders
+  private final Map<Long, String> pizzaNames = new ConcurrentHashMap<>();
+  private volatile boolean loaded;
+
+  public LiveOrderStore(
+      final OrderRepository orderRepository,
+      final PizzaRepository pizzaRepository,
+      final TransactionTemplate transactionTemplate,
+      @Value("${awesome-pizza.config.live-store.enabled:true}") final boolean enabled,
+      @Value("${awesome-pizza.config.live-store.initial-capacity:1024}") final int initialCapacity,
+      @Value("${awesome-pizza.config.cluster.enabled:false}") final boolean clustered
+  ) {
+    this.orderRepository = orderRepository;
+    this.pizzaRepository = pizzaRepository;
+    this.transactionTemplate = transactionTemplate;
+    this.enabled = enabled && !clustered;
+    this.initialCapacity = initialCapacity;
+    this.table = new LiveOrderTable(initialCapacity);
+  }
+
+  /**
+   * Loads the live Orders and the pizza names from DB, out of the lock: changes committed meanwhile are held back,
+   * then applied on top of the loaded Orders once swapped in
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void bootstrap() {
+    if (!enabled)
+      return;
+
+    write(() -> pending = new ArrayList<>());
+    final LiveOrderTable loading = new LiveOrderTable(initialCapacity);
+    try {
+      transactionTemplate.executeWithoutResult(status -> {
+        for (final Pizza pizza : pizzaRepository.findAll())
+          pizzaNames.put(pizza.getId(), pizza.getName());
+        load(loading, orderRepository.findAllLive());
+      });
+    } catch (final RuntimeException e) {
+      write(() -> pending = null);
+      log.warn("Live Order store not loaded, reading from DB: {}", e.getMessage());
+      return;
+    }
+
+    loaded = write(() -> {
+      table = loading;
+      final List<OrderStatusChangedEvent> committed = pending;
+      pending = null;
+      committed.forEach(this::apply);
+    });
+
+    log.info("Live Order store loaded with {} Orders in {} bytes", size(), footprint());
+  }
+
+  /**
+   * Applies a committed Order status change: CREATED and COOKING Orders are added or moved across queues, the
+   * others are dropped
+   * @param event: Order status change
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onStatusChanged(final OrderStatusChangedEvent event) {
+    if (!enabled || event.code() == null)
+      return;
+
+    write(() -> {
+      if (pending != null)
+        pending.add(event);
+      else
+        apply(event);
+    });
+  }
+
+  /**
+   * Refreshes the name of a changed pizza
+   * @param event: menu change
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onMenuChanged(final PizzaMenuChangedEvent event) {
+    if (!enabled || event.pizzaId() == null)
+      return;
+
+    pizzaRepository.findById(event.pizzaId())
+        .ifPresentOrElse(
+            pizza -> pizzaNames.put(pizza.getId(), pizza.getName()),
+            () -> pizzaNames.remove(event.pizzaId()));
+  }
+
+  /**
+   * Picks the candidates of the next Order a Chef can cook, without querying the DB
+   * @param chefId: ID of the Chef
+   * @return IDs of the COOKING Orders of the Chef and of the head of every CREATED lane, empty when the store
+   * cannot answer
+   */
+  public Optional<List<Long>> kitchenCandidates(final long chefId) {
+    if (!loaded)
+      return Optional.empty();
+
+    final List<Long> ids = new ArrayList<>();
+    final long stamp = lock.readLock();
+    try {
+      table.forEachCooking(chefId, ids::add);
+      for (final OrderPriority lane : LANES) {
+        final long head = table.laneHead(lane);
+        if (head != LiveOrderTable.NO_ID)
+          ids.add(head);
+      }
+    } finally {
+      lock.unlockRead(stamp);
+    }
+    return Optional.of(ids);
+  }
+
+  /**
+   * Builds the summaries of the live Orders with the input statuses, as the DB projection does
+   * @param statuses: statuses to filter
+   * @return one row per pizza of each Order, sorted by created date, empty when the store cannot answer: not
+   * loaded, non-live statuses requested or pizza names missing
+   */
+  public Optional<List<OrderSummaryRow>> summaries(final OrderStatus... statuses) {
+    if (!loaded || statuses.length == 0 || !Arrays.stream(statuses).allMatch(LiveOrderStore::isLive))
+      return Optional.empty();
+
+    final Set<OrderStatus> filter = EnumSet.copyOf(Arrays.asList(statuses));
+    final List<SummaryRows> orders = new ArrayList<>();
+    final long stamp = lock.readLock();
+    try {
+      for (int row = 0; row < table.size(); row++)
+        if (filter.contains(table.status(row))) {
+          final SummaryRows order = rowsOf(row);
+          if (order == null)
+            return Optional.empty();
+          orders.add(order);
+        }
+    } finally {
+      lock.unlockRead(stamp);
+    }
+
+    orders.sort(Comparator.comparing(SummaryRows::createdDate).thenComparing(SummaryRows::id));
+    return Optional.of(orders.stream()
+        .flatMap(order -> order.rows().stream())
+        .toList());
+  }
+
+  /**
+   * Drops an Order found missing or no longer live on DB, so that it stops heading its lane
+   * @param id: ID of the Order
+   */
+  public void evict(final long id) {
+    write(() -> table.removeById(id));
+  }
+
+  int size() {
+    final long stamp = lock.readLock();
+    try {
+      return table.size();
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  long footprint() {
+    final long stamp = lock.readLock();
+    try {
+      return table.footprint();
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  private record SummaryRows(Long id, Instant createdDate, List<OrderSummaryRow> rows) {
+  }
+
+  private SummaryRows rowsOf(final int row) {
+    final Long id = table.id(row);
+    final Instant createdDate = toInstant(table.createdMicros(row));
+    final List<OrderSummaryRow> rows = new ArrayList<>();
+    for (int pizza = 0; pizza < table.pizzaCount(row); pizza++) {
+      final String name = pizzaNames.get(table.pizzaId(row, pizza));
+      if (name == null)
+        return null;
+      rows.add(new OrderSummaryRow(id, table.code(row), table.status(row), createdDate, name));
+    }
+    if (rows.isEmpty())
+      rows.add(new OrderSummaryRow(id, table.code(row), table.status(row), createdDate, null));
+    return new SummaryRows(id, createdDate, rows);
+  }
+
+  private void apply(final OrderStatusChangedEvent event) {
+    final long chefId = event.chefId() == null ? LiveOrderTable.NO_ID : event.chefId();
+    final long[] pizzaIds = event.pizzaIds() == null ? null : event.pizzaIds().stream()
+        .mapToLong(Long::longValue)
+        .toArray();
+    if (!isLive(event.current()))
+      table.remove(event.code());
+    else if (!table.update(event.code(), event.current(), event.priority(), chefId, pizzaIds)
+        && event.orderId() != null && event.createdDate() != null)
+      table.put(event.orderId(), event.code(), event.current(), event.priority(), chefId,
+          toMicros(event.createdDate()), pizzaIds);
+  }
+
+  // Consecutive rows of the same Order carry its pizzas
+  private static void load(final LiveOrderTable table, final List<LiveOrderRow> rows) {
+    long[] pizzaIds = new long[8];
+    for (int start = 0, end; start < rows.size(); start = end) {
+      final LiveOrderRow order = rows.get(start);
+      int pizzas = 0;
+      for (end = start; end < rows.size() && rows.get(end).id().equals(order.id()); end++)
+        if (rows.get(end).pizzaId() != null) {
+          if (pizzas == pizzaIds.length)
+            pizzaIds = Arrays.copyOf(pizzaIds, pizzas << 1);
+          pizzaIds[pizzas++] = rows.get(end).pizzaId();
+        }
+
+      table.put(order.id(), order.code(), order.status(),
+          order.priority(),
+          order.chefId() == null ? LiveOrderTable.NO_ID : order.chefId(),
+          toMicros(order.createdDate()), Arrays.copyOf(pizzaIds, pizzas));
+    }
+  }
+
+  /**
+   * Runs an update under the write lock: a failed one leaves the table unreliable, hence reads go back to the DB
+   * @return false when the update failed
+   */
+  private boolean write(final Runnable update) {
+    final long stamp = lock.writeLock();
+    try {
+      update.run();
+      return true;
+    } catch (final RuntimeException e) {
+      loaded = false;
+      log.warn("Live Order store disabled, reading from DB: {}", e.getMessage());
+      return false;
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  private static boolean isLive(final OrderStatus status) {
+    return OrderStatus.CREATED.equals(status) || OrderStatus.COOKING.equals(status);
+  }
+
+  // Epoch micros, as precise as the DB timestamps
+  static long toMicros(final Instant instant) {
+    return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), MICROS_PER_SECOND), instant.getNano() / 1000);
+  }
+
+  static Instant toInstant(final long micros) {
+    return Instant.ofEpochSecond(Math.floorDiv(micros, MICROS_PER_SECOND), Math.floorMod(micros, MICROS_PER_SECOND) * 1000);
+  }
+}
@@ -0,0 +1,511 @@
+package org.example.awesome.pizza.store;
+
+import org.example.awesome.pizza.collection.LongLongHashMap;
+import org.example.awesome.pizza.model.OrderPriority;
+import org.example.awesome.pizza.model.OrderStatus;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Live Orders as struct-of-arrays columns, one row per Order, instead of a map of boxed IDs to whole entities:
+ * <ul>
+ *   <li>ID, code and creation date in epoch micros as longs, status and priority as ordinal bytes</li>
+ *   <li>Chef and pizza IDs as 16-bit slots of small dictionaries, the pizzas of all rows in a single pool</li>
+ *   <li>queue links between rows: the CREATED rows of each priority lane by creation date, the COOKING rows of
+ *   each Chef</li>
+ *   <li>a code index with linear probing over the rows themselves, holding row numbers only</li>
+ * </ul>
+ * Removal moves the last row into the gap, so that rows stay dense; lookups allocate nothing. Not thread safe
+ */
+final class LiveOrderTable {
+  static final int NO_ROW = -1;
+  static final long NO_ID = 0;
+  private static final long PHI = 0x9E3779B97F4A7C15L;
+  private static final double LOAD_FACTOR = 0.75;
+  private static final int MIN_CAPACITY = 16;
+  // Slots are stored as chars: Chef slot 0 stands for no Chef
+  private static final int MAX_SLOTS = Character.MAX_VALUE;
+  private static final byte NO_LANE = -1;
+  private static final OrderStatus[] STATUSES = OrderStatus.values();
+  private static final OrderPriority[] PRIORITIES = OrderPriority.values();
+
+  // Row columns
+  private long[] ids;
+  private long[] codes;
+  private long[] createdMicros;
+  private byte[] statuses;
+  private byte[] priorities;
+  private char[] chefs;
+  private int[] next;
+  private int[] previous;
+  private int[] pizzaOffsets;
+  private char[] pizzaCounts;
+  private int size;
+
+  // Pizza slots of every row, each row in a contiguous run: runs of removed rows are reclaimed on growth
+  private char[] pizzas;
+  private int pizzaEnd;
+  private int pizzaGarbage;
+
+  // Code index: row + 1 of each slot, 0 when free
+  private int[] index;
+  private int indexMask;
+  private int indexShift;
+  private int indexResizeAt;
+
+  private final LongLongHashMap chefSlots = new LongLongHashMap(16, 0);
+  private int[] chefHeads = new int[MIN_CAPACITY];
+  private final LongLongHashMap pizzaSlots = new LongLongHashMap(64, -1);
+  private long[] pizzaIds = new long[MIN_CAPACITY];
+
+  private final int[] laneHeads = new int[PRIORITIES.length];
+  private final int[] laneTails = new int[PRIORITIES.length];
+
+  /**
+   * @param expectedSize: number of rows held without resizing
+   */
+  LiveOrderTable(final int expectedSize) {
+    final int capacity = Math.max(MIN_CAPACITY, expectedSize);
+    ids = new long[capacity];
+    codes = new long[capacity];
+    createdMicros = new long[capacity];
+    statuses = new byte[capacity];
+    priorities = new byte[capacity];
+    chefs = new char[capacity];
+    next = new int[capacity];
+    previous = new int[capacity];
+    pizzaOffsets = new int[capacity];
+    pizzaCounts = new char[capacity];
+    pizzas = new char[capacity];
+    allocateIndex(capacity);
+    Arrays.fill(chefHeads, NO_ROW);
+    Arrays.fill(laneHeads, NO_ROW);
+    Arrays.fill(laneTails, NO_ROW);
+  }
+
+  int size() {
+    return size;
+  }
+
+  /**
+   * @param code: code of an Order
+   * @return row of the Order, {@link #NO_ROW} when not held
+   */
+  int find(final long code) {
+    for (int slot = slot(code); ; slot = (slot + 1) & indexMask) {
+      final int entry = index[slot];
+      if (entry == 0)
+        return NO_ROW;
+      if (codes[entry - 1] == code)
+        return entry - 1;
+    }
+  }
+
+  /**
+   * Adds an Order, or replaces the one with the same code
+   * @param id: ID of the Order
+   * @param code: code of the Order
+   * @param status: status of the Order
+   * @param priority: priority lane of the Order: if null, it is in no lane
+   * @param chefId: ID of the Chef owning the Order, {@link #NO_ID} when none
+   * @param created: creation date of the Order, in epoch micros
+   * @param pizzaIds: IDs of the ordered pizzas
+   */
+  void put(final long id, final long code, final OrderStatus status, final OrderPriority priority, final long chefId,
+      final long created, final long[] pizzaIds) {
+    int row = find(code);
+    if (row == NO_ROW) {
+      if (size == ids.length)
+        grow();
+      row = size++;
+      codes[row] = code;
+      pizzaOffsets[row] = pizzaEnd;
+      pizzaCounts[row] = 0;
+      next[row] = NO_ROW;
+      previous[row] = NO_ROW;
+      index(row);
+    } else
+      unlink(row);
+
+    ids[row] = id;
+    createdMicros[row] = created;
+    place(row, status, priority, chefId, pizzaIds);
+  }
+
+  /**
+   * Changes an Order in place, moving it across queues
+   * @param code: code of the Order
+   * @param status: new status of the Order
+   * @param priority: new priority lane of the Order: if null, it is unchanged
+   * @param chefId: ID of the Chef owning the Order, {@link #NO_ID} when none
+   * @param pizzaIds: IDs of the ordered pizzas: if null, they are unchanged
+   * @return false when the Order is not held
+   */
+  boolean update(final long code, final OrderStatus status, final OrderPriority priority, final long chefId,
+      final long[] pizzaIds) {
+    final int row = find(code);
+    if (row == NO_ROW)
+      return false;
+
+    unlink(row);
+    place(row, status, priority == null ? priority(row) : priority, chefId, pizzaIds);
+    return true;
+  }
+
+  /**
+   * @param code: code of an Order
+   * @return false when the Order is not held
+   */
+  boolean remove(final long code) {
+    final int row = find(code);
+    if (row == NO_ROW)
+      return false;
+
+    removeRow(row);
+    return true;
+  }
+
+  /**
+   * Removes an Order by ID, scanning the rows: for Orders found missing on DB only
+   * @param id: ID of an Order
+   * @return false when the Order is not held
+   */
+  boolean removeById(final long id) {
+    for (int row = 0; row < size; row++)
+      if (ids[row] == id) {
+        removeRow(row);
+        return true;
+      }
+    return false;
+  }
+
+  /**
+   * @param code: code of an Order
+   * @return status of the Order, null when not held
+   */
+  OrderStatus statusOf(final long code) {
+    final int row = find(code);
+    return row == NO_ROW ? null : status(row);
+  }
+
+  /**
+   * @param lane: priority lane
+   * @return ID of the oldest CREATED Order of the lane, {@link #NO_ID} when empty
+   */
+  long laneHead(final OrderPriority lane) {
+    final int head = laneHeads[lane.ordinal()];
+    return head == NO_ROW ? NO_ID : ids[head];
+  }
+
+  /**
+   * Visits the COOKING Orders of a Chef, without allocating
+   * @param chefId: ID of the Chef
+   * @param consumer: receives the ID of each Order
+   */
+  void forEachCooking(final long chefId, final LongConsumer consumer) {
+    final int slot = (int) chefSlots.get(chefId);
+    if (slot == 0)
+      return;
+    for (int row = chefHeads[slot]; row != NO_ROW; row = next[row])
+      consumer.accept(ids[row]);
+  }
+
+  long id(final int row) {
+    return ids[row];
+  }
+
+  long code(final int row) {
+    return codes[row];
+  }
+
+  OrderStatus status(final int row) {
+    return STATUSES[statuses[row]];
+  }
+
+  long createdMicros(final int row) {
+    return createdMicros[row];
+  }
+
+  int pizzaCount(final int row) {
+    return pizzaCounts[row];
+  }
+
+  long pizzaId(final int row, final int pizza) {
+    return pizzaIds[pizzas[pizzaOffsets[row] + pizza]];
+  }
+
+  /**
+   * @return bytes held by the columns, the pizza pool, the code index and the dictionaries
+   */
+  long footprint() {
+    final long row = 3L * Long.BYTES + 2L * Byte.BYTES + 2L * Character.BYTES + 3L * Integer.BYTES;
+    return row * ids.length
+        + (long) Character.BYTES * pizzas.length
+        + (long) Integer.BYTES * index.length
+        + chefSlots.footprint() + (long) Integer.BYTES * chefHeads.length
+        + pizzaSlots.footprint() + (long) Long.BYTES * pizzaIds.length;
+  }
+
+  private OrderPriority priority(final int row) {
+    return priorities[row] == NO_LANE ? null : PRIORITIES[priorities[row]];
+  }
+
+  private void place(final int row, final OrderStatus status, final OrderPriority priority, final long chefId,
+      final long[] pizzaIds) {
+    statuses[row] = (byte) status.ordinal();
+    priorities[row] = priority == null ? NO_LANE : (byte) priority.ordinal();
+    chefs[row] = chefSlot(chefId);
+    if (pizzaIds != null)
+      setPizzas(row, pizzaIds);
+    link(row);
+  }
+
+  private void removeRow(final int row) {
+    unlink(row);
+    unindex(codes[row]);
+    pizzaGarbage += pizzaCounts[row];
+
+    final int last = --size;
+    if (row != last)
+      move(last, row);
+  }
+
+  /**
+   * Moves a row into a free one, repointing its index slot and queue neighbours
+   */
+  private void move(final int from, final int to) {
+    for (int slot = slot(codes[from]); ; slot = (slot + 1) & indexMask)
+      if (index[slot] == from + 1) {
+        index[slot] = to + 1;
+        break;
+      }
+
+    ids[to] = ids[from];
+    codes[to] = codes[from];
+    createdMicros[to] = createdMicros[from];
+    statuses[to] = statuses[from];
+    priorities[to] = priorities[from];
+    chefs[to] = chefs[from];
+    next[to] = next[from];
+    previous[to] = previous[from];
+    pizzaOffsets[to] = pizzaOffsets[from];
+    pizzaCounts[to] = pizzaCounts[from];
+
+    if (!isLinked(to))
+      return;
+    if (previous[to] == NO_ROW)
+      setHead(to, to);
+    else
+      next[previous[to]] = to;
+    if (next[to] == NO_ROW)
+      setTail(to, to);
+    else
+      previous[next[to]] = to;
+  }
+
+  // Queues: CREATED rows of a lane, oldest first, and COOKING rows of a Chef
+
+  private boolean isLinked(final int row) {
+    return (statuses[row] == OrderStatus.CREATED.ordinal() && priorities[row] != NO_LANE)
+        || (statuses[row] == OrderStatus.COOKING.ordinal() && chefs[row] != 0);
+  }
+
+  private void link(final int row) {
+    next[row] = NO_ROW;
+    previous[row] = NO_ROW;
+    if (!isLinked(row))
+      return;
+
+    if (statuses[row] == OrderStatus.COOKING.ordinal()) {
+      final int head = chefHeads[chefs[row]];
+      next[row] = head;
+      if (head != NO_ROW)
+        previous[head] = row;
+      chefHeads[chefs[row]] = row;
+      return;
+    }
+
+    // Orders mostly arrive by creation date: the insertion point is found from the tail
+    final int lane = priorities[row];
+    int after = laneTails[lane];
+    while (after != NO_ROW && isAfter(after, row))
+      after = previous[after];
+
+    final int before = after == NO_ROW ? laneHeads[lane] : next[after];
+    previous[row] = after;
+    next[row] = before;
+    if (after == NO_ROW)
+      laneHeads[lane] = row;
+    else
+      next[after] = row;
+    if (before == NO_ROW)
+      laneTails[lane] = row;
+    else
+      previous[before] = row;
+  }
+
+  private void unlink(final int row) {
+    if (!isLinked(row))
+      return;
+
+    if (previous[row] == NO_ROW)
+      setHead(row, next[row]);
+    else
+      next[previous[row]] = next[row];
+    if (next[row] == NO_ROW)
+      setTail(row, previous[row]);
+    else
+      previous[next[row]] = previous[row];
+    next[row] = NO_ROW;
+    previous[row] = NO_ROW;
+  }
+
+  // Sorted by creation date, then by ID as the DB does
+  private boolean isAfter(final int row, final int other) {
+    return createdMicros[row] > createdMicros[other]
+        || (createdMicros[row] == createdMicros[other] && ids[row] > ids[other]);
+  }
+
+  private void setHead(final int row, final int head) {
+    if (statuses[row] == OrderStatus.COOKING.ordinal())
+      chefHeads[chefs[row]] = head;
+    else
+      laneHeads[priorities[row]] = head;
+  }
+
+  // Chef queues are not ordered, hence have no tail
+  private void setTail(final int row, final int tail) {
+    if (statuses[row] == OrderStatus.CREATED.ordinal())
+      laneTails[priorities[row]] = tail;
+  }
+
+  // Dictionaries
+
+  private char chefSlot(final long chefId) {
+    if (chefId == NO_ID)
+      return 0;
+
+    int slot = (int) chefSlots.get(chefId);
+    if (slot == 0) {
+      slot = chefSlots.size() + 1;
+      if (slot > MAX_SLOTS)
+        throw new IllegalStateException("Too many Chefs with live Orders");
+      if (slot == chefHeads.length) {
+        chefHeads = Arrays.copyOf(chefHeads, slot << 1);
+        Arrays.fill(chefHeads, slot, chefHeads.length, NO_ROW);
+      }
+      chefSlots.put(chefId, slot);
+    }
+    return (char) slot;
+  }
+
+  private char pizzaSlot(final long pizzaId) {
+    int slot = (int) pizzaSlots.get(pizzaId);
+    if (slot < 0) {
+      slot = pizzaSlots.size();
+      if (slot > MAX_SLOTS)
+        throw new IllegalStateException("Too many pizzas in live Orders");
+      if (slot == pizzaIds.length)
+        pizzaIds = Arrays.copyOf(pizzaIds, slot << 1);
+      pizzaSlots.put(pizzaId, slot);
+      pizzaIds[slot] = pizzaId;
+    }
+    return (char) slot;
+  }
+
+  private void setPizzas(final int row, final long[] ids) {
+    if (ids.length > MAX_SLOTS)
+      throw new IllegalStateException("Too many pizzas in Order %d".formatted(codes[row]));
+
+    pizzaGarbage += pizzaCounts[row];
+    pizzaCounts[row] = 0;
+    if (pizzaEnd + ids.length > pizzas.length)
+      compactPizzas(ids.length);
+
+    pizzaOffsets[row] = pizzaEnd;
+    for (final long id : ids)
+      pizzas[pizzaEnd++] = pizzaSlot(id);
+    pizzaCounts[row] = (char) ids.length;
+  }
+
+  /**
+   * Rewrites the pizza pool without the runs of removed or changed rows, in a pool half again as large as needed
+   */
+  private void compactPizzas(final int extra) {
+    final int needed = pizzaEnd - pizzaGarbage + extra;
+    final char[] compacted = new char[Math.max(MIN_CAPACITY, needed + (needed >> 1))];
+    int end = 0;
+    for (int row = 0; row < size; row++) {
+      System.arraycopy(pizzas, pizzaOffsets[row], compacted, end, pizzaCounts[row]);
+      pizzaOffsets[row] = end;
+      end += pizzaCounts[row];
+    }
+    pizzas = compacted;
+    pizzaEnd = end;
+    pizzaGarbage = 0;
+  }
+
+  // Rows grow by half, so that the unused tail stays within a third of the columns
+  private void grow() {
+    final int capacity = ids.length + (ids.length >> 1);
+    ids = Arrays.copyOf(ids, capacity);
+    codes = Arrays.copyOf(codes, capacity);
+    createdMicros = Arrays.copyOf(createdMicros, capacity);
+    statuses = Arrays.copyOf(statuses, capacity);
+    priorities = Arrays.copyOf(priorities, capacity);
+    chefs = Arrays.copyOf(chefs, capacity);
+    next = Arrays.copyOf(next, capacity);
+    previous = Arrays.copyOf(previous, capacity);
+    pizzaOffsets = Arrays.copyOf(pizzaOffsets, capacity);
+    pizzaCounts = Arrays.copyOf(pizzaCounts, capacity);
+  }
+
+  // Code index
+
+  private int slot(final long code) {
+    return (int) ((code * PHI) >>> indexShift);
+  }
+
+  private void allocateIndex(final int expectedSize) {
+    int slots = MIN_CAPACITY;
+    while (slots * LOAD_FACTOR < expectedSize)
+      slots <<= 1;
+    index = new int[slots];
+    indexMask = slots - 1;
+    indexShift = Long.SIZE - Integer.numberOfTrailingZeros(slots);
+    indexResizeAt = (int) (slots * LOAD_FACTOR);
+  }
+
+  private void index(final int row) {
+    if (size > indexResizeAt) {
+      allocateIndex(size << 1);
+      for (int other = 0; other < size - 1; other++)
+        insert(other);
+    }
+    insert(row);
+  }
+
+  private void insert(final int row) {
+    int slot = slot(codes[row]);
+    while (index[slot] != 0)
+      slot = (slot + 1) & indexMask;
+    index[slot] = row + 1;
+  }
+
+  private void unindex(final long code) {
+    int gap = slot(code);
+    while (codes[index[gap] - 1] != code)
+      gap = (gap + 1) & indexMask;
+
+    // Moves back each following entry of the run that can be reached from its ideal slot through the gap
+    for (int next = (gap + 1) & indexMask; index[next] != 0; next = (next + 1) & indexMask) {
+      final int ideal = slot(codes[index[next] - 1]);
+      if (((next - ideal) & indexMask) >= ((next - gap) & indexMask)) {
+        index[gap] = index[next];
+        gap = next;
+      }
+    }
+    index[gap] = 0;
+  }
+}
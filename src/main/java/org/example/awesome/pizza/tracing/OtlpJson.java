@@ -0,0 +1,71 @@
+package org.example.awesome.pizza.tracing;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Traces as an OpenTelemetry OTLP/JSON export request, the payload of {@code POST /v1/traces} that collectors,
+ * Jaeger and Tempo accept as is: ids in hex, timestamps as strings of nanoseconds since the epoch
+ */
+public final class OtlpJson {
+  public static final String SCOPE = "org.example.awesome.pizza.tracing";
+  public static final String PHASE_ATTRIBUTE = "awesome.pizza.phase";
+
+  private static final int KIND_INTERNAL = 1;
+  private static final int KIND_SERVER = 2;
+  private static final int STATUS_ERROR = 2;
+
+  private OtlpJson() {
+  }
+
+  /**
+   * @param serviceName: value of the service.name resource attribute
+   * @param traces: finished traces
+   * @return the export request, ready to be serialized
+   */
+  public static Map<String, Object> document(final String serviceName, final Collection<Trace> traces) {
+    final List<Map<String, Object>> spans = new ArrayList<>();
+    for (final Trace trace : traces)
+      for (final Span span : trace.spans())
+        spans.add(span(trace, span));
+
+    final Map<String, Object> resource = Map.of("attributes", List.of(attribute("service.name", serviceName)));
+    final Map<String, Object> scopeSpans = new LinkedHashMap<>();
+    scopeSpans.put("scope", Map.of("name", SCOPE));
+    scopeSpans.put("spans", spans);
+    final Map<String, Object> resourceSpans = new LinkedHashMap<>();
+    resourceSpans.put("resource", resource);
+    resourceSpans.put("scopeSpans", List.of(scopeSpans));
+    return Map.of("resourceSpans", List.of(resourceSpans));
+  }
+
+  private static Map<String, Object> span(final Trace trace, final Span span) {
+    final List<Map<String, Object>> attributes = new ArrayList<>();
+    attributes.add(attribute(PHASE_ATTRIBUTE, span.phase().attribute()));
+    final List<String> pairs = span.attributes();
+    for (int i = 0; i < pairs.size(); i += 2)
+      attributes.add(attribute(pairs.get(i), pairs.get(i + 1)));
+
+    final Map<String, Object> json = new LinkedHashMap<>();
+    json.put("traceId", trace.traceId());
+    json.put("spanId", trace.spanId(span));
+    final String parentSpanId = trace.parentSpanId(span);
+    if (parentSpanId != null)
+      json.put("parentSpanId", parentSpanId);
+    json.put("name", span.name());
+    json.put("kind", span.phase() == Phase.HTTP ? KIND_SERVER : KIND_INTERNAL);
+    json.put("startTimeUnixNano", Long.toString(trace.epochNanos(span.start())));
+    json.put("endTimeUnixNano", Long.toString(trace.epochNanos(span.end())));
+    json.put("attributes", attributes);
+    if (span.isError())
+      json.put("status", Map.of("code", STATUS_ERROR));
+    return json;
+  }
+
+  private static Map<String, Object> attribute(final String key, final String value) {
+    return Map.of("key", key, "value", Map.of("stringValue", value));
+  }
+}
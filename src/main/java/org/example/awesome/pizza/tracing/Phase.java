@@ -0,0 +1,20 @@
+package org.example.awesome.pizza.tracing;
+
+/**
+ * Layer a span was recorded in, exported as the {@code awesome.pizza.phase} attribute
+ */
+public enum Phase {
+  HTTP,
+  CONTROLLER,
+  SERVICE,
+  STATE,
+  REPOSITORY,
+  SEQUENCE,
+  SERIALIZATION;
+
+  private final String attribute = name().toLowerCase();
+
+  public String attribute() {
+    return attribute;
+  }
+}
@@ -0,0 +1,111 @@
+package org.example.awesome.pizza.tracing;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Timed step of a request, closed with try-with-resources. Spans opened while no trace is active are the shared
+ * no-op one, so that instrumented code does not check whether it is traced
+ */
+public final class Span implements AutoCloseable {
+  static final Span NOOP = new Span(null, -1, -1, Phase.HTTP, "", 0);
+
+  private final Trace trace;
+  private final int index;
+  private final int parent;
+  private final Phase phase;
+  private final long start;
+  private String name;
+  private long end;
+  private boolean ended;
+  private boolean error;
+  private List<String> attributes;
+
+  Span(final Trace trace, final int index, final int parent, final Phase phase, final String name, final long start) {
+    this.trace = trace;
+    this.index = index;
+    this.parent = parent;
+    this.phase = phase;
+    this.name = name;
+    this.start = start;
+  }
+
+  /**
+   * Marks the span as failed
+   */
+  public void error() {
+    if (trace != null)
+      error = true;
+  }
+
+  /**
+   * @param key: attribute name, preferably an OpenTelemetry semantic convention one
+   * @param value: attribute value
+   */
+  public void attribute(final String key, final String value) {
+    if (trace == null)
+      return;
+    if (attributes == null)
+      attributes = new ArrayList<>(4);
+    attributes.add(key);
+    attributes.add(value);
+  }
+
+  void rename(final String name) {
+    this.name = name;
+  }
+
+  @Override
+  public void close() {
+    if (trace != null && !ended)
+      trace.end(this, System.nanoTime());
+  }
+
+  void end(final long end) {
+    this.end = end;
+    this.ended = true;
+  }
+
+  int index() {
+    return index;
+  }
+
+  int parent() {
+    return parent;
+  }
+
+  public Phase phase() {
+    return phase;
+  }
+
+  public String name() {
+    return name;
+  }
+
+  long start() {
+    return start;
+  }
+
+  long end() {
+    return end;
+  }
+
+  boolean ended() {
+    return ended;
+  }
+
+  public boolean isError() {
+    return error;
+  }
+
+  public long durationNanos() {
+    return end - start;
+  }
+
+  /**
+   * @return attribute names and values, alternated
+   */
+  List<String> attributes() {
+    return attributes == null ? List.of() : attributes;
+  }
+}
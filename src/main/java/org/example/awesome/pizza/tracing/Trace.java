@@ -0,0 +1,147 @@
+package org.example.awesome.pizza.tracing;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Spans of a single request, recorded by the thread serving it: the first one is the root. Spans beyond the
+ * highest number are not recorded, only counted, so that a request looping over a repository keeps a bounded
+ * trace. Once finished, a trace is no longer modified and can be read from any thread
+ */
+public final class Trace {
+  private static final HexFormat HEX = HexFormat.of();
+
+  private final long traceIdHigh;
+  private final long traceIdLow;
+  private final long spanIdBase;
+  private final long startEpochNanos;
+  private final long startNanos;
+  private final Span[] spans;
+  private int size;
+  private int dropped;
+  private int current = -1;
+
+  /**
+   * @param maxSpans: highest number of spans recorded, root included
+   */
+  Trace(final int maxSpans) {
+    final ThreadLocalRandom random = ThreadLocalRandom.current();
+    this.traceIdHigh = random.nextLong();
+    this.traceIdLow = random.nextLong();
+    this.spanIdBase = random.nextLong();
+    final Instant now = Instant.now();
+    this.startNanos = System.nanoTime();
+    this.startEpochNanos = now.getEpochSecond() * 1_000_000_000L + now.getNano();
+    this.spans = new Span[Math.max(1, maxSpans)];
+  }
+
+  /**
+   * Opens a span as a child of the innermost open one
+   * @param phase: layer of the span
+   * @param name: span name, e.g. the class and method
+   * @return the open span, the no-op one when the trace is full
+   */
+  Span open(final Phase phase, final String name) {
+    if (size == spans.length) {
+      dropped++;
+      return Span.NOOP;
+    }
+
+    final Span span = new Span(this, size, current, phase, name, System.nanoTime());
+    spans[size++] = span;
+    current = span.index();
+    return span;
+  }
+
+  void end(final Span span, final long end) {
+    span.end(end);
+    current = span.parent();
+  }
+
+  /**
+   * Closes the spans still open, the root last, e.g. the serialization one that has no explicit end
+   */
+  void finish() {
+    final long end = System.nanoTime();
+    for (int i = size - 1; i >= 0; i--)
+      if (!spans[i].ended())
+        spans[i].end(end);
+    current = -1;
+  }
+
+  public Span root() {
+    return spans[0];
+  }
+
+  public List<Span> spans() {
+    return Arrays.asList(spans).subList(0, size);
+  }
+
+  /**
+   * @return spans not recorded since the trace was full
+   */
+  public int dropped() {
+    return dropped;
+  }
+
+  public long durationNanos() {
+    return root().durationNanos();
+  }
+
+  public long startEpochNanos() {
+    return startEpochNanos;
+  }
+
+  /**
+   * @param nanos: a {@link System#nanoTime()} value taken during the trace
+   * @return the same instant, in nanoseconds since the epoch
+   */
+  long epochNanos(final long nanos) {
+    return startEpochNanos + (nanos - startNanos);
+  }
+
+  /**
+   * @return trace id, as 32 hex digits
+   */
+  public String traceId() {
+    return HEX.toHexDigits(traceIdHigh) + HEX.toHexDigits(traceIdLow);
+  }
+
+  /**
+   * @param span: a span of this trace
+   * @return span id, as 16 hex digits
+   */
+  String spanId(final Span span) {
+    return HEX.toHexDigits(spanIdBase + span.index());
+  }
+
+  /**
+   * @param span: a span of this trace
+   * @return id of the parent span, null for the root
+   */
+  String parentSpanId(final Span span) {
+    return span.parent() < 0 ? null : HEX.toHexDigits(spanIdBase + span.parent());
+  }
+
+  /**
+   * Finds where the time went: the span with the longest duration once its children's are subtracted
+   * @return the span with the longest self time, the root when it has no children
+   */
+  public Span slowestSpan() {
+    final long[] self = new long[size];
+    for (int i = 0; i < size; i++) {
+      self[i] += spans[i].durationNanos();
+      if (spans[i].parent() >= 0)
+        self[spans[i].parent()] -= spans[i].durationNanos();
+    }
+
+    int slowest = 0;
+    for (int i = 1; i < size; i++)
+      if (self[i] > self[slowest])
+        slowest = i;
+    return spans[slowest];
+  }
+}
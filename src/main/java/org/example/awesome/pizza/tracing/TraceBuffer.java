@@ -0,0 +1,54 @@
+package org.example.awesome.pizza.tracing;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Ring of the last slow traces: once full, each new trace overwrites the oldest one. Recording is a counter
+ * increment and an array write, without lock
+ */
+public class TraceBuffer {
+  private final AtomicReferenceArray<Trace> traces;
+  private final AtomicLong recorded = new AtomicLong();
+
+  /**
+   * @param capacity: traces kept
+   */
+  public TraceBuffer(final int capacity) {
+    this.traces = new AtomicReferenceArray<>(capacity);
+  }
+
+  public void add(final Trace trace) {
+    traces.set((int) (recorded.getAndIncrement() % traces.length()), trace);
+  }
+
+  /**
+   * @param order: sorting of the traces
+   * @param limit: highest number of traces returned
+   * @return traces kept, sorted
+   */
+  public List<Trace> snapshot(final Comparator<Trace> order, final int limit) {
+    final List<Trace> snapshot = new ArrayList<>(traces.length());
+    for (int i = 0; i < traces.length(); i++) {
+      final Trace trace = traces.get(i);
+      if (trace != null)
+        snapshot.add(trace);
+    }
+    snapshot.sort(order);
+    return snapshot.size() > limit ? snapshot.subList(0, limit) : snapshot;
+  }
+
+  /**
+   * @return traces recorded since the start, overwritten ones included
+   */
+  public long recorded() {
+    return recorded.get();
+  }
+
+  public int capacity() {
+    return traces.length();
+  }
+}
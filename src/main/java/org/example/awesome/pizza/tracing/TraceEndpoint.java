@@ -0,0 +1,33 @@
+package org.example.awesome.pizza.tracing;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+import java.util.Comparator;
+import java.util.Map;
+
+/**
+ * Actuator endpoint exposing the slow traces kept, as /actuator/traces in OTLP/JSON: the latest first, or the
+ * slowest first with {@code ?sort=duration}, at most {@code limit} of them
+ */
+@Endpoint(id = "traces")
+public class TraceEndpoint {
+  private static final int DEFAULT_LIMIT = 20;
+
+  private final TraceBuffer buffer;
+  private final String serviceName;
+
+  public TraceEndpoint(final TraceBuffer buffer, final String serviceName) {
+    this.buffer = buffer;
+    this.serviceName = serviceName;
+  }
+
+  @ReadOperation
+  public Map<String, Object> traces(@Nullable final String sort, @Nullable final Integer limit) {
+    final Comparator<Trace> order = "duration".equals(sort)
+        ? Comparator.comparingLong(Trace::durationNanos).reversed()
+        : Comparator.comparingLong(Trace::startEpochNanos).reversed();
+    return OtlpJson.document(serviceName, buffer.snapshot(order, limit == null ? DEFAULT_LIMIT : limit));
+  }
+}
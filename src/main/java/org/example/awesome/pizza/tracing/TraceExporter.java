@@ -0,0 +1,119 @@
+package org.example.awesome.pizza.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Exports each slow trace, off the request thread, as an OTLP/JSON document: appended as one line to a local
+ * file, as the file exporter of the OpenTelemetry collector does, and posted to an OTLP/HTTP endpoint, each one
+ * when configured. Traces exceeding the queue of the exporting thread are dropped and counted
+ */
+@Slf4j
+public class TraceExporter {
+  private static final Duration TIMEOUT = Duration.ofSeconds(5);
+  private static final byte[] NEW_LINE = {'\n'};
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final ThreadPoolTaskExecutor executor;
+  private final String serviceName;
+  private final Path file;
+  private final URI endpoint;
+  private final HttpClient httpClient;
+  private final AtomicLong dropped = new AtomicLong();
+
+  /**
+   * @param executor: single thread executor writing the traces
+   * @param serviceName: value of the service.name resource attribute
+   * @param file: file the traces are appended to, null for none
+   * @param endpoint: OTLP/HTTP traces endpoint, e.g. http://localhost:4318/v1/traces, null for none
+   */
+  public TraceExporter(final ThreadPoolTaskExecutor executor, final String serviceName, final Path file, final URI endpoint) {
+    this.executor = executor;
+    this.serviceName = serviceName;
+    this.file = file;
+    this.endpoint = endpoint;
+    this.httpClient = endpoint == null ? null : HttpClient.newBuilder().connectTimeout(TIMEOUT).build();
+  }
+
+  public boolean isEnabled() {
+    return file != null || endpoint != null;
+  }
+
+  /**
+   * Queues the export of a finished trace
+   * @param trace: a finished trace
+   */
+  public void export(final Trace trace) {
+    if (!isEnabled())
+      return;
+
+    try {
+      executor.execute(() -> write(trace));
+    } catch (final TaskRejectedException e) {
+      dropped.incrementAndGet();
+    }
+  }
+
+  /**
+   * @return traces dropped since the start, because the queue was full
+   */
+  public long dropped() {
+    return dropped.get();
+  }
+
+  void write(final Trace trace) {
+    final byte[] json;
+    try {
+      json = objectMapper.writeValueAsBytes(OtlpJson.document(serviceName, List.of(trace)));
+    } catch (final IOException e) {
+      log.warn("Trace [{}] not serialized", trace.traceId(), e);
+      return;
+    }
+
+    if (file != null)
+      try {
+        Files.write(file, concat(json, NEW_LINE), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+      } catch (final IOException e) {
+        log.warn("Trace [{}] not written to [{}]: {}", trace.traceId(), file, e.getMessage());
+      }
+
+    if (endpoint != null)
+      try {
+        final HttpResponse<Void> response = httpClient.send(HttpRequest.newBuilder(endpoint)
+                .timeout(TIMEOUT)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(json))
+                .build(),
+            HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() >= 300)
+          log.warn("Trace [{}] rejected by [{}] with status [{}]", trace.traceId(), endpoint, response.statusCode());
+      } catch (final IOException e) {
+        log.warn("Trace [{}] not sent to [{}]: {}", trace.traceId(), endpoint, e.getMessage());
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+  }
+
+  private static byte[] concat(final byte[] first, final byte[] second) {
+    final byte[] result = new byte[first.length + second.length];
+    System.arraycopy(first, 0, result, 0, first.length);
+    System.arraycopy(second, 0, result, first.length, second.length);
+    return result;
+  }
+}
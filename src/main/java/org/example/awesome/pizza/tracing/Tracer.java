@@ -0,0 +1,51 @@
+package org.example.awesome.pizza.tracing;
+
+/**
+ * Entry point of the request tracing: the trace of the request being served is bound to its thread, so that
+ * spans can be opened from any layer, beans or not, without passing it around. Opening a span while no trace is
+ * active, e.g. from a scheduled job or when tracing is disabled, costs a thread local lookup
+ */
+public final class Tracer {
+  private static final ThreadLocal<Trace> ACTIVE = new ThreadLocal<>();
+
+  private Tracer() {
+  }
+
+  /**
+   * Starts the trace of the current thread with its root span
+   * @param maxSpans: highest number of spans recorded, root included
+   * @param name: root span name
+   * @return the trace, to be ended by {@link #finish()}
+   */
+  public static Trace start(final int maxSpans, final String name) {
+    final Trace trace = new Trace(maxSpans);
+    trace.open(Phase.HTTP, name);
+    ACTIVE.set(trace);
+    return trace;
+  }
+
+  /**
+   * Opens a span in the trace of the current thread, if any
+   * @param phase: layer of the span
+   * @param name: span name, e.g. the class and method
+   * @return the open span, to be closed by try-with-resources
+   */
+  public static Span span(final Phase phase, final String name) {
+    final Trace trace = ACTIVE.get();
+    return trace == null ? Span.NOOP : trace.open(phase, name);
+  }
+
+  /**
+   * Ends the trace of the current thread, closing its spans still open, and unbinds it
+   * @return the finished trace, null when none was started
+   */
+  public static Trace finish() {
+    final Trace trace = ACTIVE.get();
+    if (trace == null)
+      return null;
+
+    ACTIVE.remove();
+    trace.finish();
+    return trace;
+  }
+}
@@ -0,0 +1,66 @@
+package org.example.awesome.pizza.tracing;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Proxy;
+
+/**
+ * Opens a span around each call to the controllers, services, states and repositories, named after the class,
+ * or the repository interface, and the method
+ */
+@Aspect
+public class TracingAspect {
+  private static final ClassValue<String> COMPONENT_NAMES = new ClassValue<>() {
+    @Override
+    protected String computeValue(final Class<?> type) {
+      // Repositories are JDK proxies of their interface
+      if (Proxy.isProxyClass(type))
+        for (final Class<?> contract : type.getInterfaces())
+          if (!contract.getName().startsWith("org.springframework."))
+            return contract.getSimpleName();
+      return ClassUtils.getUserClass(type).getSimpleName();
+    }
+  };
+
+  @Around("within(org.example.awesome.pizza.controller..*)")
+  public Object controller(final ProceedingJoinPoint joinPoint) throws Throwable {
+    return trace(Phase.CONTROLLER, joinPoint);
+  }
+
+  @Around("within(org.example.awesome.pizza.service..*)")
+  public Object service(final ProceedingJoinPoint joinPoint) throws Throwable {
+    return trace(Phase.SERVICE, joinPoint);
+  }
+
+  @Around("within(org.example.awesome.pizza.state..*)")
+  public Object state(final ProceedingJoinPoint joinPoint) throws Throwable {
+    return trace(Phase.STATE, joinPoint);
+  }
+
+  @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+  public Object repository(final ProceedingJoinPoint joinPoint) throws Throwable {
+    return trace(Phase.REPOSITORY, joinPoint);
+  }
+
+  private static Object trace(final Phase phase, final ProceedingJoinPoint joinPoint) throws Throwable {
+    try (final Span span = Tracer.span(phase, name(joinPoint))) {
+      try {
+        return joinPoint.proceed();
+      } catch (final Throwable e) {
+        span.error();
+        throw e;
+      }
+    }
+  }
+
+  private static String name(final ProceedingJoinPoint joinPoint) {
+    final Object target = joinPoint.getTarget();
+    final String component = target == null
+        ? joinPoint.getSignature().getDeclaringType().getSimpleName()
+        : COMPONENT_NAMES.get(target.getClass());
+    return component + "." + joinPoint.getSignature().getName();
+  }
+}
@@ -0,0 +1,91 @@
+package org.example.awesome.pizza.tracing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Traces every request, and keeps the trace only when the request took at least the slow threshold: the trace is
+ * then added to the buffer, exported, and logged with the span where most of the time went.
+ * <p>
+ * Actuator endpoints are not traced, and neither are the /async reads, whose work runs on the executor threads
+ */
+@Slf4j
+public class TracingFilter extends OncePerRequestFilter {
+  private static final String[] EXCLUDED_PATHS = {"/actuator", "/async/"};
+
+  private final TraceBuffer buffer;
+  private final TraceExporter exporter;
+  private final long slowThresholdNanos;
+  private final int maxSpans;
+
+  /**
+   * @param buffer: buffer of the slow traces
+   * @param exporter: exporter of the slow traces
+   * @param slowThreshold: lowest duration of the requests whose trace is kept
+   * @param maxSpans: highest number of spans recorded per request
+   */
+  public TracingFilter(final TraceBuffer buffer, final TraceExporter exporter, final Duration slowThreshold, final int maxSpans) {
+    this.buffer = buffer;
+    this.exporter = exporter;
+    this.slowThresholdNanos = slowThreshold.toNanos();
+    this.maxSpans = maxSpans;
+  }
+
+  @Override
+  protected boolean shouldNotFilter(final HttpServletRequest request) {
+    final String path = request.getRequestURI().substring(request.getContextPath().length());
+    for (final String excluded : EXCLUDED_PATHS)
+      if (path.startsWith(excluded))
+        return true;
+    return false;
+  }
+
+  @Override
+  protected void doFilterInternal(final HttpServletRequest request,
+                                  final HttpServletResponse response,
+                                  final FilterChain filterChain) throws ServletException, IOException {
+    final Trace trace = Tracer.start(maxSpans, request.getMethod());
+    boolean failed = false;
+    try {
+      filterChain.doFilter(request, response);
+    } catch (final ServletException | IOException | RuntimeException e) {
+      failed = true;
+      throw e;
+    } finally {
+      Tracer.finish();
+      if (!request.isAsyncStarted() && trace.durationNanos() >= slowThresholdNanos)
+        keep(trace, request, failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus());
+    }
+  }
+
+  private void keep(final Trace trace, final HttpServletRequest request, final int status) {
+    final Span root = trace.root();
+    final Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+    if (route != null) {
+      root.rename(request.getMethod() + " " + route);
+      root.attribute("http.route", route.toString());
+    }
+    root.attribute("http.request.method", request.getMethod());
+    root.attribute("url.path", request.getRequestURI());
+    root.attribute("http.response.status_code", Integer.toString(status));
+    if (trace.dropped() > 0)
+      root.attribute("awesome.pizza.dropped_spans", Integer.toString(trace.dropped()));
+    if (status >= HttpServletResponse.SC_INTERNAL_SERVER_ERROR)
+      root.error();
+
+    buffer.add(trace);
+    exporter.export(trace);
+
+    final Span slowest = trace.slowestSpan();
+    log.warn("Slow request [{}] took {} ms, mostly in {} [{}]: trace [{}]", root.name(),
+        Duration.ofNanos(trace.durationNanos()).toMillis(), slowest.phase().attribute(), slowest.name(), trace.traceId());
+  }
+}
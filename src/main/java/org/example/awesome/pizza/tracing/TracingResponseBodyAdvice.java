@@ -0,0 +1,36 @@
+package org.example.awesome.pizza.tracing;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Opens the serialization span right before the converter writes the response body. The span is left open, and
+ * closed when the request trace finishes, once the body is written
+ */
+@ControllerAdvice
+@ConditionalOnProperty(name = "awesome-pizza.config.tracing.enabled", havingValue = "true", matchIfMissing = true)
+public class TracingResponseBodyAdvice implements ResponseBodyAdvice<Object> {
+
+  @Override
+  public boolean supports(final MethodParameter returnType, final Class<? extends HttpMessageConverter<?>> converterType) {
+    return true;
+  }
+
+  @Override
+  public Object beforeBodyWrite(final Object body,
+                                final MethodParameter returnType,
+                                final MediaType selectedContentType,
+                                final Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                final ServerHttpRequest request,
+                                final ServerHttpResponse response) {
+    Tracer.span(Phase.SERIALIZATION, selectedConverterType.getSimpleName())
+        .attribute("http.response.content_type", String.valueOf(selectedContentType));
+    return body;
+  }
+}
@@ -2,19 +2,24 @@
 -- Sample dataset containing a number of Hotels in various Cities across the world.
 --
 
-create sequence AWESOMESCHEMA.order_code start with 1 increment by 1;
+-- Idempotent: every node of a cluster runs it against the same DB
+create sequence if not exists AWESOMESCHEMA.order_code start with 1 increment by 1;
 
 -- =================================================================================================
 -- CHEFS
 insert into AWESOMESCHEMA.chef(first_name, last_name, created_date, last_modified_date)
-values ('Gennaro', 'Esposito', CURRENT_DATE, CURRENT_DATE)
+select v.first_name, v.last_name, CURRENT_DATE, CURRENT_DATE
+from (values ('Gennaro', 'Esposito')) v(first_name, last_name)
+where not exists (select 1 from AWESOMESCHEMA.chef c where c.first_name = v.first_name and c.last_name = v.last_name)
 ;
 
 -- =================================================================================================
 -- PIZZAS
 insert into AWESOMESCHEMA.pizza(name, description, price, created_date, last_modified_date)
-values ('Margherita', 'Pomodoro, mozzarella, basilico', 5, CURRENT_DATE, CURRENT_DATE),
-       ('Paperino', 'Pomodoro, wustel, patatine', 6.5, CURRENT_DATE, CURRENT_DATE),
-       ('Boscaiola', 'Mozzarella, panna, funghi, prosciutto cotto', 8, CURRENT_DATE, CURRENT_DATE),
-       ('Patate e Salsiccia', 'Mozzarella, patate, salsiccia', 8, CURRENT_DATE, CURRENT_DATE)
+select v.name, v.description, v.price, CURRENT_DATE, CURRENT_DATE
+from (values ('Margherita', 'Pomodoro, mozzarella, basilico', 5),
+             ('Paperino', 'Pomodoro, wustel, patatine', 6.5),
+             ('Boscaiola', 'Mozzarella, panna, funghi, prosciutto cotto', 8),
+             ('Patate e Salsiccia', 'Mozzarella, patate, salsiccia', 8)) v(name, description, price)
+where not exists (select 1 from AWESOMESCHEMA.pizza p where p.name = v.name)
 ;
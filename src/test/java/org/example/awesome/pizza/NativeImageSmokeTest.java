@@ -0,0 +1,129 @@
+package org.example.awesome.pizza;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.assertj.core.api.Assertions;
+import org.example.awesome.pizza.model.OrderStatus;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Runs the full Order lifecycle against the native binary built with mvn -Pnative native:compile, logging its
+ * startup time and resident memory: enabled by -Dawesome-pizza.native.binary=target/awesome-pizza
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "awesome-pizza.native.binary", matches = ".+")
+class NativeImageSmokeTest {
+  private static final Duration STARTUP_TIMEOUT =
+      Duration.parse(System.getProperty("awesome-pizza.native.startup-timeout", "PT30S"));
+
+  private static final HttpClient client = HttpClient.newHttpClient();
+  private static final ObjectMapper mapper = new ObjectMapper();
+  private static Process process;
+  private static String baseUrl;
+
+  @BeforeAll
+  static void startBinary() throws Exception {
+    final int port;
+    try (final ServerSocket socket = new ServerSocket(0)) {
+      port = socket.getLocalPort();
+    }
+    baseUrl = "http://localhost:%d".formatted(port);
+
+    final Instant start = Instant.now();
+    process = new ProcessBuilder(
+        System.getProperty("awesome-pizza.native.binary"),
+        "--server.port=" + port,
+        "--awesome-pizza.config.http-log=false",
+        "--logging.level.org.hibernate.SQL=WARN",
+        "--logging.level.org.hibernate.orm.jdbc.bind=WARN",
+        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN")
+        .inheritIO()
+        .start();
+
+    while (!isUp()) {
+      Assertions.assertThat(process.isAlive()).as("native process alive").isTrue();
+      Assertions.assertThat(Duration.between(start, Instant.now())).isLessThan(STARTUP_TIMEOUT);
+      Thread.sleep(10);
+    }
+
+    log.info("Native startup: [{}ms], RSS: [{}]", Duration.between(start, Instant.now()).toMillis(), rss());
+  }
+
+  @AfterAll
+  static void stopBinary() {
+    if (process != null)
+      process.destroy();
+  }
+
+  private static boolean isUp() {
+    try {
+      return send(HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/health"))).statusCode() == 200;
+    } catch (IOException e) {
+      return false;
+    }
+  }
+
+  // Resident set size from procfs, on Linux only
+  private static String rss() throws IOException {
+    final Path status = Path.of("/proc/%d/status".formatted(process.pid()));
+    if (!Files.exists(status))
+      return "n/a";
+
+    return Files.readAllLines(status).stream()
+        .filter(line -> line.startsWith("VmRSS:"))
+        .map(line -> line.substring("VmRSS:".length()).trim())
+        .findFirst()
+        .orElse("n/a");
+  }
+
+  private static HttpResponse<String> send(final HttpRequest.Builder request) throws IOException {
+    try {
+      return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException(e);
+    }
+  }
+
+  @Test
+  void orderLifecycle_ShouldComplete() throws Exception {
+    final JsonNode menu = mapper.readTree(send(HttpRequest.newBuilder(URI.create(baseUrl + "/pizza"))).body());
+    Assertions.assertThat(menu).isNotEmpty();
+
+    final HttpResponse<String> created = send(HttpRequest.newBuilder(URI.create(baseUrl + "/order"))
+        .header("Content-Type", "application/json")
+        .POST(HttpRequest.BodyPublishers.ofString("{\"pizzas\":[%d]}".formatted(menu.get(0).get("id").asLong()))));
+    Assertions.assertThat(created.statusCode()).isEqualTo(201);
+    final long code = mapper.readTree(created.body()).get("code").asLong();
+
+    final HttpResponse<String> cooking = send(HttpRequest.newBuilder(URI.create(baseUrl + "/order/next"))
+        .header("X-Chef-ID", "1")
+        .method("PATCH", HttpRequest.BodyPublishers.noBody()));
+    Assertions.assertThat(cooking.statusCode()).isEqualTo(200);
+    Assertions.assertThat(mapper.readTree(cooking.body()).get("status").asText()).isEqualTo(OrderStatus.COOKING.name());
+
+    final HttpResponse<String> next = send(HttpRequest.newBuilder(URI.create(baseUrl + "/order/next"))
+        .header("X-Chef-ID", "1")
+        .method("PATCH", HttpRequest.BodyPublishers.noBody()));
+    Assertions.assertThat(next.statusCode()).isEqualTo(204);
+
+    final HttpResponse<String> done = send(HttpRequest.newBuilder(URI.create(baseUrl + "/order/code/" + code)));
+    Assertions.assertThat(done.statusCode()).isEqualTo(200);
+    Assertions.assertThat(mapper.readTree(done.body()).get("status").asText()).isEqualTo(OrderStatus.DONE.name());
+  }
+}
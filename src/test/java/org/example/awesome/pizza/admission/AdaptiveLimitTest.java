@@ -0,0 +1,85 @@
+package org.example.awesome.pizza.admission;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+class AdaptiveLimitTest {
+  private static final Duration TARGET = Duration.ofMillis(100);
+  private static final long FAST = Duration.ofMillis(10).toNanos();
+  private static final long SLOW = Duration.ofMillis(500).toNanos();
+
+  private final AtomicLong clock = new AtomicLong();
+  private final AdaptiveLimit underTest = new AdaptiveLimit(2, 10, TARGET, 0.5, clock::get);
+
+  @Test
+  void tryAcquire_WhenLimitReached_ShouldReject() {
+    Assertions.assertThat(IntStream.range(0, 10).allMatch(i -> underTest.tryAcquire())).isTrue();
+
+    Assertions.assertThat(underTest.tryAcquire()).isFalse();
+    Assertions.assertThat(underTest.getInFlight()).isEqualTo(10);
+  }
+
+  @Test
+  void release_WhenTargetMissed_ShouldBackOff() {
+    underTest.tryAcquire();
+
+    Assertions.assertThat(underTest.release(SLOW)).isTrue();
+    Assertions.assertThat(underTest.getLimit()).isEqualTo(5);
+    Assertions.assertThat(underTest.getInFlight()).isZero();
+  }
+
+  @Test
+  void release_WhenManyMissedWithinTarget_ShouldBackOffOnce() {
+    IntStream.range(0, 3).forEach(i -> underTest.tryAcquire());
+    IntStream.range(0, 3).forEach(i -> underTest.release(SLOW));
+
+    Assertions.assertThat(underTest.getLimit()).isEqualTo(5);
+  }
+
+  @Test
+  void release_WhenMissedRepeatedly_ShouldNotGoBelowMin() {
+    for (int i = 0; i < 10; i++) {
+      clock.addAndGet(TARGET.toNanos());
+      underTest.tryAcquire();
+      underTest.release(SLOW);
+    }
+
+    Assertions.assertThat(underTest.getLimit()).isEqualTo(2);
+  }
+
+  @Test
+  void release_WhenFastAndBusy_ShouldGrow() {
+    underTest.tryAcquire();
+    underTest.release(SLOW);
+
+    // 5 of 5 in use, then completed within the target: +1 on each release while at least half of the limit is
+    // in use, that is while 5 then 4 are in flight
+    IntStream.range(0, 5).forEach(i -> underTest.tryAcquire());
+    IntStream.range(0, 5).forEach(i -> underTest.release(FAST));
+
+    Assertions.assertThat(underTest.getLimit()).isEqualTo(7);
+  }
+
+  @Test
+  void release_WhenFastAndBusy_ShouldNotGrowAboveMax() {
+    IntStream.range(0, 10).forEach(i -> underTest.tryAcquire());
+    IntStream.range(0, 10).forEach(i -> underTest.release(FAST));
+
+    Assertions.assertThat(underTest.getLimit()).isEqualTo(10);
+  }
+
+  @Test
+  void release_WhenFastAndIdle_ShouldNotGrow() {
+    underTest.tryAcquire();
+    underTest.release(SLOW);
+
+    underTest.tryAcquire();
+    underTest.release(FAST);
+
+    Assertions.assertThat(underTest.getLimit()).isEqualTo(5);
+  }
+}
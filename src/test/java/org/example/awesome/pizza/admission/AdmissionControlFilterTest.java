@@ -0,0 +1,115 @@
+package org.example.awesome.pizza.admission;
+
+import jakarta.servlet.FilterChain;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class AdmissionControlFilterTest {
+  private static final Duration TARGET = Duration.ofSeconds(10);
+
+  private final Map<EndpointClass, AdaptiveLimit> limits = new EnumMap<>(Map.of(
+      EndpointClass.KITCHEN, new AdaptiveLimit(1, 1, TARGET, 0.5),
+      EndpointClass.ORDER, new AdaptiveLimit(1, 1, TARGET, 0.5),
+      EndpointClass.READ, new AdaptiveLimit(2, 4, TARGET, 0.5)));
+  private final AdmissionController admissionController = new AdmissionController(limits);
+  private final AdmissionControlFilter underTest = new AdmissionControlFilter(admissionController, true, Duration.ofMillis(1500));
+  private final AtomicInteger served = new AtomicInteger();
+  private final FilterChain chain = (request, response) -> served.incrementAndGet();
+
+  private MockHttpServletResponse perform(final String method, final String path) throws Exception {
+    final MockHttpServletResponse response = new MockHttpServletResponse();
+    underTest.doFilter(new MockHttpServletRequest(method, path), response, chain);
+    return response;
+  }
+
+  @Test
+  void endpointClass_ShouldClassifyByMethodAndPath() {
+    Assertions.assertThat(EndpointClass.of("PATCH", "/order/next")).isEqualTo(EndpointClass.KITCHEN);
+    Assertions.assertThat(EndpointClass.of("PATCH", "/order/line/1/done")).isEqualTo(EndpointClass.KITCHEN);
+    Assertions.assertThat(EndpointClass.of("POST", "/order")).isEqualTo(EndpointClass.ORDER);
+    Assertions.assertThat(EndpointClass.of("PUT", "/pizza/1")).isEqualTo(EndpointClass.ORDER);
+    Assertions.assertThat(EndpointClass.of("GET", "/order/code/1")).isEqualTo(EndpointClass.READ);
+  }
+
+  @Test
+  void endpointClass_WhenKitchenQueueOrCustomerUpdate_ShouldClassifyByEndpoint() {
+    // findOrders: the queue polled by the Chefs
+    Assertions.assertThat(EndpointClass.of("GET", "/order")).isEqualTo(EndpointClass.KITCHEN);
+    Assertions.assertThat(EndpointClass.of("GET", "/order/1")).isEqualTo(EndpointClass.READ);
+    // updateOrder: the customer changing or cancelling an Order
+    Assertions.assertThat(EndpointClass.of("PUT", "/order/1")).isEqualTo(EndpointClass.ORDER);
+  }
+
+  @Test
+  void doFilter_WhenAdmitted_ShouldServeAndRelease() throws Exception {
+    final MockHttpServletResponse response = perform("PATCH", "/order/next");
+
+    Assertions.assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+    Assertions.assertThat(served).hasValue(1);
+    Assertions.assertThat(limits.get(EndpointClass.KITCHEN).getInFlight()).isZero();
+  }
+
+  @Test
+  void doFilter_WhenClassLimitReached_ShouldShedWithRetryAfter() throws Exception {
+    limits.get(EndpointClass.READ).tryAcquire();
+    limits.get(EndpointClass.READ).tryAcquire();
+    limits.get(EndpointClass.READ).tryAcquire();
+    limits.get(EndpointClass.READ).tryAcquire();
+
+    final MockHttpServletResponse response = perform("GET", "/order/code/1");
+
+    Assertions.assertThat(response.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE.value());
+    Assertions.assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+    Assertions.assertThat(served).hasValue(0);
+  }
+
+  @Test
+  void doFilter_WhenReadsShed_ShouldStillAdmitKitchen() throws Exception {
+    for (int i = 0; i < 4; i++)
+      limits.get(EndpointClass.READ).tryAcquire();
+
+    Assertions.assertThat(perform("GET", "/pizza").getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE.value());
+    Assertions.assertThat(perform("PATCH", "/order/next").getStatus()).isEqualTo(HttpStatus.OK.value());
+  }
+
+  @Test
+  void doFilter_WhenExcludedPath_ShouldNotLimit() throws Exception {
+    for (int i = 0; i < 4; i++)
+      limits.get(EndpointClass.READ).tryAcquire();
+
+    Assertions.assertThat(perform("GET", "/async/order/code/1").getStatus()).isEqualTo(HttpStatus.OK.value());
+    Assertions.assertThat(perform("GET", "/actuator/health").getStatus()).isEqualTo(HttpStatus.OK.value());
+  }
+
+  @Test
+  void release_WhenKitchenMissesTarget_ShouldBackOffLowerClasses() {
+    admissionController.tryAcquire(EndpointClass.KITCHEN);
+    admissionController.release(EndpointClass.KITCHEN, TARGET.plusSeconds(1).toNanos());
+
+    Assertions.assertThat(limits.get(EndpointClass.READ).getLimit()).isEqualTo(2);
+    Assertions.assertThat(limits.get(EndpointClass.KITCHEN).getLimit()).isEqualTo(1);
+  }
+
+  @Test
+  void release_WhenReadsMissTarget_ShouldNotBackOffKitchen() {
+    final AdaptiveLimit kitchen = new AdaptiveLimit(2, 8, TARGET, 0.5);
+    final AdmissionController controller = new AdmissionController(new EnumMap<>(Map.of(
+        EndpointClass.KITCHEN, kitchen,
+        EndpointClass.READ, new AdaptiveLimit(2, 8, TARGET, 0.5))));
+
+    controller.tryAcquire(EndpointClass.READ);
+    controller.release(EndpointClass.READ, TARGET.plusSeconds(1).toNanos());
+
+    Assertions.assertThat(kitchen.getLimit()).isEqualTo(8);
+    Assertions.assertThat(controller.getLimit(EndpointClass.READ).getLimit()).isEqualTo(4);
+  }
+}
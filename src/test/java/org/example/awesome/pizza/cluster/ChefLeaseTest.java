@@ -0,0 +1,68 @@
+package org.example.awesome.pizza.cluster;
+
+import org.assertj.core.api.Assertions;
+import org.example.awesome.pizza.exception.ChefBusyException;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class ChefLeaseTest {
+  private static final Claim CLAIM = new Claim("chef:1", "owner");
+
+  private final ClaimCoordinator claimCoordinator = mock(ClaimCoordinator.class);
+  private final ChefLease underTest = new ChefLease(claimCoordinator, Duration.ofSeconds(30));
+
+  @Test
+  void hold_WhenNoTransaction_ShouldReleaseOnceRun() {
+    doReturn(Optional.of(CLAIM)).when(claimCoordinator).tryClaim(eq("chef:1"), any());
+
+    Assertions.assertThat(underTest.hold(1L, () -> "taken")).isEqualTo("taken");
+
+    verify(claimCoordinator).release(CLAIM);
+  }
+
+  @Test
+  void hold_WhenInTransaction_ShouldReleaseAfterCompletion() {
+    doReturn(Optional.of(CLAIM)).when(claimCoordinator).tryClaim(eq("chef:1"), any());
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      underTest.hold(1L, () -> "taken");
+      verify(claimCoordinator, never()).release(any());
+
+      TransactionSynchronizationManager.getSynchronizations()
+          .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+      verify(claimCoordinator).release(CLAIM);
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  void hold_WhenHeldElsewhere_ShouldThrowWithoutRunning() {
+    final AtomicBoolean ran = new AtomicBoolean();
+    doReturn(Optional.empty()).when(claimCoordinator).tryClaim(eq("chef:1"), any());
+
+    Assertions.assertThatExceptionOfType(ChefBusyException.class)
+        .isThrownBy(() -> underTest.hold(1L, () -> ran.getAndSet(true)));
+
+    Assertions.assertThat(ran).isFalse();
+  }
+
+  @Test
+  void hold_WhenNoChef_ShouldRunWithoutLease() {
+    Assertions.assertThat(underTest.hold(null, () -> "created")).isEqualTo("created");
+
+    verify(claimCoordinator, never()).tryClaim(any(), any());
+  }
+}
@@ -0,0 +1,189 @@
+package org.example.awesome.pizza.cluster;
+
+import org.assertj.core.api.Assertions;
+import org.example.awesome.pizza.AwesomePizzaApplication;
+import org.example.awesome.pizza.domain.Chef;
+import org.example.awesome.pizza.domain.Pizza;
+import org.example.awesome.pizza.exception.BaseHttpException;
+import org.example.awesome.pizza.model.OrderDto;
+import org.example.awesome.pizza.model.OrderInternalReq;
+import org.example.awesome.pizza.model.OrderStatus;
+import org.example.awesome.pizza.repository.ChefRepository;
+import org.example.awesome.pizza.repository.OrderRepository;
+import org.example.awesome.pizza.repository.PizzaRepository;
+import org.example.awesome.pizza.service.OrderService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * Starts several application nodes in cluster mode against the same file backed H2 DB
+ */
+class ClusterModeTest {
+  private static final int NODES = 3;
+  private static final int ORDERS = 30;
+
+  @TempDir
+  static Path dbDir;
+
+  private static final List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+
+  @BeforeAll
+  static void startNodes() {
+    final String url = "jdbc:h2:file:%s;MODE=MSSQLServer;DB_CLOSE_DELAY=-1".formatted(dbDir.resolve("cluster").toAbsolutePath());
+
+    // Sequential start: schema and sample data are created by the first node, then left untouched
+    for (int i = 0; i < NODES; i++)
+      nodes.add(new SpringApplicationBuilder(AwesomePizzaApplication.class)
+          .run(
+              "--spring.main.web-application-type=none",
+              "--spring.main.banner-mode=off",
+              "--spring.datasource.url=" + url,
+              "--spring.sql.init.mode=always",
+              "--awesome-pizza.config.archive.enabled=false",
+              "--awesome-pizza.config.cluster.enabled=true",
+              "--awesome-pizza.config.cluster.node-id=node-" + i,
+              "--awesome-pizza.config.cluster.poll-interval=PT0.05S",
+              "--awesome-pizza.config.cluster.settle-delay=PT0.05S",
+              "--logging.level.org.hibernate.SQL=WARN",
+              "--logging.level.org.hibernate.orm.jdbc.bind=WARN",
+              "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"));
+  }
+
+  @AfterAll
+  static void stopNodes() {
+    nodes.forEach(ConfigurableApplicationContext::close);
+  }
+
+  private static <T> T bean(final int node, final Class<T> type) {
+    return nodes.get(node).getBean(type);
+  }
+
+  // Service calls run in a transaction, so that lazy associations can be mapped as with open session in view
+  private static OrderDto findByCode(final int node, final Long code) {
+    return bean(node, TransactionTemplate.class).execute(status -> bean(node, OrderService.class).findByCode(code));
+  }
+
+  private static Optional<OrderDto> takeNext(final int node, final Long chefId) {
+    return bean(node, TransactionTemplate.class).execute(status -> bean(node, OrderService.class).takeNext(chefId, null));
+  }
+
+  @Test
+  void sampleData_ShouldBeLoadedOnce() {
+    Assertions.assertThat(bean(NODES - 1, PizzaRepository.class).findAll())
+        .extracting(Pizza::getName)
+        .doesNotHaveDuplicates()
+        .isNotEmpty();
+  }
+
+  @Test
+  void concurrentNodes_ShouldKeepCodesUniqueAndChefsWithinThreshold() throws Exception {
+    final Long pizzaId = bean(0, PizzaRepository.class).findAll().get(0).getId();
+    final List<Long> chefIds = IntStream.range(0, NODES)
+        .mapToObj(i -> bean(0, ChefRepository.class).save(new Chef().setFirstName("Chef").setLastName("Node" + i)))
+        .map(Chef::getId)
+        .toList();
+    final ExecutorService executor = Executors.newFixedThreadPool(NODES * chefIds.size() + 1);
+
+    try {
+      // Orders are created on all nodes concurrently
+      final List<Callable<Long>> creations = IntStream.range(0, ORDERS)
+          .mapToObj(i -> (Callable<Long>) () -> bean(i % NODES, OrderService.class)
+              .save((OrderInternalReq) new OrderInternalReq().pizzas(List.of(pizzaId)))
+              .getCode())
+          .toList();
+      final List<Long> codes = new ArrayList<>();
+      for (final Future<Long> code : executor.invokeAll(creations))
+        codes.add(code.get());
+
+      Assertions.assertThat(codes)
+          .doesNotContainNull()
+          .doesNotHaveDuplicates();
+
+      // Every Chef pulls Orders from every node at the same time, while their COOKING Orders are sampled
+      final OrderRepository orders = bean(0, OrderRepository.class);
+      final AtomicBoolean running = new AtomicBoolean(true);
+      final AtomicLong overThreshold = new AtomicLong();
+      final Future<?> sampler = executor.submit(() -> {
+        while (running.get())
+          for (final Long chefId : chefIds)
+            if (!orders.canTakeAnyOrder(chefId, 2L))
+              overThreshold.incrementAndGet();
+      });
+
+      final Set<Long> taken = ConcurrentHashMap.newKeySet();
+      final List<Long> takenTwice = new ArrayList<>();
+      final List<Callable<Void>> chefs = new ArrayList<>();
+      for (final Long chefId : chefIds)
+        for (int node = 0; node < NODES; node++) {
+          final int current = node;
+          chefs.add(() -> {
+            for (int i = 0; i < 5; i++)
+              try {
+                takeNext(current, chefId)
+                    .map(OrderDto::getId)
+                    .filter(id -> !taken.add(id))
+                    .ifPresent(id -> {
+                      synchronized (takenTwice) {
+                        takenTwice.add(id);
+                      }
+                    });
+              } catch (BaseHttpException e) {
+                // Chef busy on another node, or Order taken by another Chef: retry
+              }
+            return null;
+          });
+        }
+      for (final Future<Void> chef : executor.invokeAll(chefs))
+        chef.get();
+      running.set(false);
+      sampler.get();
+
+      Assertions.assertThat(taken).isNotEmpty();
+      Assertions.assertThat(takenTwice).isEmpty();
+      Assertions.assertThat(overThreshold.get()).isZero();
+      Assertions.assertThat(chefIds)
+          .allMatch(chefId -> orders.canTakeAnyOrder(chefId, 2L));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void orderCreatedOnANode_ShouldGetAnEstimateOnAnotherNode() throws InterruptedException {
+    final Long pizzaId = bean(0, PizzaRepository.class).findAll().get(0).getId();
+    final OrderDto created = bean(1, OrderService.class)
+        .save((OrderInternalReq) new OrderInternalReq().pizzas(List.of(pizzaId)));
+
+    // The creation event is replayed on node 0 by its next poll
+    final Instant deadline = Instant.now().plus(Duration.ofSeconds(10));
+    OrderDto seen = findByCode(0, created.getCode());
+    while (seen.getEstimatedReadyDate() == null && OrderStatus.CREATED.equals(seen.getStatus()) && Instant.now().isBefore(deadline)) {
+      Thread.sleep(50);
+      seen = findByCode(0, created.getCode());
+    }
+
+    Assertions.assertThat(seen.getEstimatedReadyDate())
+        .isNotNull();
+  }
+}
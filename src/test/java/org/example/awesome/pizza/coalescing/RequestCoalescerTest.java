@@ -0,0 +1,30 @@
+package org.example.awesome.pizza.coalescing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class RequestCoalescerTest {
+
+  @Test
+  void group_WhenMetricsAvailable_ShouldExposeExecutedAndCollapsedCalls() {
+    final MeterRegistry registry = new SimpleMeterRegistry();
+    final SingleFlight<Long, String> group = new RequestCoalescer(registry).group("order.by-code");
+
+    group.execute(1L, () -> "order");
+
+    Assertions.assertThat(registry.get(RequestCoalescer.METRIC).tags("group", "order.by-code", "outcome", "executed").functionCounter().count())
+        .isEqualTo(1.0);
+    Assertions.assertThat(registry.get(RequestCoalescer.METRIC).tags("group", "order.by-code", "outcome", "collapsed").functionCounter().count())
+        .isZero();
+  }
+
+  @Test
+  void group_WhenNoMetrics_ShouldStillCoalesce() {
+    final SingleFlight<Long, String> group = new RequestCoalescer(null).group("order.by-code");
+
+    Assertions.assertThat(group.execute(1L, () -> "order"))
+        .isEqualTo("order");
+  }
+}
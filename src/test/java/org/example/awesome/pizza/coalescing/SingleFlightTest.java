@@ -0,0 +1,156 @@
+package org.example.awesome.pizza.coalescing;
+
+import org.assertj.core.api.Assertions;
+import org.example.awesome.pizza.exception.NotFoundException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class SingleFlightTest {
+  private static final int CALLERS = 8;
+
+  private final SingleFlight<String, String> underTest = new SingleFlight<>();
+
+  @Test
+  void execute_WhenSequentialCalls_ShouldRunEachLoader() {
+    final AtomicInteger loads = new AtomicInteger();
+
+    underTest.execute("margh", () -> "v" + loads.incrementAndGet());
+    final String second = underTest.execute("margh", () -> "v" + loads.incrementAndGet());
+
+    Assertions.assertThat(second).isEqualTo("v2");
+    Assertions.assertThat(underTest.executed()).isEqualTo(2);
+    Assertions.assertThat(underTest.collapsed()).isZero();
+  }
+
+  @Test
+  void execute_WhenConcurrentIdenticalCalls_ShouldShareOneLoad() throws Exception {
+    final AtomicInteger loads = new AtomicInteger();
+    final CountDownLatch leaderStarted = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+    try {
+      final Future<String> leader = executor.submit(() -> underTest.execute("margh", () -> {
+        leaderStarted.countDown();
+        await(release);
+        return "result-" + loads.incrementAndGet();
+      }));
+      Assertions.assertThat(leaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+      final List<Future<String>> followers = new ArrayList<>();
+      for (int i = 1; i < CALLERS; i++)
+        followers.add(executor.submit(() -> underTest.execute("margh", () -> "result-" + loads.incrementAndGet())));
+
+      // Wait for all the followers to join the in flight call before completing it
+      while (underTest.collapsed() < CALLERS - 1)
+        Thread.onSpinWait();
+      release.countDown();
+
+      Assertions.assertThat(leader.get()).isEqualTo("result-1");
+      for (final Future<String> follower : followers)
+        Assertions.assertThat(follower.get()).isEqualTo("result-1");
+      Assertions.assertThat(loads.get()).isEqualTo(1);
+      Assertions.assertThat(underTest.executed()).isEqualTo(1);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void execute_WhenMutableResult_ShouldGiveEachCallerItsOwnCopy() throws Exception {
+    final SingleFlight<String, List<String>> mutable = new SingleFlight<>(ArrayList::new);
+    final CountDownLatch leaderStarted = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    try {
+      final Future<List<String>> leader = executor.submit(() -> mutable.execute("margh", () -> {
+        leaderStarted.countDown();
+        await(release);
+        return new ArrayList<>(List.of("margherita"));
+      }));
+      Assertions.assertThat(leaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+      final Future<List<String>> follower = executor.submit(() -> mutable.execute("margh", List::of));
+      while (mutable.collapsed() < 1)
+        Thread.onSpinWait();
+      release.countDown();
+
+      // One caller changing its result does not affect the others
+      leader.get().add("diavola");
+      Assertions.assertThat(follower.get()).containsExactly("margherita");
+      Assertions.assertThat(mutable.executed()).isEqualTo(1);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void execute_WhenForgotten_ShouldRunNewLoaderForLaterCallers() throws Exception {
+    final CountDownLatch leaderStarted = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    try {
+      final Future<String> leader = executor.submit(() -> underTest.execute("margh", () -> {
+        leaderStarted.countDown();
+        await(release);
+        return "before-write";
+      }));
+      Assertions.assertThat(leaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+      underTest.forget("margh");
+
+      Assertions.assertThat(underTest.execute("margh", () -> "after-write")).isEqualTo("after-write");
+      release.countDown();
+      Assertions.assertThat(leader.get()).isEqualTo("before-write");
+      Assertions.assertThat(underTest.executed()).isEqualTo(2);
+      Assertions.assertThat(underTest.collapsed()).isZero();
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void execute_WhenLeaderFails_ShouldShareExceptionAndNotRetainIt() throws Exception {
+    final CountDownLatch leaderStarted = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    try {
+      final Future<String> leader = executor.submit(() -> underTest.execute("missing", () -> {
+        leaderStarted.countDown();
+        await(release);
+        throw new NotFoundException("No orders found");
+      }));
+      Assertions.assertThat(leaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+      final Future<String> follower = executor.submit(() -> underTest.execute("missing", () -> "unexpected"));
+      while (underTest.collapsed() < 1)
+        Thread.onSpinWait();
+      release.countDown();
+
+      Assertions.assertThatThrownBy(leader::get).hasCauseInstanceOf(NotFoundException.class);
+      Assertions.assertThatThrownBy(follower::get).hasCauseInstanceOf(NotFoundException.class);
+    } finally {
+      executor.shutdownNow();
+    }
+
+    Assertions.assertThat(underTest.execute("missing", () -> "found"))
+        .isEqualTo("found");
+  }
+
+  private static void await(final CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,79 @@
+package org.example.awesome.pizza.collection;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+class LongLongHashMapTest {
+  private static final long MISSING = -1;
+
+  private final LongLongHashMap underTest = new LongLongHashMap(4, MISSING);
+
+  private static long nullToMissing(final Long value) {
+    return value == null ? MISSING : value;
+  }
+
+  @Test
+  void get_WhenAbsent_ShouldReturnMissingValue() {
+    Assertions.assertThat(underTest.get(42)).isEqualTo(MISSING);
+    Assertions.assertThat(underTest.containsKey(42)).isFalse();
+    Assertions.assertThat(underTest.remove(42)).isEqualTo(MISSING);
+  }
+
+  @Test
+  void put_ShouldReplaceAndReturnPrevious() {
+    Assertions.assertThat(underTest.put(7, 70)).isEqualTo(MISSING);
+    Assertions.assertThat(underTest.put(7, 71)).isEqualTo(70);
+
+    Assertions.assertThat(underTest.get(7)).isEqualTo(71);
+    Assertions.assertThat(underTest.size()).isEqualTo(1);
+  }
+
+  @Test
+  void put_WhenZeroKey_ShouldKeepItApart() {
+    underTest.put(0, 5);
+    underTest.put(1, 6);
+
+    Assertions.assertThat(underTest.get(0)).isEqualTo(5);
+    Assertions.assertThat(underTest.size()).isEqualTo(2);
+    Assertions.assertThat(underTest.remove(0)).isEqualTo(5);
+    Assertions.assertThat(underTest.containsKey(0)).isFalse();
+    Assertions.assertThat(underTest.get(1)).isEqualTo(6);
+  }
+
+  @Test
+  void put_WhenSequentialKeys_ShouldGrow() {
+    for (long key = 1; key <= 100_000; key++)
+      underTest.put(key, key * 10);
+
+    Assertions.assertThat(underTest.size()).isEqualTo(100_000);
+    for (long key = 1; key <= 100_000; key++)
+      Assertions.assertThat(underTest.get(key)).isEqualTo(key * 10);
+    Assertions.assertThat(underTest.footprint()).isLessThanOrEqualTo(100_000L * 16 * 4);
+  }
+
+  @Test
+  void operations_ShouldMatchHashMap() {
+    final Map<Long, Long> expected = new HashMap<>();
+    final Random random = new Random(48);
+
+    // Narrow key range, so that removals shift back long probe runs
+    for (int i = 0; i < 200_000; i++) {
+      final long key = random.nextInt(2_000) - 1_000;
+      if (random.nextInt(3) == 0)
+        Assertions.assertThat(underTest.remove(key)).isEqualTo(nullToMissing(expected.remove(key)));
+      else
+        Assertions.assertThat(underTest.put(key, i)).isEqualTo(nullToMissing(expected.put(key, (long) i)));
+    }
+
+    Assertions.assertThat(underTest.size()).isEqualTo(expected.size());
+    expected.forEach((key, value) -> Assertions.assertThat(underTest.get(key)).isEqualTo(value));
+
+    final Map<Long, Long> visited = new HashMap<>();
+    underTest.forEach(visited::put);
+    Assertions.assertThat(visited).isEqualTo(expected);
+  }
+}
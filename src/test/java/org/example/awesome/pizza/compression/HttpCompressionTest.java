@@ -0,0 +1,114 @@
+package org.example.awesome.pizza.compression;
+
+import org.assertj.core.api.Assertions;
+import org.example.awesome.pizza.AwesomePizzaApplication;
+import org.example.awesome.pizza.domain.Pizza;
+import org.example.awesome.pizza.model.OrderInternalReq;
+import org.example.awesome.pizza.repository.PizzaRepository;
+import org.example.awesome.pizza.service.OrderService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Checks that the order list and the menu are gzip compressed on a running server, when accepted, and that HTTP/2
+ * is negotiated by cleartext upgrade (h2c). Latencies are measured by the HttpCompressionBenchmark
+ */
+class HttpCompressionTest {
+  private static final int ORDERS = 200;
+
+  private static ConfigurableApplicationContext context;
+  private static String baseUrl;
+
+  @BeforeAll
+  static void startServer() {
+    context = new SpringApplicationBuilder(AwesomePizzaApplication.class)
+        .run(
+            "--server.port=0",
+            "--spring.main.banner-mode=off",
+            "--spring.datasource.url=jdbc:h2:mem:http-compression;MODE=MSSQLServer",
+            "--awesome-pizza.config.archive.enabled=false",
+            "--awesome-pizza.config.http-log=false",
+            "--logging.level.org.hibernate.SQL=WARN",
+            "--logging.level.org.hibernate.orm.jdbc.bind=WARN",
+            "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+    baseUrl = "http://localhost:%s".formatted(context.getEnvironment().getProperty("local.server.port"));
+
+    final List<Long> pizzaIds = context.getBean(PizzaRepository.class).findAll().stream()
+        .map(Pizza::getId)
+        .toList();
+    final OrderService orderService = context.getBean(OrderService.class);
+    context.getBean(TransactionTemplate.class).executeWithoutResult(status -> IntStream.range(0, ORDERS)
+        .forEach(i -> orderService.save((OrderInternalReq) new OrderInternalReq()
+            .pizzas(List.of(pizzaIds.get(i % pizzaIds.size()), pizzaIds.get((i + 1) % pizzaIds.size()))))));
+  }
+
+  @AfterAll
+  static void stopServer() {
+    context.close();
+  }
+
+  private static HttpResponse<byte[]> get(final HttpClient client, final String path, final String encoding) throws Exception {
+    return client.send(HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .header(HttpHeaders.ACCEPT_ENCODING, encoding)
+            .build(),
+        HttpResponse.BodyHandlers.ofByteArray());
+  }
+
+  private static String gunzip(final byte[] content) throws IOException {
+    try (final GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(content))) {
+      return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    }
+  }
+
+  private static String withoutEstimates(final String json) {
+    return json.replaceAll("\"estimatedReadyDate\":\"[^\"]*\"", "");
+  }
+
+  private static void assertCompressed(final HttpClient client, final String path, final int minRatio) throws Exception {
+    final HttpResponse<byte[]> plain = get(client, path, "identity");
+    final HttpResponse<byte[]> gzip = get(client, path, "gzip");
+
+    Assertions.assertThat(plain.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).isEmpty();
+    Assertions.assertThat(gzip.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).hasValue("gzip");
+    Assertions.assertThat(gzip.body()).hasSizeLessThan(plain.body().length / minRatio);
+    // Estimates move with the clock between the two requests
+    Assertions.assertThat(withoutEstimates(gunzip(gzip.body())))
+        .isEqualTo(withoutEstimates(new String(plain.body(), StandardCharsets.UTF_8)));
+  }
+
+  @Test
+  void orderList_ShouldBeCompressed() throws Exception {
+    assertCompressed(HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build(), "/order", 10);
+  }
+
+  @Test
+  void menu_ShouldBeServedPrecompressed() throws Exception {
+    assertCompressed(HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build(), "/pizza", 2);
+  }
+
+  @Test
+  void cleartextUpgrade_ShouldNegotiateHttp2() throws Exception {
+    final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_2).build();
+
+    final HttpResponse<byte[]> upgraded = get(client, "/pizza", "gzip");
+    Assertions.assertThat(upgraded.version()).isEqualTo(HttpClient.Version.HTTP_2);
+
+    assertCompressed(client, "/order", 10);
+  }
+}
@@ -0,0 +1,178 @@
+package org.example.awesome.pizza.compression;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.assertj.core.api.Assertions;
+import org.example.awesome.pizza.event.PizzaMenuChangedEvent;
+import org.example.awesome.pizza.interceptor.RateLimitInterceptor;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+class PrecompressedMenuFilterTest {
+  private static final String MENU = "[{\"name\":\"Margherita\",\"description\":\"Pomodoro, mozzarella, basilico\"}]";
+
+  private final PrecompressedMenuFilter underTest = new PrecompressedMenuFilter(new RateLimitInterceptor(
+      new ClassPathResource("openapi.yaml"), "X-API-Key", 100, Duration.ofMinutes(1), null), true, true, 2);
+  private final AtomicInteger reads = new AtomicInteger();
+  private int status = HttpServletResponse.SC_OK;
+
+  private final FilterChain chain = (request, response) -> {
+    reads.incrementAndGet();
+    final HttpServletResponse httpResponse = (HttpServletResponse) response;
+    httpResponse.setStatus(status);
+    httpResponse.setContentType("application/json");
+    httpResponse.getOutputStream().write(MENU.getBytes(StandardCharsets.UTF_8));
+  };
+
+  private static MockHttpServletRequest menuRequest(final String searchString) {
+    final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/pizza");
+    request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate");
+    if (searchString != null)
+      request.setParameter("searchString", searchString);
+    return request;
+  }
+
+  private MockHttpServletResponse perform(final MockHttpServletRequest request) throws Exception {
+    final MockHttpServletResponse response = new MockHttpServletResponse();
+    underTest.doFilter(request, response, chain);
+    return response;
+  }
+
+  private static String gunzip(final byte[] content) throws Exception {
+    try (final GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(content))) {
+      return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    }
+  }
+
+  @Test
+  void doFilter_WhenGzipAccepted_ShouldResponseCompressedMenu() throws Exception {
+    final MockHttpServletResponse response = perform(menuRequest(null));
+
+    Assertions.assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_OK);
+    Assertions.assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+    Assertions.assertThat(response.getHeaders(HttpHeaders.VARY)).containsExactly(HttpHeaders.ACCEPT_ENCODING, HttpHeaders.ACCEPT);
+    Assertions.assertThat(response.getContentType()).isEqualTo("application/json");
+    Assertions.assertThat(gunzip(response.getContentAsByteArray())).isEqualTo(MENU);
+  }
+
+  @Test
+  void doFilter_WhenSameMenuRequestedAgain_ShouldServeFromCache() throws Exception {
+    perform(menuRequest("Marg"));
+    final MockHttpServletResponse response = perform(menuRequest("marg"));
+
+    Assertions.assertThat(reads).hasValue(1);
+    Assertions.assertThat(gunzip(response.getContentAsByteArray())).isEqualTo(MENU);
+  }
+
+  @Test
+  void doFilter_WhenServedFromCache_ShouldChargeRateLimit() throws Exception {
+    // The menu allows bursts of 20 requests per client
+    for (int i = 0; i < 20; i++)
+      Assertions.assertThat(perform(menuRequest(null)).getStatus()).isEqualTo(HttpServletResponse.SC_OK);
+
+    final MockHttpServletResponse response = perform(menuRequest(null));
+
+    Assertions.assertThat(response.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+    Assertions.assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isNotNull();
+    Assertions.assertThat(reads).hasValue(1);
+  }
+
+  @Test
+  void doFilter_WhenRateLimitDisabled_ShouldNotCharge() throws Exception {
+    final PrecompressedMenuFilter unlimited = new PrecompressedMenuFilter(new RateLimitInterceptor(
+        new ClassPathResource("openapi.yaml"), "X-API-Key", 100, Duration.ofMinutes(1), null), false, true, 2);
+
+    for (int i = 0; i < 30; i++) {
+      final MockHttpServletResponse response = new MockHttpServletResponse();
+      unlimited.doFilter(menuRequest(null), response, chain);
+      Assertions.assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_OK);
+    }
+  }
+
+  @Test
+  void doFilter_WhenGzipRefused_ShouldPassThrough() throws Exception {
+    final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/pizza");
+    request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, deflate");
+
+    final MockHttpServletResponse response = perform(request);
+
+    Assertions.assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+    Assertions.assertThat(response.getContentAsString()).isEqualTo(MENU);
+  }
+
+  @Test
+  void acceptsGzip_ShouldHonourQualityValues() {
+    Assertions.assertThat(PrecompressedMenuFilter.acceptsGzip("gzip")).isTrue();
+    Assertions.assertThat(PrecompressedMenuFilter.acceptsGzip("deflate, GZIP;q=0.5")).isTrue();
+    Assertions.assertThat(PrecompressedMenuFilter.acceptsGzip("*")).isTrue();
+    Assertions.assertThat(PrecompressedMenuFilter.acceptsGzip("gzip; q=0.0, *")).isFalse();
+    Assertions.assertThat(PrecompressedMenuFilter.acceptsGzip("*;q=0")).isFalse();
+    Assertions.assertThat(PrecompressedMenuFilter.acceptsGzip("x-gzip-like, deflate")).isFalse();
+    Assertions.assertThat(PrecompressedMenuFilter.acceptsGzip(null)).isFalse();
+  }
+
+  @Test
+  void doFilter_WhenMenuChanged_ShouldReadAgain() throws Exception {
+    perform(menuRequest(null));
+    underTest.onMenuChanged(new PizzaMenuChangedEvent(1L));
+    perform(menuRequest(null));
+
+    Assertions.assertThat(reads).hasValue(2);
+  }
+
+  @Test
+  void doFilter_WhenCacheFull_ShouldNotCacheOtherMenus() throws Exception {
+    perform(menuRequest("a"));
+    perform(menuRequest("b"));
+    perform(menuRequest("c"));
+    perform(menuRequest("c"));
+
+    Assertions.assertThat(reads).hasValue(4);
+  }
+
+  @Test
+  void doFilter_WhenGzipNotAccepted_ShouldPassThrough() throws Exception {
+    final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/pizza");
+
+    final MockHttpServletResponse response = perform(request);
+    perform(request);
+
+    Assertions.assertThat(reads).hasValue(2);
+    Assertions.assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+    Assertions.assertThat(response.getContentAsString()).isEqualTo(MENU);
+  }
+
+  @Test
+  void doFilter_WhenNotMenu_ShouldPassThrough() throws Exception {
+    final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/order");
+    request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip");
+
+    final MockHttpServletResponse response = perform(request);
+
+    Assertions.assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+    Assertions.assertThat(response.getContentAsString()).isEqualTo(MENU);
+  }
+
+  @Test
+  void doFilter_WhenError_ShouldNotCache() throws Exception {
+    status = HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+
+    final MockHttpServletResponse response = perform(menuRequest(null));
+    perform(menuRequest(null));
+
+    Assertions.assertThat(reads).hasValue(2);
+    Assertions.assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+    Assertions.assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+    Assertions.assertThat(response.getContentAsString()).isEqualTo(MENU);
+  }
+}
@@ -0,0 +1,77 @@
+package org.example.awesome.pizza.config;
+
+import net.ttddyy.dsproxy.proxy.ProxyJdbcObject;
+import org.assertj.core.api.Assertions;
+import org.example.awesome.pizza.domain.utils.CodeSequenceGenerator;
+import org.example.awesome.pizza.event.OrderStatusChangedEvent;
+import org.example.awesome.pizza.model.OrderDto;
+import org.example.awesome.pizza.model.OrderInternalReq;
+import org.example.awesome.pizza.model.OrderStatus;
+import org.example.awesome.pizza.model.PizzaDto;
+import org.example.awesome.pizza.model.SalesPointDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.FieldSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+class NativeRuntimeHintsTest {
+  private final RuntimeHints hints = new RuntimeHints();
+
+  @BeforeEach
+  void setUp() {
+    new NativeRuntimeHints().registerHints(hints, getClass().getClassLoader());
+  }
+
+  @ParameterizedTest
+  @FieldSource("org.example.awesome.pizza.config.NativeRuntimeHints#ENTITIES")
+  void registerHints_ShouldAllowHibernateOnEntities(final Class<?> entity) {
+    Assertions.assertThat(RuntimeHintsPredicates.reflection().onType(entity)
+            .withMemberCategories(MemberCategory.DECLARED_FIELDS, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS))
+        .accepts(hints);
+  }
+
+  @ParameterizedTest
+  @FieldSource("org.example.awesome.pizza.config.NativeRuntimeHints#MAPPERS")
+  void registerHints_ShouldAllowInstantiatingMappers(final Class<?> mapper) {
+    Assertions.assertThat(RuntimeHintsPredicates.reflection().onType(mapper)
+            .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS))
+        .accepts(hints);
+  }
+
+  @ParameterizedTest
+  @FieldSource("org.example.awesome.pizza.config.NativeRuntimeHints#PROJECTIONS")
+  void registerHints_ShouldAllowInstantiatingProjections(final Class<?> projection) {
+    Assertions.assertThat(RuntimeHintsPredicates.reflection().onType(projection)
+            .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS))
+        .accepts(hints);
+  }
+
+  @Test
+  void registerHints_ShouldAllowInstantiatingCodeGenerator() {
+    Assertions.assertThat(RuntimeHintsPredicates.reflection().onType(CodeSequenceGenerator.class)
+            .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS))
+        .accepts(hints);
+  }
+
+  @ParameterizedTest
+  @FieldSource("org.example.awesome.pizza.config.NativeRuntimeHints#PROXIED_JDBC")
+  void registerHints_ShouldAllowProxyingJdbcObjects(final Class<?> type) {
+    Assertions.assertThat(RuntimeHintsPredicates.proxies().forInterfaces(ProxyJdbcObject.class, type)).accepts(hints);
+  }
+
+  @Test
+  void registerHints_ShouldIncludeOpenApiSpec() {
+    Assertions.assertThat(RuntimeHintsPredicates.resource().forResource("openapi.yaml")).accepts(hints);
+  }
+
+  @ParameterizedTest
+  @ValueSource(classes = {OrderDto.class, PizzaDto.class, OrderInternalReq.class, OrderStatus.class,
+      SalesPointDto.class, OrderStatusChangedEvent.class})
+  void registerHints_ShouldAllowJsonBinding(final Class<?> type) {
+    Assertions.assertThat(RuntimeHintsPredicates.reflection().onType(type)).accepts(hints);
+  }
+}
@@ -0,0 +1,63 @@
+package org.example.awesome.pizza.config;
+
+import org.assertj.core.api.Assertions;
+import org.example.awesome.pizza.domain.BaseEntity;
+import org.example.awesome.pizza.domain.Order;
+import org.example.awesome.pizza.domain.Pizza;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
+
+import java.util.HashMap;
+import java.util.Map;
+
+class SchemaSetupCustomizerTest {
+  private final DriverManagerDataSource dataSource =
+      new DriverManagerDataSource("jdbc:h2:mem:schema-setup;DB_CLOSE_DELAY=-1", "sa", "");
+  private final JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+  private final PersistenceManagedTypes managedTypes =
+      PersistenceManagedTypes.of(BaseEntity.class.getName(), Pizza.class.getName(), Order.class.getName());
+
+  private SchemaSetupCustomizer underTest;
+  private Map<String, Object> properties;
+
+  @BeforeEach
+  void setUp() {
+    jdbc.execute("drop schema if exists AWESOMESCHEMA cascade");
+    jdbc.execute("create schema AWESOMESCHEMA");
+    underTest = new SchemaSetupCustomizer(dataSource, managedTypes, "AwesomeSchema");
+    properties = new HashMap<>(Map.of(AvailableSettings.HBM2DDL_AUTO, "update"));
+  }
+
+  @Test
+  void customize_WhenAllTablesExist_ShouldSkipSchemaUpdate() {
+    jdbc.execute("create table AWESOMESCHEMA.pizza(id bigint)");
+    jdbc.execute("create table AWESOMESCHEMA.orders(id bigint)");
+
+    underTest.customize(properties);
+
+    Assertions.assertThat(properties).containsEntry(AvailableSettings.HBM2DDL_AUTO, "none");
+  }
+
+  @Test
+  void customize_WhenAnyTableMissing_ShouldKeepSchemaUpdate() {
+    jdbc.execute("create table AWESOMESCHEMA.pizza(id bigint)");
+
+    underTest.customize(properties);
+
+    Assertions.assertThat(properties).containsEntry(AvailableSettings.HBM2DDL_AUTO, "update");
+  }
+
+  @Test
+  void customize_WhenTablesInOtherSchema_ShouldKeepSchemaUpdate() {
+    jdbc.execute("create table PUBLIC.pizza(id bigint)");
+    jdbc.execute("create table PUBLIC.orders(id bigint)");
+
+    underTest.customize(properties);
+
+    Assertions.assertThat(properties).containsEntry(AvailableSettings.HBM2DDL_AUTO, "update");
+  }
+}
@@ -0,0 +1,76 @@
+package org.example.awesome.pizza.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.awesome.pizza.exception.BadRequestException;
+import org.example.awesome.pizza.exception.GlobalExceptionHandler;
+import org.example.awesome.pizza.model.SalesGranularity;
+import org.example.awesome.pizza.model.SalesGroupBy;
+import org.example.awesome.pizza.model.SalesPointDto;
+import org.example.awesome.pizza.service.SalesAnalyticsService;
+import org.instancio.Instancio;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = {AnalyticsController.class})
+@ContextConfiguration(classes = {AnalyticsController.class, GlobalExceptionHandler.class})
+class AnalyticsControllerTest {
+  private final String resourceUrl = "/analytics/sales";
+
+  @Autowired
+  private MockMvc mockMvc;
+  @Autowired
+  private ObjectMapper mapper;
+
+  @MockitoBean
+  private SalesAnalyticsService service;
+
+  @Test
+  void findSales_WhenMissingRange_ShouldResponseBadRequest() throws Exception {
+    this.mockMvc.perform(get(resourceUrl).param("from", "2025-01-23T17:00:00Z"))
+        .andExpect(status().isBadRequest());
+
+    verify(service, never()).findSales(any(), any(), any(), any());
+  }
+
+  @Test
+  void findSales_WhenBadRangeFromService_ShouldResponseBadRequest() throws Exception {
+    doThrow(new BadRequestException("Bad request")).when(service).findSales(any(), any(), any(), any());
+
+    this.mockMvc.perform(get(resourceUrl)
+            .param("from", "2025-01-23T18:00:00Z")
+            .param("to", "2025-01-23T17:00:00Z"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void findSales_WhenNoErrors_ShouldReturnOK() throws Exception {
+    final List<SalesPointDto> results = Instancio.createList(SalesPointDto.class);
+    doReturn(results).when(service).findSales(any(), any(), eq(SalesGranularity.DAY), eq(SalesGroupBy.PIZZA));
+
+    this.mockMvc.perform(get(resourceUrl)
+            .param("from", "2025-01-23T00:00:00Z")
+            .param("to", "2025-01-30T00:00:00Z")
+            .param("granularity", "DAY")
+            .param("groupBy", "PIZZA"))
+        .andExpect(status().isOk())
+        .andExpect(content().bytes(mapper.writeValueAsBytes(results)));
+
+    verify(service).findSales(any(), any(), eq(SalesGranularity.DAY), eq(SalesGroupBy.PIZZA));
+  }
+}
@@ -0,0 +1,127 @@
+package org.example.awesome.pizza.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.awesome.pizza.config.AsyncReadConfig;
+import org.example.awesome.pizza.exception.GlobalExceptionHandler;
+import org.example.awesome.pizza.exception.NotFoundException;
+import org.example.awesome.pizza.model.OrderDto;
+import org.example.awesome.pizza.model.PizzaDto;
+import org.example.awesome.pizza.service.OrderService;
+import org.example.awesome.pizza.service.PizzaService;
+import org.instancio.Instancio;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = {AsyncReadController.class})
+@ContextConfiguration(classes = {AsyncReadController.class, GlobalExceptionHandler.class, AsyncReadConfig.class})
+class AsyncReadControllerTest {
+  private final String resourceUrl = "/async";
+
+  @Autowired
+  private MockMvc mockMvc;
+  @Autowired
+  private ObjectMapper mapper;
+
+  @MockitoBean
+  private OrderService orderService;
+  @MockitoBean
+  private PizzaService pizzaService;
+  @MockitoBean
+  private PlatformTransactionManager transactionManager;
+  @MockitoSpyBean
+  private ThreadPoolTaskExecutor executor;
+
+  private MvcResult performAsync(final RequestBuilder requestBuilder) throws Exception {
+    final MvcResult started = this.mockMvc.perform(requestBuilder)
+        .andExpect(request().asyncStarted())
+        .andReturn();
+    started.getAsyncResult();
+    return this.mockMvc.perform(asyncDispatch(started)).andReturn();
+  }
+
+  @Test
+  void findOrderByCode_WhenNoErrors_ShouldResponseOk() throws Exception {
+    final Long code = 1L;
+    final OrderDto result = Instancio.create(OrderDto.class);
+    doReturn(result).when(orderService).findByCode(code);
+
+    final MvcResult response = performAsync(get(resourceUrl.concat("/order/code/{code}"), code));
+
+    status().isOk().match(response);
+    content().bytes(mapper.writeValueAsBytes(result)).match(response);
+    verify(orderService).findByCode(code);
+    // The service opens its own transaction, only if it queries the DB
+    verify(transactionManager, never()).getTransaction(any());
+  }
+
+  @Test
+  void findOrderByCode_WhenNoEntityFound_ShouldResponseNotFound() throws Exception {
+    final Long code = 0L;
+    doThrow(new NotFoundException("Not found")).when(orderService).findByCode(code);
+
+    final MvcResult response = performAsync(get(resourceUrl.concat("/order/code/{code}"), code));
+
+    status().isNotFound().match(response);
+    verify(orderService).findByCode(code);
+  }
+
+  @Test
+  void findOrderById_WhenNoErrors_ShouldResponseOk() throws Exception {
+    final Long id = 1L;
+    final OrderDto result = Instancio.create(OrderDto.class);
+    doReturn(result).when(orderService).findById(id);
+
+    final MvcResult response = performAsync(get(resourceUrl.concat("/order/{id}"), id));
+
+    status().isOk().match(response);
+    content().bytes(mapper.writeValueAsBytes(result)).match(response);
+    verify(orderService).findById(id);
+  }
+
+  @Test
+  void findOrderById_WhenExecutorSaturated_ShouldResponseServiceUnavailable() throws Exception {
+    final Long id = 1L;
+    doThrow(new TaskRejectedException("Queue full")).when(executor).execute(any());
+
+    final MvcResult response = performAsync(get(resourceUrl.concat("/order/{id}"), id));
+
+    status().isServiceUnavailable().match(response);
+    verify(orderService, never()).findById(any());
+  }
+
+  @Test
+  void findPizzas_WhenNoErrors_ShouldResponseOk() throws Exception {
+    final String searchString = "marg";
+    final List<PizzaDto> result = Instancio.ofList(PizzaDto.class).size(3).create();
+    doReturn(result).when(pizzaService).findByFilter(searchString);
+
+    final MvcResult response = performAsync(get(resourceUrl.concat("/pizza")).param("searchString", searchString));
+
+    status().isOk().match(response);
+    content().bytes(mapper.writeValueAsBytes(result)).match(response);
+    verify(pizzaService).findByFilter(searchString);
+  }
+}
@@ -0,0 +1,94 @@
+package org.example.awesome.pizza.controller;
+
+import org.assertj.core.api.Assertions;
+import org.example.awesome.pizza.AwesomePizzaApplication;
+import org.example.awesome.pizza.model.OrderDto;
+import org.example.awesome.pizza.model.OrderInternalReq;
+import org.example.awesome.pizza.repository.PizzaRepository;
+import org.example.awesome.pizza.service.OrderService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Opens more concurrent connections against the async read endpoints than the request threads of Tomcat, which
+ * are released while the read runs: the burst of a thousand connections is run by the ConnectionBurstRunner of
+ * the load test
+ */
+class AsyncReadDispatchTest {
+  private static final int TOMCAT_THREADS = 2;
+  private static final int CONNECTIONS = 8 * TOMCAT_THREADS;
+
+  private static ConfigurableApplicationContext context;
+  private static String baseUrl;
+  private static OrderDto order;
+
+  @BeforeAll
+  static void startServer() {
+    context = new SpringApplicationBuilder(AwesomePizzaApplication.class)
+        .run(
+            "--server.port=0",
+            "--spring.main.banner-mode=off",
+            "--spring.datasource.url=jdbc:h2:mem:async-dispatch;MODE=MSSQLServer",
+            "--server.tomcat.threads.max=" + TOMCAT_THREADS,
+            "--server.tomcat.max-connections=" + (CONNECTIONS + 100),
+            "--server.tomcat.accept-count=" + CONNECTIONS,
+            "--awesome-pizza.config.async-read.threads=8",
+            "--awesome-pizza.config.async-read.queue-capacity=" + CONNECTIONS,
+            "--awesome-pizza.config.archive.enabled=false",
+            "--awesome-pizza.config.http-log=false",
+            "--awesome-pizza.config.rate-limit.enabled=false",
+            "--logging.level.org.hibernate.SQL=WARN",
+            "--logging.level.org.hibernate.orm.jdbc.bind=WARN",
+            "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+    baseUrl = "http://localhost:%s/async".formatted(context.getEnvironment().getProperty("local.server.port"));
+
+    final Long pizzaId = context.getBean(PizzaRepository.class).findAll().get(0).getId();
+    order = context.getBean(TransactionTemplate.class).execute(status -> context.getBean(OrderService.class)
+        .save((OrderInternalReq) new OrderInternalReq().pizzas(List.of(pizzaId))));
+  }
+
+  @AfterAll
+  static void stopServer() {
+    context.close();
+  }
+
+  @Test
+  void concurrentConnections_ShouldAllBeServed() {
+    final List<URI> uris = List.of(
+        URI.create("%s/order/code/%d".formatted(baseUrl, order.getCode())),
+        URI.create("%s/order/%d".formatted(baseUrl, order.getId())),
+        URI.create("%s/pizza?searchString=a".formatted(baseUrl)));
+
+    final HttpClient client = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofSeconds(30))
+        .build();
+    // All requests are sent at once: the client opens a connection for each one
+    final List<CompletableFuture<Integer>> responses = IntStream.range(0, CONNECTIONS)
+        .mapToObj(i -> HttpRequest.newBuilder(uris.get(i % uris.size())).timeout(Duration.ofSeconds(60)).build())
+        .map(request -> client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+            .thenApply(HttpResponse::statusCode))
+        .toList();
+    final Map<Integer, Long> statuses = responses.stream()
+        .map(CompletableFuture::join)
+        .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+
+    Assertions.assertThat(statuses).containsExactly(Map.entry(200, (long) CONNECTIONS));
+  }
+}
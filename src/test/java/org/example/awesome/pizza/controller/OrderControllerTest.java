@@ -1,6 +1,8 @@
 package org.example.awesome.pizza.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.assertj.core.api.Assertions;
+import org.example.awesome.pizza.config.WireFormatConfig;
 import org.example.awesome.pizza.exception.BadRequestException;
 import org.example.awesome.pizza.exception.ConflictException;
 import org.example.awesome.pizza.exception.GlobalExceptionHandler;
@@ -21,6 +23,8 @@ import org.junit.jupiter.params.provider.NullSource;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
@@ -46,7 +50,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = {OrderController.class})
-@ContextConfiguration(classes = {OrderController.class, OrderMapperImpl.class, GlobalExceptionHandler.class})
+@ContextConfiguration(classes = {OrderController.class, OrderMapperImpl.class, GlobalExceptionHandler.class, WireFormatConfig.class})
 class OrderControllerTest {
   private final String resourceUrl = "/order";
 
@@ -54,6 +58,10 @@ class OrderControllerTest {
   private MockMvc mockMvc;
   @Autowired
   private ObjectMapper mapper;
+  @Autowired
+  private MappingJackson2CborHttpMessageConverter cborConverter;
+  @Autowired
+  private MappingJackson2SmileHttpMessageConverter smileConverter;
 
   @MockitoBean
   private OrderService service;
@@ -218,6 +226,55 @@ class OrderControllerTest {
     verify(service).findById(id);
   }
 
+  @ParameterizedTest
+  @ValueSource(strings = {"application/cbor", "application/x-jackson-smile"})
+  void findOrderById_WhenBinaryAccepted_ShouldResponseCompactEncoding(final String mediaType) throws Exception {
+    final Long id = 1L;
+    final OrderDto result = Instancio.create(OrderDto.class);
+    doReturn(result).when(service).findById(id);
+
+    final ObjectMapper binaryMapper = binaryMapper(mediaType);
+    final byte[] contentResponse = binaryMapper.writeValueAsBytes(result);
+
+    final byte[] body = this.mockMvc.perform(get(resourceUrl.concat("/{id}"), id).accept(mediaType))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType(mediaType))
+        .andExpect(content().bytes(contentResponse))
+        .andReturn().getResponse().getContentAsByteArray();
+
+    Assertions.assertThat(binaryMapper.readValue(body, OrderDto.class)).isEqualTo(result);
+    Assertions.assertThat(body).hasSizeLessThan(mapper.writeValueAsBytes(result).length);
+    verify(service).findById(id);
+  }
+
+  @Test
+  void createOrder_WhenCborRequest_ShouldResponseCbor() throws Exception {
+    final OrderInternalReq request = Instancio.of(OrderInternalReq.class)
+        .ignore(field(OrderInternalReq::getChefId))
+        .create();
+    final OrderDto dto = Instancio.of(OrderDto.class)
+        .set(field(OrderDto::getStatus), request.getStatus())
+        .set(field(OrderDto::getPizzas), request.getPizzas())
+        .create();
+    doReturn(dto).when(service).save(request);
+
+    final ObjectMapper binaryMapper = binaryMapper("application/cbor");
+
+    this.mockMvc.perform(post(resourceUrl)
+            .contentType("application/cbor")
+            .accept("application/cbor")
+            .content(binaryMapper.writeValueAsBytes(request))
+        )
+        .andExpect(status().isCreated())
+        .andExpect(content().bytes(binaryMapper.writeValueAsBytes(dto)));
+
+    verify(service).save(request);
+  }
+
+  private ObjectMapper binaryMapper(final String mediaType) {
+    return "application/cbor".equals(mediaType) ? cborConverter.getObjectMapper() : smileConverter.getObjectMapper();
+  }
+
   @ParameterizedTest
   @NullSource
   @EnumSource(value = OrderStatus.class)
@@ -266,6 +323,20 @@ class OrderControllerTest {
     verify(service).findAllOrders(statuses);
   }
 
+  @Test
+  void findOrders_WhenSummaryView_ShouldResponseSummaries() throws Exception {
+    final List<OrderStatus> statuses = List.of(OrderStatus.CREATED);
+    final List<OrderDto> results = List.of(new OrderDto().id(1L).code(10L).status(OrderStatus.CREATED));
+    doReturn(results).when(service).findOrderSummaries(statuses);
+
+    this.mockMvc.perform(get(resourceUrl).param("statuses", "CREATED").param("view", "SUMMARY"))
+        .andExpect(status().isOk())
+        .andExpect(content().bytes(mapper.writeValueAsBytes(results)));
+
+    verify(service).findOrderSummaries(statuses);
+    verify(service, never()).findAllOrders(any());
+  }
+
   @Test
   void updateOrder_WhenBadId_ShouldResponseNotFound() throws Exception {
     final Long id = null;
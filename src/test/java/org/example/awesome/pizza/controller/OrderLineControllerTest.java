@@ -0,0 +1,126 @@
+package org.example.awesome.pizza.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.awesome.pizza.config.WireFormatConfig;
+import org.example.awesome.pizza.exception.BadRequestException;
+import org.example.awesome.pizza.exception.ConflictException;
+import org.example.awesome.pizza.exception.GlobalExceptionHandler;
+import org.example.awesome.pizza.exception.NotFoundException;
+import org.example.awesome.pizza.model.OrderLineDto;
+import org.example.awesome.pizza.model.OrderStatus;
+import org.example.awesome.pizza.service.OrderLineService;
+import org.instancio.Instancio;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.instancio.Select.field;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = {OrderLineController.class})
+@ContextConfiguration(classes = {OrderLineController.class, GlobalExceptionHandler.class, WireFormatConfig.class})
+class OrderLineControllerTest {
+  private final String resourceUrl = "/order";
+
+  @Autowired
+  private MockMvc mockMvc;
+  @Autowired
+  private ObjectMapper mapper;
+
+  @MockitoBean
+  private OrderLineService service;
+
+  @Test
+  void findOrderLines_WhenFound_ShouldResponseOk() throws Exception {
+    final List<OrderLineDto> result = Instancio.ofList(OrderLineDto.class).size(3).create();
+    doReturn(result).when(service).findByOrderId(1L);
+
+    this.mockMvc.perform(get(resourceUrl.concat("/1/line")))
+        .andExpect(status().isOk())
+        .andExpect(content().bytes(mapper.writeValueAsBytes(result)));
+
+    verify(service).findByOrderId(1L);
+  }
+
+  @Test
+  void takeChargeNextLine_WhenFoundNext_ShouldResponseOk() throws Exception {
+    final OrderLineDto result = Instancio.of(OrderLineDto.class)
+        .set(field(OrderLineDto::getStatus), OrderStatus.COOKING)
+        .create();
+    doReturn(Optional.of(result)).when(service).takeNext(1L);
+
+    this.mockMvc.perform(patch(resourceUrl.concat("/line/next")).header("X-Chef-ID", 1L))
+        .andExpect(status().isOk())
+        .andExpect(content().bytes(mapper.writeValueAsBytes(result)));
+
+    verify(service).takeNext(1L);
+  }
+
+  @Test
+  void takeChargeNextLine_WhenNotFoundNext_ShouldResponseNoContent() throws Exception {
+    doReturn(Optional.empty()).when(service).takeNext(1L);
+
+    this.mockMvc.perform(patch(resourceUrl.concat("/line/next")).header("X-Chef-ID", 1L))
+        .andExpect(status().isNoContent());
+  }
+
+  @Test
+  void takeChargeNextLine_WhenConflictFromService_ShouldResponseConflict() throws Exception {
+    doThrow(new ConflictException("Conflict")).when(service).takeNext(1L);
+
+    this.mockMvc.perform(patch(resourceUrl.concat("/line/next")).header("X-Chef-ID", 1L))
+        .andExpect(status().isConflict());
+  }
+
+  @Test
+  void takeChargeNextLine_WhenNoChefId_ShouldResponseBadRequest() throws Exception {
+    this.mockMvc.perform(patch(resourceUrl.concat("/line/next")))
+        .andExpect(status().isBadRequest());
+
+    verify(service, never()).takeNext(any());
+  }
+
+  @Test
+  void completeOrderLine_WhenOk_ShouldResponseOk() throws Exception {
+    final OrderLineDto result = Instancio.of(OrderLineDto.class)
+        .set(field(OrderLineDto::getStatus), OrderStatus.DONE)
+        .create();
+    doReturn(result).when(service).complete(2L, 1L);
+
+    this.mockMvc.perform(patch(resourceUrl.concat("/line/2/done")).header("X-Chef-ID", 1L))
+        .andExpect(status().isOk())
+        .andExpect(content().bytes(mapper.writeValueAsBytes(result)));
+
+    verify(service).complete(2L, 1L);
+  }
+
+  @Test
+  void completeOrderLine_WhenNotFound_ShouldResponseNotFound() throws Exception {
+    doThrow(new NotFoundException("Not found")).when(service).complete(2L, 1L);
+
+    this.mockMvc.perform(patch(resourceUrl.concat("/line/2/done")).header("X-Chef-ID", 1L))
+        .andExpect(status().isNotFound());
+  }
+
+  @Test
+  void completeOrderLine_WhenBadRequestFromService_ShouldResponseBadRequest() throws Exception {
+    doThrow(new BadRequestException("Bad request")).when(service).complete(2L, 1L);
+
+    this.mockMvc.perform(patch(resourceUrl.concat("/line/2/done")).header("X-Chef-ID", 1L))
+        .andExpect(status().isBadRequest());
+  }
+}
@@ -0,0 +1,96 @@
+package org.example.awesome.pizza.diagnostics;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import org.assertj.core.api.Assertions;
+import org.example.awesome.pizza.AwesomePizzaApplication;
+import org.example.awesome.pizza.domain.Chef;
+import org.example.awesome.pizza.repository.ChefRepository;
+import org.example.awesome.pizza.repository.PizzaRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Records every statement of a real application context, with a sample rate of 1
+ */
+class SqlDiagnosticsTest {
+  private static ConfigurableApplicationContext context;
+  private static SqlDiagnosticsEndpoint endpoint;
+
+  @BeforeAll
+  static void startContext() {
+    context = new SpringApplicationBuilder(AwesomePizzaApplication.class)
+        .run(
+            "--spring.main.web-application-type=none",
+            "--spring.main.banner-mode=off",
+            "--spring.datasource.url=jdbc:h2:mem:sql-diagnostics;MODE=MSSQLServer",
+            "--awesome-pizza.config.archive.enabled=false",
+            "--awesome-pizza.config.sql-diagnostics.sample-rate=1",
+            "--awesome-pizza.config.sql-diagnostics.capacity=50",
+            "--awesome-pizza.config.sql-diagnostics.slow-threshold=PT1M");
+    endpoint = context.getBean(SqlDiagnosticsEndpoint.class);
+  }
+
+  @AfterAll
+  static void stopContext() {
+    context.close();
+  }
+
+  @Test
+  void dataSource_ShouldBeProxied() {
+    Assertions.assertThat(context.getBean(DataSource.class)).isInstanceOf(ProxyDataSource.class);
+  }
+
+  @Test
+  void samples_WhenQueryRead_ShouldRecordShapeWithoutRows() throws SQLException {
+    context.getBean(PizzaRepository.class).findAll();
+
+    final List<SqlSample> samples = endpoint.samples(null, 1).samples();
+
+    // Rows are not counted by default, so that ResultSets are not proxied
+    Assertions.assertThat(samples).singleElement()
+        .satisfies(sample -> Assertions.assertThat(sample.sql()).containsIgnoringCase("from").containsIgnoringCase("pizza"))
+        .matches(sample -> sample.rows() == -1)
+        .matches(SqlSample::success);
+    try (final Connection connection = context.getBean(DataSource.class).getConnection();
+         final ResultSet resultSet = connection.createStatement().executeQuery("SELECT 1")) {
+      Assertions.assertThat(Proxy.isProxyClass(resultSet.getClass())).isFalse();
+    }
+  }
+
+  @Test
+  void samples_WhenInsert_ShouldRecordUpdatedRows() {
+    context.getBean(ChefRepository.class).save(new Chef().setFirstName("Chef").setLastName("Diagnostics"));
+
+    Assertions.assertThat(endpoint.samples(null, 50).samples())
+        .anyMatch(sample -> sample.sql().toLowerCase().startsWith("insert") && sample.rows() == 1);
+  }
+
+  @Test
+  void samples_WhenSortedByDuration_ShouldListSlowestFirst() {
+    final List<SqlSample> samples = endpoint.samples("duration", 10).samples();
+
+    Assertions.assertThat(samples).hasSizeLessThanOrEqualTo(10)
+        .isSortedAccordingTo((left, right) -> Long.compare(right.durationMicros(), left.durationMicros()));
+  }
+
+  @Test
+  void samples_WhenBufferFull_ShouldKeepCapacity() {
+    final PizzaRepository pizzaRepository = context.getBean(PizzaRepository.class);
+    for (int i = 0; i < 60; i++)
+      pizzaRepository.count();
+
+    final SqlDiagnosticsEndpoint.SqlDiagnostics diagnostics = endpoint.samples(null, 1000);
+    Assertions.assertThat(diagnostics.samples()).hasSize(50);
+    Assertions.assertThat(diagnostics.recorded()).isGreaterThanOrEqualTo(60);
+  }
+}
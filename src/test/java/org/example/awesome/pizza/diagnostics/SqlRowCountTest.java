@@ -0,0 +1,51 @@
+package org.example.awesome.pizza.diagnostics;
+
+import org.assertj.core.api.Assertions;
+import org.example.awesome.pizza.AwesomePizzaApplication;
+import org.example.awesome.pizza.repository.PizzaRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+
+/**
+ * Counts the rows of the recorded queries, opted in on a real application context
+ */
+class SqlRowCountTest {
+  private static ConfigurableApplicationContext context;
+  private static SqlDiagnosticsEndpoint endpoint;
+
+  @BeforeAll
+  static void startContext() {
+    context = new SpringApplicationBuilder(AwesomePizzaApplication.class)
+        .run(
+            "--spring.main.web-application-type=none",
+            "--spring.main.banner-mode=off",
+            "--spring.datasource.url=jdbc:h2:mem:sql-row-count;MODE=MSSQLServer",
+            "--awesome-pizza.config.archive.enabled=false",
+            "--awesome-pizza.config.sql-diagnostics.sample-rate=1",
+            "--awesome-pizza.config.sql-diagnostics.slow-threshold=PT1M",
+            "--awesome-pizza.config.sql-diagnostics.count-rows=true");
+    endpoint = context.getBean(SqlDiagnosticsEndpoint.class);
+  }
+
+  @AfterAll
+  static void stopContext() {
+    context.close();
+  }
+
+  @Test
+  void samples_WhenQueryRead_ShouldRecordRows() {
+    final int menuSize = context.getBean(PizzaRepository.class).findAll().size();
+
+    final List<SqlSample> samples = endpoint.samples(null, 1).samples();
+
+    Assertions.assertThat(samples).singleElement()
+        .satisfies(sample -> Assertions.assertThat(sample.sql()).containsIgnoringCase("pizza"))
+        .matches(sample -> sample.rows() == menuSize)
+        .matches(SqlSample::success);
+  }
+}
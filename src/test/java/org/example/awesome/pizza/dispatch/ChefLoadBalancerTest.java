@@ -0,0 +1,78 @@
+package org.example.awesome.pizza.dispatch;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+class ChefLoadBalancerTest {
+
+  @Test
+  void leastLoaded_WhenNoChefs_ShouldReturnEmpty() {
+    Assertions.assertThat(new ChefLoadBalancer(1).leastLoaded())
+        .isEmpty();
+  }
+
+  @Test
+  void leastLoaded_ShouldPickChefWithLowestEstimatedLoad() {
+    final ChefLoadBalancer underTest = new ChefLoadBalancer(3);
+    underTest.assign(1L, 600);
+    underTest.assign(2L, 200);
+    underTest.assign(2L, 200);
+    underTest.register(3L);
+
+    Assertions.assertThat(underTest.leastLoaded()).contains(3L);
+
+    underTest.assign(3L, 500);
+
+    Assertions.assertThat(underTest.leastLoaded()).contains(2L);
+    Assertions.assertThat(underTest.active(2L)).isEqualTo(2);
+    Assertions.assertThat(underTest.loadMillis(2L)).isEqualTo(400L);
+  }
+
+  @Test
+  void leastLoaded_ShouldSkipChefsAtThreshold() {
+    final ChefLoadBalancer underTest = new ChefLoadBalancer(1);
+    underTest.assign(1L, 100);
+    underTest.assign(2L, 900);
+
+    Assertions.assertThat(underTest.leastLoaded()).isEmpty();
+
+    underTest.release(2L, 900);
+
+    Assertions.assertThat(underTest.leastLoaded()).contains(2L);
+  }
+
+  @Test
+  void leastLoaded_WhenExcluded_ShouldPickNextChef() {
+    final ChefLoadBalancer underTest = new ChefLoadBalancer(2);
+    underTest.register(1L);
+    underTest.assign(2L, 300);
+
+    Assertions.assertThat(underTest.leastLoaded(Set.of(1L))).contains(2L);
+    Assertions.assertThat(underTest.leastLoaded(Set.of(1L, 2L))).isEmpty();
+    Assertions.assertThat(underTest.leastLoaded(Set.of())).contains(1L);
+  }
+
+  @Test
+  void saturate_ShouldRemoveChefUntilNextRelease() {
+    final ChefLoadBalancer underTest = new ChefLoadBalancer(2);
+    underTest.register(1L);
+
+    underTest.saturate(1L);
+    Assertions.assertThat(underTest.leastLoaded()).isEmpty();
+
+    underTest.release(1L, 0);
+    Assertions.assertThat(underTest.leastLoaded()).contains(1L);
+  }
+
+  @Test
+  void release_ShouldNeverGoBelowZero() {
+    final ChefLoadBalancer underTest = new ChefLoadBalancer(1);
+
+    underTest.release(1L, 500);
+
+    Assertions.assertThat(underTest.active(1L)).isZero();
+    Assertions.assertThat(underTest.loadMillis(1L)).isZero();
+  }
+}
@@ -0,0 +1,126 @@
+package org.example.awesome.pizza.dispatch;
+
+import lombok.extern.slf4j.Slf4j;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+/**
+ * Discrete-event simulation of a rush hour, comparing the average wait time of CREATED Orders, i.e. the time
+ * from creation to COOKING, between the pull model (idle Chefs polling for the next Order) and the push
+ * dispatcher (Orders assigned to the least loaded Chef as soon as one is available)
+ */
+@Slf4j
+class DispatchSimulationTest {
+  private static final int CHEFS = 4;
+  private static final int ORDERS = 5_000;
+  private static final long COOK_TIME_PER_PIZZA = 180;
+  private static final long POLL_INTERVAL = 60;
+  private static final long MEAN_INTERARRIVAL = 120;
+
+  private record Arrival(long time, int pizzas) {
+  }
+
+  private record Event(long time, int chef, int type) {
+    static final int POLL = 0;
+    static final int DONE = 1;
+  }
+
+  private static Arrival[] rushHour() {
+    final Random random = new Random(42);
+    final Arrival[] arrivals = new Arrival[ORDERS];
+    long time = 0;
+    for (int i = 0; i < ORDERS; i++) {
+      time += (long) (-Math.log(1 - random.nextDouble()) * MEAN_INTERARRIVAL);
+      arrivals[i] = new Arrival(time, 1 + random.nextInt(4));
+    }
+    return arrivals;
+  }
+
+  /**
+   * Chefs take the next Order right after completing one; when idle, they ask again every poll interval
+   */
+  private static double simulatePull(final Arrival[] arrivals) {
+    final PriorityQueue<Event> events = new PriorityQueue<>((a, b) -> Long.compare(a.time(), b.time()));
+    for (int chef = 0; chef < CHEFS; chef++)
+      events.add(new Event(chef * POLL_INTERVAL / CHEFS, chef, Event.POLL));
+
+    final Deque<Arrival> queue = new ArrayDeque<>();
+    int next = 0;
+    long totalWait = 0;
+    int served = 0;
+    while (served < arrivals.length) {
+      final Event event = events.poll();
+      while (next < arrivals.length && arrivals[next].time() <= event.time())
+        queue.add(arrivals[next++]);
+
+      final Arrival order = queue.poll();
+      if (order == null) {
+        events.add(new Event(event.time() + POLL_INTERVAL, event.chef(), Event.POLL));
+        continue;
+      }
+
+      totalWait += event.time() - order.time();
+      served++;
+      events.add(new Event(event.time() + order.pizzas() * COOK_TIME_PER_PIZZA, event.chef(), Event.DONE));
+    }
+    return (double) totalWait / served;
+  }
+
+  /**
+   * Orders are assigned by the ChefLoadBalancer on arrival, or on Chef release when all Chefs are busy
+   */
+  private static double simulatePush(final Arrival[] arrivals) {
+    final ChefLoadBalancer balancer = new ChefLoadBalancer(1);
+    for (long chef = 0; chef < CHEFS; chef++)
+      balancer.register(chef);
+
+    final PriorityQueue<long[]> completions = new PriorityQueue<>((a, b) -> Long.compare(a[0], b[0]));
+    final Deque<Arrival> queue = new ArrayDeque<>();
+    int next = 0;
+    long totalWait = 0;
+    int served = 0;
+    while (served < arrivals.length) {
+      // Next event is either an arrival or a completion, whichever comes first
+      final boolean arrival = next < arrivals.length && (completions.isEmpty() || arrivals[next].time() <= completions.peek()[0]);
+      final long now;
+      if (arrival) {
+        now = arrivals[next].time();
+        queue.add(arrivals[next++]);
+      } else {
+        final long[] completion = completions.poll();
+        now = completion[0];
+        balancer.release(completion[1], completion[2]);
+      }
+
+      while (!queue.isEmpty() && balancer.leastLoaded().isPresent()) {
+        final Arrival order = queue.poll();
+        final long chef = balancer.leastLoaded().get();
+        final long cookTime = order.pizzas() * COOK_TIME_PER_PIZZA;
+        balancer.assign(chef, cookTime);
+        completions.add(new long[] {now + cookTime, chef, cookTime});
+        totalWait += now - order.time();
+        served++;
+      }
+    }
+    return (double) totalWait / served;
+  }
+
+  @Test
+  void pushDispatch_ShouldNotIncreaseAverageWaitTime() {
+    final Arrival[] arrivals = rushHour();
+
+    final double pull = simulatePull(arrivals);
+    final double push = simulatePush(arrivals);
+
+    log.info("Average wait time over [{}] Orders and [{}] Chefs: pull [{}s] - push [{}s]",
+        ORDERS, CHEFS, "%.1f".formatted(pull), "%.1f".formatted(push));
+
+    Assertions.assertThat(push)
+        .isLessThanOrEqualTo(pull);
+  }
+}
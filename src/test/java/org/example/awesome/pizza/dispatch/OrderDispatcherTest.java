@@ -0,0 +1,265 @@
+package org.example.awesome.pizza.dispatch;
+
+import org.assertj.core.api.Assertions;
+import org.example.awesome.pizza.cluster.ChefLease;
+import org.example.awesome.pizza.cluster.Claim;
+import org.example.awesome.pizza.cluster.ClaimCoordinator;
+import org.example.awesome.pizza.domain.Chef;
+import org.example.awesome.pizza.domain.Order;
+import org.example.awesome.pizza.domain.Pizza;
+import org.example.awesome.pizza.event.OrderStatusChangedEvent;
+import org.example.awesome.pizza.exception.BadRequestException;
+import org.example.awesome.pizza.exception.ConflictException;
+import org.example.awesome.pizza.exception.ThresholdReachedException;
+import org.example.awesome.pizza.model.OrderDto;
+import org.example.awesome.pizza.model.OrderStatus;
+import org.example.awesome.pizza.repository.ChefRepository;
+import org.example.awesome.pizza.repository.OrderRepository;
+import org.example.awesome.pizza.state.OrderState;
+import org.example.awesome.pizza.state.model.OrderStateModel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith({SpringExtension.class})
+class OrderDispatcherTest {
+  private final OrderState orderState = mock(OrderState.class);
+  private final OrderRepository orderRepository = mock(OrderRepository.class);
+  private final ChefRepository chefRepository = mock(ChefRepository.class);
+  private final ClaimCoordinator claimCoordinator = mock(ClaimCoordinator.class);
+  private final ScheduledExecutorService executor = mock(ScheduledExecutorService.class);
+
+  private final OrderDispatcher underTest = new OrderDispatcher(
+      orderState,
+      orderRepository,
+      chefRepository,
+      new TransactionTemplate(mock(PlatformTransactionManager.class)),
+      new ChefLease(claimCoordinator, Duration.ofSeconds(30)),
+      1L,
+      Duration.ofMinutes(3),
+      Duration.ZERO,
+      Duration.ofMillis(500),
+      executor
+  );
+
+  @BeforeEach
+  void grantChefLeases() {
+    doAnswer(invocation -> Optional.of(new Claim(invocation.getArgument(0), "dispatcher")))
+        .when(claimCoordinator).tryClaim(any(), any());
+  }
+
+  private static OrderStatusChangedEvent event(final Long orderId, final Long chefId, final OrderStatus previous, final OrderStatus current) {
+    return new OrderStatusChangedEvent(orderId, orderId, chefId, null, previous, current, 2, null, Instant.now());
+  }
+
+  private void acceptAnyCooking() {
+    doAnswer(invocation -> {
+      final OrderStateModel model = invocation.getArgument(1);
+      return Optional.of(new OrderDto().id(model.id()).status(OrderStatus.COOKING));
+    }).when(orderState).handleState(eq(OrderStatus.COOKING), any());
+  }
+
+  private static boolean isFor(final OrderStateModel model, final Long orderId, final Long chefId) {
+    return orderId.equals(model.id()) && chefId.equals(model.request().getChefId());
+  }
+
+  @Test
+  void bootstrap_ShouldLoadChefsAndDispatchWaitingOrders() {
+    final Order cooking = new Order()
+        .setStatus(OrderStatus.COOKING)
+        .setChef((Chef) new Chef().setId(1L))
+        .setPizzas(List.of(new Pizza()));
+    cooking.setId(10L);
+    final Order created = new Order()
+        .setStatus(OrderStatus.CREATED)
+        .setPizzas(List.of(new Pizza()));
+    created.setId(11L);
+    doReturn(List.of(new Chef().setId(1L), new Chef().setId(2L))).when(chefRepository).findAll();
+    doReturn(List.of(cooking, created)).when(orderRepository).findAllSortedByCreatedDate(OrderStatus.COOKING, OrderStatus.CREATED);
+    acceptAnyCooking();
+
+    underTest.bootstrap();
+
+    verify(orderState).handleState(eq(OrderStatus.COOKING), argThat(model -> isFor(model, 11L, 2L)));
+    Assertions.assertThat(underTest.balancer().leastLoaded()).isEmpty();
+  }
+
+  @Test
+  void handle_WhenCreatedAndNoChefs_ShouldWait() {
+    underTest.handle(event(1L, null, null, OrderStatus.CREATED));
+
+    verify(orderState, never()).handleState(any(), any());
+  }
+
+  @Test
+  void handle_WhenCreated_ShouldAssignLeastLoadedChef() {
+    underTest.balancer().assign(1L, 1000);
+    underTest.balancer().release(1L, 1000);
+    underTest.balancer().register(2L);
+    underTest.balancer().assign(3L, 100);
+    underTest.balancer().release(3L, 0);
+    underTest.balancer().assign(1L, 0);
+    underTest.balancer().release(1L, 0);
+    acceptAnyCooking();
+
+    underTest.handle(event(5L, null, null, OrderStatus.CREATED));
+
+    verify(orderState).handleState(eq(OrderStatus.COOKING), argThat(model -> isFor(model, 5L, 1L)));
+  }
+
+  @Test
+  void handle_WhenCookingDone_ShouldReleaseChefAndDispatchNext() {
+    underTest.balancer().register(1L);
+    acceptAnyCooking();
+
+    underTest.handle(event(1L, null, null, OrderStatus.CREATED));
+    underTest.handle(event(2L, null, null, OrderStatus.CREATED));
+    verify(orderState, times(1)).handleState(eq(OrderStatus.COOKING), any());
+
+    // Dispatcher own assignment notified back: must not be counted twice
+    underTest.handle(event(1L, 1L, OrderStatus.CREATED, OrderStatus.COOKING));
+    Assertions.assertThat(underTest.balancer().active(1L)).isEqualTo(1);
+
+    underTest.handle(event(1L, 1L, OrderStatus.COOKING, OrderStatus.DONE));
+
+    verify(orderState).handleState(eq(OrderStatus.COOKING), argThat(model -> isFor(model, 2L, 1L)));
+  }
+
+  @Test
+  void handle_WhenPulledByChef_ShouldTrackLoadAndNotDispatch() {
+    underTest.balancer().register(1L);
+
+    underTest.handle(event(1L, 1L, OrderStatus.CREATED, OrderStatus.COOKING));
+    underTest.handle(event(2L, null, null, OrderStatus.CREATED));
+
+    verify(orderState, never()).handleState(any(), any());
+    Assertions.assertThat(underTest.balancer().loadMillis(1L)).isEqualTo(underTest.estimate(2));
+  }
+
+  @Test
+  void dispatch_WhenConflict_ShouldTryAnotherChef() {
+    underTest.balancer().register(1L);
+    underTest.balancer().assign(2L, 10);
+    underTest.balancer().release(2L, 0);
+    doThrow(new ThresholdReachedException("Full")).when(orderState).handleState(eq(OrderStatus.COOKING), argThat(model -> isFor(model, 1L, 1L)));
+    doReturn(Optional.of(new OrderDto().id(1L))).when(orderState).handleState(eq(OrderStatus.COOKING), argThat(model -> isFor(model, 1L, 2L)));
+
+    underTest.handle(event(1L, null, null, OrderStatus.CREATED));
+
+    verify(orderState).handleState(eq(OrderStatus.COOKING), argThat(model -> isFor(model, 1L, 2L)));
+    Assertions.assertThat(underTest.balancer().leastLoaded()).isEmpty();
+  }
+
+  @Test
+  void dispatch_WhenClaimLost_ShouldNotSaturateChef() {
+    underTest.balancer().register(1L);
+    doThrow(new ConflictException("Taken")).when(orderState).handleState(eq(OrderStatus.COOKING), argThat(model -> isFor(model, 1L, 1L)));
+
+    underTest.handle(event(1L, null, null, OrderStatus.CREATED));
+
+    // Chef still available, the Order waits for the COOKING event of the other Chef
+    Assertions.assertThat(underTest.balancer().leastLoaded()).contains(1L);
+    underTest.handle(event(1L, 2L, OrderStatus.CREATED, OrderStatus.COOKING));
+    verify(orderState, times(1)).handleState(eq(OrderStatus.COOKING), any());
+
+    acceptAnyCooking();
+    underTest.handle(event(2L, null, null, OrderStatus.CREATED));
+    verify(orderState).handleState(eq(OrderStatus.COOKING), argThat(model -> isFor(model, 2L, 1L)));
+  }
+
+  @Test
+  void dispatch_ShouldHoldChefLeaseDuringTransition() {
+    underTest.balancer().register(1L);
+    doAnswer(invocation -> {
+      verify(claimCoordinator).tryClaim(eq("chef:1"), any());
+      verify(claimCoordinator, never()).release(any());
+      return Optional.of(new OrderDto().id(1L).status(OrderStatus.COOKING));
+    }).when(orderState).handleState(eq(OrderStatus.COOKING), any());
+
+    underTest.handle(event(1L, null, null, OrderStatus.CREATED));
+
+    verify(orderState).handleState(eq(OrderStatus.COOKING), argThat(model -> isFor(model, 1L, 1L)));
+    verify(claimCoordinator).release(new Claim("chef:1", "dispatcher"));
+  }
+
+  @Test
+  void dispatch_WhenChefPullingConcurrently_ShouldSkipChef() {
+    underTest.balancer().register(1L);
+    underTest.balancer().assign(2L, 10);
+    underTest.balancer().release(2L, 0);
+    // Chef 1 is taking the next Order on its own
+    doReturn(Optional.empty()).when(claimCoordinator).tryClaim(eq("chef:1"), any());
+    acceptAnyCooking();
+
+    underTest.handle(event(1L, null, null, OrderStatus.CREATED));
+
+    verify(orderState, never()).handleState(any(), argThat(model -> isFor(model, 1L, 1L)));
+    verify(orderState).handleState(eq(OrderStatus.COOKING), argThat(model -> isFor(model, 1L, 2L)));
+    // Busy, not saturated: its load is updated by the COOKING event of the pull
+    Assertions.assertThat(underTest.balancer().leastLoaded()).contains(1L);
+    verify(executor, never()).schedule(any(Runnable.class), anyLong(), any());
+  }
+
+  @Test
+  void dispatch_WhenOnlyBusyChefsLeft_ShouldRetryLater() {
+    underTest.balancer().register(1L);
+    doReturn(Optional.empty()).when(claimCoordinator).tryClaim(eq("chef:1"), any());
+    doAnswer(invocation -> {
+      // Pull committed and lease released meanwhile
+      grantChefLeases();
+      acceptAnyCooking();
+      invocation.<Runnable>getArgument(0).run();
+      return null;
+    }).when(executor).schedule(any(Runnable.class), eq(500L), eq(TimeUnit.MILLISECONDS));
+
+    underTest.handle(event(1L, null, null, OrderStatus.CREATED));
+
+    verify(executor).schedule(any(Runnable.class), eq(500L), eq(TimeUnit.MILLISECONDS));
+    verify(orderState).handleState(eq(OrderStatus.COOKING), argThat(model -> isFor(model, 1L, 1L)));
+  }
+
+  @Test
+  void dispatch_WhenOrderNotCookable_ShouldDropIt() {
+    underTest.balancer().register(1L);
+    acceptAnyCooking();
+    doThrow(new BadRequestException("Not compatible")).when(orderState).handleState(eq(OrderStatus.COOKING), argThat(model -> isFor(model, 1L, 1L)));
+
+    underTest.handle(event(1L, null, null, OrderStatus.CREATED));
+    underTest.handle(event(2L, null, null, OrderStatus.CREATED));
+
+    verify(orderState).handleState(eq(OrderStatus.COOKING), argThat(model -> isFor(model, 2L, 1L)));
+  }
+
+  @Test
+  void handle_WhenCanceled_ShouldRemoveFromWaiting() {
+    underTest.handle(event(1L, null, null, OrderStatus.CREATED));
+    underTest.handle(event(1L, null, OrderStatus.CREATED, OrderStatus.CANCELED));
+    underTest.balancer().register(1L);
+
+    underTest.dispatch();
+
+    verify(orderState, never()).handleState(any(), any());
+  }
+}
@@ -0,0 +1,134 @@
+package org.example.awesome.pizza.eta;
+
+import org.assertj.core.api.Assertions;
+import org.example.awesome.pizza.domain.Chef;
+import org.example.awesome.pizza.domain.Order;
+import org.example.awesome.pizza.domain.Pizza;
+import org.example.awesome.pizza.event.OrderStatusChangedEvent;
+import org.example.awesome.pizza.model.OrderDto;
+import org.example.awesome.pizza.model.OrderStatus;
+import org.example.awesome.pizza.model.PizzaDto;
+import org.example.awesome.pizza.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.List;
+
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+class OrderEtaEstimatorTest {
+  private static final Instant NOW = Instant.parse("2025-01-23T17:00:00Z");
+
+  private OrderRepository repository;
+  private OrderEtaEstimator underTest;
+
+  @BeforeEach
+  void setUp() {
+    repository = mock(OrderRepository.class);
+    underTest = new OrderEtaEstimator(repository, new TransactionTemplate(mock(PlatformTransactionManager.class)),
+        1L, Duration.ofMinutes(3), 0.5);
+  }
+
+  @Test
+  void estimate_WhenCreatedFirstInQueue_ShouldWaitOwnPizzasOnly() {
+    underTest.onStatusChanged(created(1L, 2));
+
+    Assertions.assertThat(underTest.estimate(dto(1L, OrderStatus.CREATED, 2, null), NOW))
+        .isEqualTo(at(NOW.plus(Duration.ofMinutes(6))));
+  }
+
+  @Test
+  void estimate_WhenCreatedBehindOthers_ShouldWaitPizzasAheadSharedAmongChefs() {
+    underTest.onStatusChanged(created(1L, 2));
+    underTest.onStatusChanged(created(2L, 2));
+    underTest.onStatusChanged(created(3L, 1));
+
+    // Single Chef: 4 pizzas ahead plus its own
+    Assertions.assertThat(underTest.estimate(dto(3L, OrderStatus.CREATED, 1, null), NOW))
+        .isEqualTo(at(NOW.plus(Duration.ofMinutes(15))));
+
+    // Two Chefs take the first two Orders: nothing ahead anymore
+    underTest.onStatusChanged(cooking(1L, 10L, 2, NOW));
+    underTest.onStatusChanged(cooking(2L, 20L, 2, NOW));
+
+    Assertions.assertThat(underTest.estimate(dto(3L, OrderStatus.CREATED, 1, null), NOW))
+        .isEqualTo(at(NOW.plus(Duration.ofMinutes(3))));
+  }
+
+  @Test
+  void estimate_WhenCooking_ShouldAddCookTimeToStart() {
+    final Instant started = NOW.minus(Duration.ofMinutes(1));
+
+    Assertions.assertThat(underTest.estimate(dto(1L, OrderStatus.COOKING, 2, started), NOW))
+        .isEqualTo(at(started.plus(Duration.ofMinutes(6))));
+    Assertions.assertThat(underTest.estimate(dto(1L, OrderStatus.COOKING, 2, NOW.minus(Duration.ofHours(1))), NOW))
+        .isEqualTo(at(NOW));
+  }
+
+  @Test
+  void estimate_WhenDoneOrCanceledOrUntracked_ShouldReturnKnownOrNull() {
+    Assertions.assertThat(underTest.estimate(dto(1L, OrderStatus.DONE, 1, NOW), NOW))
+        .isEqualTo(at(NOW));
+    Assertions.assertThat(underTest.estimate(dto(1L, OrderStatus.CANCELED, 1, NOW), NOW))
+        .isNull();
+    Assertions.assertThat(underTest.estimate(dto(99L, OrderStatus.CREATED, 1, NOW), NOW))
+        .isNull();
+  }
+
+  @Test
+  void onStatusChanged_WhenDone_ShouldLearnCookTimePerPizza() {
+    final Instant started = NOW.minus(Duration.ofMinutes(10));
+    underTest.onStatusChanged(created(1L, 2));
+    underTest.onStatusChanged(cooking(1L, 10L, 2, started));
+    underTest.onStatusChanged(new OrderStatusChangedEvent(1L, 1L, 10L, 10L, OrderStatus.COOKING, OrderStatus.DONE, 2, started, NOW));
+
+    // 5 minutes per pizza observed, averaged with the initial 3 minutes
+    Assertions.assertThat(underTest.cookTimePerPizza())
+        .isEqualTo(Duration.ofMinutes(4));
+  }
+
+  @Test
+  void bootstrap_ShouldTrackCreatedAndCookingOrders() {
+    final Order cooking = new Order().setStatus(OrderStatus.COOKING).setChef((Chef) new Chef().setId(10L))
+        .setPizzas(List.of(new Pizza()));
+    cooking.setId(1L);
+    final Order created = new Order().setStatus(OrderStatus.CREATED).setPizzas(List.of(new Pizza(), new Pizza()));
+    created.setId(2L);
+    doReturn(List.of(cooking, created)).when(repository)
+        .findAllSortedByCreatedDate(OrderStatus.CREATED, OrderStatus.COOKING);
+
+    underTest.bootstrap();
+
+    Assertions.assertThat(underTest.estimate(dto(2L, OrderStatus.CREATED, 2, null), NOW))
+        .isEqualTo(at(NOW.plus(Duration.ofMinutes(6))));
+  }
+
+  private static OrderStatusChangedEvent created(final Long id, final int pizzas) {
+    return new OrderStatusChangedEvent(id, id, null, null, null, OrderStatus.CREATED, pizzas, null, NOW);
+  }
+
+  private static OrderStatusChangedEvent cooking(final Long id, final Long chefId, final int pizzas, final Instant when) {
+    return new OrderStatusChangedEvent(id, id, chefId, null, OrderStatus.CREATED, OrderStatus.COOKING, pizzas, NOW, when);
+  }
+
+  private static OrderDto dto(final Long id, final OrderStatus status, final int pizzas, final Instant modified) {
+    final OrderDto dto = new OrderDto()
+        .status(status)
+        .pizzas(Collections.nCopies(pizzas, new PizzaDto()));
+    dto.setId(id);
+    dto.setLastModifiedDate(modified == null ? null : at(modified));
+    return dto;
+  }
+
+  private static OffsetDateTime at(final Instant instant) {
+    return OffsetDateTime.ofInstant(instant, ZoneId.systemDefault());
+  }
+}
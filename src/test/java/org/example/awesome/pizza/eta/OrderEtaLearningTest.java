@@ -0,0 +1,72 @@
+package org.example.awesome.pizza.eta;
+
+import org.assertj.core.api.Assertions;
+import org.example.awesome.pizza.AwesomePizzaApplication;
+import org.example.awesome.pizza.domain.Chef;
+import org.example.awesome.pizza.domain.Order;
+import org.example.awesome.pizza.domain.Pizza;
+import org.example.awesome.pizza.model.OrderDto;
+import org.example.awesome.pizza.model.OrderInternalReq;
+import org.example.awesome.pizza.model.OrderStatus;
+import org.example.awesome.pizza.repository.ChefRepository;
+import org.example.awesome.pizza.repository.OrderRepository;
+import org.example.awesome.pizza.repository.PizzaRepository;
+import org.example.awesome.pizza.service.OrderService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Runs takeNext through COOKING and DONE on a real application context, so that the cook time is learned from
+ * the modification dates as committed, not from synthetic events
+ */
+class OrderEtaLearningTest {
+  private static ConfigurableApplicationContext context;
+
+  @BeforeAll
+  static void startContext() {
+    context = new SpringApplicationBuilder(AwesomePizzaApplication.class)
+        .run(
+            "--spring.main.web-application-type=none",
+            "--spring.main.banner-mode=off",
+            "--spring.datasource.url=jdbc:h2:mem:eta-learning;MODE=MSSQLServer",
+            "--awesome-pizza.config.archive.enabled=false",
+            "--awesome-pizza.config.eta.initial-cook-time-per-pizza=PT1H",
+            "--awesome-pizza.config.eta.smoothing=0.5");
+  }
+
+  @AfterAll
+  static void stopContext() {
+    context.close();
+  }
+
+  @Test
+  void takeNext_WhenCookedAndDone_ShouldLearnCookTime() throws InterruptedException {
+    final OrderService orderService = context.getBean(OrderService.class);
+    final OrderEtaEstimator estimator = context.getBean(OrderEtaEstimator.class);
+    final Long pizzaId = context.getBean(PizzaRepository.class).findAll().stream()
+        .map(Pizza::getId)
+        .findFirst()
+        .orElseThrow();
+    final Long chefId = context.getBean(ChefRepository.class)
+        .save(new Chef().setFirstName("Chef").setLastName("Eta"))
+        .getId();
+    orderService.save((OrderInternalReq) new OrderInternalReq().pizzas(List.of(pizzaId)));
+
+    final OrderDto cooking = orderService.takeNext(chefId, null).orElseThrow();
+    Thread.sleep(50);
+    orderService.takeNext(chefId, null);
+
+    Assertions.assertThat(context.getBean(OrderRepository.class).findById(cooking.getId()))
+        .get()
+        .extracting(Order::getStatus)
+        .isEqualTo(OrderStatus.DONE);
+    // Half way from one hour to the measured cook time
+    Assertions.assertThat(estimator.cookTimePerPizza()).isLessThan(Duration.ofMinutes(31));
+  }
+}
@@ -0,0 +1,66 @@
+package org.example.awesome.pizza.exception;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+class GlobalExceptionHandlerTest {
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final GlobalExceptionHandler underTest = new GlobalExceptionHandler(Duration.ofSeconds(1));
+
+  @Test
+  void httpExceptionHandler_ShouldResponseProblemDetails() throws Exception {
+    final ResponseEntity<byte[]> response = underTest.httpExceptionHandler(
+        new NotFoundException("No orders found by code \"42\""));
+
+    Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    Assertions.assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_PROBLEM_JSON);
+    final JsonNode problem = objectMapper.readTree(response.getBody());
+    Assertions.assertThat(problem.get("type").asText()).isEqualTo("about:blank");
+    Assertions.assertThat(problem.get("title").asText()).isEqualTo("Not Found");
+    Assertions.assertThat(problem.get("status").asInt()).isEqualTo(404);
+    Assertions.assertThat(problem.get("detail").asText()).isEqualTo("No orders found by code \"42\"");
+  }
+
+  @Test
+  void genericExceptionHandler_WhenNoMessage_ShouldOmitDetail() throws Exception {
+    final ResponseEntity<byte[]> response = underTest.genericExceptionHandler(new IllegalStateException());
+
+    Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+    Assertions.assertThat(objectMapper.readTree(response.getBody()).has("detail")).isFalse();
+  }
+
+  @Test
+  void expectedExceptions_ShouldNotCaptureStackTrace() {
+    Assertions.assertThat(new NotFoundException("x").getStackTrace()).isEmpty();
+    Assertions.assertThat(new ConflictException("x").getStackTrace()).isEmpty();
+    Assertions.assertThat(new BadRequestException("x").getStackTrace()).isEmpty();
+    Assertions.assertThat(new ServiceUnavailableException("x").getStackTrace()).isEmpty();
+  }
+
+  @Test
+  void failures_ShouldCaptureStackTrace() {
+    Assertions.assertThat(new InternalServerErrorException("x").getStackTrace()).isNotEmpty();
+  }
+
+  @Test
+  void logSampler_ShouldLetOneLinePerIntervalAndCountSkipped() {
+    final AtomicLong clock = new AtomicLong();
+    final LogSampler sampler = new LogSampler(Duration.ofNanos(100), clock::get);
+
+    Assertions.assertThat(sampler.sample(HttpStatus.NOT_FOUND)).isZero();
+    Assertions.assertThat(sampler.sample(HttpStatus.NOT_FOUND)).isEqualTo(-1);
+    Assertions.assertThat(sampler.sample(HttpStatus.NOT_FOUND)).isEqualTo(-1);
+    Assertions.assertThat(sampler.sample(HttpStatus.CONFLICT)).isZero();
+
+    clock.set(100);
+    Assertions.assertThat(sampler.sample(HttpStatus.NOT_FOUND)).isEqualTo(2);
+  }
+}
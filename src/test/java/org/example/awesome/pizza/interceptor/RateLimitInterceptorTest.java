@@ -0,0 +1,98 @@
+package org.example.awesome.pizza.interceptor;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.example.awesome.pizza.ratelimit.RateLimit;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import java.time.Duration;
+
+class RateLimitInterceptorTest {
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final RateLimitInterceptor underTest = new RateLimitInterceptor(
+      new ClassPathResource("openapi.yaml"), "X-API-Key", 100, Duration.ofMinutes(1), meterRegistry);
+
+  // Stands for the controllers: operations are matched by method name
+  static class Handlers {
+    public void findOrderByCode() {
+    }
+
+    public void takeChargeNext() {
+    }
+  }
+
+  private static HandlerMethod handler(final String operation) throws NoSuchMethodException {
+    return new HandlerMethod(new Handlers(), Handlers.class.getMethod(operation));
+  }
+
+  private static MockHttpServletRequest request(final String remoteAddr, final String apiKey) {
+    final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/order/code/1");
+    request.setRemoteAddr(remoteAddr);
+    if (apiKey != null)
+      request.addHeader("X-API-Key", apiKey);
+    return request;
+  }
+
+  private int allowed(final MockHttpServletRequest request, final String operation, final int attempts) throws Exception {
+    int allowed = 0;
+    for (int i = 0; i < attempts; i++)
+      if (underTest.preHandle(request, new MockHttpServletResponse(), handler(operation)))
+        allowed++;
+    return allowed;
+  }
+
+  @Test
+  void fromSpec_ShouldReadOperationLimits() {
+    Assertions.assertThat(RateLimit.fromSpec(new ClassPathResource("openapi.yaml")))
+        .containsEntry("findOrderByCode", new RateLimit(10, 2))
+        .doesNotContainKey("takeChargeNext");
+  }
+
+  @Test
+  void preHandle_WhenBurstExceeded_ShouldRejectWithRetryAfter() throws Exception {
+    final MockHttpServletRequest request = request("10.0.0.1", null);
+    Assertions.assertThat(allowed(request, "findOrderByCode", 10)).isEqualTo(10);
+
+    final MockHttpServletResponse response = new MockHttpServletResponse();
+    Assertions.assertThat(underTest.preHandle(request, response, handler("findOrderByCode"))).isFalse();
+    Assertions.assertThat(response.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+    Assertions.assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+    Assertions.assertThat(meterRegistry.get(RateLimitInterceptor.METRIC).tag("operation", "findOrderByCode").counter().count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void preHandle_ShouldLimitEachClientOnItsOwn() throws Exception {
+    Assertions.assertThat(allowed(request("10.0.0.1", null), "findOrderByCode", 20)).isEqualTo(10);
+
+    Assertions.assertThat(allowed(request("10.0.0.2", null), "findOrderByCode", 1)).isEqualTo(1);
+    Assertions.assertThat(allowed(request("10.0.0.1", "tablet-1"), "findOrderByCode", 1)).isEqualTo(1);
+  }
+
+  @Test
+  void admit_WhenChargedBeforeDispatcher_ShouldNotChargeAgain() throws Exception {
+    final MockHttpServletRequest request = request("10.0.0.1", null);
+    for (int i = 0; i < 10; i++)
+      Assertions.assertThat(underTest.admit("findOrderByCode", request, new MockHttpServletResponse())).isTrue();
+
+    final MockHttpServletResponse response = new MockHttpServletResponse();
+    Assertions.assertThat(underTest.admit("findOrderByCode", request, response)).isFalse();
+    Assertions.assertThat(response.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+    // Marked as admitted: the handler is not charged again
+    Assertions.assertThat(underTest.preHandle(request, new MockHttpServletResponse(), handler("findOrderByCode")))
+        .isTrue();
+  }
+
+  @Test
+  void preHandle_WhenOperationNotLimited_ShouldAllow() throws Exception {
+    Assertions.assertThat(allowed(request("10.0.0.1", null), "takeChargeNext", 50)).isEqualTo(50);
+    Assertions.assertThat(underTest.preHandle(request("10.0.0.1", null), new MockHttpServletResponse(), new Object()))
+        .isTrue();
+  }
+}
@@ -0,0 +1,146 @@
+package org.example.awesome.pizza.job;
+
+import org.assertj.core.api.Assertions;
+import org.example.awesome.pizza.cluster.ClaimCoordinator;
+import org.example.awesome.pizza.cluster.LocalClaimCoordinator;
+import org.example.awesome.pizza.domain.ArchivedOrder;
+import org.example.awesome.pizza.domain.Order;
+import org.example.awesome.pizza.event.OrdersArchivedEvent;
+import org.example.awesome.pizza.mapper.OrderMapper;
+import org.example.awesome.pizza.model.OrderStatus;
+import org.example.awesome.pizza.repository.ArchivedOrderRepository;
+import org.example.awesome.pizza.repository.OrderRepository;
+import org.instancio.Instancio;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+import static org.instancio.Select.field;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith({SpringExtension.class})
+class OrderArchiveJobTest {
+  private static final int BATCH_SIZE = 2;
+  private static final int MAX_BATCHES = 3;
+
+  private final OrderRepository repository = mock(OrderRepository.class);
+  private final ArchivedOrderRepository archiveRepository = mock(ArchivedOrderRepository.class);
+  private final OrderMapper mapper = spy(Mappers.getMapper(OrderMapper.class));
+  private final ClaimCoordinator claimCoordinator = spy(new LocalClaimCoordinator());
+  private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+
+  private final OrderArchiveJob underTest = new OrderArchiveJob(
+      repository,
+      archiveRepository,
+      mapper,
+      new TransactionTemplate(mock(PlatformTransactionManager.class)),
+      claimCoordinator,
+      eventPublisher,
+      Duration.ofMinutes(10),
+      Duration.ofDays(1),
+      BATCH_SIZE,
+      MAX_BATCHES,
+      Duration.ZERO
+  );
+
+  private List<Order> orders(final int size) {
+    return Instancio.ofList(Order.class)
+        .size(size)
+        .set(field(Order::getStatus), OrderStatus.DONE)
+        .create();
+  }
+
+  @Test
+  void archive_WhenNothingToArchive_ShouldNotSaveAnything() {
+    doReturn(List.of()).when(repository).findArchivable(eq(OrderArchiveJob.ARCHIVABLE_STATUSES), any(Instant.class), any(Pageable.class));
+
+    Assertions.assertThat(underTest.archive())
+        .isZero();
+
+    verify(archiveRepository, never()).saveAll(anyList());
+    verify(repository, never()).deleteAll(anyList());
+  }
+
+  @Test
+  void archive_WhenLastBatchNotFull_ShouldStop() {
+    final List<Order> first = orders(BATCH_SIZE);
+    final List<Order> second = orders(BATCH_SIZE - 1);
+    doReturn(first, second).when(repository).findArchivable(eq(OrderArchiveJob.ARCHIVABLE_STATUSES), any(Instant.class), any(Pageable.class));
+
+    Assertions.assertThat(underTest.archive())
+        .isEqualTo(first.size() + second.size());
+
+    verify(repository, times(2)).findArchivable(any(), any(), any());
+    verify(repository).deleteAll(first);
+    verify(repository).deleteAll(second);
+  }
+
+  @Test
+  void archive_WhenAlwaysFullBatches_ShouldStopAtMaxBatches() {
+    doReturn(orders(BATCH_SIZE)).when(repository).findArchivable(eq(OrderArchiveJob.ARCHIVABLE_STATUSES), any(Instant.class), any(Pageable.class));
+
+    Assertions.assertThat(underTest.archive())
+        .isEqualTo(BATCH_SIZE * MAX_BATCHES);
+
+    verify(repository, times(MAX_BATCHES)).findArchivable(any(), any(), any());
+  }
+
+  @Test
+  void archive_WhenLeaseHeldByAnotherNode_ShouldSkip() {
+    doReturn(Optional.empty()).when(claimCoordinator).tryClaim(eq(OrderArchiveJob.LEASE), any());
+
+    Assertions.assertThat(underTest.archive())
+        .isZero();
+
+    verify(repository, never()).findArchivable(any(), any(), any());
+    verify(claimCoordinator, never()).release(any());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void archiveBatch_ShouldKeepOriginalIdentity() {
+    final List<Order> batch = orders(1);
+    doReturn(batch).when(repository).findArchivable(eq(OrderArchiveJob.ARCHIVABLE_STATUSES), any(Instant.class), any(Pageable.class));
+    final ArgumentCaptor<List<ArchivedOrder>> captor = ArgumentCaptor.forClass(List.class);
+
+    underTest.archiveBatch(Instant.now());
+
+    verify(archiveRepository).saveAll(captor.capture());
+    Assertions.assertThat(captor.getValue())
+        .singleElement()
+        .matches(a -> Objects.equals(a.getId(), batch.get(0).getId()))
+        .matches(a -> Objects.equals(a.getCode(), batch.get(0).getCode()))
+        .matches(a -> Objects.equals(a.getCreatedDate(), batch.get(0).getCreatedDate()))
+        .matches(a -> Objects.equals(a.getStatus(), OrderStatus.DONE.name()));
+  }
+
+  @Test
+  void archiveBatch_ShouldPublishArchivedCodes() {
+    final List<Order> batch = orders(BATCH_SIZE);
+    doReturn(batch).when(repository).findArchivable(eq(OrderArchiveJob.ARCHIVABLE_STATUSES), any(Instant.class), any(Pageable.class));
+
+    underTest.archiveBatch(Instant.now());
+
+    verify(eventPublisher).publishEvent(new OrdersArchivedEvent(batch.stream().map(Order::getCode).toList()));
+  }
+}
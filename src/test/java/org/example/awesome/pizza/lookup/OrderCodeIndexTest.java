@@ -0,0 +1,109 @@
+package org.example.awesome.pizza.lookup;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.example.awesome.pizza.event.OrderStatusChangedEvent;
+import org.example.awesome.pizza.event.OrdersArchivedEvent;
+import org.example.awesome.pizza.model.OrderStatus;
+import org.example.awesome.pizza.repository.ArchivedOrderRepository;
+import org.example.awesome.pizza.repository.OrderRepository;
+import org.example.awesome.pizza.repository.projection.OrderCodeRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+class OrderCodeIndexTest {
+  private final OrderRepository repository = mock(OrderRepository.class);
+  private final ArchivedOrderRepository archiveRepository = mock(ArchivedOrderRepository.class);
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  @BeforeEach
+  void setUp() {
+    // Codes 1 and 2 archived, 4 and 5 live: code 3 was never committed
+    doReturn(List.of(new OrderCodeRow(4L, 40L), new OrderCodeRow(5L, 50L))).when(repository).findAllCodes();
+    doReturn(List.of(1L, 2L)).when(archiveRepository).findAllCodes();
+  }
+
+  private OrderCodeIndex index(final boolean clustered) {
+    return new OrderCodeIndex(repository, archiveRepository, new TransactionTemplate(mock(PlatformTransactionManager.class)),
+        true, clustered, meterRegistry);
+  }
+
+  private static OrderStatusChangedEvent created(final long id, final long code) {
+    return new OrderStatusChangedEvent(id, code, null, null, null, OrderStatus.CREATED, 1, null, null);
+  }
+
+  @Test
+  void isUnknown_WhenNotLoaded_ShouldLetEveryCodeThrough() {
+    Assertions.assertThat(index(false).isUnknown(3)).isFalse();
+  }
+
+  @Test
+  void isUnknown_WhenLoaded_ShouldRejectOnlyMissingCodes() {
+    final OrderCodeIndex underTest = index(false);
+    underTest.bootstrap();
+
+    Assertions.assertThat(underTest.isUnknown(1)).isFalse();
+    Assertions.assertThat(underTest.isUnknown(3)).isTrue();
+    Assertions.assertThat(underTest.isUnknown(5)).isFalse();
+    Assertions.assertThat(underTest.isUnknown(-1)).isTrue();
+    // Above the highest code: may have just been created
+    Assertions.assertThat(underTest.isUnknown(6)).isFalse();
+    Assertions.assertThat(meterRegistry.counter(OrderCodeIndex.METRIC).count()).isEqualTo(2);
+  }
+
+  @Test
+  void onStatusChanged_WhenCreated_ShouldIndexCodeAndId() {
+    final OrderCodeIndex underTest = index(false);
+    underTest.bootstrap();
+
+    underTest.onStatusChanged(created(80, 8));
+    underTest.onStatusChanged(new OrderStatusChangedEvent(40L, 4L, 1L, null, OrderStatus.CREATED, OrderStatus.COOKING, 1, null, null));
+
+    Assertions.assertThat(underTest.liveId(8)).isEqualTo(80);
+    Assertions.assertThat(underTest.liveId(4)).isEqualTo(40);
+    Assertions.assertThat(underTest.isUnknown(8)).isFalse();
+    // Skipped by the sequence
+    Assertions.assertThat(underTest.isUnknown(7)).isTrue();
+  }
+
+  @Test
+  void onArchived_ShouldDropLiveIdButKeepCode() {
+    final OrderCodeIndex underTest = index(false);
+    underTest.bootstrap();
+
+    underTest.onArchived(new OrdersArchivedEvent(List.of(4L)));
+
+    Assertions.assertThat(underTest.liveId(4)).isEqualTo(OrderCodeIndex.NO_ID);
+    Assertions.assertThat(underTest.liveId(5)).isEqualTo(50);
+    Assertions.assertThat(underTest.isUnknown(4)).isFalse();
+  }
+
+  @Test
+  void isUnknown_WhenClustered_ShouldTrustCodesOnceSettled() {
+    final OrderCodeIndex underTest = index(true);
+    underTest.bootstrap();
+
+    // Codes from the DB are trusted after a whole settle interval
+    Assertions.assertThat(underTest.isUnknown(3)).isFalse();
+    underTest.settle();
+    Assertions.assertThat(underTest.isUnknown(3)).isFalse();
+    underTest.settle();
+    Assertions.assertThat(underTest.isUnknown(3)).isTrue();
+
+    // Code 6 may come from another node until code 7 has been seen for a whole settle interval
+    underTest.onStatusChanged(created(70, 7));
+    Assertions.assertThat(underTest.isUnknown(6)).isFalse();
+    underTest.settle();
+    underTest.onStatusChanged(created(60, 6));
+    underTest.settle();
+    Assertions.assertThat(underTest.isUnknown(6)).isFalse();
+    Assertions.assertThat(underTest.liveId(6)).isEqualTo(60);
+  }
+}
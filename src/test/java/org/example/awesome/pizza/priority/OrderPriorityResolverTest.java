@@ -0,0 +1,34 @@
+package org.example.awesome.pizza.priority;
+
+import org.assertj.core.api.Assertions;
+import org.example.awesome.pizza.model.OrderPriority;
+import org.example.awesome.pizza.model.OrderRequest;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+class OrderPriorityResolverTest {
+  private final OrderPriorityResolver underTest = new OrderPriorityResolver(1, 6);
+
+  private static Stream<Arguments> resolve_Parameters() {
+    return Stream.of(
+        Arguments.of(null, OrderPriority.NORMAL),
+        Arguments.of(new OrderRequest(), OrderPriority.NORMAL),
+        Arguments.of(new OrderRequest().pizzas(List.of(1L)), OrderPriority.EXPRESS),
+        Arguments.of(new OrderRequest().pizzas(List.of(1L, 2L, 3L)), OrderPriority.NORMAL),
+        Arguments.of(new OrderRequest().pizzas(Collections.nCopies(6, 1L)), OrderPriority.BULK),
+        Arguments.of(new OrderRequest().pizzas(Collections.nCopies(6, 1L)).priority(OrderPriority.EXPRESS), OrderPriority.EXPRESS)
+    );
+  }
+
+  @ParameterizedTest
+  @MethodSource("resolve_Parameters")
+  void resolve_ShouldReturnExplicitOrPizzaCountLane(final OrderRequest request, final OrderPriority expected) {
+    Assertions.assertThat(underTest.resolve(request))
+        .isEqualTo(expected);
+  }
+}
@@ -0,0 +1,53 @@
+package org.example.awesome.pizza.priority;
+
+import org.assertj.core.api.Assertions;
+import org.example.awesome.pizza.model.OrderPriority;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+class WeightedLaneSelectorTest {
+  private final WeightedLaneSelector underTest = new WeightedLaneSelector(6, 3, 1);
+
+  @Test
+  void select_WhenAllLanesEmpty_ShouldReturnEmpty() {
+    Assertions.assertThat(underTest.select(Set.of()))
+        .isEmpty();
+  }
+
+  @Test
+  void select_WhenSingleLane_ShouldAlwaysReturnIt() {
+    for (int i = 0; i < 10; i++)
+      Assertions.assertThat(underTest.select(Set.of(OrderPriority.BULK)))
+          .contains(OrderPriority.BULK);
+  }
+
+  @Test
+  void select_WhenAllLanesBusy_ShouldServeProportionallyToWeights() {
+    final Map<OrderPriority, Integer> served = new EnumMap<>(OrderPriority.class);
+    for (int i = 0; i < 100; i++)
+      underTest.select(EnumSet.allOf(OrderPriority.class))
+          .ifPresent(lane -> served.merge(lane, 1, Integer::sum));
+
+    Assertions.assertThat(served)
+        .containsEntry(OrderPriority.EXPRESS, 60)
+        .containsEntry(OrderPriority.NORMAL, 30)
+        .containsEntry(OrderPriority.BULK, 10);
+  }
+
+  @Test
+  void select_WhenAllLanesBusy_ShouldNotStarveBulkWithinARound() {
+    final List<OrderPriority> round = new ArrayList<>();
+    for (int i = 0; i < 10; i++)
+      round.add(underTest.select(EnumSet.allOf(OrderPriority.class)).orElseThrow());
+
+    Assertions.assertThat(round)
+        .contains(OrderPriority.BULK)
+        .doesNotContainSequence(OrderPriority.EXPRESS, OrderPriority.EXPRESS, OrderPriority.EXPRESS);
+  }
+}
@@ -0,0 +1,54 @@
+package org.example.awesome.pizza.ratelimit;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+class TokenBucketTest {
+  private static final long REFILL = 100;
+  private static final long START = -1_000;
+
+  private final TokenBucket underTest = new TokenBucket(3, REFILL, START);
+
+  @Test
+  void tryConsume_WhenFull_ShouldAllowBurstUpToCapacity() {
+    Assertions.assertThat(IntStream.range(0, 3).mapToLong(i -> underTest.tryConsume(START))).containsOnly(0L);
+
+    Assertions.assertThat(underTest.tryConsume(START)).isEqualTo(REFILL);
+  }
+
+  @Test
+  void tryConsume_WhenEmpty_ShouldRefillOneTokenPerInterval() {
+    IntStream.range(0, 3).forEach(i -> underTest.tryConsume(START));
+
+    Assertions.assertThat(underTest.tryConsume(START + 40)).isEqualTo(REFILL - 40);
+    Assertions.assertThat(underTest.tryConsume(START + REFILL)).isZero();
+    Assertions.assertThat(underTest.tryConsume(START + REFILL)).isEqualTo(REFILL);
+  }
+
+  @Test
+  void tryConsume_WhenIdleLongerThanCapacity_ShouldNotStoreMoreThanCapacity() {
+    final long later = START + 100 * REFILL;
+
+    Assertions.assertThat(IntStream.range(0, 3).mapToLong(i -> underTest.tryConsume(later))).containsOnly(0L);
+    Assertions.assertThat(underTest.tryConsume(later)).isPositive();
+  }
+
+  @Test
+  void tryConsume_WhenConcurrent_ShouldNeverExceedCapacity() {
+    final TokenBucket bucket = new TokenBucket(1000, Long.MAX_VALUE / 10_000, 0);
+    final AtomicInteger allowed = new AtomicInteger();
+
+    CompletableFuture.allOf(IntStream.range(0, 8)
+            .mapToObj(t -> CompletableFuture.runAsync(() -> IntStream.range(0, 1000)
+                .filter(i -> bucket.tryConsume(0) == 0)
+                .forEach(i -> allowed.incrementAndGet())))
+            .toArray(CompletableFuture[]::new))
+        .join();
+
+    Assertions.assertThat(allowed).hasValue(1000);
+  }
+}
@@ -0,0 +1,135 @@
+package org.example.awesome.pizza.repository;
+
+import jakarta.persistence.EntityManager;
+import org.assertj.core.api.Assertions;
+import org.example.awesome.pizza.AwesomePizzaApplication;
+import org.example.awesome.pizza.domain.Chef;
+import org.example.awesome.pizza.domain.Order;
+import org.example.awesome.pizza.domain.OrderLine;
+import org.example.awesome.pizza.domain.Pizza;
+import org.example.awesome.pizza.model.OrderPriority;
+import org.example.awesome.pizza.model.OrderStatus;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.IntStream;
+
+@DataJpaTest(
+    properties = {
+        "spring.datasource.url=jdbc:h2:mem:orderlinetestdb",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=update"
+    }, showSql = false
+)
+@ContextConfiguration(classes = {
+    OrderLineRepository.class,
+    OrderRepository.class,
+    PizzaRepository.class,
+    ChefRepository.class,
+    AwesomePizzaApplication.class
+})
+class OrderLineRepositoryTest {
+  @Autowired
+  private OrderLineRepository repository;
+  @Autowired
+  private OrderRepository orderRepo;
+  @Autowired
+  private PizzaRepository pizzaRepo;
+  @Autowired
+  private ChefRepository chefRepo;
+  @Autowired
+  private EntityManager entityManager;
+
+  private Chef chef;
+  private Pizza pizza;
+
+  @BeforeEach
+  void setUp() {
+    repository.deleteAll();
+    orderRepo.deleteAll();
+
+    chef = chefRepo.save(new Chef()
+        .setFirstName("FirstName")
+        .setLastName("LastName"));
+    pizza = pizzaRepo.save(new Pizza()
+        .setName("PizzaName")
+        .setDescription("PizzaDescription")
+        .setPrice(BigDecimal.valueOf(6.3)));
+  }
+
+  @Test
+  void findAllOfSameOrder_ShouldReturnLinesOfTheOrderOnly() {
+    final List<OrderLine> lines = open(OrderPriority.NORMAL, 3);
+    open(OrderPriority.NORMAL, 2);
+    flushAndClear();
+
+    final List<OrderLine> found = repository.findAllOfSameOrder(lines.get(1).getId());
+
+    Assertions.assertThat(found)
+        .extracting(OrderLine::getId)
+        .containsExactlyElementsOf(lines.stream().map(OrderLine::getId).toList());
+    Assertions.assertThat(found)
+        .allMatch(line -> Hibernate.isInitialized(line.getOrder()) && Hibernate.isInitialized(line.getPizza()));
+    Assertions.assertThat(repository.findAllOfSameOrder(999999999L))
+        .isEmpty();
+  }
+
+  @Test
+  void findChefCookingAndLaneHeads_ShouldReturnChefCookingAndOldestCreatedOfEachLane() {
+    final List<OrderLine> normal = open(OrderPriority.NORMAL, 3);
+    final List<OrderLine> bulk = open(OrderPriority.BULK, 2);
+    final List<OrderLine> express = open(OrderPriority.EXPRESS, 2);
+    final List<OrderLine> otherNormal = open(OrderPriority.NORMAL, 1);
+    normal.get(0).setStatus(OrderStatus.COOKING).setChef(chef);
+    express.get(0).setStatus(OrderStatus.DONE).setChef(chef);
+    flushAndClear();
+
+    final List<OrderLine> found = repository.findChefCookingAndLaneHeads(chef.getId());
+
+    Assertions.assertThat(found)
+        .extracting(OrderLine::getId)
+        .containsExactly(normal.get(0).getId(), normal.get(1).getId(), bulk.get(0).getId(), express.get(1).getId());
+    Assertions.assertThat(found)
+        .noneMatch(line -> otherNormal.get(0).getId().equals(line.getId()))
+        .allMatch(line -> Hibernate.isInitialized(line.getOrder()) && Hibernate.isInitialized(line.getPizza()));
+  }
+
+  @Test
+  void deleteOrder_ShouldDeleteItsLines() {
+    final List<OrderLine> lines = open(OrderPriority.NORMAL, 2);
+    final Long orderId = lines.get(0).getOrder().getId();
+    flushAndClear();
+
+    orderRepo.deleteById(orderId);
+    flushAndClear();
+
+    Assertions.assertThat(repository.findAllByOrderId(orderId))
+        .isEmpty();
+  }
+
+  private List<OrderLine> open(final OrderPriority priority, final int pizzas) {
+    final Order order = orderRepo.save(new Order()
+        .setStatus(OrderStatus.COOKING)
+        .setPriority(priority)
+        .setPizzas(List.of(pizza)));
+
+    return repository.saveAll(IntStream.range(0, pizzas)
+        .mapToObj(i -> new OrderLine()
+            .setOrder(order)
+            .setPizza(pizza)
+            .setStatus(OrderStatus.CREATED)
+            .setPriority(priority))
+        .toList());
+  }
+
+  private void flushAndClear() {
+    entityManager.flush();
+    entityManager.clear();
+  }
+}
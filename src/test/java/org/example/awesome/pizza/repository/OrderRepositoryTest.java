@@ -1,23 +1,30 @@
 package org.example.awesome.pizza.repository;
 
+import jakarta.persistence.EntityManager;
 import org.assertj.core.api.Assertions;
 import org.example.awesome.pizza.AwesomePizzaApplication;
 import org.example.awesome.pizza.domain.Chef;
 import org.example.awesome.pizza.domain.Order;
 import org.example.awesome.pizza.domain.Pizza;
+import org.example.awesome.pizza.model.OrderPriority;
 import org.example.awesome.pizza.model.OrderStatus;
+import org.example.awesome.pizza.repository.projection.OrderSummaryRow;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
 import org.instancio.Instancio;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.junit.jupiter.params.provider.NullSource;
-import org.junit.jupiter.params.provider.ValueSource;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.test.context.ContextConfiguration;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
 import java.util.Objects;
 
@@ -44,6 +51,8 @@ class OrderRepositoryTest {
   private PizzaRepository pizzaRepo;
   @Autowired
   private ChefRepository chefRepo;
+  @Autowired
+  private EntityManager entityManager;
 
   private Chef chef;
   private Pizza pizza;
@@ -63,7 +72,7 @@ class OrderRepositoryTest {
     pizzaRepo.save(pizza);
 
     existing = new Order()
-        .setStatus(OrderStatus.CREATED.name())
+        .setStatus(OrderStatus.CREATED)
         .setPizzas(List.of(
             pizza
         ));
@@ -133,8 +142,8 @@ class OrderRepositoryTest {
   }
 
   @ParameterizedTest
-  @ValueSource(strings = {"CREATED"})
-  void findAllSortedByCreatedDateTest_Found(final String status) {
+  @EnumSource(value = OrderStatus.class, names = {"CREATED"})
+  void findAllSortedByCreatedDateTest_Found(final OrderStatus status) {
     final List<Order> results = repository.findAllSortedByCreatedDate(status);
 
     Assertions.assertThat(results)
@@ -145,8 +154,8 @@ class OrderRepositoryTest {
 
   @ParameterizedTest
   @NullSource
-  @ValueSource(strings = {"DONE", "COOKING", "CANCELED"})
-  void findAllSortedByCreatedDateTest_NotFound(final String status) {
+  @EnumSource(value = OrderStatus.class, names = {"DONE", "COOKING", "CANCELED"})
+  void findAllSortedByCreatedDateTest_NotFound(final OrderStatus status) {
     final List<Order> results = repository.findAllSortedByCreatedDate(status);
 
     Assertions.assertThat(results)
@@ -154,6 +163,38 @@ class OrderRepositoryTest {
         .isEmpty();
   }
 
+  @Test
+  void findSummariesSortedByCreatedDate_ShouldReturnRowPerPizzaWithoutManagedEntities() {
+    final Order twoPizzas = new Order()
+        .setStatus(OrderStatus.CREATED)
+        .setPizzas(List.of(pizza, pizza));
+    repository.save(twoPizzas);
+    entityManager.flush();
+    entityManager.clear();
+
+    final List<OrderSummaryRow> results = repository.findSummariesSortedByCreatedDate(OrderStatus.CREATED);
+
+    Assertions.assertThat(results)
+        .filteredOn(row -> Objects.equals(row.id(), twoPizzas.getId()))
+        .hasSize(2)
+        .allMatch(row -> Objects.equals(row.code(), twoPizzas.getCode()))
+        .allMatch(row -> Objects.equals(row.pizzaName(), pizza.getName()));
+    Assertions.assertThat(results)
+        .extracting(OrderSummaryRow::id)
+        .contains(existing.getId());
+    Assertions.assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount())
+        .isZero();
+
+    repository.deleteById(twoPizzas.getId());
+  }
+
+  @ParameterizedTest
+  @EnumSource(value = OrderStatus.class, names = {"DONE", "COOKING", "CANCELED"})
+  void findSummariesSortedByCreatedDate_NotFound(final OrderStatus status) {
+    Assertions.assertThat(repository.findSummariesSortedByCreatedDate(status))
+        .isEmpty();
+  }
+
   @Test
   void canTakeAnyOrder_WhenNoCookingInDB_ShouldReturnTrue() {
     final boolean result = repository.canTakeAnyOrder(1L, 1L);
@@ -165,7 +206,7 @@ class OrderRepositoryTest {
   @Test
   void canTakeAnyOrder_WhenCookingInDB_ShouldReturnFalse() {
     final Order cooking = new Order()
-        .setStatus(OrderStatus.COOKING.name())
+        .setStatus(OrderStatus.COOKING)
         .setChef((Chef) new Chef().setId(chef.getId()))
         .setPizzas(List.of((Pizza) new Pizza().setId(pizza.getId())));
     repository.save(cooking);
@@ -175,4 +216,63 @@ class OrderRepositoryTest {
     Assertions.assertThat(result)
         .isFalse();
   }
+
+  @Test
+  void findChefCookingAndLaneHeads_ShouldReturnChefCookingAndOldestCreatedOfEachLane() {
+    final Chef otherChef = chefRepo.save(new Chef()
+        .setFirstName("OtherFirstName")
+        .setLastName("OtherLastName"));
+    final Order cooking = repository.save(new Order()
+        .setStatus(OrderStatus.COOKING)
+        .setChef(chef)
+        .setPizzas(List.of(pizza)));
+    final Order otherCooking = repository.save(new Order()
+        .setStatus(OrderStatus.COOKING)
+        .setChef(otherChef)
+        .setPizzas(List.of(pizza)));
+    final Order newerNormal = repository.save(new Order()
+        .setStatus(OrderStatus.CREATED)
+        .setPizzas(List.of(pizza)));
+    final Order express = repository.save(new Order()
+        .setStatus(OrderStatus.CREATED)
+        .setPriority(OrderPriority.EXPRESS)
+        .setPizzas(List.of(pizza)));
+    entityManager.flush();
+    entityManager.clear();
+
+    final List<Order> results = repository.findChefCookingAndLaneHeads(chef.getId());
+
+    Assertions.assertThat(results)
+        .extracting(Order::getId)
+        .containsExactly(existing.getId(), cooking.getId(), express.getId())
+        .doesNotContain(otherCooking.getId(), newerNormal.getId());
+    Assertions.assertThat(results)
+        .allMatch(o -> Hibernate.isInitialized(o.getPizzas()));
+  }
+
+  @Test
+  void findArchivable_WhenNoCompletedOrders_ShouldReturnEmpty() {
+    final List<Order> results = repository.findArchivable(List.of(OrderStatus.DONE), Instant.now().plusSeconds(60), PageRequest.of(0, 10));
+
+    Assertions.assertThat(results)
+        .isNotNull()
+        .doesNotContain(existing);
+  }
+
+  @Test
+  void findArchivable_WhenCompletedOrders_ShouldReturnOldestFirst() {
+    final Order done = new Order()
+        .setStatus(OrderStatus.DONE)
+        .setPizzas(List.of((Pizza) new Pizza().setId(pizza.getId())));
+    repository.save(done);
+
+    final List<Order> results = repository.findArchivable(List.of(OrderStatus.DONE), Instant.now().plusSeconds(60), PageRequest.of(0, 1));
+    final List<Order> tooRecent = repository.findArchivable(List.of(OrderStatus.DONE), done.getLastModifiedDate().minusSeconds(1), PageRequest.of(0, 1));
+
+    Assertions.assertThat(results)
+        .hasSize(1)
+        .allMatch(o -> OrderStatus.DONE.equals(o.getStatus()));
+    Assertions.assertThat(tooRecent)
+        .doesNotContain(done);
+  }
 }
@@ -0,0 +1,90 @@
+package org.example.awesome.pizza.repository;
+
+import org.assertj.core.api.Assertions;
+import org.example.awesome.pizza.AwesomePizzaApplication;
+import org.example.awesome.pizza.domain.SalesBucket;
+import org.example.awesome.pizza.model.SalesGranularity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+@DataJpaTest(
+    properties = {
+        "spring.datasource.url=jdbc:h2:mem:unittestdb",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=update"
+    }, showSql = false
+)
+@ContextConfiguration(classes = {SalesBucketRepository.class, AwesomePizzaApplication.class})
+class SalesBucketRepositoryTest {
+  private static final Instant START = Instant.parse("2025-01-23T17:01:00Z");
+
+  @Autowired
+  private SalesBucketRepository repository;
+
+  private SalesBucket withChef;
+  private SalesBucket withoutChef;
+
+  @BeforeEach
+  void setUp() {
+    withChef = repository.save(new SalesBucket()
+        .setGranularity(SalesGranularity.MINUTE.name())
+        .setBucketStart(START)
+        .setPizzaId(1L)
+        .setChefId(1L)
+        .setPizzaCount(2L)
+        .setRevenue(BigDecimal.TEN));
+    withoutChef = repository.save(new SalesBucket()
+        .setGranularity(SalesGranularity.MINUTE.name())
+        .setBucketStart(START.plus(1, ChronoUnit.MINUTES))
+        .setPizzaId(1L)
+        .setPizzaCount(1L)
+        .setRevenue(BigDecimal.ONE));
+  }
+
+  @AfterEach
+  void dispose() {
+    repository.deleteAll(List.of(withChef, withoutChef));
+  }
+
+  @Test
+  void findOneByKey_Found() {
+    Assertions.assertThat(repository.findOneByKey(SalesGranularity.MINUTE.name(), START, 1L, 1L))
+        .contains(withChef);
+    Assertions.assertThat(repository.findOneByKey(SalesGranularity.MINUTE.name(), withoutChef.getBucketStart(), 1L, null))
+        .contains(withoutChef);
+  }
+
+  @Test
+  void findOneByKey_NotFound() {
+    Assertions.assertThat(repository.findOneByKey(SalesGranularity.HOUR.name(), START, 1L, 1L))
+        .isEmpty();
+    Assertions.assertThat(repository.findOneByKey(SalesGranularity.MINUTE.name(), START, 1L, null))
+        .isEmpty();
+  }
+
+  @Test
+  void findAllInRange_ShouldReturnSortedBucketsInRange() {
+    Assertions.assertThat(repository.findAllInRange(START, START.plus(1, ChronoUnit.HOURS)))
+        .containsExactly(withChef, withoutChef);
+    Assertions.assertThat(repository.findAllInRange(START.plus(1, ChronoUnit.MINUTES), START.plus(1, ChronoUnit.HOURS)))
+        .containsExactly(withoutChef);
+  }
+
+  @Test
+  void findCompactable_ShouldReturnOnlyOlderBucketsOfGranularity() {
+    Assertions.assertThat(repository.findCompactable(SalesGranularity.MINUTE.name(), START.plus(1, ChronoUnit.MINUTES), PageRequest.of(0, 10)))
+        .containsExactly(withChef);
+    Assertions.assertThat(repository.findCompactable(SalesGranularity.HOUR.name(), Instant.now(), PageRequest.of(0, 10)))
+        .isEmpty();
+  }
+}
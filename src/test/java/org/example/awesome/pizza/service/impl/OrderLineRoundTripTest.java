@@ -0,0 +1,347 @@
+package org.example.awesome.pizza.service.impl;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.assertj.core.api.Assertions;
+import org.example.awesome.pizza.AwesomePizzaApplication;
+import org.example.awesome.pizza.domain.Chef;
+import org.example.awesome.pizza.domain.Order;
+import org.example.awesome.pizza.domain.Pizza;
+import org.example.awesome.pizza.exception.BadRequestException;
+import org.example.awesome.pizza.exception.ConflictException;
+import org.example.awesome.pizza.model.OrderDto;
+import org.example.awesome.pizza.model.OrderInternalReq;
+import org.example.awesome.pizza.model.OrderLineDto;
+import org.example.awesome.pizza.model.OrderPriority;
+import org.example.awesome.pizza.model.OrderStatus;
+import org.example.awesome.pizza.repository.ChefRepository;
+import org.example.awesome.pizza.repository.OrderRepository;
+import org.example.awesome.pizza.repository.PizzaRepository;
+import org.example.awesome.pizza.service.OrderLineService;
+import org.example.awesome.pizza.service.OrderService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Cooks Orders line by line on a real application context, counting the statements sent to the DB
+ */
+class OrderLineRoundTripTest {
+  private static final int THRESHOLD = 8;
+
+  private static ConfigurableApplicationContext context;
+  private static OrderLineService lineService;
+  private static OrderService orderService;
+  private static OrderRepository orderRepository;
+  private static Statistics statistics;
+  private static List<Long> menu;
+
+  private Long chefId;
+  private Long otherChefId;
+  private Map<OrderPriority, OrderDto> orders;
+
+  @BeforeAll
+  static void startContext() {
+    context = new SpringApplicationBuilder(AwesomePizzaApplication.class)
+        .run(
+            "--spring.main.web-application-type=none",
+            "--spring.main.banner-mode=off",
+            "--spring.datasource.url=jdbc:h2:mem:order-line;MODE=MSSQLServer",
+            "--spring.jpa.properties.hibernate.generate_statistics=true",
+            "--awesome-pizza.config.archive.enabled=false",
+            "--awesome-pizza.config.analytics.flush-interval=PT1H",
+            "--awesome-pizza.config.lines.cooking-threshold=%d".formatted(THRESHOLD),
+            // Lanes served in turn, so that every lane is opened within a few takes
+            "--awesome-pizza.config.priority.weights.express=1",
+            "--awesome-pizza.config.priority.weights.normal=1",
+            "--awesome-pizza.config.priority.weights.bulk=1",
+            "--logging.level.org.hibernate.SQL=WARN",
+            "--logging.level.org.hibernate.orm.jdbc.bind=WARN",
+            "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+    lineService = context.getBean(OrderLineService.class);
+    orderService = context.getBean(OrderService.class);
+    orderRepository = context.getBean(OrderRepository.class);
+    statistics = context.getBean(EntityManagerFactory.class)
+        .unwrap(SessionFactory.class)
+        .getStatistics();
+    menu = context.getBean(PizzaRepository.class).findAll().stream()
+        .map(Pizza::getId)
+        .toList();
+  }
+
+  @AfterAll
+  static void stopContext() {
+    context.close();
+  }
+
+  @BeforeEach
+  void setUp() {
+    orderRepository.deleteAll();
+    final ChefRepository chefRepository = context.getBean(ChefRepository.class);
+    chefId = chefRepository.save(new Chef().setFirstName("Chef").setLastName("Line")).getId();
+    otherChefId = chefRepository.save(new Chef().setFirstName("Chef").setLastName("Other")).getId();
+
+    // One Order for each priority lane, with more than one pizza, so that lanes still have lines once opened
+    orders = Map.of(OrderPriority.EXPRESS, 3, OrderPriority.NORMAL, 3, OrderPriority.BULK, 6).entrySet().stream()
+        .map(lane -> orderService.save((OrderInternalReq) new OrderInternalReq()
+            .pizzas(Collections.nCopies(lane.getValue(), menu.get(0)))
+            .priority(lane.getKey())))
+        .collect(Collectors.toMap(OrderDto::getPriority, Function.identity()));
+  }
+
+  @Test
+  void takeNext_WhenNoLineLeft_ShouldOpenNextOrder() {
+    final OrderLineDto line = lineService.takeNext(chefId).orElseThrow();
+
+    Assertions.assertThat(line)
+        .matches(taken -> OrderStatus.COOKING.equals(taken.getStatus()))
+        .matches(taken -> chefId.equals(taken.getChefId()))
+        .matches(taken -> taken.getPizza() != null && menu.get(0).equals(taken.getPizza().getId()));
+    Assertions.assertThat(orderRepository.findById(line.getOrderId()))
+        .get()
+        .matches(order -> OrderStatus.COOKING.equals(order.getStatus()))
+        .matches(order -> order.getChef() == null);
+    Assertions.assertThat(lineService.findByOrderId(line.getOrderId()))
+        .hasSize(orders.get(line.getPriority()).getPizzas().size())
+        .allMatch(each -> line.getPriority().equals(each.getPriority()))
+        .filteredOn(each -> OrderStatus.COOKING.equals(each.getStatus()))
+        .singleElement()
+        .matches(each -> line.getId().equals(each.getId()));
+
+    // Opened Orders are no longer taken as a whole, nor completed as a whole
+    Assertions.assertThatExceptionOfType(BadRequestException.class)
+        .isThrownBy(() -> orderService.takeNext(otherChefId, line.getOrderId()));
+    Assertions.assertThatExceptionOfType(ConflictException.class)
+        .isThrownBy(() -> orderService.updateOrder(line.getOrderId(),
+            (OrderInternalReq) new OrderInternalReq().status(OrderStatus.DONE), chefId));
+  }
+
+  @Test
+  void takeNext_WhenOrderTakenWhileOpenedForLines_ShouldLetOnlyOneWin() throws Exception {
+    final OrderDto express = orders.get(OrderPriority.EXPRESS);
+    final Long thirdChefId = context.getBean(ChefRepository.class)
+        .save(new Chef().setFirstName("Chef").setLastName("Whole"))
+        .getId();
+    // Other lanes are cooked as a whole, so that the line take opens the express Order
+    orderService.takeNext(otherChefId, orders.get(OrderPriority.NORMAL).getId());
+    orderService.takeNext(otherChefId, orders.get(OrderPriority.BULK).getId());
+
+    // The loser either waits for the winner and finds the Order taken, or reads it already COOKING
+    final List<Optional<Object>> results = concurrently(
+        () -> orElseNull(() -> orderService.takeNext(thirdChefId, express.getId()).orElse(null)),
+        () -> orElseNull(() -> lineService.takeNext(chefId).orElse(null)));
+
+    Assertions.assertThat(results)
+        .filteredOn(Optional::isPresent)
+        .hasSize(1);
+    final Order order = orderRepository.findById(express.getId()).orElseThrow();
+    Assertions.assertThat(order.getStatus()).isEqualTo(OrderStatus.COOKING);
+    if (results.get(0).isPresent()) {
+      Assertions.assertThat(order.getChef().getId()).isEqualTo(thirdChefId);
+      Assertions.assertThat(lineService.findByOrderId(express.getId())).isEmpty();
+    } else {
+      Assertions.assertThat(order.getChef()).isNull();
+      Assertions.assertThat(lineService.findByOrderId(express.getId())).hasSize(express.getPizzas().size());
+    }
+  }
+
+  @Test
+  void takeNext_WhenLinesOpenInEveryLane_ShouldTakeFourRoundTrips() {
+    // Open every lane, leaving lines in all of them
+    for (int i = 0; i < THRESHOLD && !orders.values().stream().allMatch(this::isCooking); i++)
+      lineService.takeNext(otherChefId).orElseThrow();
+    Assertions.assertThat(orders.values())
+        .allMatch(this::isCooking);
+
+    statistics.clear();
+    final OrderLineDto line = lineService.takeNext(chefId).orElseThrow();
+    final long statements = statistics.getPrepareStatementCount();
+    final long updates = statistics.getEntityUpdateCount();
+
+    Assertions.assertThat(line)
+        .matches(taken -> OrderStatus.COOKING.equals(taken.getStatus()))
+        .matches(taken -> chefId.equals(taken.getChefId()));
+
+    // One query for the Chef COOKING lines with the CREATED lane heads, the Order lock, the committed status of the
+    // line and one update
+    Assertions.assertThat(statements).isEqualTo(4);
+    Assertions.assertThat(updates).isEqualTo(1);
+  }
+
+  @Test
+  void complete_WhenLinesLeft_ShouldTakeThreeRoundTrips() {
+    final OrderLineDto line = takeLineOf(OrderPriority.NORMAL);
+
+    statistics.clear();
+    final OrderLineDto done = lineService.complete(line.getId(), chefId);
+    final long statements = statistics.getPrepareStatementCount();
+    final long updates = statistics.getEntityUpdateCount();
+
+    Assertions.assertThat(done)
+        .matches(each -> OrderStatus.DONE.equals(each.getStatus()));
+    Assertions.assertThat(orderRepository.findById(line.getOrderId()))
+        .get()
+        .extracting(Order::getStatus)
+        .isEqualTo(OrderStatus.COOKING);
+
+    // The Order lock, one query for all the lines of the Order, one update
+    Assertions.assertThat(statements).isEqualTo(3);
+    Assertions.assertThat(updates).isEqualTo(1);
+  }
+
+  @Test
+  void complete_WhenLastLine_ShouldCompleteOrder() {
+    final OrderDto bulk = orders.get(OrderPriority.BULK);
+    final int pizzas = bulk.getPizzas().size();
+
+    // Two Chefs share the bulk Order, up to their threshold: express and normal Orders are cooked as a whole
+    orderService.takeNext(otherChefId, orders.get(OrderPriority.EXPRESS).getId());
+    orderService.takeNext(otherChefId, orders.get(OrderPriority.NORMAL).getId());
+    final List<OrderLineDto> taken = new ArrayList<>();
+    for (int i = 0; i < pizzas; i++)
+      taken.add(lineService.takeNext(i % 2 == 0 ? chefId : otherChefId).orElseThrow());
+    Assertions.assertThat(taken)
+        .allMatch(line -> bulk.getId().equals(line.getOrderId()));
+    Assertions.assertThat(lineService.takeNext(chefId))
+        .isEmpty();
+
+    for (int i = 0; i < pizzas; i++) {
+      Assertions.assertThat(orderRepository.findById(bulk.getId()))
+          .get()
+          .extracting(Order::getStatus)
+          .isEqualTo(OrderStatus.COOKING);
+      lineService.complete(taken.get(i).getId(), i % 2 == 0 ? chefId : otherChefId);
+    }
+
+    Assertions.assertThat(orderRepository.findById(bulk.getId()))
+        .get()
+        .extracting(Order::getStatus)
+        .isEqualTo(OrderStatus.DONE);
+    Assertions.assertThat(lineService.findByOrderId(bulk.getId()))
+        .hasSize(pizzas)
+        .allMatch(line -> OrderStatus.DONE.equals(line.getStatus()));
+  }
+
+  @Test
+  void complete_WhenLinesCompletedConcurrently_ShouldCompleteOrder() throws Exception {
+    final OrderDto bulk = orders.get(OrderPriority.BULK);
+    final int pizzas = bulk.getPizzas().size();
+    orderService.takeNext(otherChefId, orders.get(OrderPriority.EXPRESS).getId());
+    orderService.takeNext(otherChefId, orders.get(OrderPriority.NORMAL).getId());
+    final List<OrderLineDto> taken = new ArrayList<>();
+    for (int i = 0; i < pizzas; i++)
+      taken.add(lineService.takeNext(i % 2 == 0 ? chefId : otherChefId).orElseThrow());
+
+    // Both Chefs complete their lines at once, up to the last two: each must see the other's line as DONE
+    for (int i = 0; i < pizzas; i += 2) {
+      final OrderLineDto mine = taken.get(i);
+      final OrderLineDto theirs = taken.get(i + 1);
+      concurrently(
+          () -> lineService.complete(mine.getId(), chefId),
+          () -> lineService.complete(theirs.getId(), otherChefId));
+    }
+
+    Assertions.assertThat(orderRepository.findById(bulk.getId()))
+        .get()
+        .extracting(Order::getStatus)
+        .isEqualTo(OrderStatus.DONE);
+  }
+
+  @Test
+  void takeNext_WhenTakenConcurrently_ShouldNeverTakeTheSameLine() throws Exception {
+    final List<Long> taken = new ArrayList<>();
+    for (int i = 0; i < THRESHOLD; i++)
+      for (final Optional<OrderLineDto> line : concurrently(() -> lineService.takeNext(chefId).orElse(null),
+          () -> lineService.takeNext(otherChefId).orElse(null)))
+        line.map(OrderLineDto::getId).ifPresent(taken::add);
+
+    Assertions.assertThat(taken)
+        .isNotEmpty()
+        .doesNotHaveDuplicates();
+  }
+
+  @Test
+  void complete_WhenAnotherChef_ShouldThrow() {
+    final OrderLineDto line = takeLineOf(OrderPriority.EXPRESS);
+
+    Assertions.assertThatExceptionOfType(BadRequestException.class)
+        .isThrownBy(() -> lineService.complete(line.getId(), otherChefId));
+  }
+
+  @Test
+  void takeNext_WhenThresholdReached_ShouldThrow() {
+    for (int i = 0; i < THRESHOLD; i++)
+      lineService.takeNext(chefId).orElseThrow();
+
+    Assertions.assertThatExceptionOfType(ConflictException.class)
+        .isThrownBy(() -> lineService.takeNext(chefId));
+  }
+
+  private boolean isCooking(final OrderDto order) {
+    return OrderStatus.COOKING.equals(orderRepository.findById(order.getId()).orElseThrow().getStatus());
+  }
+
+  /**
+   * Runs two calls at once, a lost race, as a {@link ConflictException}, yielding an empty result
+   */
+  @SafeVarargs
+  private static <T> List<Optional<T>> concurrently(final Callable<T>... calls) throws Exception {
+    final ExecutorService executor = Executors.newFixedThreadPool(calls.length);
+    try {
+      final CountDownLatch start = new CountDownLatch(1);
+      final List<Future<Optional<T>>> futures = new ArrayList<>();
+      for (final Callable<T> call : calls)
+        futures.add(executor.submit(() -> {
+          start.await();
+          try {
+            return Optional.ofNullable(call.call());
+          } catch (final ConflictException e) {
+            return Optional.empty();
+          }
+        }));
+      start.countDown();
+
+      final List<Optional<T>> results = new ArrayList<>();
+      for (final Future<Optional<T>> future : futures)
+        results.add(future.get(30, TimeUnit.SECONDS));
+      return results;
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static <T> T orElseNull(final Callable<T> call) throws Exception {
+    try {
+      return call.call();
+    } catch (final BadRequestException e) {
+      return null;
+    }
+  }
+
+  private OrderLineDto takeLineOf(final OrderPriority priority) {
+    // Other lanes are cooked as a whole, so that the next line comes from the input one
+    for (final OrderDto order : orders.values())
+      if (!priority.equals(order.getPriority()))
+        orderService.takeNext(otherChefId, order.getId());
+
+    return lineService.takeNext(chefId).orElseThrow();
+  }
+}
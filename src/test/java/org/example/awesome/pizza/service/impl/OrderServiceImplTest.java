@@ -2,16 +2,32 @@ package org.example.awesome.pizza.service.impl;
 
 import org.apache.commons.lang3.RandomUtils;
 import org.assertj.core.api.Assertions;
+import org.example.awesome.pizza.cluster.ChefLease;
+import org.example.awesome.pizza.cluster.LocalClaimCoordinator;
+import org.example.awesome.pizza.coalescing.RequestCoalescer;
+import org.example.awesome.pizza.domain.ArchivedOrder;
+import org.example.awesome.pizza.domain.Chef;
 import org.example.awesome.pizza.domain.Order;
+import org.example.awesome.pizza.eta.OrderEtaEstimator;
+import org.example.awesome.pizza.event.OrderStatusChangedEvent;
 import org.example.awesome.pizza.exception.BadRequestException;
+import org.example.awesome.pizza.exception.ChefBusyException;
+import org.example.awesome.pizza.exception.ConflictException;
 import org.example.awesome.pizza.exception.InternalServerErrorException;
 import org.example.awesome.pizza.exception.NotFoundException;
+import org.example.awesome.pizza.lookup.OrderCodeIndex;
 import org.example.awesome.pizza.mapper.OrderMapper;
 import org.example.awesome.pizza.model.OrderDto;
 import org.example.awesome.pizza.model.OrderInternalReq;
+import org.example.awesome.pizza.model.OrderPriority;
 import org.example.awesome.pizza.model.OrderStatus;
+import org.example.awesome.pizza.model.PizzaDto;
+import org.example.awesome.pizza.priority.OrderPriorityResolver;
+import org.example.awesome.pizza.repository.ArchivedOrderRepository;
 import org.example.awesome.pizza.repository.OrderRepository;
+import org.example.awesome.pizza.repository.projection.OrderSummaryRow;
 import org.example.awesome.pizza.state.OrderState;
+import org.example.awesome.pizza.store.LiveOrderStore;
 import org.instancio.Instancio;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -24,14 +40,20 @@ import org.mapstruct.factory.Mappers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Stream;
@@ -43,6 +65,8 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doCallRealMethod;
@@ -63,11 +87,29 @@ class OrderServiceImplTest {
 
   @Mock
   private OrderRepository repository;
+  @Mock
+  private ArchivedOrderRepository archiveRepository;
   @Spy
   private final OrderMapper mapper = Mappers.getMapper(OrderMapper.class);
   //@Value("${awesome-pizza.config.cooking-threshold:1}")
   @Mock
   private OrderState orderState;
+  @Spy
+  private OrderPriorityResolver priorityResolver = new OrderPriorityResolver(1, 6);
+  @Mock
+  private OrderEtaEstimator etaEstimator;
+  @Spy
+  private ChefLease chefLease = new ChefLease(new LocalClaimCoordinator(), Duration.ofSeconds(30));
+  @Mock
+  private OrderCodeIndex codeIndex;
+  @Mock
+  private LiveOrderStore liveOrders;
+  @Mock
+  private ApplicationEventPublisher eventPublisher;
+  @Spy
+  private RequestCoalescer coalescer = new RequestCoalescer(null);
+  @Mock
+  private PlatformTransactionManager transactionManager;
 
   @Test
   void findByCode_WhenInvalidInput_ShouldThrow() {
@@ -88,18 +130,45 @@ class OrderServiceImplTest {
         .isThrownBy(() -> underTest.findByCode(code));
 
     verify(repository).findOneByCode(code);
+    verify(archiveRepository).findOneByCode(code);
     verify(mapper, never()).toDto(any());
   }
 
+  @Test
+  void findByCode_WhenArchivedEntityFound_ShouldReturnOK() {
+    final Long code = 1L;
+    final ArchivedOrder archived = Instancio.of(ArchivedOrder.class)
+        .set(field(ArchivedOrder::getCode), code)
+        .set(field(ArchivedOrder::getStatus), OrderStatus.DONE.name())
+        .generate(field(ArchivedOrder::getPriority), g -> g.enumOf(OrderPriority.class).as(OrderPriority::name))
+        .create();
+
+    doReturn(Optional.empty()).when(repository).findOneByCode(code);
+    doReturn(Optional.of(archived)).when(archiveRepository).findOneByCode(code);
+
+    final OrderDto result = underTest.findByCode(code);
+
+    Assertions.assertThat(result)
+        .isNotNull()
+        .matches(o -> Objects.equals(o.getId(), archived.getId()))
+        .matches(o -> Objects.equals(o.getCode(), archived.getCode()))
+        .matches(o -> Objects.equals(o.getStatus(), OrderStatus.DONE))
+        .matches(o -> Objects.equals(o.getPizzas().size(), archived.getPizzas().size()));
+
+    verify(repository).findOneByCode(code);
+    verify(archiveRepository).findOneByCode(code);
+  }
+
   @Test
   void findByCode_WhenEntityFound_ShouldReturnOK() {
     final Long code = 1L;
     final Order entity = Instancio.of(Order.class)
         .set(field(Order::getCode), code)
-        .generate(field(Order::getStatus), g -> g.enumOf(OrderStatus.class).as(OrderStatus::name))
         .create();
 
+    final OffsetDateTime eta = OffsetDateTime.now().plusMinutes(10);
     doReturn(Optional.of(entity)).when(repository).findOneByCode(code);
+    doReturn(eta).when(etaEstimator).estimate(any(OrderDto.class));
 
     final OrderDto result = underTest.findByCode(code);
 
@@ -107,29 +176,77 @@ class OrderServiceImplTest {
         .isNotNull()
         .matches(o -> Objects.equals(o.getId(), entity.getId()))
         .matches(o -> Objects.equals(o.getCode(), entity.getCode()))
-        .matches(o -> Objects.equals(o.getStatus().name(), entity.getStatus()))
+        .matches(o -> Objects.equals(o.getStatus(), entity.getStatus()))
         .matches(o -> Objects.equals(o.getPizzas().size(), entity.getPizzas().size()))
         .matches(o -> Objects.equals(o.getCreatedDate().toInstant(), entity.getCreatedDate()))
-        .matches(o -> Objects.equals(o.getLastModifiedDate().toInstant(), entity.getLastModifiedDate()));
+        .matches(o -> Objects.equals(o.getLastModifiedDate().toInstant(), entity.getLastModifiedDate()))
+        .matches(o -> Objects.equals(o.getEstimatedReadyDate(), eta));
 
     verify(repository).findOneByCode(code);
     verify(mapper).toDto(entity);
   }
 
+  @Test
+  void findByCode_WhenUnknownToIndex_ShouldThrowWithoutQuery() {
+    final Long code = 1L;
+
+    doReturn(true).when(codeIndex).isUnknown(code);
+
+    Assertions.assertThatExceptionOfType(NotFoundException.class)
+        .isThrownBy(() -> underTest.findByCode(code));
+
+    verify(repository, never()).findOneByCode(any());
+    verify(archiveRepository, never()).findOneByCode(any());
+  }
+
+  @Test
+  void findByCode_WhenLiveInIndex_ShouldFindByPrimaryKey() {
+    final Long code = 1L;
+    final Order entity = Instancio.of(Order.class)
+        .set(field(Order::getCode), code)
+        .create();
+
+    doReturn(entity.getId()).when(codeIndex).liveId(code);
+    doReturn(Optional.of(entity)).when(repository).findById(entity.getId());
+
+    Assertions.assertThat(underTest.findByCode(code))
+        .matches(o -> Objects.equals(o.getId(), entity.getId()));
+
+    verify(repository, never()).findOneByCode(any());
+    verify(codeIndex, never()).evict(code);
+  }
+
+  @Test
+  void findByCode_WhenIndexedOrderArchived_ShouldEvictAndFindArchived() {
+    final Long code = 1L;
+    final ArchivedOrder archived = Instancio.of(ArchivedOrder.class)
+        .set(field(ArchivedOrder::getCode), code)
+        .set(field(ArchivedOrder::getStatus), OrderStatus.DONE.name())
+        .generate(field(ArchivedOrder::getPriority), g -> g.enumOf(OrderPriority.class).as(OrderPriority::name))
+        .create();
+
+    doReturn(archived.getId()).when(codeIndex).liveId(code);
+    doReturn(Optional.empty()).when(repository).findById(archived.getId());
+    doReturn(Optional.of(archived)).when(archiveRepository).findOneByCode(code);
+
+    Assertions.assertThat(underTest.findByCode(code))
+        .matches(o -> Objects.equals(o.getId(), archived.getId()));
+
+    verify(codeIndex).evict(code);
+  }
+
   @ParameterizedTest
   @NullSource
   @EnumSource(value = OrderStatus.class)
   void findAllOrders_WhenNoEntityFound_ShouldReturnEmptyList(final OrderStatus status) {
     final Optional<OrderStatus> optStatus = Optional.ofNullable(status);
-    final String[] stringStatus = optStatus
-        .map(List::of)
-        .orElseGet(() -> List.of(OrderStatus.values())).stream()
-        .map(OrderStatus::name)
-        .toArray(String[]::new);
+    final OrderStatus[] arrayStatus = optStatus
+        .map(s -> new OrderStatus[]{s})
+        .orElseGet(OrderStatus::values);
     final List<OrderStatus> statuses = optStatus
         .map(List::of)
         .orElseGet(() -> List.of(OrderStatus.values()));
-    doReturn(List.of()).when(repository).findAllSortedByCreatedDate(stringStatus);
+    doReturn(List.of()).when(repository).findAllSortedByCreatedDate(arrayStatus);
 
     final List<OrderDto> results = underTest.findAllOrders(statuses);
 
@@ -145,19 +262,17 @@ class OrderServiceImplTest {
   @EnumSource(value = OrderStatus.class)
   void findAllOrders_WhenAnyEntityFound_ShouldReturnFullList(final OrderStatus status) {
     final Optional<OrderStatus> optStatus = Optional.ofNullable(status);
-    final String[] stringStatus = optStatus
-        .map(List::of)
-        .orElseGet(() -> List.of(OrderStatus.values())).stream()
-        .map(OrderStatus::name)
-        .toArray(String[]::new);
+    final OrderStatus[] arrayStatus = optStatus
+        .map(s -> new OrderStatus[]{s})
+        .orElseGet(OrderStatus::values);
     final List<OrderStatus> statuses = optStatus
         .map(List::of)
         .orElseGet(() -> List.of(OrderStatus.values()));
     final List<Order> entities = Instancio.ofList(Order.class)
-        .set(field(Order::getStatus), stringStatus[0])
+        .set(field(Order::getStatus), arrayStatus[0])
         .create();
 
-    doReturn(entities).when(repository).findAllSortedByCreatedDate(stringStatus);
+    doReturn(entities).when(repository).findAllSortedByCreatedDate(arrayStatus);
 
     final List<OrderDto> results = underTest.findAllOrders(statuses);
 
@@ -170,6 +285,48 @@ class OrderServiceImplTest {
     verify(mapper, times(entities.size())).toDto(any());
   }
 
+  @Test
+  void findOrderSummaries_WhenLiveStoreAnswers_ShouldNotQueryDb() {
+    final List<OrderSummaryRow> rows = List.of(
+        new OrderSummaryRow(1L, 10L, OrderStatus.CREATED, Instant.now(), "Margherita"));
+    doReturn(Optional.of(rows)).when(liveOrders).summaries(OrderStatus.CREATED);
+
+    final List<OrderDto> results = underTest.findOrderSummaries(List.of(OrderStatus.CREATED));
+
+    Assertions.assertThat(results)
+        .extracting(OrderDto::getId, OrderDto::getCode, OrderDto::getStatus)
+        .containsExactly(Assertions.tuple(1L, 10L, OrderStatus.CREATED));
+    verify(repository, never()).findSummariesSortedByCreatedDate(any());
+  }
+
+  @Test
+  void findOrderSummaries_WhenRowsFound_ShouldGroupPizzaNamesByOrder() {
+    final Instant created = Instant.now();
+    final List<OrderSummaryRow> rows = List.of(
+        new OrderSummaryRow(1L, 10L, OrderStatus.CREATED, created, "Margherita"),
+        new OrderSummaryRow(1L, 10L, OrderStatus.CREATED, created, "Diavola"),
+        new OrderSummaryRow(2L, 11L, OrderStatus.COOKING, created.plusSeconds(1), null));
+    doReturn(rows).when(repository).findSummariesSortedByCreatedDate(OrderStatus.CREATED, OrderStatus.COOKING);
+
+    final List<OrderDto> results = underTest.findOrderSummaries(List.of(OrderStatus.CREATED, OrderStatus.COOKING));
+
+    Assertions.assertThat(results)
+        .extracting(OrderDto::getId, OrderDto::getCode, OrderDto::getStatus)
+        .containsExactly(
+            Assertions.tuple(1L, 10L, OrderStatus.CREATED),
+            Assertions.tuple(2L, 11L, OrderStatus.COOKING));
+    Assertions.assertThat(results.get(0).getPizzas())
+        .extracting(PizzaDto::getName)
+        .containsExactly("Margherita", "Diavola");
+    Assertions.assertThat(results.get(1).getPizzas()).isEmpty();
+    Assertions.assertThat(results)
+        .allMatch(o -> o.getCreatedDate() != null)
+        .allMatch(o -> o.getTotalAmount() == null && o.getEstimatedReadyDate() == null);
+
+    verify(repository, never()).findAllSortedByCreatedDate(any());
+    verify(mapper, never()).toDto(any());
+  }
+
   private static Stream<Arguments> updateOrder_Parameters() {
     return Stream.of(
         Arguments.of(null, null, null),
@@ -234,6 +391,7 @@ class OrderServiceImplTest {
 
     verify(repository, never()).findById(any());
     verify(mapper, never()).toDto(any());
+    verify(transactionManager, never()).getTransaction(any());
   }
 
   @Test
@@ -246,15 +404,39 @@ class OrderServiceImplTest {
         .isThrownBy(() -> underTest.findById(id));
 
     verify(repository).findById(id);
+    verify(archiveRepository).findById(id);
     verify(mapper, never()).toDto(any());
   }
 
+  @Test
+  void findById_WhenArchivedEntityFound_ShouldReturnOK() {
+    final Long id = 1L;
+    final ArchivedOrder archived = Instancio.of(ArchivedOrder.class)
+        .set(field(ArchivedOrder::getId), id)
+        .set(field(ArchivedOrder::getStatus), OrderStatus.CANCELED.name())
+        .generate(field(ArchivedOrder::getPriority), g -> g.enumOf(OrderPriority.class).as(OrderPriority::name))
+        .create();
+
+    doReturn(Optional.empty()).when(repository).findById(id);
+    doReturn(Optional.of(archived)).when(archiveRepository).findById(id);
+
+    final OrderDto result = underTest.findById(id);
+
+    Assertions.assertThat(result)
+        .isNotNull()
+        .matches(o -> Objects.equals(o.getId(), id))
+        .matches(o -> Objects.equals(o.getCode(), archived.getCode()))
+        .matches(o -> Objects.equals(o.getStatus(), OrderStatus.CANCELED));
+
+    verify(repository).findById(id);
+    verify(archiveRepository).findById(id);
+  }
+
   @Test
   void findById_WhenFound_ShouldReturnOK() {
     final Long id = 1L;
     final Order entity = Instancio.of(Order.class)
         .set(field(Order::getId), id)
-        .generate(field(Order::getStatus), g -> g.enumOf(OrderStatus.class).as(OrderStatus::name))
         .create();
 
     doReturn(Optional.of(entity)).when(repository).findById(id);
@@ -265,13 +447,14 @@ class OrderServiceImplTest {
         .isNotNull()
         .matches(o -> Objects.equals(o.getId(), entity.getId()))
         .matches(o -> Objects.equals(o.getCode(), entity.getCode()))
-        .matches(o -> Objects.equals(o.getStatus().name(), entity.getStatus()))
+        .matches(o -> Objects.equals(o.getStatus(), entity.getStatus()))
         .matches(o -> Objects.equals(o.getPizzas().size(), entity.getPizzas().size()))
         .matches(o -> Objects.equals(o.getCreatedDate().toInstant(), entity.getCreatedDate()))
         .matches(o -> Objects.equals(o.getLastModifiedDate().toInstant(), entity.getLastModifiedDate()));
 
     verify(repository).findById(id);
     verify(mapper).toDto(entity);
+    verify(transactionManager).getTransaction(argThat(TransactionDefinition::isReadOnly));
   }
 
   @Test
@@ -290,7 +473,6 @@ class OrderServiceImplTest {
   @Test
   void findAll_WhenAnyEntityFound_ShouldReturnFullPage() {
     final List<Order> entities = Instancio.ofList(Order.class)
-        .generate(field(Order::getStatus), g -> g.enumOf(OrderStatus.class).as(OrderStatus::name))
         .create();
 
     doReturn(new PageImpl<>(entities)).when(repository).findAll(any(Pageable.class));
@@ -332,6 +514,7 @@ class OrderServiceImplTest {
     verify(mapper, never()).toEntity(any());
     verify(repository, never()).save(any());
     verify(mapper, never()).toDto(any());
+    verify(eventPublisher, never()).publishEvent(any());
   }
 
   @Test
@@ -360,11 +543,18 @@ class OrderServiceImplTest {
         .matches(o -> Objects.nonNull(o.getCreatedDate()))
         .matches(o -> Objects.nonNull(o.getLastModifiedDate()))
         .matches(o -> Objects.nonNull(o.getCode()))
-        .matches(o -> Objects.nonNull(o.getId()));
+        .matches(o -> Objects.nonNull(o.getId()))
+        .matches(o -> Objects.equals(o.getPriority(), request.getPriority()));
 
+    verify(priorityResolver).resolve(request);
     verify(mapper).toEntity(any(OrderInternalReq.class));
     verify(repository).save(any(Order.class));
     verify(mapper).toDto(any(Order.class));
+    verify(eventPublisher).publishEvent(argThat((OrderStatusChangedEvent event) ->
+        event.previous() == null &&
+            OrderStatus.CREATED.equals(event.current()) &&
+            Objects.equals(event.orderId(), result.getId()) &&
+            event.pizzaCount() == request.getPizzas().size()));
   }
 
   private static Stream<Arguments> update_ParametersKO() {
@@ -418,7 +608,7 @@ class OrderServiceImplTest {
     doCallRealMethod().when(mapper).patch(request, entity);
     doAnswer(invocation -> {
       final Order arg = invocation.getArgument(0, Order.class);
-      arg.setStatus(request.getStatus().name());
+      arg.setStatus(request.getStatus());
       arg.setLastModifiedDate(newModifiedDate);
       return arg;
     }).when(repository).save(any(Order.class));
@@ -488,5 +678,113 @@ class OrderServiceImplTest {
 
     verify(orderState).handleState(eq(OrderStatus.DONE), any());
     verify(orderState).handleState(eq(OrderStatus.COOKING), any());
+    verify(chefLease).hold(eq(chefId), any());
+  }
+
+  @Test
+  void takeNext_WhenChef_ShouldShareCandidatesReadOnce() {
+    final Long chefId = 1L;
+    final Order cooking = new Order()
+        .setStatus(OrderStatus.COOKING)
+        .setChef((Chef) new Chef().setId(chefId));
+    final Order expressHead = new Order()
+        .setStatus(OrderStatus.CREATED)
+        .setPriority(OrderPriority.EXPRESS);
+
+    doReturn(List.of(cooking, expressHead)).when(repository).findChefCookingAndLaneHeads(chefId);
+    doReturn(Optional.empty()).when(orderState).handleState(any(OrderStatus.class), any());
+
+    underTest.takeNext(chefId, null);
+
+    verify(repository).findChefCookingAndLaneHeads(chefId);
+    verify(orderState).handleState(eq(OrderStatus.DONE), argThat(model -> List.of(cooking).equals(model.chefCooking())));
+    verify(orderState).handleState(eq(OrderStatus.COOKING), argThat(model -> List.of(cooking).equals(model.chefCooking())
+        && Map.of(OrderPriority.EXPRESS, expressHead).equals(model.laneHeads())));
+  }
+
+  @Test
+  void takeNext_WhenLiveStoreAnswers_ShouldReadCandidatesById() {
+    final Long chefId = 1L;
+    final Order cooking = (Order) new Order()
+        .setStatus(OrderStatus.COOKING)
+        .setChef((Chef) new Chef().setId(chefId))
+        .setId(10L);
+    final Order normalHead = (Order) new Order()
+        .setStatus(OrderStatus.CREATED)
+        .setPriority(OrderPriority.NORMAL)
+        .setId(12L);
+
+    doReturn(Optional.of(List.of(10L, 12L))).when(liveOrders).kitchenCandidates(chefId);
+    doReturn(List.of(cooking, normalHead)).when(repository).findAllWithPizzasById(List.of(10L, 12L));
+    doReturn(Optional.empty()).when(orderState).handleState(any(OrderStatus.class), any());
+
+    underTest.takeNext(chefId, null);
+
+    verify(repository, never()).findChefCookingAndLaneHeads(any());
+    verify(orderState).handleState(eq(OrderStatus.COOKING), argThat(model -> List.of(cooking).equals(model.chefCooking())
+        && Map.of(OrderPriority.NORMAL, normalHead).equals(model.laneHeads())));
+    verify(liveOrders, never()).evict(anyLong());
+  }
+
+  @Test
+  void takeNext_WhenLiveStoreLaneHeadStale_ShouldFindCandidatesOnDb() {
+    final Long chefId = 1L;
+    final Order cooking = (Order) new Order()
+        .setStatus(OrderStatus.COOKING)
+        .setChef((Chef) new Chef().setId(chefId))
+        .setId(10L);
+    // Taken by another Chef since read from the store: the next Order of its lane is unknown to the store yet
+    final Order takenHead = (Order) new Order()
+        .setStatus(OrderStatus.COOKING)
+        .setChef((Chef) new Chef().setId(2L))
+        .setPriority(OrderPriority.EXPRESS)
+        .setId(11L);
+    final Order normalHead = (Order) new Order()
+        .setStatus(OrderStatus.CREATED)
+        .setPriority(OrderPriority.NORMAL)
+        .setId(12L);
+    final Order nextExpress = (Order) new Order()
+        .setStatus(OrderStatus.CREATED)
+        .setPriority(OrderPriority.EXPRESS)
+        .setId(14L);
+
+    doReturn(Optional.of(List.of(10L, 11L, 12L, 13L))).when(liveOrders).kitchenCandidates(chefId);
+    doReturn(List.of(cooking, takenHead, normalHead)).when(repository).findAllWithPizzasById(List.of(10L, 11L, 12L, 13L));
+    doReturn(List.of(cooking, normalHead, nextExpress)).when(repository).findChefCookingAndLaneHeads(chefId);
+    doReturn(Optional.empty()).when(orderState).handleState(any(OrderStatus.class), any());
+
+    underTest.takeNext(chefId, null);
+
+    verify(orderState).handleState(eq(OrderStatus.COOKING), argThat(model -> List.of(cooking).equals(model.chefCooking())
+        && Map.of(OrderPriority.NORMAL, normalHead, OrderPriority.EXPRESS, nextExpress).equals(model.laneHeads())));
+    // Missing on DB
+    verify(liveOrders).evict(13L);
+    verify(liveOrders, never()).evict(11L);
+  }
+
+  @Test
+  void takeNext_WhenLiveStoreEmpty_ShouldNotQueryCandidates() {
+    final Long chefId = 1L;
+
+    doReturn(Optional.of(List.of())).when(liveOrders).kitchenCandidates(chefId);
+    doReturn(Optional.empty()).when(orderState).handleState(any(OrderStatus.class), any());
+
+    underTest.takeNext(chefId, null);
+
+    verify(repository, never()).findChefCookingAndLaneHeads(any());
+    verify(repository, never()).findAllWithPizzasById(any());
+    verify(orderState).handleState(eq(OrderStatus.COOKING), argThat(model -> model.chefCooking().isEmpty()
+        && model.laneHeads().isEmpty()));
+  }
+
+  @Test
+  void takeNext_WhenChefLeaseHeldElsewhere_ShouldThrow() {
+    final Long chefId = 1L;
+    doThrow(new ChefBusyException("Busy")).when(chefLease).hold(eq(chefId), any());
+
+    Assertions.assertThatExceptionOfType(ConflictException.class)
+        .isThrownBy(() -> underTest.takeNext(chefId, null));
+
+    verify(orderState, never()).handleState(any(), any());
   }
 }
@@ -3,7 +3,9 @@ package org.example.awesome.pizza.service.impl;
 import org.apache.commons.lang3.RandomUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.assertj.core.api.Assertions;
+import org.example.awesome.pizza.coalescing.RequestCoalescer;
 import org.example.awesome.pizza.domain.Pizza;
+import org.example.awesome.pizza.event.PizzaMenuChangedEvent;
 import org.example.awesome.pizza.exception.BadRequestException;
 import org.example.awesome.pizza.exception.NotFoundException;
 import org.example.awesome.pizza.mapper.PizzaMapper;
@@ -22,10 +24,13 @@ import org.mapstruct.factory.Mappers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 
 import java.time.Instant;
 import java.util.List;
@@ -39,6 +44,7 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.doNothing;
@@ -56,6 +62,12 @@ class PizzaServiceImplTest {
   private PizzaRepository repository;
   @Spy
   private final PizzaMapper mapper = Mappers.getMapper(PizzaMapper.class);
+  @Spy
+  private RequestCoalescer coalescer = new RequestCoalescer(null);
+  @Mock
+  private ApplicationEventPublisher eventPublisher;
+  @Mock
+  private PlatformTransactionManager transactionManager;
 
   @ParameterizedTest
   @NullAndEmptySource
@@ -75,6 +87,7 @@ class PizzaServiceImplTest {
 
     verify(repository).findByText(StringUtils.EMPTY);
     verify(mapper, times(entities.size())).toDto(any(Pizza.class));
+    verify(transactionManager).getTransaction(argThat(TransactionDefinition::isReadOnly));
   }
 
   @ParameterizedTest
@@ -182,6 +195,7 @@ class PizzaServiceImplTest {
         .isThrownBy(() -> underTest.delete(null));
 
     verify(repository, never()).deleteById(any());
+    verify(eventPublisher, never()).publishEvent(any());
   }
 
   @Test
@@ -193,6 +207,7 @@ class PizzaServiceImplTest {
     underTest.delete(id);
 
     verify(repository).deleteById(id);
+    verify(eventPublisher).publishEvent(new PizzaMenuChangedEvent(id));
   }
 
   @Test
@@ -232,6 +247,7 @@ class PizzaServiceImplTest {
     verify(mapper).toEntity(any(PizzaRequest.class));
     verify(repository).save(any(Pizza.class));
     verify(mapper).toDto(any(Pizza.class));
+    verify(eventPublisher).publishEvent(new PizzaMenuChangedEvent(result.getId()));
   }
 
   private static Stream<Arguments> update_ParametersKO() {
@@ -268,6 +284,7 @@ class PizzaServiceImplTest {
     verify(mapper, never()).patch(any(), any());
     verify(repository, never()).save(any());
     verify(mapper, never()).toDto(any());
+    verify(eventPublisher, never()).publishEvent(any());
   }
 
   @Test
@@ -304,6 +321,7 @@ class PizzaServiceImplTest {
     verify(mapper).patch(request, entity);
     verify(repository).save(any(Pizza.class));
     verify(mapper).toDto(any(Pizza.class));
+    verify(eventPublisher).publishEvent(new PizzaMenuChangedEvent(id));
   }
 
 }
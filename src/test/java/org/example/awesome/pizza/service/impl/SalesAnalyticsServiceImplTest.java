@@ -0,0 +1,283 @@
+package org.example.awesome.pizza.service.impl;
+
+import org.assertj.core.api.Assertions;
+import org.example.awesome.pizza.cluster.LocalClaimCoordinator;
+import org.example.awesome.pizza.domain.Chef;
+import org.example.awesome.pizza.domain.Order;
+import org.example.awesome.pizza.domain.Pizza;
+import org.example.awesome.pizza.domain.SalesBucket;
+import org.example.awesome.pizza.exception.BadRequestException;
+import org.example.awesome.pizza.model.SalesGranularity;
+import org.example.awesome.pizza.model.SalesGroupBy;
+import org.example.awesome.pizza.model.SalesPointDto;
+import org.example.awesome.pizza.repository.SalesBucketRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith({SpringExtension.class})
+class SalesAnalyticsServiceImplTest {
+  private static final Instant HOUR = Instant.parse("2025-01-23T17:00:00Z");
+
+  private final SalesBucketRepository repository = mock(SalesBucketRepository.class);
+  private final SalesAnalyticsServiceImpl underTest = new SalesAnalyticsServiceImpl(
+      repository,
+      new TransactionTemplate(mock(PlatformTransactionManager.class)),
+      new LocalClaimCoordinator(),
+      Duration.ofMinutes(10),
+      Duration.ofHours(2),
+      Duration.ofDays(2),
+      100
+  );
+
+  private static Order doneOrder(final Long chefId, final Pizza... pizzas) {
+    return new Order()
+        .setChef((Chef) new Chef().setId(chefId))
+        .setPizzas(List.of(pizzas));
+  }
+
+  private static Pizza pizza(final Long id, final double price) {
+    return (Pizza) new Pizza().setPrice(BigDecimal.valueOf(price)).setId(id);
+  }
+
+  private static SalesBucket bucket(final SalesGranularity granularity, final Instant start, final Long pizzaId, final Long chefId, final long count, final double revenue) {
+    return new SalesBucket()
+        .setGranularity(granularity.name())
+        .setBucketStart(start)
+        .setPizzaId(pizzaId)
+        .setChefId(chefId)
+        .setPizzaCount(count)
+        .setRevenue(BigDecimal.valueOf(revenue));
+  }
+
+  @Test
+  void flush_WhenNothingRecorded_ShouldNotTouchDB() {
+    underTest.record(null);
+    underTest.record(new Order());
+    underTest.flush();
+
+    verify(repository, never()).findOneByKey(any(), any(), any(), any());
+    verify(repository, never()).save(any());
+  }
+
+  @Test
+  void flush_WhenRecorded_ShouldUpsertMinuteBuckets() {
+    doReturn(Optional.empty()).when(repository).findOneByKey(any(), any(), any(), any());
+    doAnswer(returnsFirstArg()).when(repository).save(any(SalesBucket.class));
+
+    underTest.record(doneOrder(1L, pizza(10L, 5), pizza(10L, 5), pizza(11L, 8)));
+    underTest.record(doneOrder(1L, pizza(11L, 8)));
+    underTest.flush();
+
+    final ArgumentCaptor<SalesBucket> captor = ArgumentCaptor.forClass(SalesBucket.class);
+    verify(repository, times(2)).save(captor.capture());
+    Assertions.assertThat(captor.getAllValues())
+        .allMatch(b -> SalesGranularity.MINUTE.name().equals(b.getGranularity()))
+        .anyMatch(b -> b.getPizzaId() == 10L && b.getPizzaCount() == 2L && b.getRevenue().compareTo(BigDecimal.TEN) == 0)
+        .anyMatch(b -> b.getPizzaId() == 11L && b.getPizzaCount() == 2L && b.getRevenue().compareTo(BigDecimal.valueOf(16)) == 0);
+
+    // Already flushed increments must not be written twice
+    underTest.flush();
+    verify(repository, times(2)).save(any());
+  }
+
+  @Test
+  void flush_WhenExistingBucket_ShouldIncrementIt() {
+    final SalesBucket existing = bucket(SalesGranularity.MINUTE, HOUR, 10L, 1L, 3, 15);
+    doReturn(Optional.of(existing)).when(repository).findOneByKey(eq(SalesGranularity.MINUTE.name()), any(), eq(10L), eq(1L));
+
+    underTest.record(doneOrder(1L, pizza(10L, 5)));
+    underTest.flush();
+
+    verify(repository).save(existing);
+    Assertions.assertThat(existing.getPizzaCount()).isEqualTo(4L);
+    Assertions.assertThat(existing.getRevenue()).isEqualByComparingTo(BigDecimal.valueOf(20));
+  }
+
+  @Test
+  void flush_WhenDBFails_ShouldRetryOnNextFlush() {
+    doReturn(Optional.empty()).when(repository).findOneByKey(any(), any(), any(), any());
+    doThrow(new IllegalStateException("DB down")).doAnswer(returnsFirstArg()).when(repository).save(any(SalesBucket.class));
+
+    underTest.record(doneOrder(1L, pizza(10L, 5)));
+    underTest.flush();
+    underTest.flush();
+
+    verify(repository, times(2)).save(any());
+  }
+
+  @Test
+  void flushOnShutdown_ShouldWritePendingIncrements() {
+    doReturn(Optional.empty()).when(repository).findOneByKey(any(), any(), any(), any());
+    doAnswer(returnsFirstArg()).when(repository).save(any(SalesBucket.class));
+
+    underTest.record(doneOrder(1L, pizza(10L, 5)));
+    underTest.flushOnShutdown();
+
+    verify(repository).save(any(SalesBucket.class));
+  }
+
+  @Test
+  void compact_ShouldRollMinutesIntoHoursAndDeleteSources() {
+    final List<SalesBucket> minutes = List.of(
+        bucket(SalesGranularity.MINUTE, HOUR.plus(1, ChronoUnit.MINUTES), 10L, 1L, 1, 5),
+        bucket(SalesGranularity.MINUTE, HOUR.plus(59, ChronoUnit.MINUTES), 10L, 1L, 2, 10)
+    );
+    doReturn(minutes).when(repository).findCompactable(eq(SalesGranularity.MINUTE.name()), any(), any(Pageable.class));
+    doReturn(Optional.empty()).when(repository).findOneByKey(any(), any(), any(), any());
+    doAnswer(returnsFirstArg()).when(repository).save(any(SalesBucket.class));
+
+    final int compacted = underTest.compact(SalesGranularity.MINUTE, SalesGranularity.HOUR, Duration.ofHours(2));
+
+    final ArgumentCaptor<SalesBucket> captor = ArgumentCaptor.forClass(SalesBucket.class);
+    verify(repository).save(captor.capture());
+    verify(repository).deleteAllInBatch(minutes);
+    Assertions.assertThat(compacted).isEqualTo(2);
+    Assertions.assertThat(captor.getValue())
+        .matches(b -> SalesGranularity.HOUR.name().equals(b.getGranularity()))
+        .matches(b -> HOUR.equals(b.getBucketStart()))
+        .matches(b -> b.getPizzaCount() == 3L)
+        .matches(b -> b.getRevenue().compareTo(BigDecimal.valueOf(15)) == 0);
+  }
+
+  @Test
+  void compact_WhenNothingToCompact_ShouldNotDelete() {
+    doReturn(List.of()).when(repository).findCompactable(any(), any(), any(Pageable.class));
+
+    underTest.compact();
+
+    verify(repository, never()).deleteAllInBatch(anyList());
+  }
+
+  @Test
+  void findSales_WhenInvalidRange_ShouldThrow() {
+    final OffsetDateTime now = OffsetDateTime.now();
+
+    Assertions.assertThatExceptionOfType(BadRequestException.class)
+        .isThrownBy(() -> underTest.findSales(null, now, null, null));
+    Assertions.assertThatExceptionOfType(BadRequestException.class)
+        .isThrownBy(() -> underTest.findSales(now, now.minusHours(1), null, null));
+  }
+
+  @ParameterizedTest
+  @EnumSource(SalesGroupBy.class)
+  void findSales_ShouldFoldBucketsIntoRequestedGranularity(final SalesGroupBy groupBy) {
+    final OffsetDateTime from = HOUR.atOffset(ZoneOffset.UTC);
+    doReturn(List.of(
+        bucket(SalesGranularity.MINUTE, HOUR.plus(1, ChronoUnit.MINUTES), 10L, 1L, 1, 5),
+        bucket(SalesGranularity.MINUTE, HOUR.plus(2, ChronoUnit.MINUTES), 11L, 2L, 2, 16),
+        bucket(SalesGranularity.HOUR, HOUR.plus(1, ChronoUnit.HOURS), 10L, 1L, 4, 20)
+    )).when(repository).findAllInRange(any(), any());
+
+    final List<SalesPointDto> results = underTest.findSales(from, from.plusHours(2), SalesGranularity.HOUR, groupBy);
+
+    Assertions.assertThat(results)
+        .hasSize(SalesGroupBy.NONE.equals(groupBy) ? 2 : 3)
+        .allMatch(p -> SalesGranularity.HOUR.equals(p.getGranularity()))
+        .isSortedAccordingTo((a, b) -> a.getBucketStart().compareTo(b.getBucketStart()));
+    Assertions.assertThat(results.stream().mapToLong(SalesPointDto::getPizzaCount).sum())
+        .isEqualTo(7L);
+  }
+
+  @Test
+  void findSales_WhenNotFlushed_ShouldIncludePendingIncrements() {
+    final Instant minute = Instant.now().truncatedTo(ChronoUnit.MINUTES);
+    final OffsetDateTime from = minute.truncatedTo(ChronoUnit.HOURS).atOffset(ZoneOffset.UTC);
+    doReturn(List.of(
+        bucket(SalesGranularity.MINUTE, minute, 10L, 1L, 1, 5)
+    )).when(repository).findAllInRange(from.minusDays(1).toInstant(), from.plusHours(1).toInstant());
+
+    underTest.record(doneOrder(1L, pizza(10L, 5), pizza(11L, 8)));
+
+    Assertions.assertThat(underTest.findSales(from, from.plusHours(1), SalesGranularity.HOUR, SalesGroupBy.PIZZA))
+        .extracting(SalesPointDto::getPizzaId, SalesPointDto::getPizzaCount)
+        .containsExactly(Assertions.tuple(10L, 2L), Assertions.tuple(11L, 1L));
+    // Out of range
+    Assertions.assertThat(underTest.findSales(from.minusHours(1), from, SalesGranularity.HOUR, null))
+        .isEmpty();
+  }
+
+  @Test
+  void findSales_WhenCoarserBucketStored_ShouldKeepItsGranularity() {
+    final OffsetDateTime from = HOUR.truncatedTo(ChronoUnit.DAYS).atOffset(ZoneOffset.UTC);
+    doReturn(List.of(
+        bucket(SalesGranularity.DAY, HOUR.truncatedTo(ChronoUnit.DAYS), 10L, 1L, 10, 50)
+    )).when(repository).findAllInRange(any(), any());
+
+    final List<SalesPointDto> results = underTest.findSales(from, from.plusDays(1), SalesGranularity.MINUTE, null);
+
+    Assertions.assertThat(results)
+        .singleElement()
+        .matches(p -> SalesGranularity.DAY.equals(p.getGranularity()))
+        .matches(p -> p.getPizzaId() == null && p.getChefId() == null);
+  }
+
+  @Test
+  void findSales_WhenCompactedBucketsOverlapRange_ShouldCountAndFlagThem() {
+    doReturn(List.of(
+        bucket(SalesGranularity.MINUTE, HOUR.plus(1, ChronoUnit.MINUTES), 10L, 1L, 1, 5),
+        bucket(SalesGranularity.MINUTE, HOUR.plus(59, ChronoUnit.MINUTES), 10L, 1L, 2, 10)
+    )).when(repository).findCompactable(eq(SalesGranularity.MINUTE.name()), any(), any(Pageable.class));
+    doReturn(Optional.empty()).when(repository).findOneByKey(any(), any(), any(), any());
+    doAnswer(returnsFirstArg()).when(repository).save(any(SalesBucket.class));
+    underTest.compact(SalesGranularity.MINUTE, SalesGranularity.HOUR, Duration.ofHours(2));
+    final ArgumentCaptor<SalesBucket> captor = ArgumentCaptor.forClass(SalesBucket.class);
+    verify(repository).save(captor.capture());
+
+    final Instant day = HOUR.truncatedTo(ChronoUnit.DAYS);
+    final OffsetDateTime from = HOUR.plus(30, ChronoUnit.MINUTES).atOffset(ZoneOffset.UTC);
+    doReturn(List.of(
+        // Ends right when the range starts
+        bucket(SalesGranularity.DAY, day.minus(1, ChronoUnit.DAYS), 10L, 1L, 7, 35),
+        captor.getValue(),
+        bucket(SalesGranularity.MINUTE, HOUR.plus(65, ChronoUnit.MINUTES), 10L, 1L, 1, 5)
+    )).when(repository).findAllInRange(from.minusDays(1).toInstant(), from.plusHours(1).toInstant());
+
+    final List<SalesPointDto> hours = underTest.findSales(from, from.plusHours(1), SalesGranularity.HOUR, null);
+
+    Assertions.assertThat(hours)
+        .extracting(p -> p.getBucketStart().toInstant(), SalesPointDto::getPizzaCount, SalesPointDto::getPartial)
+        .containsExactly(
+            Assertions.tuple(HOUR, 3L, true),
+            Assertions.tuple(HOUR.plus(1, ChronoUnit.HOURS), 1L, false));
+
+    // Compacted again into a DAY starting in the range, yet ending after it
+    final OffsetDateTime midnight = day.atOffset(ZoneOffset.UTC);
+    doReturn(List.of(
+        bucket(SalesGranularity.DAY, day, 10L, 1L, 4, 20)
+    )).when(repository).findAllInRange(midnight.minusDays(1).toInstant(), midnight.plusHours(12).toInstant());
+
+    Assertions.assertThat(underTest.findSales(midnight, midnight.plusHours(12), SalesGranularity.HOUR, null))
+        .singleElement()
+        .matches(p -> SalesGranularity.DAY.equals(p.getGranularity()))
+        .matches(p -> p.getPizzaCount() == 4L)
+        .matches(SalesPointDto::getPartial);
+  }
+}
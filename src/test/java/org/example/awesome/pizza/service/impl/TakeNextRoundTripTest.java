@@ -0,0 +1,122 @@
+package org.example.awesome.pizza.service.impl;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.assertj.core.api.Assertions;
+import org.example.awesome.pizza.AwesomePizzaApplication;
+import org.example.awesome.pizza.domain.Chef;
+import org.example.awesome.pizza.domain.Order;
+import org.example.awesome.pizza.domain.Pizza;
+import org.example.awesome.pizza.exception.BadRequestException;
+import org.example.awesome.pizza.model.OrderDto;
+import org.example.awesome.pizza.model.OrderInternalReq;
+import org.example.awesome.pizza.model.OrderStatus;
+import org.example.awesome.pizza.repository.ChefRepository;
+import org.example.awesome.pizza.repository.OrderRepository;
+import org.example.awesome.pizza.repository.PizzaRepository;
+import org.example.awesome.pizza.service.OrderService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Counts the statements that takeNext sends to the DB, on a real application context
+ */
+class TakeNextRoundTripTest {
+  private static ConfigurableApplicationContext context;
+  private static OrderService orderService;
+  private static OrderRepository orderRepository;
+  private static Statistics statistics;
+  private static List<Long> menu;
+
+  private Long chefId;
+
+  @BeforeAll
+  static void startContext() {
+    context = new SpringApplicationBuilder(AwesomePizzaApplication.class)
+        .run(
+            "--spring.main.web-application-type=none",
+            "--spring.main.banner-mode=off",
+            "--spring.datasource.url=jdbc:h2:mem:take-next;MODE=MSSQLServer",
+            "--spring.jpa.properties.hibernate.generate_statistics=true",
+            "--awesome-pizza.config.archive.enabled=false",
+            "--awesome-pizza.config.analytics.flush-interval=PT1H",
+            "--logging.level.org.hibernate.SQL=WARN",
+            "--logging.level.org.hibernate.orm.jdbc.bind=WARN",
+            "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+    orderService = context.getBean(OrderService.class);
+    orderRepository = context.getBean(OrderRepository.class);
+    statistics = context.getBean(EntityManagerFactory.class)
+        .unwrap(SessionFactory.class)
+        .getStatistics();
+    menu = context.getBean(PizzaRepository.class).findAll().stream()
+        .map(Pizza::getId)
+        .toList();
+  }
+
+  @AfterAll
+  static void stopContext() {
+    context.close();
+  }
+
+  @BeforeEach
+  void setUp() {
+    orderRepository.deleteAll();
+    chefId = context.getBean(ChefRepository.class)
+        .save(new Chef().setFirstName("Chef").setLastName("RoundTrip"))
+        .getId();
+
+    // One Order for each priority lane: express, normal and bulk
+    for (final int pizzas : List.of(1, 3, 6))
+      orderService.save((OrderInternalReq) new OrderInternalReq()
+          .pizzas(Collections.nCopies(pizzas, menu.get(0))));
+  }
+
+  @Test
+  void takeNext_WhenCookingAndCreated_ShouldTakeThreeRoundTrips() {
+    final OrderDto cooking = orderService.takeNext(chefId, null).orElseThrow();
+
+    statistics.clear();
+    final Optional<OrderDto> next = orderService.takeNext(chefId, null);
+    final long statements = statistics.getPrepareStatementCount();
+    final long updates = statistics.getEntityUpdateCount();
+    final long transactions = statistics.getTransactionCount();
+
+    Assertions.assertThat(next)
+        .get()
+        .matches(order -> OrderStatus.COOKING.equals(order.getStatus()))
+        .matches(order -> !cooking.getId().equals(order.getId()));
+    Assertions.assertThat(orderRepository.findById(cooking.getId()))
+        .get()
+        .extracting(Order::getStatus)
+        .isEqualTo(OrderStatus.DONE);
+
+    // One query for the Chef COOKING Order with the CREATED lane heads, the lock of the next Order with its
+    // committed status, one batch with both updates
+    Assertions.assertThat(statements).isEqualTo(3);
+    Assertions.assertThat(updates).isEqualTo(2);
+    Assertions.assertThat(transactions).isEqualTo(1);
+  }
+
+  @Test
+  void takeNext_WhenNextFails_ShouldNotCompleteCooking() {
+    final OrderDto cooking = orderService.takeNext(chefId, null).orElseThrow();
+
+    // Once completed, the same Order cannot be cooked again: the whole transaction is rolled back
+    Assertions.assertThatExceptionOfType(BadRequestException.class)
+        .isThrownBy(() -> orderService.takeNext(chefId, cooking.getId()));
+
+    Assertions.assertThat(orderRepository.findById(cooking.getId()))
+        .get()
+        .extracting(Order::getStatus)
+        .isEqualTo(OrderStatus.COOKING);
+  }
+}
@@ -0,0 +1,227 @@
+package org.example.awesome.pizza.state;
+
+import org.assertj.core.api.Assertions;
+import org.example.awesome.pizza.domain.Order;
+import org.example.awesome.pizza.domain.OrderLine;
+import org.example.awesome.pizza.event.OrderStatusChangedEvent;
+import org.example.awesome.pizza.exception.BadRequestException;
+import org.example.awesome.pizza.exception.InternalServerErrorException;
+import org.example.awesome.pizza.mapper.OrderLineMapper;
+import org.example.awesome.pizza.model.OrderLineDto;
+import org.example.awesome.pizza.model.OrderStatus;
+import org.example.awesome.pizza.repository.OrderLineRepository;
+import org.example.awesome.pizza.repository.OrderRepository;
+import org.example.awesome.pizza.state.impl.BaseOrderLineState;
+import org.example.awesome.pizza.state.impl.CookingOrderLineState;
+import org.example.awesome.pizza.state.impl.DoneOrderLineState;
+import org.example.awesome.pizza.state.model.OrderLineStateModel;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith({SpringExtension.class})
+class OrderLineStateContextTest {
+  private final OrderLineStateContext underTest;
+
+  private final OrderLineRepository repository;
+  private final OrderRepository orderRepository;
+  private final OrderLineMapper mapper;
+  private final ApplicationEventPublisher eventPublisher;
+
+  private final CookingOrderLineState cookingState;
+  private final DoneOrderLineState doneState;
+
+  OrderLineStateContextTest() {
+    this.repository = mock(OrderLineRepository.class);
+    this.orderRepository = mock(OrderRepository.class);
+    this.mapper = mock(OrderLineMapper.class);
+    this.eventPublisher = mock(ApplicationEventPublisher.class);
+
+    this.cookingState = mock(CookingOrderLineState.class);
+    this.doneState = mock(DoneOrderLineState.class);
+    setUpMockedInstance(this.cookingState);
+    setUpMockedInstance(this.doneState);
+
+    this.underTest = new OrderLineStateContext(this.repository, this.orderRepository, this.mapper,
+        this.eventPublisher, List.of(this.cookingState, this.doneState));
+
+    // Allowed transitions are read once, while building the context
+    verify(this.cookingState).getAllowed();
+    verify(this.doneState).getAllowed();
+    clearInvocations(this.cookingState, this.doneState);
+
+    doAnswer(returnsFirstArg()).when(this.repository).save(any());
+    doAnswer(returnsFirstArg()).when(this.orderRepository).save(any());
+    doAnswer(invocation -> new OrderLineDto().id(((OrderLine) invocation.getArgument(0)).getId()))
+        .when(this.mapper).toDto(any());
+  }
+
+  private <T extends BaseOrderLineState> void setUpMockedInstance(T instance) {
+    doCallRealMethod().when(instance).getStatus();
+    doCallRealMethod().when(instance).getAllowed();
+  }
+
+  @Test
+  void handleState_WhenInvalidInput_ShouldThrow() {
+    Assertions.assertThatExceptionOfType(BadRequestException.class)
+        .isThrownBy(() -> underTest.handleState(null, new OrderLineStateModel()));
+    Assertions.assertThatExceptionOfType(BadRequestException.class)
+        .isThrownBy(() -> underTest.handleState(OrderStatus.COOKING, null));
+
+    verify(cookingState, never()).retrieveCurrent(any());
+    verify(repository, never()).save(any());
+  }
+
+  @Test
+  void handleState_WhenNoInstanceFound_ShouldThrow() {
+    Assertions.assertThatExceptionOfType(InternalServerErrorException.class)
+        .isThrownBy(() -> underTest.handleState(OrderStatus.CANCELED, new OrderLineStateModel()));
+  }
+
+  @Test
+  void handleState_WhenValidateFalse_ShouldReturnEmpty() {
+    final OrderLineStateModel stateModel = new OrderLineStateModel().chefId(1L);
+    doReturn(false).when(cookingState).validate(stateModel);
+
+    Assertions.assertThat(underTest.handleState(OrderStatus.COOKING, stateModel))
+        .isEmpty();
+
+    verify(cookingState).retrieveCurrent(stateModel);
+    verify(cookingState, never()).handleState(any());
+    verify(repository, never()).save(any());
+    verify(eventPublisher, never()).publishEvent(any());
+  }
+
+  @Test
+  void handleState_WhenTargetStatusNotCompatible_ShouldThrow() {
+    final OrderLineStateModel stateModel = new OrderLineStateModel()
+        .current(line(1L, OrderStatus.DONE, order(OrderStatus.COOKING)));
+    doReturn(true).when(cookingState).validate(stateModel);
+
+    Assertions.assertThatExceptionOfType(BadRequestException.class)
+        .isThrownBy(() -> underTest.handleState(OrderStatus.COOKING, stateModel));
+
+    verify(cookingState, never()).handleState(any());
+    verify(repository, never()).save(any());
+  }
+
+  @Test
+  void handleState_WhenOrderOpened_ShouldInsertLinesAndCookOrder() {
+    final Order order = order(OrderStatus.CREATED);
+    final List<OrderLine> lines = List.of(
+        line(null, OrderStatus.CREATED, order),
+        line(null, OrderStatus.CREATED, order));
+    final OrderLineStateModel stateModel = new OrderLineStateModel()
+        .current(lines.get(0))
+        .lines(lines);
+    doReturn(true).when(cookingState).validate(stateModel);
+    doReturn(lines.get(0)).when(cookingState).handleState(stateModel);
+
+    final Optional<OrderLineDto> result = underTest.handleState(OrderStatus.COOKING, stateModel);
+
+    Assertions.assertThat(result).isPresent();
+    Assertions.assertThat(lines.get(0).getStatus()).isEqualTo(OrderStatus.COOKING);
+    Assertions.assertThat(lines.get(1).getStatus()).isEqualTo(OrderStatus.CREATED);
+    Assertions.assertThat(order.getStatus()).isEqualTo(OrderStatus.COOKING);
+
+    verify(repository).saveAll(lines);
+    verify(repository, never()).save(any());
+    verify(orderRepository).save(order);
+    verify(eventPublisher).publishEvent(argThat((OrderStatusChangedEvent event) ->
+        order.getId().equals(event.orderId()) &&
+            OrderStatus.CREATED.equals(event.previous()) &&
+            OrderStatus.COOKING.equals(event.current()) &&
+            event.chefId() == null &&
+            event.pizzaCount() == 2));
+  }
+
+  @Test
+  void handleState_WhenOrderAlreadyCooking_ShouldOnlySaveLine() {
+    final OrderLine line = line(2L, OrderStatus.CREATED, order(OrderStatus.COOKING));
+    final OrderLineStateModel stateModel = new OrderLineStateModel()
+        .current(line);
+    doReturn(true).when(cookingState).validate(stateModel);
+    doReturn(line).when(cookingState).handleState(stateModel);
+
+    Assertions.assertThat(underTest.handleState(OrderStatus.COOKING, stateModel))
+        .get()
+        .extracting(OrderLineDto::getId)
+        .isEqualTo(2L);
+
+    verify(repository).save(line);
+    verify(orderRepository, never()).save(any());
+    verify(eventPublisher, never()).publishEvent(any());
+  }
+
+  @Test
+  void handleState_WhenLinesLeft_ShouldNotCompleteOrder() {
+    final Order order = order(OrderStatus.COOKING);
+    final List<OrderLine> lines = List.of(
+        line(1L, OrderStatus.COOKING, order),
+        line(2L, OrderStatus.COOKING, order));
+    final OrderLineStateModel stateModel = new OrderLineStateModel()
+        .current(lines.get(0))
+        .lines(lines);
+    doReturn(true).when(doneState).validate(stateModel);
+    doReturn(lines.get(0)).when(doneState).handleState(stateModel);
+
+    underTest.handleState(OrderStatus.DONE, stateModel);
+
+    Assertions.assertThat(order.getStatus()).isEqualTo(OrderStatus.COOKING);
+    verify(repository).save(lines.get(0));
+    verify(orderRepository, never()).save(any());
+    verify(eventPublisher, never()).publishEvent(any());
+  }
+
+  @Test
+  void handleState_WhenLastLine_ShouldCompleteOrder() {
+    final Order order = order(OrderStatus.COOKING);
+    final List<OrderLine> lines = List.of(
+        line(1L, OrderStatus.DONE, order),
+        line(2L, OrderStatus.COOKING, order));
+    final OrderLineStateModel stateModel = new OrderLineStateModel()
+        .current(lines.get(1))
+        .lines(lines);
+    doReturn(true).when(doneState).validate(stateModel);
+    doReturn(lines.get(1)).when(doneState).handleState(stateModel);
+
+    underTest.handleState(OrderStatus.DONE, stateModel);
+
+    Assertions.assertThat(order.getStatus()).isEqualTo(OrderStatus.DONE);
+    verify(orderRepository).save(order);
+    verify(eventPublisher).publishEvent(argThat((OrderStatusChangedEvent event) ->
+        OrderStatus.COOKING.equals(event.previous()) &&
+            OrderStatus.DONE.equals(event.current()) &&
+            event.pizzaCount() == 2));
+  }
+
+  private static Order order(final OrderStatus status) {
+    return (Order) new Order()
+        .setCode(100L)
+        .setStatus(status)
+        .setId(10L);
+  }
+
+  private static OrderLine line(final Long id, final OrderStatus status, final Order order) {
+    return (OrderLine) new OrderLine()
+        .setOrder(order)
+        .setStatus(status)
+        .setPriority(order.getPriority())
+        .setId(id);
+  }
+}
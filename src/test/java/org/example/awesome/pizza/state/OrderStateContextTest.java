@@ -2,6 +2,7 @@ package org.example.awesome.pizza.state;
 
 import org.assertj.core.api.Assertions;
 import org.example.awesome.pizza.domain.Order;
+import org.example.awesome.pizza.event.OrderStatusChangedEvent;
 import org.example.awesome.pizza.exception.BadRequestException;
 import org.example.awesome.pizza.exception.InternalServerErrorException;
 import org.example.awesome.pizza.mapper.OrderMapper;
@@ -22,6 +23,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.mapstruct.factory.Mappers;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import java.util.List;
@@ -30,6 +32,8 @@ import java.util.stream.Stream;
 
 import static org.mockito.AdditionalAnswers.returnsFirstArg;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.clearInvocations;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.doNothing;
@@ -46,6 +50,7 @@ class OrderStateContextTest {
 
   private final OrderRepository repository;
   private final OrderMapper mapper;
+  private final ApplicationEventPublisher eventPublisher;
 
   private final List<BaseOrderState> instances;
   private final CookingOrderState cookingOrderState;
@@ -55,6 +60,7 @@ class OrderStateContextTest {
   OrderStateContextTest() {
     this.repository = mock(OrderRepository.class);
     this.mapper = spy(Mappers.getMapper(OrderMapper.class));
+    this.eventPublisher = mock(ApplicationEventPublisher.class);
 
     this.cookingOrderState = mock(CookingOrderState.class);
     this.canceledOrderState = mock(CanceledOrderState.class);
@@ -70,7 +76,11 @@ class OrderStateContextTest {
         this.doneOrderState
     );
 
-    this.underTest = new OrderStateContext(this.repository, this.mapper, this.instances);
+    this.underTest = new OrderStateContext(this.repository, this.mapper, this.eventPublisher, this.instances);
+
+    // Allowed transitions are read once, while building the context
+    instances.forEach(instance -> verify(instance).getAllowed());
+    clearInvocations(this.cookingOrderState, this.canceledOrderState, this.doneOrderState);
   }
 
   private <T extends BaseOrderState> void setUpMockedInstance(T instance) {
@@ -100,6 +110,7 @@ class OrderStateContextTest {
 
     verify(repository, never()).save(any());
     verify(mapper, never()).toDto(any());
+    verify(eventPublisher, never()).publishEvent(any());
   }
 
   @Test
@@ -116,6 +127,7 @@ class OrderStateContextTest {
 
     verify(repository, never()).save(any());
     verify(mapper, never()).toDto(any());
+    verify(eventPublisher, never()).publishEvent(any());
   }
 
   @Test
@@ -139,6 +151,7 @@ class OrderStateContextTest {
 
     verify(repository, never()).save(any());
     verify(mapper, never()).toDto(any());
+    verify(eventPublisher, never()).publishEvent(any());
   }
 
   @Test
@@ -159,13 +172,14 @@ class OrderStateContextTest {
 
     verify(repository, never()).save(any());
     verify(mapper, never()).toDto(any());
+    verify(eventPublisher, never()).publishEvent(any());
   }
 
   @Test
   void handleState_WhenTargetStatusNotCompatible_ShouldThrow() {
     final OrderStatus status = OrderStatus.CANCELED;
     final OrderStateModel stateModel = Instancio.of(OrderStateModel.class)
-        .set(Select.field(Order::getStatus), OrderStatus.DONE.name())
+        .set(Select.field(Order::getStatus), OrderStatus.DONE)
         .create();
 
     doNothing().when(canceledOrderState).retrieveCurrent(stateModel);
@@ -176,18 +190,19 @@ class OrderStateContextTest {
 
     verify(canceledOrderState).retrieveCurrent(stateModel);
     verify(canceledOrderState).validate(stateModel);
-    verify(canceledOrderState).getAllowed();
+    verify(canceledOrderState, never()).getAllowed();
     verify(canceledOrderState, never()).handleState(stateModel);
 
     verify(repository, never()).save(any());
     verify(mapper, never()).toDto(any());
+    verify(eventPublisher, never()).publishEvent(any());
   }
 
   @Test
   void handleState_WhenHandleOk_ShouldUpdate() {
     final OrderStatus status = OrderStatus.CANCELED;
     final OrderStateModel stateModel = Instancio.of(OrderStateModel.class)
-        .set(Select.field(Order::getStatus), OrderStatus.CREATED.name())
+        .set(Select.field(Order::getStatus), OrderStatus.CREATED)
         .create();
 
     doNothing().when(canceledOrderState).retrieveCurrent(stateModel);
@@ -205,10 +220,14 @@ class OrderStateContextTest {
 
     verify(canceledOrderState).retrieveCurrent(stateModel);
     verify(canceledOrderState).validate(stateModel);
-    verify(canceledOrderState).getAllowed();
+    verify(canceledOrderState, never()).getAllowed();
     verify(canceledOrderState).handleState(stateModel);
 
     verify(repository).save(any(Order.class));
     verify(mapper).toDto(any(Order.class));
+    verify(eventPublisher).publishEvent(argThat((OrderStatusChangedEvent event) ->
+        OrderStatus.CREATED.equals(event.previous()) &&
+            status.equals(event.current()) &&
+            order.getId().equals(event.orderId())));
   }
 }
@@ -0,0 +1,42 @@
+package org.example.awesome.pizza.state;
+
+import org.assertj.core.api.Assertions;
+import org.example.awesome.pizza.model.OrderStatus;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+class OrderTransitionsTest {
+  private final OrderTransitions underTest = new OrderTransitions(Map.of(
+      OrderStatus.CREATED, Arrays.asList(OrderStatus.COOKING, OrderStatus.CREATED),
+      OrderStatus.COOKING, List.of(OrderStatus.CREATED),
+      OrderStatus.DONE, List.of(OrderStatus.COOKING),
+      OrderStatus.CANCELED, List.of()
+  ));
+
+  private static Stream<Arguments> isAllowed_Parameters() {
+    return Stream.of(
+        Arguments.of(OrderStatus.COOKING, OrderStatus.CREATED, true),
+        Arguments.of(OrderStatus.CREATED, OrderStatus.CREATED, true),
+        Arguments.of(OrderStatus.CREATED, OrderStatus.COOKING, true),
+        Arguments.of(OrderStatus.COOKING, OrderStatus.DONE, true),
+        Arguments.of(OrderStatus.DONE, OrderStatus.COOKING, false),
+        Arguments.of(OrderStatus.CREATED, OrderStatus.DONE, false),
+        Arguments.of(OrderStatus.CREATED, OrderStatus.CANCELED, false),
+        Arguments.of(null, OrderStatus.COOKING, false),
+        Arguments.of(OrderStatus.CREATED, null, false)
+    );
+  }
+
+  @ParameterizedTest
+  @MethodSource("isAllowed_Parameters")
+  void isAllowed_ShouldMatchTable(final OrderStatus current, final OrderStatus target, final boolean expected) {
+    Assertions.assertThat(underTest.isAllowed(current, target))
+        .isEqualTo(expected);
+  }
+}
@@ -0,0 +1,192 @@
+package org.example.awesome.pizza.state.impl;
+
+import org.assertj.core.api.Assertions;
+import org.example.awesome.pizza.cluster.ClaimCoordinator;
+import org.example.awesome.pizza.cluster.LocalClaimCoordinator;
+import org.example.awesome.pizza.domain.Order;
+import org.example.awesome.pizza.domain.OrderLine;
+import org.example.awesome.pizza.domain.Pizza;
+import org.example.awesome.pizza.exception.BadRequestException;
+import org.example.awesome.pizza.exception.ConflictException;
+import org.example.awesome.pizza.exception.ThresholdReachedException;
+import org.example.awesome.pizza.model.OrderPriority;
+import org.example.awesome.pizza.model.OrderStatus;
+import org.example.awesome.pizza.priority.WeightedLaneSelector;
+import org.example.awesome.pizza.repository.OrderLineRepository;
+import org.example.awesome.pizza.repository.OrderRepository;
+import org.example.awesome.pizza.state.model.OrderLineStateModel;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+class CookingOrderLineStateTest {
+  private static final long CHEF_ID = 1L;
+  private static final int THRESHOLD = 2;
+
+  private final OrderLineRepository repository = mock(OrderLineRepository.class);
+  private final OrderRepository orderRepository = mock(OrderRepository.class);
+  private final ClaimCoordinator claimCoordinator = spy(new LocalClaimCoordinator());
+  private final CookingOrderLineState underTest = new CookingOrderLineState(repository, orderRepository,
+      new WeightedLaneSelector(6, 3, 1), claimCoordinator, Duration.ofSeconds(5), THRESHOLD);
+
+  @Test
+  void getStatusTest() {
+    Assertions.assertThat(underTest.getStatus())
+        .isEqualTo(OrderStatus.COOKING);
+  }
+
+  @Test
+  void getAllowedTest() {
+    Assertions.assertThat(underTest.getAllowed())
+        .isEqualTo(List.of(OrderStatus.CREATED));
+  }
+
+  @Test
+  void retrieveCurrent_WhenNoChef_ShouldThrow() {
+    Assertions.assertThatExceptionOfType(BadRequestException.class)
+        .isThrownBy(() -> underTest.retrieveCurrent(new OrderLineStateModel()));
+
+    verify(repository, never()).findChefCookingAndLaneHeads(any());
+  }
+
+  @Test
+  void retrieveCurrent_WhenEveryLaneHasLines_ShouldNotReadOrders() {
+    final OrderLine cooking = line(1L, OrderStatus.COOKING, OrderPriority.NORMAL);
+    final OrderLine express = line(2L, OrderStatus.CREATED, OrderPriority.EXPRESS);
+    final OrderLine normal = line(3L, OrderStatus.CREATED, OrderPriority.NORMAL);
+    final OrderLine bulk = line(4L, OrderStatus.CREATED, OrderPriority.BULK);
+    doReturn(List.of(cooking, express, normal, bulk)).when(repository).findChefCookingAndLaneHeads(CHEF_ID);
+    final OrderLineStateModel model = new OrderLineStateModel().chefId(CHEF_ID);
+
+    underTest.retrieveCurrent(model);
+
+    Assertions.assertThat(model.chefCooking()).containsExactly(cooking);
+    Assertions.assertThat(model.current()).isSameAs(express);
+    Assertions.assertThat(model.lines()).isNull();
+    verify(orderRepository, never()).findLaneHeads();
+  }
+
+  @Test
+  void retrieveCurrent_WhenLaneHasNoLines_ShouldOpenOrder() {
+    final Order order = (Order) new Order()
+        .setPizzas(List.of((Pizza) new Pizza().setId(7L), (Pizza) new Pizza().setId(8L)))
+        .setStatus(OrderStatus.CREATED)
+        .setPriority(OrderPriority.EXPRESS)
+        .setId(10L);
+    doReturn(Collections.emptyList()).when(repository).findChefCookingAndLaneHeads(CHEF_ID);
+    doReturn(List.of(order)).when(orderRepository).findLaneHeads();
+    final OrderLineStateModel model = new OrderLineStateModel().chefId(CHEF_ID);
+
+    underTest.retrieveCurrent(model);
+
+    Assertions.assertThat(model.lines())
+        .hasSize(2)
+        .allMatch(line -> line.getId() == null && order == line.getOrder())
+        .allMatch(line -> OrderStatus.CREATED.equals(line.getStatus()) && OrderPriority.EXPRESS.equals(line.getPriority()))
+        .extracting(line -> line.getPizza().getId())
+        .containsExactly(7L, 8L);
+    Assertions.assertThat(model.current()).isSameAs(model.lines().get(0));
+  }
+
+  @Test
+  void retrieveCurrent_WhenNothingToCook_ShouldNotSetCurrent() {
+    doReturn(Collections.emptyList()).when(repository).findChefCookingAndLaneHeads(CHEF_ID);
+    doReturn(Collections.emptyList()).when(orderRepository).findLaneHeads();
+    final OrderLineStateModel model = new OrderLineStateModel().chefId(CHEF_ID);
+
+    underTest.retrieveCurrent(model);
+
+    Assertions.assertThat(model.current()).isNull();
+    Assertions.assertThat(underTest.validate(model)).isFalse();
+  }
+
+  @Test
+  void validate_WhenThresholdReached_ShouldThrow() {
+    final OrderLineStateModel model = new OrderLineStateModel()
+        .chefId(CHEF_ID)
+        .current(line(3L, OrderStatus.CREATED, OrderPriority.NORMAL))
+        .chefCooking(List.of(line(1L, OrderStatus.COOKING, OrderPriority.NORMAL), line(2L, OrderStatus.COOKING, OrderPriority.NORMAL)));
+
+    Assertions.assertThatExceptionOfType(ThresholdReachedException.class)
+        .isThrownBy(() -> underTest.validate(model));
+  }
+
+  @Test
+  void validate_WhenLineClaimedByAnotherChef_ShouldThrow() {
+    final OrderLineStateModel model = new OrderLineStateModel()
+        .chefId(CHEF_ID)
+        .current(line(3L, OrderStatus.CREATED, OrderPriority.NORMAL))
+        .chefCooking(List.of());
+    doReturn(Optional.empty()).when(claimCoordinator).tryClaim(eq("line:3"), any());
+
+    Assertions.assertThatExceptionOfType(ConflictException.class)
+        .isThrownBy(() -> underTest.validate(model));
+  }
+
+  @Test
+  void validate_WhenOrderOpened_ShouldClaimOrder() {
+    final OrderLine opened = line(null, OrderStatus.CREATED, OrderPriority.NORMAL);
+    final OrderLineStateModel model = new OrderLineStateModel()
+        .chefId(CHEF_ID)
+        .current(opened)
+        .chefCooking(List.of());
+    doReturn(Optional.of(OrderStatus.CREATED)).when(orderRepository).findStatusById(10L);
+
+    Assertions.assertThat(underTest.validate(model)).isTrue();
+    verify(claimCoordinator).tryClaim(eq("order:%d".formatted(opened.getOrder().getId())), any());
+    verify(orderRepository).findLockedById(10L);
+  }
+
+  @Test
+  void validate_WhenLineCommittedAsTaken_ShouldThrow() {
+    final OrderLineStateModel model = new OrderLineStateModel()
+        .chefId(CHEF_ID)
+        .current(line(3L, OrderStatus.CREATED, OrderPriority.NORMAL))
+        .chefCooking(List.of());
+    doReturn(Optional.of(OrderStatus.COOKING)).when(repository).findStatusById(3L);
+
+    Assertions.assertThatExceptionOfType(ConflictException.class)
+        .isThrownBy(() -> underTest.validate(model))
+        .withMessageContaining("taken by another Chef");
+    verify(orderRepository).findLockedById(10L);
+  }
+
+  @Test
+  void validate_WhenLineStillCreated_ShouldClaimLine() {
+    final OrderLineStateModel model = new OrderLineStateModel()
+        .chefId(CHEF_ID)
+        .current(line(3L, OrderStatus.CREATED, OrderPriority.NORMAL))
+        .chefCooking(List.of());
+    doReturn(Optional.of(OrderStatus.CREATED)).when(repository).findStatusById(3L);
+
+    Assertions.assertThat(underTest.validate(model)).isTrue();
+  }
+
+  @Test
+  void handleState_WhenOk_ShouldAssignChef() {
+    final OrderLine line = line(3L, OrderStatus.CREATED, OrderPriority.NORMAL);
+
+    Assertions.assertThat(underTest.handleState(new OrderLineStateModel().chefId(CHEF_ID).current(line)))
+        .isSameAs(line)
+        .matches(handled -> CHEF_ID == handled.getChef().getId());
+  }
+
+  private static OrderLine line(final Long id, final OrderStatus status, final OrderPriority priority) {
+    return (OrderLine) new OrderLine()
+        .setOrder((Order) new Order().setId(10L))
+        .setStatus(status)
+        .setPriority(priority)
+        .setId(id);
+  }
+}
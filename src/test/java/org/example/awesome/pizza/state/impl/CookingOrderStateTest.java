@@ -1,12 +1,17 @@
 package org.example.awesome.pizza.state.impl;
 
 import org.assertj.core.api.Assertions;
+import org.example.awesome.pizza.cluster.ClaimCoordinator;
+import org.example.awesome.pizza.cluster.LocalClaimCoordinator;
 import org.example.awesome.pizza.domain.Order;
 import org.example.awesome.pizza.exception.BadRequestException;
 import org.example.awesome.pizza.exception.ConflictException;
+import org.example.awesome.pizza.exception.ThresholdReachedException;
 import org.example.awesome.pizza.mapper.OrderMapper;
 import org.example.awesome.pizza.model.OrderInternalReq;
+import org.example.awesome.pizza.model.OrderPriority;
 import org.example.awesome.pizza.model.OrderStatus;
+import org.example.awesome.pizza.priority.WeightedLaneSelector;
 import org.example.awesome.pizza.repository.OrderRepository;
 import org.example.awesome.pizza.state.model.OrderStateModel;
 import org.instancio.Instancio;
@@ -24,12 +29,16 @@ import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Stream;
 
+import static org.instancio.Select.all;
 import static org.instancio.Select.field;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -43,6 +52,10 @@ class CookingOrderStateTest {
   private OrderRepository repository;
   @Spy
   private OrderMapper mapper = Mappers.getMapper(OrderMapper.class);
+  @Spy
+  private WeightedLaneSelector laneSelector = new WeightedLaneSelector(6, 3, 1);
+  @Spy
+  private ClaimCoordinator claimCoordinator = new LocalClaimCoordinator();
 
   @Value("${awesome-pizza.config.cooking-threshold:1}")
   private Long cookingThreshold;
@@ -61,7 +74,7 @@ class CookingOrderStateTest {
 
   private static Stream<Arguments> validate_ParametersFail() {
     return Stream.of(
-        Arguments.of(ConflictException.class, Instancio.create(OrderStateModel.class)),
+        Arguments.of(ConflictException.class, notPrefetched()),
         Arguments.of(BadRequestException.class, new OrderStateModel().current(new Order()).request(new OrderInternalReq()))
     );
   }
@@ -86,16 +99,70 @@ class CookingOrderStateTest {
 
   @Test
   void validate_WhenOk_ShouldReturnTrue() {
-    final OrderStateModel model = Instancio.of(OrderStateModel.class)
-        .create();
+    final OrderStateModel model = notPrefetched();
 
     ReflectionTestUtils.setField(underTest, "cookingThreshold", cookingThreshold);
     doReturn(true).when(repository).canTakeAnyOrder(model.request().getChefId(), cookingThreshold);
+    doReturn(Optional.of(OrderStatus.CREATED)).when(repository).findLockedStatusById(model.current().getId());
 
     Assertions.assertThat(underTest.validate(model))
         .isTrue();
   }
 
+  @Test
+  void validate_WhenTakenOrOpenedMeanwhile_ShouldThrow() {
+    final OrderStateModel model = notPrefetched();
+
+    ReflectionTestUtils.setField(underTest, "cookingThreshold", cookingThreshold);
+    doReturn(true).when(repository).canTakeAnyOrder(model.request().getChefId(), cookingThreshold);
+    // Read CREATED, committed COOKING by the time the lock is granted
+    doReturn(Optional.of(OrderStatus.COOKING)).when(repository).findLockedStatusById(model.current().getId());
+
+    Assertions.assertThatExceptionOfType(ConflictException.class)
+        .isThrownBy(() -> underTest.validate(model))
+        .isNotInstanceOf(ThresholdReachedException.class);
+  }
+
+  @Test
+  void validate_WhenOrderClaimedByAnotherChef_ShouldThrow() {
+    final OrderStateModel model = notPrefetched();
+
+    ReflectionTestUtils.setField(underTest, "cookingThreshold", cookingThreshold);
+    doReturn(true).when(repository).canTakeAnyOrder(model.request().getChefId(), cookingThreshold);
+    doReturn(Optional.empty()).when(claimCoordinator).tryClaim(eq("order:%d".formatted(model.current().getId())), any());
+
+    Assertions.assertThatExceptionOfType(ConflictException.class)
+        .isThrownBy(() -> underTest.validate(model))
+        .isNotInstanceOf(ThresholdReachedException.class);
+  }
+
+  @Test
+  void validate_WhenPrefetchedChefCookingAtThreshold_ShouldThrow() {
+    final OrderStateModel model = notPrefetched()
+        .chefCooking(List.of(new Order().setStatus(OrderStatus.COOKING)));
+
+    ReflectionTestUtils.setField(underTest, "cookingThreshold", 1L);
+
+    Assertions.assertThatExceptionOfType(ThresholdReachedException.class)
+        .isThrownBy(() -> underTest.validate(model));
+
+    verify(repository, never()).canTakeAnyOrder(any(), any());
+  }
+
+  @Test
+  void validate_WhenPrefetchedChefCookingCompleted_ShouldReturnTrue() {
+    final OrderStateModel model = notPrefetched()
+        .chefCooking(List.of(new Order().setStatus(OrderStatus.DONE)));
+
+    ReflectionTestUtils.setField(underTest, "cookingThreshold", 1L);
+    doReturn(Optional.of(OrderStatus.CREATED)).when(repository).findLockedStatusById(model.current().getId());
+
+    Assertions.assertThat(underTest.validate(model))
+        .isTrue();
+
+    verify(repository, never()).canTakeAnyOrder(any(), any());
+  }
+
   @Test
   void retrieveCurrent_WhenInputId_ShouldRetrieveById() {
     final OrderStateModel model = new OrderStateModel().id(1L);
@@ -111,16 +178,18 @@ class CookingOrderStateTest {
         .isEqualTo(entity);
 
     verify(repository).findById(model.id());
-    verify(repository, never()).findAllSortedByCreatedDate(any());
+    verify(repository, never()).findFirstByStatusAndPriorityOrderByCreatedDateAsc(any(), any());
   }
 
   @Test
-  void retrieveCurrent_WhenNoInputId_ShouldRetrieveNearest() {
+  void retrieveCurrent_WhenNoInputId_ShouldRetrieveNearestOfSelectedLane() {
     final OrderStateModel model = new OrderStateModel();
     final Order entity = Instancio.of(Order.class)
-        .set(field(Order::getId), model.id())
+        .set(field(Order::getPriority), OrderPriority.BULK)
         .create();
-    doReturn(List.of(entity)).when(repository).findAllSortedByCreatedDate(OrderStatus.CREATED.name());
+    doReturn(Optional.empty()).when(repository).findFirstByStatusAndPriorityOrderByCreatedDateAsc(any(), any());
+    doReturn(Optional.of(entity)).when(repository)
+        .findFirstByStatusAndPriorityOrderByCreatedDateAsc(OrderStatus.CREATED, OrderPriority.BULK);
 
     underTest.retrieveCurrent(model);
 
@@ -129,7 +198,36 @@ class CookingOrderStateTest {
         .isEqualTo(entity);
 
     verify(repository, never()).findById(any());
-    verify(repository).findAllSortedByCreatedDate(OrderStatus.CREATED.name());
+    verify(repository, never()).findAllSortedByCreatedDate(any());
+    verify(laneSelector).select(Set.of(OrderPriority.BULK));
+  }
+
+  @Test
+  void retrieveCurrent_WhenPrefetchedLaneHeads_ShouldNotQuery() {
+    final Order head = Instancio.of(Order.class)
+        .set(field(Order::getPriority), OrderPriority.EXPRESS)
+        .create();
+    final OrderStateModel model = new OrderStateModel()
+        .laneHeads(Map.of(OrderPriority.EXPRESS, head));
+
+    underTest.retrieveCurrent(model);
+
+    Assertions.assertThat(model.current())
+        .isEqualTo(head);
+
+    verify(repository, never()).findFirstByStatusAndPriorityOrderByCreatedDateAsc(any(), any());
+    verify(laneSelector).select(Set.of(OrderPriority.EXPRESS));
+  }
+
+  @Test
+  void retrieveCurrent_WhenAllLanesEmpty_ShouldNotSetCurrent() {
+    final OrderStateModel model = new OrderStateModel();
+    doReturn(Optional.empty()).when(repository).findFirstByStatusAndPriorityOrderByCreatedDateAsc(any(), any());
+
+    underTest.retrieveCurrent(model);
+
+    Assertions.assertThat(model.current())
+        .isNull();
   }
 
   @Test
@@ -140,4 +238,11 @@ class CookingOrderStateTest {
         .isNotNull()
         .matches(r -> Objects.equals(r.getChef().getId(), model.request().getChefId()));
   }
+
+  private static OrderStateModel notPrefetched() {
+    return Instancio.of(OrderStateModel.class)
+        .ignore(all(field(OrderStateModel.class, "chefCooking"), field(OrderStateModel.class, "laneHeads")))
+        .set(field(Order::getStatus), OrderStatus.CREATED)
+        .create();
+  }
 }
@@ -8,7 +8,9 @@ import org.example.awesome.pizza.exception.BadRequestException;
 import org.example.awesome.pizza.exception.ForbiddenException;
 import org.example.awesome.pizza.mapper.OrderMapper;
 import org.example.awesome.pizza.model.OrderInternalReq;
+import org.example.awesome.pizza.model.OrderPriority;
 import org.example.awesome.pizza.model.OrderStatus;
+import org.example.awesome.pizza.priority.OrderPriorityResolver;
 import org.example.awesome.pizza.repository.OrderRepository;
 import org.example.awesome.pizza.state.model.OrderStateModel;
 import org.instancio.Instancio;
@@ -44,6 +46,8 @@ class CreatedOrderStatusTest {
   private OrderRepository repository;
   @Spy
   private OrderMapper mapper = Mappers.getMapper(OrderMapper.class);
+  @Spy
+  private OrderPriorityResolver priorityResolver = new OrderPriorityResolver(1, 6);
 
   @Test
   void getStatusTest() {
@@ -59,16 +63,22 @@ class CreatedOrderStatusTest {
 
   private static Stream<Arguments> validate_ParametersFail() {
     final OrderStateModel restoreStatusModel = new OrderStateModel()
-        .current(new Order().setStatus(OrderStatus.COOKING.name()).setChef((Chef) new Chef().setId(1L)))
+        .current(new Order().setStatus(OrderStatus.COOKING).setChef((Chef) new Chef().setId(1L)))
         .request((OrderInternalReq) new OrderInternalReq().setChefId(2L).pizzas(List.of(1L)));
 
+    // Orders cooked line by line have no owner
+    final OrderStateModel restoreLinesModel = new OrderStateModel()
+        .current(new Order().setStatus(OrderStatus.COOKING))
+        .request((OrderInternalReq) new OrderInternalReq().pizzas(List.of(1L)));
+
     final OrderStateModel chefModifyPizzasModel = new OrderStateModel()
-        .current(new Order().setStatus(OrderStatus.CREATED.name()))
+        .current(new Order().setStatus(OrderStatus.CREATED))
         .request((OrderInternalReq) new OrderInternalReq().setChefId(1L).status(OrderStatus.CREATED));
 
     return Stream.of(
         Arguments.of(BadRequestException.class, new OrderStateModel().request(new OrderInternalReq())),
         Arguments.of(BadRequestException.class, restoreStatusModel),
+        Arguments.of(BadRequestException.class, restoreLinesModel),
         Arguments.of(ForbiddenException.class, chefModifyPizzasModel)
     );
   }
@@ -83,7 +93,7 @@ class CreatedOrderStatusTest {
   @Test
   void validate_WhenOk_ShouldReturnTrue() {
     final OrderStateModel model = Instancio.of(OrderStateModel.class)
-        .set(field(Order::getStatus), OrderStatus.COOKING.name())
+        .set(field(Order::getStatus), OrderStatus.COOKING)
         .set(field(Chef::getId), 1L)
         .set(field(OrderInternalReq::getChefId), 1L)
         .create();
@@ -133,7 +143,8 @@ class CreatedOrderStatusTest {
         .matches(o -> o.getId() == null)
         .matches(o -> o.getPizzas() != null)
         .matches(o -> o.getPizzas().size() == model.request().getPizzas().size())
-        .matches(o -> o.getChef() == null);
+        .matches(o -> o.getChef() == null)
+        .matches(o -> o.getPriority() != null);
 
     verify(mapper).toEntity(any());
     verify(mapper, never()).patch(any(), any());
@@ -195,4 +206,19 @@ class CreatedOrderStatusTest {
     verify(mapper, never()).toEntity(any());
     verify(mapper).patch(any(), any());
   }
+
+  @Test
+  void handleState_WhenCurrentCreatedWithRequestPizzasAndNoPriority_ShouldMoveToResolvedLane() {
+    final OrderStateModel model = Instancio.of(OrderStateModel.class)
+        .set(field(OrderInternalReq::getStatus), OrderStatus.CREATED)
+        .set(field(OrderInternalReq::getPizzas), List.of(1L))
+        .ignore(field(OrderInternalReq::getPriority))
+        .set(field(Order::getPriority), OrderPriority.BULK)
+        .create();
+
+    final Order result = underTest.handleState(model);
+
+    Assertions.assertThat(result.getPriority())
+        .isEqualTo(OrderPriority.EXPRESS);
+  }
 }
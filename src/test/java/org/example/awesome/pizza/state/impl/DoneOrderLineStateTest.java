@@ -0,0 +1,130 @@
+package org.example.awesome.pizza.state.impl;
+
+import org.assertj.core.api.Assertions;
+import org.example.awesome.pizza.domain.Chef;
+import org.example.awesome.pizza.domain.OrderLine;
+import org.example.awesome.pizza.exception.BadRequestException;
+import org.example.awesome.pizza.exception.InternalServerErrorException;
+import org.example.awesome.pizza.model.OrderStatus;
+import org.example.awesome.pizza.repository.OrderLineRepository;
+import org.example.awesome.pizza.repository.OrderRepository;
+import org.example.awesome.pizza.service.SalesAnalyticsService;
+import org.example.awesome.pizza.state.model.OrderLineStateModel;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith({SpringExtension.class})
+class DoneOrderLineStateTest {
+  @InjectMocks
+  private DoneOrderLineState underTest;
+
+  @Mock
+  private OrderLineRepository repository;
+  @Mock
+  private OrderRepository orderRepository;
+  @Mock
+  private SalesAnalyticsService salesAnalytics;
+
+  @Test
+  void getStatusTest() {
+    Assertions.assertThat(underTest.getStatus())
+        .isEqualTo(OrderStatus.DONE);
+  }
+
+  @Test
+  void getAllowedTest() {
+    Assertions.assertThat(underTest.getAllowed())
+        .isEqualTo(List.of(OrderStatus.COOKING));
+  }
+
+  private static Stream<Arguments> retrieveCurrent_ParametersFail() {
+    return Stream.of(
+        Arguments.of(new OrderLineStateModel().id(1L)),
+        Arguments.of(new OrderLineStateModel().chefId(1L))
+    );
+  }
+
+  @ParameterizedTest
+  @MethodSource("retrieveCurrent_ParametersFail")
+  void retrieveCurrent_WhenInvalidInput_ShouldThrow(final OrderLineStateModel model) {
+    Assertions.assertThatExceptionOfType(BadRequestException.class)
+        .isThrownBy(() -> underTest.retrieveCurrent(model));
+
+    verify(repository, never()).findAllOfSameOrder(any());
+  }
+
+  @Test
+  void retrieveCurrent_WhenFound_ShouldSetCurrentAndLines() {
+    final List<OrderLine> lines = List.of(line(1L, 1L), line(2L, 2L), line(3L, 1L));
+    doReturn(lines).when(repository).findAllOfSameOrder(2L);
+    final OrderLineStateModel model = new OrderLineStateModel().id(2L).chefId(1L);
+
+    underTest.retrieveCurrent(model);
+
+    Assertions.assertThat(model.current()).isSameAs(lines.get(1));
+    Assertions.assertThat(model.lines()).isSameAs(lines);
+  }
+
+  @Test
+  void retrieveCurrent_WhenNotFound_ShouldNotSetCurrent() {
+    doReturn(Collections.emptyList()).when(repository).findAllOfSameOrder(2L);
+    final OrderLineStateModel model = new OrderLineStateModel().id(2L).chefId(1L);
+
+    underTest.retrieveCurrent(model);
+
+    Assertions.assertThat(model.current()).isNull();
+    Assertions.assertThat(underTest.validate(model)).isFalse();
+  }
+
+  private static Stream<Arguments> validate_ParametersFail() {
+    return Stream.of(
+        Arguments.of(InternalServerErrorException.class, new OrderLineStateModel().chefId(1L).current(new OrderLine())),
+        Arguments.of(InternalServerErrorException.class, new OrderLineStateModel().chefId(1L).current(new OrderLine().setChef(new Chef()))),
+        Arguments.of(BadRequestException.class, new OrderLineStateModel().chefId(2L).current(line(1L, 1L)))
+    );
+  }
+
+  @ParameterizedTest
+  @MethodSource("validate_ParametersFail")
+  void validate_WhenFails_ShouldThrow(final Class<Throwable> t, final OrderLineStateModel model) {
+    Assertions.assertThatExceptionOfType(t)
+        .isThrownBy(() -> underTest.validate(model));
+  }
+
+  @Test
+  void validate_WhenOk_ShouldReturnTrue() {
+    Assertions.assertThat(underTest.validate(new OrderLineStateModel().chefId(1L).current(line(1L, 1L))))
+        .isTrue();
+  }
+
+  @Test
+  void handleState_WhenOk_ShouldRecordSales() {
+    final OrderLine line = line(1L, 1L);
+
+    Assertions.assertThat(underTest.handleState(new OrderLineStateModel().current(line)))
+        .isSameAs(line);
+    verify(salesAnalytics).recordLine(line);
+  }
+
+  private static OrderLine line(final Long id, final Long chefId) {
+    return (OrderLine) new OrderLine()
+        .setChef((Chef) new Chef().setId(chefId))
+        .setStatus(OrderStatus.COOKING)
+        .setId(id);
+  }
+}
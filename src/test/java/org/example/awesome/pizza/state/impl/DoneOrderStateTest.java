@@ -4,11 +4,13 @@ import org.assertj.core.api.Assertions;
 import org.example.awesome.pizza.domain.Chef;
 import org.example.awesome.pizza.domain.Order;
 import org.example.awesome.pizza.exception.BadRequestException;
+import org.example.awesome.pizza.exception.ConflictException;
 import org.example.awesome.pizza.exception.InternalServerErrorException;
 import org.example.awesome.pizza.mapper.OrderMapper;
 import org.example.awesome.pizza.model.OrderInternalReq;
 import org.example.awesome.pizza.model.OrderStatus;
 import org.example.awesome.pizza.repository.OrderRepository;
+import org.example.awesome.pizza.service.SalesAnalyticsService;
 import org.example.awesome.pizza.state.model.OrderStateModel;
 import org.instancio.Instancio;
 import org.junit.jupiter.api.Test;
@@ -40,6 +42,8 @@ class DoneOrderStateTest {
 
   @Mock
   private OrderRepository repository;
+  @Mock
+  private SalesAnalyticsService salesAnalytics;
   @Spy
   private OrderMapper mapper = Mappers.getMapper(OrderMapper.class);
 
@@ -57,6 +61,7 @@ class DoneOrderStateTest {
 
   private static Stream<Arguments> validate_ParametersFail() {
     return Stream.of(
+        Arguments.of(ConflictException.class, new OrderStateModel().current(new Order().setStatus(OrderStatus.COOKING))),
         Arguments.of(InternalServerErrorException.class, new OrderStateModel().current(new Order())),
         Arguments.of(InternalServerErrorException.class, new OrderStateModel().current(new Order().setChef(new Chef()))),
         Arguments.of(BadRequestException.class, new OrderStateModel().current(new Order().setChef((Chef) new Chef().setId(1L))).request(new OrderInternalReq())),
@@ -74,7 +79,7 @@ class DoneOrderStateTest {
   @Test
   void validate_WhenOk_ShouldReturnTrue() {
     final OrderStateModel model = Instancio.of(OrderStateModel.class)
-        .set(field(Order::getStatus), OrderStatus.COOKING.name())
+        .set(field(Order::getStatus), OrderStatus.COOKING)
         .set(field(Chef::getId), 1L)
         .set(field(OrderInternalReq::getChefId), 1L)
         .create();
@@ -129,7 +134,8 @@ class DoneOrderStateTest {
   @Test
   void retrieveCurrent_WhenIdNotPresent_ShouldFindByChefId() {
     final OrderStateModel model = Instancio.of(OrderStateModel.class)
-        .ignore(all(field(OrderStateModel.class, "current"), field(OrderStateModel.class, "id")))
+        .ignore(all(field(OrderStateModel.class, "current"), field(OrderStateModel.class, "id"),
+            field(OrderStateModel.class, "chefCooking")))
         .create();
     final Order entity = Instancio.of(Order.class)
         .set(field(Order::getId), model.id())
@@ -146,6 +152,23 @@ class DoneOrderStateTest {
     verify(repository).findCookingOrder(model.request().getChefId());
   }
 
+  @Test
+  void retrieveCurrent_WhenPrefetchedChefCooking_ShouldNotQuery() {
+    final Order done = new Order().setStatus(OrderStatus.DONE);
+    final Order cooking = new Order().setStatus(OrderStatus.COOKING);
+    final OrderStateModel model = new OrderStateModel()
+        .request(new OrderInternalReq().setChefId(1L))
+        .chefCooking(List.of(done, cooking));
+
+    underTest.retrieveCurrent(model);
+
+    Assertions.assertThat(model.current())
+        .isSameAs(cooking);
+
+    verify(repository, never()).findById(any());
+    verify(repository, never()).findCookingOrder(any());
+  }
+
   @Test
   void handleState_WhenOk_ShouldReturnCurrent() {
     final OrderStateModel model = Instancio.of(OrderStateModel.class)
@@ -156,5 +179,7 @@ class DoneOrderStateTest {
     Assertions.assertThat(result)
         .isNotNull()
         .isEqualTo(model.current());
+
+    verify(salesAnalytics).record(model.current());
   }
 }
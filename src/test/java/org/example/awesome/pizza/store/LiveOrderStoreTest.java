@@ -0,0 +1,176 @@
+package org.example.awesome.pizza.store;
+
+import org.assertj.core.api.Assertions;
+import org.example.awesome.pizza.domain.Pizza;
+import org.example.awesome.pizza.event.OrderStatusChangedEvent;
+import org.example.awesome.pizza.event.PizzaMenuChangedEvent;
+import org.example.awesome.pizza.model.OrderPriority;
+import org.example.awesome.pizza.model.OrderStatus;
+import org.example.awesome.pizza.repository.OrderRepository;
+import org.example.awesome.pizza.repository.PizzaRepository;
+import org.example.awesome.pizza.repository.projection.LiveOrderRow;
+import org.example.awesome.pizza.repository.projection.OrderSummaryRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+class LiveOrderStoreTest {
+  private static final Instant CREATED = Instant.parse("2025-01-23T17:00:00.123456Z");
+
+  private final OrderRepository orderRepository = mock(OrderRepository.class);
+  private final PizzaRepository pizzaRepository = mock(PizzaRepository.class);
+
+  @BeforeEach
+  void setUp() {
+    doReturn(List.of(pizza(1L, "Margherita"), pizza(2L, "Diavola"))).when(pizzaRepository).findAll();
+    // Order 10 CREATED with two pizzas, Order 11 COOKING by Chef 7
+    doReturn(List.of(
+        new LiveOrderRow(10L, 100L, OrderStatus.CREATED, OrderPriority.NORMAL, null, CREATED, 1L),
+        new LiveOrderRow(10L, 100L, OrderStatus.CREATED, OrderPriority.NORMAL, null, CREATED, 2L),
+        new LiveOrderRow(11L, 101L, OrderStatus.COOKING, OrderPriority.EXPRESS, 7L, CREATED.plusSeconds(1), 2L)
+    )).when(orderRepository).findAllLive();
+  }
+
+  private static Pizza pizza(final Long id, final String name) {
+    return (Pizza) new Pizza().setName(name).setId(id);
+  }
+
+  private LiveOrderStore store(final boolean clustered) {
+    return new LiveOrderStore(orderRepository, pizzaRepository, new TransactionTemplate(mock(PlatformTransactionManager.class)),
+        true, 16, clustered);
+  }
+
+  @Test
+  void kitchenCandidates_WhenNotLoaded_ShouldLeaveItToTheDb() {
+    final LiveOrderStore underTest = store(false);
+
+    Assertions.assertThat(underTest.kitchenCandidates(7)).isEmpty();
+    Assertions.assertThat(underTest.summaries(OrderStatus.CREATED)).isEmpty();
+  }
+
+  @Test
+  void kitchenCandidates_WhenLoaded_ShouldPickChefCookingAndLaneHeads() {
+    final LiveOrderStore underTest = store(false);
+    underTest.bootstrap();
+
+    Assertions.assertThat(underTest.kitchenCandidates(7)).contains(List.of(11L, 10L));
+    Assertions.assertThat(underTest.kitchenCandidates(8)).contains(List.of(10L));
+  }
+
+  @Test
+  void summaries_WhenLoaded_ShouldMatchDbProjection() {
+    final LiveOrderStore underTest = store(false);
+    underTest.bootstrap();
+
+    Assertions.assertThat(underTest.summaries(OrderStatus.CREATED, OrderStatus.COOKING)).contains(List.of(
+        new OrderSummaryRow(10L, 100L, OrderStatus.CREATED, CREATED, "Margherita"),
+        new OrderSummaryRow(10L, 100L, OrderStatus.CREATED, CREATED, "Diavola"),
+        new OrderSummaryRow(11L, 101L, OrderStatus.COOKING, CREATED.plusSeconds(1), "Diavola")));
+    // DONE Orders are not held
+    Assertions.assertThat(underTest.summaries(OrderStatus.CREATED, OrderStatus.DONE)).isEmpty();
+  }
+
+  @Test
+  void onStatusChanged_ShouldFollowOrdersAcrossQueues() {
+    final LiveOrderStore underTest = store(false);
+    underTest.bootstrap();
+
+    underTest.onStatusChanged(new OrderStatusChangedEvent(12L, 102L, null, null, null, OrderStatus.CREATED, 1,
+        null, CREATED, OrderPriority.EXPRESS, CREATED, List.of(1L)));
+    underTest.onStatusChanged(new OrderStatusChangedEvent(11L, 101L, 7L, 7L, OrderStatus.COOKING, OrderStatus.DONE, 1,
+        null, null));
+    underTest.onStatusChanged(new OrderStatusChangedEvent(10L, 100L, 7L, null, OrderStatus.CREATED, OrderStatus.COOKING, 2,
+        null, null));
+
+    Assertions.assertThat(underTest.kitchenCandidates(7)).contains(List.of(10L, 12L));
+    Assertions.assertThat(underTest.summaries(OrderStatus.COOKING))
+        .get()
+        .asList()
+        .extracting("id", "pizzaName")
+        .containsExactly(Assertions.tuple(10L, "Margherita"), Assertions.tuple(10L, "Diavola"));
+    Assertions.assertThat(underTest.size()).isEqualTo(2);
+  }
+
+  @Test
+  void onMenuChanged_WhenPizzaRenamed_ShouldServeNewName() {
+    final LiveOrderStore underTest = store(false);
+    underTest.bootstrap();
+
+    doReturn(Optional.of(pizza(2L, "Diavola piccante"))).when(pizzaRepository).findById(2L);
+    underTest.onMenuChanged(new PizzaMenuChangedEvent(2L));
+
+    Assertions.assertThat(underTest.summaries(OrderStatus.COOKING))
+        .get()
+        .asList()
+        .extracting("pizzaName")
+        .containsExactly("Diavola piccante");
+  }
+
+  @Test
+  void evict_ShouldDropOrderFromItsLane() {
+    final LiveOrderStore underTest = store(false);
+    underTest.bootstrap();
+
+    underTest.evict(10L);
+
+    Assertions.assertThat(underTest.kitchenCandidates(8)).contains(List.of());
+  }
+
+  @Test
+  void bootstrap_WhenChangedWhileLoading_ShouldApplyAfterLoad() {
+    final LiveOrderStore underTest = store(false);
+    final List<LiveOrderRow> rows = orderRepository.findAllLive();
+    doAnswer(invocation -> {
+      // Not locked while querying: readers and committed changes go on
+      Assertions.assertThat(CompletableFuture.supplyAsync(underTest::size)).succeedsWithin(Duration.ofSeconds(5));
+      underTest.onStatusChanged(new OrderStatusChangedEvent(10L, 100L, 8L, null, OrderStatus.CREATED, OrderStatus.COOKING, 2,
+          null, null));
+      return rows;
+    }).when(orderRepository).findAllLive();
+
+    underTest.bootstrap();
+
+    Assertions.assertThat(underTest.kitchenCandidates(8)).contains(List.of(10L));
+    Assertions.assertThat(underTest.kitchenCandidates(9)).contains(List.of());
+  }
+
+  @Test
+  void bootstrap_WhenQueryFails_ShouldLeaveItToTheDb() {
+    final LiveOrderStore underTest = store(false);
+    doThrow(new IllegalStateException("Down")).when(orderRepository).findAllLive();
+
+    underTest.bootstrap();
+    underTest.onStatusChanged(new OrderStatusChangedEvent(12L, 102L, null, null, null, OrderStatus.CREATED, 1,
+        null, CREATED, OrderPriority.EXPRESS, CREATED, List.of(1L)));
+
+    Assertions.assertThat(underTest.kitchenCandidates(7)).isEmpty();
+  }
+
+  @Test
+  void bootstrap_WhenClustered_ShouldNeverLoad() {
+    final LiveOrderStore underTest = store(true);
+    underTest.bootstrap();
+
+    Assertions.assertThat(underTest.kitchenCandidates(7)).isEmpty();
+    Assertions.assertThat(underTest.size()).isZero();
+  }
+
+  @Test
+  void toMicros_ShouldRoundTrip() {
+    Assertions.assertThat(LiveOrderStore.toInstant(LiveOrderStore.toMicros(CREATED))).isEqualTo(CREATED);
+    Assertions.assertThat(LiveOrderStore.toInstant(LiveOrderStore.toMicros(Instant.EPOCH.minusNanos(1_000))))
+        .isEqualTo(Instant.EPOCH.minusNanos(1_000));
+  }
+}
@@ -0,0 +1,209 @@
+package org.example.awesome.pizza.store;
+
+import org.assertj.core.api.Assertions;
+import org.example.awesome.pizza.model.OrderPriority;
+import org.example.awesome.pizza.model.OrderStatus;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.LongConsumer;
+
+class LiveOrderTableTest {
+  private static final long CHEF = 7;
+
+  private final LiveOrderTable underTest = new LiveOrderTable(4);
+
+  private static long[] pizzasOf(final LiveOrderTable table, final long code) {
+    final int row = table.find(code);
+    final long[] pizzas = new long[table.pizzaCount(row)];
+    for (int pizza = 0; pizza < pizzas.length; pizza++)
+      pizzas[pizza] = table.pizzaId(row, pizza);
+    return pizzas;
+  }
+
+  private static List<Long> cookingOf(final LiveOrderTable table, final long chefId) {
+    final List<Long> ids = new ArrayList<>();
+    table.forEachCooking(chefId, ids::add);
+    return ids;
+  }
+
+  @Test
+  void put_ShouldFindOrderByCode() {
+    underTest.put(10, 100, OrderStatus.CREATED, OrderPriority.NORMAL, LiveOrderTable.NO_ID, 1_000, new long[]{1, 1, 2});
+
+    final int row = underTest.find(100);
+    Assertions.assertThat(underTest.id(row)).isEqualTo(10);
+    Assertions.assertThat(underTest.status(row)).isEqualTo(OrderStatus.CREATED);
+    Assertions.assertThat(underTest.createdMicros(row)).isEqualTo(1_000);
+    Assertions.assertThat(pizzasOf(underTest, 100)).containsExactly(1, 1, 2);
+    Assertions.assertThat(underTest.find(101)).isEqualTo(LiveOrderTable.NO_ROW);
+    Assertions.assertThat(underTest.statusOf(101)).isNull();
+  }
+
+  @Test
+  void laneHead_ShouldBeOldestCreatedOrderOfTheLane() {
+    underTest.put(12, 102, OrderStatus.CREATED, OrderPriority.NORMAL, LiveOrderTable.NO_ID, 2_000, new long[]{1});
+    // Committed late, created earlier: same created date as the next one, lower ID
+    underTest.put(10, 100, OrderStatus.CREATED, OrderPriority.NORMAL, LiveOrderTable.NO_ID, 1_000, new long[]{1});
+    underTest.put(11, 101, OrderStatus.CREATED, OrderPriority.NORMAL, LiveOrderTable.NO_ID, 1_000, new long[]{1});
+    underTest.put(13, 103, OrderStatus.CREATED, OrderPriority.EXPRESS, LiveOrderTable.NO_ID, 3_000, new long[]{1});
+
+    Assertions.assertThat(underTest.laneHead(OrderPriority.NORMAL)).isEqualTo(10);
+    Assertions.assertThat(underTest.laneHead(OrderPriority.EXPRESS)).isEqualTo(13);
+    Assertions.assertThat(underTest.laneHead(OrderPriority.BULK)).isEqualTo(LiveOrderTable.NO_ID);
+
+    underTest.remove(100);
+    Assertions.assertThat(underTest.laneHead(OrderPriority.NORMAL)).isEqualTo(11);
+  }
+
+  @Test
+  void update_WhenTakenAndRestored_ShouldMoveBetweenLaneAndChef() {
+    underTest.put(10, 100, OrderStatus.CREATED, OrderPriority.NORMAL, LiveOrderTable.NO_ID, 1_000, new long[]{1});
+    underTest.put(11, 101, OrderStatus.CREATED, OrderPriority.NORMAL, LiveOrderTable.NO_ID, 2_000, new long[]{1});
+
+    Assertions.assertThat(underTest.update(100, OrderStatus.COOKING, null, CHEF, null)).isTrue();
+    Assertions.assertThat(underTest.laneHead(OrderPriority.NORMAL)).isEqualTo(11);
+    Assertions.assertThat(cookingOf(underTest, CHEF)).containsExactly(10L);
+    Assertions.assertThat(pizzasOf(underTest, 100)).containsExactly(1);
+
+    Assertions.assertThat(underTest.update(100, OrderStatus.CREATED, null, LiveOrderTable.NO_ID, null)).isTrue();
+    Assertions.assertThat(underTest.laneHead(OrderPriority.NORMAL)).isEqualTo(10);
+    Assertions.assertThat(cookingOf(underTest, CHEF)).isEmpty();
+
+    Assertions.assertThat(underTest.update(999, OrderStatus.COOKING, null, CHEF, null)).isFalse();
+  }
+
+  @Test
+  void update_WhenPizzasChanged_ShouldMoveToNewLane() {
+    underTest.put(10, 100, OrderStatus.CREATED, OrderPriority.NORMAL, LiveOrderTable.NO_ID, 1_000, new long[]{1, 2});
+
+    underTest.update(100, OrderStatus.CREATED, OrderPriority.EXPRESS, LiveOrderTable.NO_ID, new long[]{3});
+
+    Assertions.assertThat(underTest.laneHead(OrderPriority.NORMAL)).isEqualTo(LiveOrderTable.NO_ID);
+    Assertions.assertThat(underTest.laneHead(OrderPriority.EXPRESS)).isEqualTo(10);
+    Assertions.assertThat(pizzasOf(underTest, 100)).containsExactly(3);
+  }
+
+  @Test
+  void remove_ShouldMoveLastRowIntoTheGap() {
+    underTest.put(10, 100, OrderStatus.CREATED, OrderPriority.NORMAL, LiveOrderTable.NO_ID, 1_000, new long[]{1});
+    underTest.put(11, 101, OrderStatus.COOKING, OrderPriority.NORMAL, CHEF, 2_000, new long[]{2, 3});
+    underTest.put(12, 102, OrderStatus.CREATED, OrderPriority.NORMAL, LiveOrderTable.NO_ID, 3_000, new long[]{4});
+
+    Assertions.assertThat(underTest.remove(100)).isTrue();
+    Assertions.assertThat(underTest.remove(100)).isFalse();
+
+    Assertions.assertThat(underTest.size()).isEqualTo(2);
+    Assertions.assertThat(underTest.laneHead(OrderPriority.NORMAL)).isEqualTo(12);
+    Assertions.assertThat(pizzasOf(underTest, 102)).containsExactly(4);
+    Assertions.assertThat(cookingOf(underTest, CHEF)).containsExactly(11L);
+    Assertions.assertThat(underTest.removeById(11)).isTrue();
+    Assertions.assertThat(cookingOf(underTest, CHEF)).isEmpty();
+  }
+
+  private record Expected(long id, OrderStatus status, OrderPriority priority, long chefId, long created, long[] pizzas) {
+  }
+
+  @Test
+  void operations_ShouldMatchReferenceModel() {
+    final Random random = new Random(42);
+    final OrderPriority[] lanes = OrderPriority.values();
+    final Map<Long, Expected> expected = new HashMap<>();
+
+    for (int i = 0; i < 50_000; i++) {
+      final long code = 1 + random.nextInt(2_000);
+      final Expected current = expected.get(code);
+      final int operation = random.nextInt(4);
+      if (operation == 0 || current == null) {
+        final long id = code * 10 + random.nextInt(10);
+        final long[] pizzas = random.longs(1 + random.nextInt(6), 1, 20).toArray();
+        final Expected order = new Expected(id, OrderStatus.CREATED, lanes[random.nextInt(lanes.length)],
+            LiveOrderTable.NO_ID, random.nextInt(5_000), pizzas);
+        underTest.put(order.id(), code, order.status(), order.priority(), order.chefId(), order.created(), order.pizzas());
+        expected.put(code, order);
+      } else if (operation == 1) {
+        final long chefId = 1 + random.nextInt(5);
+        underTest.update(code, OrderStatus.COOKING, null, chefId, null);
+        expected.put(code, new Expected(current.id(), OrderStatus.COOKING, current.priority(), chefId, current.created(),
+            current.pizzas()));
+      } else if (operation == 2) {
+        final long[] pizzas = random.longs(1 + random.nextInt(6), 1, 20).toArray();
+        underTest.update(code, OrderStatus.CREATED, null, LiveOrderTable.NO_ID, pizzas);
+        expected.put(code, new Expected(current.id(), OrderStatus.CREATED, current.priority(), LiveOrderTable.NO_ID,
+            current.created(), pizzas));
+      } else {
+        underTest.remove(code);
+        expected.remove(code);
+      }
+    }
+
+    Assertions.assertThat(underTest.size()).isEqualTo(expected.size());
+    expected.forEach((code, order) -> {
+      Assertions.assertThat(underTest.id(underTest.find(code))).isEqualTo(order.id());
+      Assertions.assertThat(underTest.statusOf(code)).isEqualTo(order.status());
+      Assertions.assertThat(pizzasOf(underTest, code)).containsExactly(order.pizzas());
+    });
+    for (final OrderPriority lane : lanes)
+      Assertions.assertThat(underTest.laneHead(lane)).isEqualTo(expected.values().stream()
+          .filter(order -> order.status() == OrderStatus.CREATED && order.priority() == lane)
+          .min(Comparator.comparingLong(Expected::created).thenComparingLong(Expected::id))
+          .map(Expected::id)
+          .orElse(LiveOrderTable.NO_ID));
+    for (long chefId = 1; chefId <= 5; chefId++) {
+      final long chef = chefId;
+      Assertions.assertThat(cookingOf(underTest, chefId)).containsExactlyInAnyOrderElementsOf(expected.values().stream()
+          .filter(order -> order.status() == OrderStatus.COOKING && order.chefId() == chef)
+          .map(Expected::id)
+          .toList());
+    }
+  }
+
+  @Test
+  void footprint_WhenMillionOrders_ShouldStayUnderHundredBytesPerOrder() {
+    final int orders = 1_000_000;
+    final LiveOrderTable table = new LiveOrderTable(1024);
+    final long[][] menus = {{1}, {1, 2}, {1, 2, 3}, {2, 3, 4, 5}, {5, 6, 7, 8, 9}};
+    final OrderPriority[] lanes = OrderPriority.values();
+    for (int i = 0; i < orders; i++)
+      table.put(i + 1, 1_000_000L + i, i % 10 == 0 ? OrderStatus.COOKING : OrderStatus.CREATED, lanes[i % lanes.length],
+          i % 10 == 0 ? 1 + i % 50 : LiveOrderTable.NO_ID, 1_700_000_000_000_000L + i, menus[i % menus.length]);
+
+    Assertions.assertThat(table.size()).isEqualTo(orders);
+    // Grown from a small capacity: unused column and pool tails included
+    Assertions.assertThat(table.footprint() / orders).isLessThan(100);
+    Assertions.assertThat(table.laneHead(OrderPriority.EXPRESS)).isNotEqualTo(LiveOrderTable.NO_ID);
+  }
+
+  @Test
+  void lookups_ShouldNotAllocate() {
+    for (int i = 0; i < 1_000; i++)
+      underTest.put(i + 1, 100 + i, i % 2 == 0 ? OrderStatus.COOKING : OrderStatus.CREATED, OrderPriority.NORMAL,
+          i % 2 == 0 ? CHEF : LiveOrderTable.NO_ID, i, new long[]{1, 2});
+    final long[] sum = new long[1];
+    final LongConsumer consumer = id -> sum[0] += id;
+    final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    final long thread = Thread.currentThread().getId();
+    threads.getThreadAllocatedBytes(thread);
+
+    final long before = threads.getThreadAllocatedBytes(thread);
+    for (int i = 0; i < 100_000; i++) {
+      sum[0] += underTest.find(100 + i % 2_000);
+      sum[0] += underTest.laneHead(OrderPriority.NORMAL);
+      if (i % 100 == 0)
+        underTest.forEachCooking(CHEF, consumer);
+    }
+    final long allocated = threads.getThreadAllocatedBytes(thread) - before;
+
+    Assertions.assertThat(sum[0]).isNotZero();
+    // Way less than a single byte per lookup: what remains is the measurement itself
+    Assertions.assertThat(allocated).isLessThan(10_000);
+    Assertions.assertThat(Arrays.stream(pizzasOf(underTest, 100)).sum()).isEqualTo(3);
+  }
+}
@@ -0,0 +1,102 @@
+package org.example.awesome.pizza.tracing;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+class TracerTest {
+
+  @AfterEach
+  void tearDown() {
+    Tracer.finish();
+  }
+
+  @Test
+  void span_WhenNoTraceActive_ShouldBeNoop() {
+    try (final Span span = Tracer.span(Phase.SERVICE, "OrderServiceImpl.takeNext")) {
+      span.attribute("key", "value");
+      Assertions.assertThat(span).isSameAs(Span.NOOP);
+    }
+
+    Assertions.assertThat(Tracer.finish()).isNull();
+  }
+
+  @Test
+  void span_ShouldNestUnderInnermostOpenSpan() {
+    final Trace trace = Tracer.start(16, "PATCH");
+    try (final Span service = Tracer.span(Phase.SERVICE, "OrderServiceImpl.takeNext")) {
+      try (final Span ignored = Tracer.span(Phase.REPOSITORY, "OrderRepository.canTakeAnyOrder")) {
+        Assertions.assertThat(service.isError()).isFalse();
+      }
+      Tracer.span(Phase.REPOSITORY, "OrderRepository.findAllSortedByCreatedDate").close();
+    }
+    Tracer.span(Phase.SERIALIZATION, "MappingJackson2HttpMessageConverter");
+
+    Assertions.assertThat(Tracer.finish()).isSameAs(trace);
+    Assertions.assertThat(trace.spans())
+        .extracting(Span::parent)
+        .containsExactly(-1, 0, 1, 1, 0);
+    Assertions.assertThat(trace.spans())
+        .allMatch(Span::ended)
+        .allMatch(span -> span.durationNanos() >= 0);
+    // The serialization span, left open, is closed with the root
+    Assertions.assertThat(trace.spans().get(4).end()).isEqualTo(trace.root().end());
+  }
+
+  @Test
+  void span_WhenTraceFull_ShouldCountDropped() {
+    final Trace trace = Tracer.start(3, "GET");
+    for (int i = 0; i < 5; i++)
+      Tracer.span(Phase.REPOSITORY, "PizzaRepository.findById").close();
+    Tracer.finish();
+
+    Assertions.assertThat(trace.spans()).hasSize(3);
+    Assertions.assertThat(trace.dropped()).isEqualTo(3);
+  }
+
+  @Test
+  void slowestSpan_ShouldSubtractChildrenTime() throws Exception {
+    final Trace trace = Tracer.start(16, "PATCH");
+    try (final Span ignored = Tracer.span(Phase.SERVICE, "OrderServiceImpl.takeNext")) {
+      try (final Span slow = Tracer.span(Phase.REPOSITORY, "OrderRepository.canTakeAnyOrder")) {
+        Thread.sleep(50);
+      }
+    }
+    Tracer.finish();
+
+    Assertions.assertThat(trace.slowestSpan().name()).isEqualTo("OrderRepository.canTakeAnyOrder");
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void document_ShouldFollowOtlpJson() {
+    final Trace trace = Tracer.start(16, "PATCH");
+    try (final Span span = Tracer.span(Phase.STATE, "CookingOrderState.next")) {
+      span.error();
+    }
+    Tracer.finish();
+    trace.root().attribute("http.route", "/order/next");
+
+    final Map<String, Object> document = OtlpJson.document("awesome-pizza", List.of(trace));
+
+    final Map<String, Object> resourceSpans = ((List<Map<String, Object>>) document.get("resourceSpans")).get(0);
+    final Map<String, Object> scopeSpans = ((List<Map<String, Object>>) resourceSpans.get("scopeSpans")).get(0);
+    final List<Map<String, Object>> spans = (List<Map<String, Object>>) scopeSpans.get("spans");
+    Assertions.assertThat(spans).hasSize(2);
+
+    final Map<String, Object> root = spans.get(0);
+    final Map<String, Object> child = spans.get(1);
+    Assertions.assertThat((String) root.get("traceId")).hasSize(32).isEqualTo(child.get("traceId"));
+    Assertions.assertThat((String) root.get("spanId")).hasSize(16).isEqualTo(child.get("parentSpanId"));
+    Assertions.assertThat(root).doesNotContainKey("parentSpanId").containsEntry("kind", 2);
+    Assertions.assertThat(child).containsEntry("kind", 1).containsEntry("status", Map.of("code", 2));
+    Assertions.assertThat(Long.parseLong((String) root.get("endTimeUnixNano")))
+        .isGreaterThanOrEqualTo(Long.parseLong((String) root.get("startTimeUnixNano")));
+    Assertions.assertThat((List<Map<String, Object>>) root.get("attributes"))
+        .contains(Map.of("key", "http.route", "value", Map.of("stringValue", "/order/next")))
+        .contains(Map.of("key", OtlpJson.PHASE_ATTRIBUTE, "value", Map.of("stringValue", "http")));
+  }
+}
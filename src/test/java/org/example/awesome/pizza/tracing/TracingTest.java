@@ -0,0 +1,128 @@
+package org.example.awesome.pizza.tracing;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.assertj.core.api.Assertions;
+import org.example.awesome.pizza.AwesomePizzaApplication;
+import org.example.awesome.pizza.domain.Chef;
+import org.example.awesome.pizza.domain.Pizza;
+import org.example.awesome.pizza.model.OrderInternalReq;
+import org.example.awesome.pizza.repository.ChefRepository;
+import org.example.awesome.pizza.repository.PizzaRepository;
+import org.example.awesome.pizza.service.OrderService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.StreamSupport;
+
+/**
+ * Traces PATCH /order/next on a running server with a zero threshold, so that every request is kept and exported
+ */
+class TracingTest {
+  @TempDir
+  static Path directory;
+
+  private static ConfigurableApplicationContext context;
+  private static String baseUrl;
+  private static Path exportFile;
+  private static Long chefId;
+
+  private final HttpClient client = HttpClient.newHttpClient();
+  private final ObjectMapper mapper = new ObjectMapper();
+
+  @BeforeAll
+  static void startServer() {
+    exportFile = directory.resolve("traces.jsonl");
+    context = new SpringApplicationBuilder(AwesomePizzaApplication.class)
+        .run(
+            "--server.port=0",
+            "--spring.main.banner-mode=off",
+            "--spring.datasource.url=jdbc:h2:mem:tracing;MODE=MSSQLServer",
+            "--awesome-pizza.config.archive.enabled=false",
+            "--awesome-pizza.config.http-log=false",
+            "--awesome-pizza.config.rate-limit.enabled=false",
+            "--awesome-pizza.config.tracing.slow-threshold=PT0S",
+            "--awesome-pizza.config.tracing.export-file=" + exportFile,
+            "--logging.level.org.example.awesome.pizza.tracing=ERROR");
+    baseUrl = "http://localhost:%s".formatted(context.getEnvironment().getProperty("local.server.port"));
+
+    chefId = context.getBean(ChefRepository.class)
+        .save(new Chef().setFirstName("Chef").setLastName("Tracing"))
+        .getId();
+    final Long pizzaId = context.getBean(PizzaRepository.class).findAll().stream()
+        .map(Pizza::getId)
+        .findFirst()
+        .orElseThrow();
+    context.getBean(OrderService.class).save((OrderInternalReq) new OrderInternalReq().pizzas(List.of(pizzaId)));
+  }
+
+  @AfterAll
+  static void stopServer() {
+    context.close();
+  }
+
+  private JsonNode spans(final JsonNode document) {
+    return document.path("resourceSpans").path(0).path("scopeSpans").path(0).path("spans");
+  }
+
+  private static String phase(final JsonNode span) {
+    return StreamSupport.stream(span.path("attributes").spliterator(), false)
+        .filter(attribute -> OtlpJson.PHASE_ATTRIBUTE.equals(attribute.path("key").asText()))
+        .map(attribute -> attribute.path("value").path("stringValue").asText())
+        .findFirst()
+        .orElseThrow();
+  }
+
+  @Test
+  void takeNext_ShouldRecordSpanOfEachPhase() throws Exception {
+    final HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/order/next"))
+            .header("X-Chef-ID", chefId.toString())
+            .method("PATCH", HttpRequest.BodyPublishers.noBody())
+            .build(),
+        HttpResponse.BodyHandlers.ofString());
+    Assertions.assertThat(response.statusCode()).isEqualTo(200);
+
+    final JsonNode traces = mapper.readTree(client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/traces?limit=1")).build(),
+        HttpResponse.BodyHandlers.ofString()).body());
+    final List<JsonNode> spans = new ArrayList<>();
+    spans(traces).forEach(spans::add);
+
+    Assertions.assertThat(spans.get(0).path("name").asText()).isEqualTo("PATCH /order/next");
+    Assertions.assertThat(spans.get(0).path("kind").asInt()).isEqualTo(2);
+    Assertions.assertThat(spans).extracting(TracingTest::phase)
+        .contains("http", "controller", "service", "state", "repository", "serialization");
+    Assertions.assertThat(spans).extracting(span -> span.path("name").asText())
+        .contains("OrderController.takeChargeNext")
+        .anyMatch(name -> name.startsWith("OrderRepository."));
+    Assertions.assertThat(spans).allMatch(span -> span.path("traceId").asText().equals(spans.get(0).path("traceId").asText()));
+  }
+
+  @Test
+  void export_ShouldAppendOneDocumentPerTrace() throws Exception {
+    client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/pizza")).build(), HttpResponse.BodyHandlers.discarding());
+
+    final long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+    while (!(Files.exists(exportFile) && Files.readString(exportFile).contains("GET /pizza")) && System.nanoTime() < deadline)
+      Thread.sleep(20);
+
+    final List<JsonNode> documents = new ArrayList<>();
+    for (final String line : Files.readAllLines(exportFile))
+      documents.add(mapper.readTree(line));
+    Assertions.assertThat(documents)
+        .anyMatch(document -> "GET /pizza".equals(spans(document).path(0).path("name").asText()))
+        .allMatch(document -> spans(document).size() > 0);
+  }
+}